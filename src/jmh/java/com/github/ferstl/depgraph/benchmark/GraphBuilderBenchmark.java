@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
+import com.github.ferstl.depgraph.dependency.dot.DotGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
+import com.github.ferstl.depgraph.dependency.dot.style.resource.BuiltInStyleResource;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.google.common.io.CharStreams;
+
+/**
+ * Benchmarks for adding edges to a {@link GraphBuilder} and reducing them. The DOT benchmark includes rendering the node
+ * names and the formatting, so it covers the whole way from the added edges to the output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBuilderBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  int nodes;
+
+  @Param({"3"})
+  int fanOut;
+
+  @Param({"10"})
+  int depth;
+
+  private SyntheticGraph graph;
+  private StyleConfiguration styleConfiguration;
+
+  @Setup
+  public void setup() {
+    this.graph = SyntheticGraph.create(this.nodes, this.fanOut, this.depth);
+    this.styleConfiguration = StyleConfiguration.load(BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(getClass().getClassLoader()));
+  }
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> addEdges() {
+    return this.graph.addTo(createGraphBuilder());
+  }
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> addEdgesAndReduce() {
+    GraphBuilder<DependencyNode> graphBuilder = this.graph.addTo(createGraphBuilder());
+    graphBuilder.reduceEdges();
+
+    return graphBuilder;
+  }
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> addEdgesReduceAndFormatDot() throws IOException {
+    GraphBuilder<DependencyNode> graphBuilder = new DotGraphStyleConfigurer(this.styleConfiguration)
+        .showGroupIds(true)
+        .showArtifactIds(true)
+        .showTypes(true)
+        .showClassifiers(true)
+        .showVersionsOnNodes(true)
+        .showVersionsOnEdges(true)
+        .showOptional(true)
+        .showScope(true)
+        .configure(createGraphBuilder());
+
+    this.graph.addTo(graphBuilder).reduceEdges();
+    graphBuilder.writeTo(CharStreams.nullWriter());
+
+    return graphBuilder;
+  }
+
+  private static GraphBuilder<DependencyNode> createGraphBuilder() {
+    return GraphBuilder.create(DependencyNodeIdRenderer.versionlessId().withType(true).withClassifier(true).withScope(true));
+  }
+}
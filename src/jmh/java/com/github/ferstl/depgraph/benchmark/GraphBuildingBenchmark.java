@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
+import com.github.ferstl.depgraph.dependency.MavenGraphAdapter;
+import com.github.ferstl.depgraph.dependency.NodeResolution;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+
+/**
+ * Benchmarks for converting a resolved Aether dependency tree into a {@link GraphBuilder}, which is what
+ * {@link MavenGraphAdapter} does for each project. Run with {@code -prof gc} to see the allocations per visited node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBuildingBenchmark {
+
+  private static final String[] SCOPES = {"compile", "runtime", "provided", "test"};
+  private static final ArtifactFilter INCLUDE_ALL = artifact -> true;
+
+  @Param({"10000", "250000"})
+  int visits;
+
+  private MavenProject project;
+  private org.eclipse.aether.graph.DependencyNode root;
+  private MavenGraphAdapter adapter;
+
+  @Setup
+  public void setup() {
+    Model model = new Model();
+    model.setGroupId("com.example");
+    model.setArtifactId("root");
+    model.setVersion("1.0.0");
+    this.project = new MavenProject(model);
+    this.project.setArtifact(new DefaultArtifact("com.example", "root", "1.0.0", null, "jar", null, new DefaultArtifactHandler("jar")));
+
+    this.root = createTree(this.visits);
+    this.adapter = new MavenGraphAdapter(null, INCLUDE_ALL, INCLUDE_ALL, EnumSet.allOf(NodeResolution.class), MavenGraphAdapter.Options.defaults());
+  }
+
+  @Benchmark
+  public GraphBuilder<DependencyNode> buildDependencyGraph() {
+    GraphBuilder<DependencyNode> graphBuilder = GraphBuilder.create(DependencyNodeIdRenderer.versionlessId().withType(true).withClassifier(true).withScope(true));
+    this.adapter.buildDependencyGraph(this.project, this.root, INCLUDE_ALL, graphBuilder);
+    return graphBuilder;
+  }
+
+  /**
+   * Creates a tree with the given number of nodes. The artifacts are randomly taken from a pool of {@code visits / 3}
+   * artifacts, so that most artifacts occur several times. Repeated artifacts are leaves that are either omitted as
+   * duplicate or for conflict, like in a tree that was resolved in verbose mode.
+   */
+  private static org.eclipse.aether.graph.DependencyNode createTree(int visits) {
+    Random random = new Random(4711);
+    int artifacts = Math.max(1, visits / 3);
+    Map<Integer, org.eclipse.aether.graph.DependencyNode> winners = new HashMap<>();
+    List<DefaultDependencyNode> nodesToExpand = new ArrayList<>();
+
+    DefaultDependencyNode root = new DefaultDependencyNode(new org.eclipse.aether.artifact.DefaultArtifact("com.example:root:jar:1.0.0"));
+    nodesToExpand.add(root);
+    int nodeCount = 1;
+
+    for (int i = 0; i < nodesToExpand.size() && nodeCount < visits; i++) {
+      DefaultDependencyNode parent = nodesToExpand.get(i);
+      int childCount = Math.min(1 + random.nextInt(6), visits - nodeCount);
+      List<org.eclipse.aether.graph.DependencyNode> children = new ArrayList<>(childCount);
+
+      for (int j = 0; j < childCount; j++) {
+        int artifact = random.nextInt(artifacts);
+        String version = "1." + random.nextInt(2) + ".0";
+        org.eclipse.aether.artifact.DefaultArtifact aetherArtifact = new org.eclipse.aether.artifact.DefaultArtifact(
+            "com.example.group" + artifact % 50 + ":artifact-" + artifact + ":jar:" + version);
+        DefaultDependencyNode child = new DefaultDependencyNode(new Dependency(aetherArtifact, SCOPES[random.nextInt(SCOPES.length)], random.nextInt(10) == 0));
+
+        org.eclipse.aether.graph.DependencyNode winner = winners.get(artifact);
+        if (winner == null) {
+          winners.put(artifact, child);
+          nodesToExpand.add(child);
+        } else {
+          child.setData(ConflictResolver.NODE_DATA_WINNER, winner);
+        }
+
+        children.add(child);
+      }
+
+      parent.setChildren(children);
+      nodeCount += childCount;
+    }
+
+    return root;
+  }
+}
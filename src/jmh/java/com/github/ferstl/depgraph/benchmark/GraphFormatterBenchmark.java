@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
+import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.dot.DotGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
+import com.github.ferstl.depgraph.dependency.dot.style.resource.BuiltInStyleResource;
+import com.github.ferstl.depgraph.dependency.gml.GmlGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.json.JsonGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.puml.PumlGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.text.TextGraphStyleConfigurer;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.GraphFormatter;
+import com.google.common.io.CharStreams;
+
+/**
+ * Benchmarks for each {@link GraphFormatter}. The graph is built and reduced once per trial and then written to a
+ * writer that discards its input, so only the formatting is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphFormatterBenchmark {
+
+  @Param({"dot", "gml", "puml", "json", "text"})
+  String format;
+
+  @Param({"1000", "10000", "100000"})
+  int nodes;
+
+  @Param({"3"})
+  int fanOut;
+
+  @Param({"10"})
+  int depth;
+
+  private GraphBuilder<DependencyNode> graphBuilder;
+
+  @Setup
+  public void setup() {
+    GraphBuilder<DependencyNode> graphBuilder = createGraphStyleConfigurer(this.format)
+        .showGroupIds(true)
+        .showArtifactIds(true)
+        .showTypes(true)
+        .showClassifiers(true)
+        .showVersionsOnNodes(true)
+        .showVersionsOnEdges(true)
+        .showOptional(true)
+        .showScope(true)
+        .configure(GraphBuilder.create(DependencyNodeIdRenderer.versionlessId().withType(true).withClassifier(true).withScope(true)));
+
+    this.graphBuilder = SyntheticGraph.create(this.nodes, this.fanOut, this.depth).addTo(graphBuilder);
+    this.graphBuilder.reduceEdges();
+  }
+
+  @Benchmark
+  public void format() throws IOException {
+    this.graphBuilder.writeTo(CharStreams.nullWriter());
+  }
+
+  private static GraphStyleConfigurer createGraphStyleConfigurer(String format) {
+    switch (format) {
+      case "dot":
+        ClassLoader classLoader = GraphFormatterBenchmark.class.getClassLoader();
+        return new DotGraphStyleConfigurer(StyleConfiguration.load(BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(classLoader)));
+      case "gml":
+        return new GmlGraphStyleConfigurer();
+      case "puml":
+        return new PumlGraphStyleConfigurer();
+      case "json":
+        return new JsonGraphStyleConfigurer();
+      case "text":
+        return new TextGraphStyleConfigurer();
+      default:
+        throw new IllegalArgumentException("Unsupported format: " + format);
+    }
+  }
+}
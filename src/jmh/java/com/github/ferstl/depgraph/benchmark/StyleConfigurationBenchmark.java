@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
+import com.github.ferstl.depgraph.dependency.dot.style.StyleKey;
+import com.github.ferstl.depgraph.dependency.dot.style.resource.BuiltInStyleResource;
+import com.github.ferstl.depgraph.dependency.dot.style.resource.FileSystemStyleResource;
+import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Benchmarks for the style lookups of {@link StyleConfiguration} with a growing number of node and edge styles. Each
+ * invocation looks up the styles of {@value #ARTIFACTS} artifacts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StyleConfigurationBenchmark {
+
+  private static final int ARTIFACTS = 1000;
+
+  @Param({"10", "100", "1000"})
+  int styles;
+
+  private StyleConfiguration styleConfiguration;
+  private Artifact[] artifacts;
+  private StyleKey[] styleKeys;
+
+  @Setup
+  public void setup() throws IOException {
+    Path styleFile = Files.createTempFile("benchmark-style", ".json");
+    try {
+      writeStyleConfiguration(styleFile, this.styles);
+      ClassLoader classLoader = getClass().getClassLoader();
+      this.styleConfiguration = StyleConfiguration.load(BuiltInStyleResource.DEFAULT_STYLE.createStyleResource(classLoader), new FileSystemStyleResource(styleFile));
+    } finally {
+      Files.delete(styleFile);
+    }
+
+    List<DependencyNode> nodes = SyntheticGraph.create(2 * ARTIFACTS, 1, 10).getNodes();
+    this.artifacts = new Artifact[ARTIFACTS];
+    this.styleKeys = new StyleKey[ARTIFACTS];
+    for (int i = 0; i < ARTIFACTS; i++) {
+      Artifact artifact = nodes.get(i).getArtifact();
+      this.artifacts[i] = artifact;
+      this.styleKeys[i] = StyleKey.create(artifact.getGroupId(), artifact.getArtifactId(), artifact.getScope(), artifact.getType(), artifact.getVersion(), artifact.getClassifier(), artifact.isOptional());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ARTIFACTS)
+  public void nodeAttributes(Blackhole blackhole) {
+    for (int i = 0; i < ARTIFACTS; i++) {
+      Artifact artifact = this.artifacts[i];
+      blackhole.consume(this.styleConfiguration.nodeAttributes(this.styleKeys[i], artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(), artifact.isOptional(), artifact.getType(), artifact.getClassifier(), artifact.getScope()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ARTIFACTS)
+  public void edgeAttributes(Blackhole blackhole) {
+    for (int i = 1; i < ARTIFACTS; i++) {
+      Artifact to = this.artifacts[i];
+      blackhole.consume(this.styleConfiguration.edgeAttributes(INCLUDED, INCLUDED, to.getScope(), this.artifacts[i - 1], to));
+    }
+  }
+
+  /**
+   * Writes node and edge styles for group IDs that do not occur in the synthetic graph, followed by a catch-all style.
+   * So every lookup has to check all styles.
+   */
+  private static void writeStyleConfiguration(Path styleFile, int styles) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(styleFile, UTF_8)) {
+      writer.write("{\n");
+      writeStyles(writer, "node-styles", styles, "{\"type\": \"box\", \"color\": \"red\"}");
+      writer.write(",\n");
+      writeStyles(writer, "edge-node-styles-to", styles, "{\"style\": \"dashed\"}");
+      writer.write("\n}\n");
+    }
+  }
+
+  private static void writeStyles(Writer writer, String name, int styles, String style) throws IOException {
+    writer.write("  \"" + name + "\": {\n");
+    for (int i = 0; i < styles - 1; i++) {
+      writer.write("    \"org.unknown" + i + ".*\": " + style + ",\n");
+    }
+    writer.write("    \"com.example.*\": " + style + "\n");
+    writer.write("  }");
+  }
+}
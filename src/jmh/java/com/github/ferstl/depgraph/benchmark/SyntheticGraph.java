@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.maven.artifact.DefaultArtifact;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+
+/**
+ * A synthetic dependency graph with a given number of nodes. The nodes are distributed over {@code depth} levels. Each
+ * node on a lower level has a parent on the level above and up to {@code fanOut - 1} further parents on any level
+ * above, which creates the redundant edges that {@link GraphBuilder#reduceEdges()} removes.
+ */
+final class SyntheticGraph {
+
+  private static final String[] SCOPES = {"compile", "compile", "compile", "runtime", "provided", "test"};
+  private static final int GROUPS = 50;
+
+  private final List<DependencyNode[]> edges;
+
+  private SyntheticGraph(List<DependencyNode[]> edges) {
+    this.edges = edges;
+  }
+
+  static SyntheticGraph create(int nodeCount, int fanOut, int depth) {
+    Random random = new Random(4711);
+    DependencyNode[] nodes = new DependencyNode[nodeCount];
+    int[] levelStarts = new int[depth + 1];
+    for (int level = 0; level <= depth; level++) {
+      levelStarts[level] = (int) ((long) nodeCount * level / depth);
+    }
+
+    for (int i = 0; i < nodeCount; i++) {
+      nodes[i] = createNode(i);
+    }
+
+    List<DependencyNode[]> edges = new ArrayList<>();
+    for (int level = 1; level < depth; level++) {
+      int previousLevelStart = levelStarts[level - 1];
+      int previousLevelSize = levelStarts[level] - previousLevelStart;
+      for (int i = levelStarts[level]; i < levelStarts[level + 1]; i++) {
+        edges.add(new DependencyNode[]{nodes[previousLevelStart + random.nextInt(previousLevelSize)], nodes[i]});
+        for (int j = 1; j < fanOut; j++) {
+          edges.add(new DependencyNode[]{nodes[random.nextInt(levelStarts[level])], nodes[i]});
+        }
+      }
+    }
+
+    return new SyntheticGraph(edges);
+  }
+
+  GraphBuilder<DependencyNode> addTo(GraphBuilder<DependencyNode> graphBuilder) {
+    for (DependencyNode[] edge : this.edges) {
+      graphBuilder.addEdge(edge[0], edge[1]);
+    }
+
+    return graphBuilder;
+  }
+
+  List<DependencyNode> getNodes() {
+    List<DependencyNode> nodes = new ArrayList<>();
+    for (DependencyNode[] edge : this.edges) {
+      nodes.add(edge[1]);
+    }
+
+    return nodes;
+  }
+
+  private static DependencyNode createNode(int i) {
+    DefaultArtifact artifact = new DefaultArtifact(
+        "com.example.group" + (i % GROUPS),
+        "artifact-" + i,
+        "1." + (i % 10) + ".0",
+        SCOPES[i % SCOPES.length],
+        "jar",
+        i % 17 == 0 ? "tests" : "",
+        null);
+    artifact.setOptional(i % 13 == 0);
+
+    return new DependencyNode(artifact);
+  }
+}
@@ -17,7 +17,6 @@ package com.github.ferstl.depgraph;
 
 import java.util.Collection;
 import java.util.function.Supplier;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
@@ -68,8 +67,19 @@ public abstract class AbstractAggregatingDependencyGraphMojo extends AbstractDep
   @Parameter(property = "repeatTransitiveDependenciesInTextGraph", defaultValue = "false")
   boolean repeatTransitiveDependenciesInTextGraph;
 
-  @Parameter(defaultValue = "${session}", readonly = true)
-  private MavenSession mavenSession;
+  /**
+   * Number of threads that are used to resolve the dependency graphs of the modules. The resolved graphs are always
+   * merged in reactor order, so the created graph does not depend on the number of threads.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.threads", defaultValue = "1")
+  int threads;
+
+  @Override
+  protected Collection<MavenProject> getGraphProjects() {
+    return subProjectsInReactorOrder().get();
+  }
 
   Supplier<Collection<MavenProject>> subProjectsInReactorOrder() {
     return () -> AbstractAggregatingDependencyGraphMojo.this.mavenSession.getProjectDependencyGraph().getSortedProjects();
@@ -15,16 +15,33 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.AndArtifactFilter;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.artifact.filter.ScopeArtifactFilter;
 import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
 import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import com.github.ferstl.depgraph.dependency.DependencyGraphCache;
+import com.github.ferstl.depgraph.dependency.FileDependencyGraphCache;
 import com.github.ferstl.depgraph.dependency.GraphFactory;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.MavenGraphAdapter;
+import com.github.ferstl.depgraph.dependency.MemoizingArtifactFilter;
+import com.github.ferstl.depgraph.dependency.NodeResolution;
+import com.github.ferstl.depgraph.dependency.ProjectFingerprints;
+import com.github.ferstl.depgraph.dependency.SessionDependencyGraphCache;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 import static org.apache.maven.artifact.Artifact.SCOPE_PROVIDED;
 import static org.apache.maven.artifact.Artifact.SCOPE_RUNTIME;
@@ -34,6 +51,10 @@ import static org.apache.maven.artifact.Artifact.SCOPE_TEST;
 /**
  * Abstract mojo that is intended to create dependency graphs. It adds dependency-related filtering
  * capabilities to the base implementation.
+ * <p>
+ * The dependency graphs are resolved in verbose mode by {@link MavenGraphAdapter}. So subclasses should not require
+ * Maven to collect the project dependencies before the mojo is executed, which would only resolve the same graph twice.
+ * </p>
  */
 abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
 
@@ -131,6 +152,66 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
   @Parameter(property = "excludeOptionalDependencies", defaultValue = "false")
   private boolean excludeOptionalDependencies;
 
+  /**
+   * If set to {@code true}, resolved dependency graphs are cached in {@link #resolutionCacheDirectory} and reused as
+   * long as the effective POMs of the project and the reactor projects it depends on do not change. Graphs containing
+   * version ranges or snapshot dependencies from outside the reactor are never cached.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.resolutionCache", defaultValue = "false")
+  private boolean resolutionCache;
+
+  /**
+   * Only relevant when {@code resolutionCache=true}: The directory where resolved dependency graphs are cached.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.resolutionCacheDirectory", defaultValue = "${project.build.directory}/depgraph-cache")
+  private File resolutionCacheDirectory;
+
+  /**
+   * If set to {@code true}, the graph is only created if the configuration of this goal or the effective POM of a
+   * project in the graph changed since the last execution. The fingerprints of these projects are stored next to the
+   * graph file. Since this option implies {@code resolutionCache=true}, only the dependency graphs of the changed
+   * projects will be resolved again. Graphs containing version ranges or snapshot dependencies from outside the reactor
+   * are created on every execution.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.incremental", defaultValue = "false")
+  private boolean incremental;
+
+  /**
+   * If set to {@code true}, dependencies are not collected at all if neither they nor their transitive dependencies can
+   * be in one of the scopes selected by {@code scopes} or {@code classpathScope}. This avoids downloading and parsing the
+   * POMs of such dependencies. The graph may differ from the default mode if an artifact is reachable through an
+   * included and an excluded scope, because Maven resolves the version conflicts without the skipped dependencies.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.pruneExcludedScopes", defaultValue = "false")
+  private boolean pruneExcludedScopes;
+
+  /**
+   * If set to {@code true}, resolved dependency graphs are kept in memory until the end of the Maven build. All goals
+   * and modules of the build that use this option share these graphs, so each project is resolved only once even if
+   * several goals create graphs of it. The number of cache hits and misses is logged at the end of the build.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.sessionCache", defaultValue = "false")
+  private boolean sessionCache;
+
+  @Parameter(defaultValue = "${reactorProjects}", readonly = true)
+  private List<MavenProject> reactorProjects;
+
+  private ProjectFingerprints projectFingerprints;
+  private FileDependencyGraphCache fileDependencyGraphCache;
+  private SessionDependencyGraphCache sessionDependencyGraphCache;
+  private DependencyGraphCache dependencyGraphCache;
+  private ScopeArtifactFilter scopeArtifactFilter;
+
   @Override
   protected final GraphFactory createGraphFactory(GraphStyleConfigurer graphStyleConfigurer) {
     ArtifactFilter globalFilter = createGlobalArtifactFilter();
@@ -142,8 +223,136 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
 
   protected abstract GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer);
 
+  MavenGraphAdapter createMavenGraphAdapter(ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+    Set<String> collectedScopes = this.pruneExcludedScopes ? getIncludedScopes() : null;
+    MavenGraphAdapter.Options options = MavenGraphAdapter.Options.defaults()
+        .withDependencyGraphCache(getDependencyGraphCache(collectedScopes))
+        .withIncludedScopes(collectedScopes)
+        .withExecutionProfile(getExecutionProfile());
+
+    return new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, includedResolutions, options);
+  }
+
+  /**
+   * Returns the cache for the resolved dependency graphs. The cache is shared by all graphs of this execution, so the
+   * dependencies are resolved only once when multiple graph formats are created. The file cache is asked before the
+   * session cache, so it still detects graphs that cannot be cached when they were resolved by another goal.
+   */
+  private DependencyGraphCache getDependencyGraphCache(Set<String> collectedScopes) {
+    if (this.dependencyGraphCache != null) {
+      return this.dependencyGraphCache;
+    }
+
+    this.dependencyGraphCache = DependencyGraphCache.noCache();
+    if (this.sessionCache) {
+      this.sessionDependencyGraphCache = SessionDependencyGraphCache.forSession(this.mavenSession.getRepositorySession());
+      this.dependencyGraphCache = this.sessionDependencyGraphCache.forConfiguration(collectedScopes != null ? "scopes-" + String.join("-", collectedScopes) : "all");
+    }
+
+    if (this.resolutionCache || this.incremental) {
+      Path cacheDirectory = this.resolutionCacheDirectory.toPath();
+      if (collectedScopes != null) {
+        // Pruned graphs must not be mixed up with complete ones
+        cacheDirectory = cacheDirectory.resolve("scopes-" + String.join("-", collectedScopes));
+      }
+
+      this.fileDependencyGraphCache = new FileDependencyGraphCache(cacheDirectory, getPluginVersion(), getProjectFingerprints());
+      this.dependencyGraphCache = this.fileDependencyGraphCache.withFallback(this.dependencyGraphCache);
+    }
+
+    if (getGraphFormats().size() > 1) {
+      this.dependencyGraphCache = DependencyGraphCache.inMemory(this.dependencyGraphCache);
+    }
+
+    return this.dependencyGraphCache;
+  }
+
+  @Override
+  protected Map<String, String> createProjectFingerprints() {
+    if (!this.incremental) {
+      return null;
+    }
+
+    Map<String, String> fingerprints = new LinkedHashMap<>();
+    for (MavenProject project : getGraphProjects()) {
+      fingerprints.put(project.getGroupId() + ":" + project.getArtifactId(), getProjectFingerprints().getFingerprint(project));
+    }
+
+    return fingerprints;
+  }
+
+  @Override
+  protected void reportStatistics() {
+    if (this.sessionDependencyGraphCache == null) {
+      return;
+    }
+
+    SessionDependencyGraphCache cache = this.sessionDependencyGraphCache;
+    getLog().debug(describeStatistics(cache));
+
+    // Executions for other projects may still resolve dependencies in parallel builds
+    SessionEndListener.forSession(this.mavenSession).register(SessionDependencyGraphCache.class.getName(), () -> getLog().info(describeStatistics(cache)));
+  }
+
+  private static String describeStatistics(SessionDependencyGraphCache cache) {
+    return "Session resolution cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses";
+  }
+
+  @Override
+  protected boolean isGraphReusable() {
+    return this.fileDependencyGraphCache == null || !this.fileDependencyGraphCache.hasUncacheableGraphs();
+  }
+
+  /**
+   * Returns the projects whose dependencies are part of the graph.
+   *
+   * @return The projects whose dependencies are part of the graph.
+   */
+  protected Collection<MavenProject> getGraphProjects() {
+    return Collections.singletonList(getProject());
+  }
+
+  private ProjectFingerprints getProjectFingerprints() {
+    if (this.projectFingerprints == null) {
+      this.projectFingerprints = new ProjectFingerprints(this.reactorProjects);
+    }
+
+    return this.projectFingerprints;
+  }
+
+  /**
+   * Returns the scopes that are included by the scope filter of this mojo.
+   *
+   * @return The included scopes in alphabetical order or {@code null} if the graph is not filtered by scope.
+   */
+  private Set<String> getIncludedScopes() {
+    if (this.scopeArtifactFilter == null) {
+      return null;
+    }
+
+    Set<String> includedScopes = new TreeSet<>();
+    if (this.scopeArtifactFilter.isIncludeCompileScope()) {
+      includedScopes.add(SCOPE_COMPILE);
+    }
+    if (this.scopeArtifactFilter.isIncludeRuntimeScope()) {
+      includedScopes.add(SCOPE_RUNTIME);
+    }
+    if (this.scopeArtifactFilter.isIncludeTestScope()) {
+      includedScopes.add(SCOPE_TEST);
+    }
+    if (this.scopeArtifactFilter.isIncludeProvidedScope()) {
+      includedScopes.add(SCOPE_PROVIDED);
+    }
+    if (this.scopeArtifactFilter.isIncludeSystemScope()) {
+      includedScopes.add(SCOPE_SYSTEM);
+    }
+
+    return includedScopes;
+  }
+
   private ArtifactFilter createGlobalArtifactFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
+    List<ArtifactFilter> filters = new ArrayList<>();
+    this.scopeArtifactFilter = null;
 
     if (this.scope != null) {
       getLog().warn("The 'scope' parameter is deprecated and will be removed in future versions. Use 'classpathScope' instead.");
@@ -155,56 +364,74 @@ abstract class AbstractDependencyGraphMojo extends AbstractGraphMojo {
 
     if (this.classpathScope != null) {
       if (this.scopes.isEmpty()) {
-        filter.add(new ScopeArtifactFilter(this.classpathScope));
+        this.scopeArtifactFilter = new ScopeArtifactFilter(this.classpathScope);
+        filters.add(this.scopeArtifactFilter);
       } else {
         getLog().warn("Both 'classpathScope' (formerly 'scope') and 'scopes' parameters are set. The 'classpathScope' parameter will be ignored.");
       }
     }
 
     if (!this.scopes.isEmpty()) {
-      filter.add(createScopesArtifactFilter(this.scopes));
+      this.scopeArtifactFilter = createScopesArtifactFilter(this.scopes);
+      filters.add(this.scopeArtifactFilter);
     }
 
     if (!this.includes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.includes));
+      filters.add(new StrictPatternIncludesArtifactFilter(this.includes));
     }
 
     if (!this.excludes.isEmpty()) {
-      filter.add(new StrictPatternExcludesArtifactFilter(this.excludes));
+      filters.add(new StrictPatternExcludesArtifactFilter(this.excludes));
     }
 
     if (this.excludeOptionalDependencies) {
-      filter.add(new OptionalArtifactFilter());
+      filters.add(new OptionalArtifactFilter());
     }
 
-    return filter;
+    return combineFilters(filters);
   }
 
   private ArtifactFilter createTransitiveIncludeExcludeFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
+    List<ArtifactFilter> filters = new ArrayList<>();
 
     if (!this.transitiveIncludes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.transitiveIncludes));
+      filters.add(new StrictPatternIncludesArtifactFilter(this.transitiveIncludes));
     }
 
     if (!this.transitiveExcludes.isEmpty()) {
-      filter.add(new StrictPatternExcludesArtifactFilter(this.transitiveExcludes));
+      filters.add(new StrictPatternExcludesArtifactFilter(this.transitiveExcludes));
     }
 
-    return filter;
+    return combineFilters(filters);
   }
 
   private ArtifactFilter createTargetArtifactFilter() {
-    AndArtifactFilter filter = new AndArtifactFilter();
+    List<ArtifactFilter> filters = new ArrayList<>();
 
     if (!this.targetIncludes.isEmpty()) {
-      filter.add(new StrictPatternIncludesArtifactFilter(this.targetIncludes));
+      filters.add(new StrictPatternIncludesArtifactFilter(this.targetIncludes));
     }
 
-    return filter;
+    return combineFilters(filters);
+  }
+
+  /**
+   * Combines the given filters. The combined filter is evaluated only once for each distinct artifact in the graph.
+   */
+  private static ArtifactFilter combineFilters(List<ArtifactFilter> filters) {
+    AndArtifactFilter filter = new AndArtifactFilter();
+    if (filters.isEmpty()) {
+      return filter;
+    }
+
+    for (ArtifactFilter artifactFilter : filters) {
+      filter.add(artifactFilter);
+    }
+
+    return new MemoizingArtifactFilter(filter);
   }
 
-  private ArtifactFilter createScopesArtifactFilter(List<String> scopes) {
+  private ScopeArtifactFilter createScopesArtifactFilter(List<String> scopes) {
     ScopeArtifactFilter filter = new ScopeArtifactFilter();
     for (String scope : scopes) {
       if (SCOPE_COMPILE.equals(scope)) {
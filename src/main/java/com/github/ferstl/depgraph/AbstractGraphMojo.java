@@ -15,31 +15,59 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectDependenciesResolver;
-import org.codehaus.plexus.util.cli.CommandLineException;
-import org.codehaus.plexus.util.cli.CommandLineUtils;
-import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
-import org.codehaus.plexus.util.cli.Commandline;
 import com.github.ferstl.depgraph.dependency.DependencyGraphException;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.ExecutionProfile;
+import com.github.ferstl.depgraph.dependency.ExecutionProfile.Measurement;
 import com.github.ferstl.depgraph.dependency.GraphFactory;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.dot.DotGraphStyleConfigurer;
@@ -52,9 +80,16 @@ import com.github.ferstl.depgraph.dependency.gml.GmlGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.json.JsonGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.puml.PumlGraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.text.TextGraphStyleConfigurer;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.svg.SvgGraphFormatter;
 import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Primitives;
 import static com.github.ferstl.depgraph.GraphFormat.JSON;
 
 /**
@@ -65,8 +100,21 @@ import static com.github.ferstl.depgraph.GraphFormat.JSON;
  */
 abstract class AbstractGraphMojo extends AbstractMojo {
 
-  private static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\r?\n");
   private static final String OUTPUT_FILE_NAME = "dependency-graph";
+  private static final String FINGERPRINT_FILE_EXTENSION = ".fingerprint";
+  private static final String IMAGE_HASH_FILE_EXTENSION = ".sha256";
+  private static final String BUILTIN_IMAGE_RENDERER = "builtin";
+  private static final String PROFILE_FILE_EXTENSION = ".profile.json";
+  private static final String CONFIGURATION_FINGERPRINT = "configuration";
+
+  /**
+   * Parameters that only change how or whether a graph is created but not the graph itself.
+   */
+  private static final Set<String> NON_OUTPUT_PARAMETERS = ImmutableSet.of(
+      "incremental", "profile", "writeProfile", "printStyleConfiguration", "resolutionCache", "resolutionCacheDirectory",
+      "sessionCache", "pruneExcludedScopes", "threads", "skip");
+
+  private static final String CLI_EXECUTION_ID = "default-cli";
 
   /**
    * Format of the graph, either &quot;dot&quot; (default), &quot;gml&quot;, &quot;puml&quot;, &quot;json&quot; or &quot;text&quot;.
@@ -76,6 +124,16 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "graphFormat", defaultValue = "dot")
   private String graphFormat;
 
+  /**
+   * Comma-separated list of graph formats (see {@code graphFormat}). If set, a graph file is created for each format
+   * and {@code graphFormat} is ignored. The dependencies are resolved only once for all formats and the graph files are
+   * written in parallel.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "graphFormats")
+  private List<String> graphFormats;
+
   /**
    * If set to {@code true} (which is the default) <strong>and</strong> the graph format is 'json', the graph will show
    * any information that is possible.
@@ -137,6 +195,22 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "imageFormat", defaultValue = "png")
   private String imageFormat;
 
+  /**
+   * Only relevant when {@code graphFormat=dot} and {@code createImage=true}: The renderer for the graph image. Possible
+   * values are:
+   * <ul>
+   * <li>{@code graphviz}: Runs Graphviz' dot executable, which needs to be installed.</li>
+   * <li>{@code builtin}: Lays out the graph in Java and writes an SVG image, which does not need Graphviz. The image
+   * uses the shapes, colors and fonts of the style configuration, but only supports a subset of Graphviz' attributes.
+   * {@link #imageFormat} and {@link #dotArguments} are ignored and the image is always written as {@code .svg}
+   * file.</li>
+   * </ul>
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "imageRenderer", defaultValue = "graphviz")
+  private String imageRenderer;
+
   /**
    * Only relevant when {@code graphFormat=dot} and {@code createImage=true}: Path to the dot executable. Use this
    * option in case {@link #createImage} is set to {@code true} and the dot executable is not on the system
@@ -173,6 +247,35 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(property = "printStyleConfiguration", defaultValue = "false")
   private boolean printStyleConfiguration;
 
+  /**
+   * Only relevant when {@code graphFormat=text}: The maximum number of lines of the text graph. Larger graphs are
+   * truncated, which prevents huge outputs when transitive dependencies are repeated. Use {@code 0} for no limit.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "maxLinesInTextGraph", defaultValue = "1000000")
+  private int maxLinesInTextGraph;
+
+  /**
+   * If set to {@code true}, the wall time, CPU time and allocated bytes of each phase (style configuration, graph
+   * creation with dependency resolution, visiting and edge reduction, formatting and writing, Graphviz) are measured
+   * together with the number of nodes and edges. The measurements are logged as table after the graphs were created
+   * and are also emitted as Flight Recorder events if the JVM supports it.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.profile", defaultValue = "false")
+  private boolean profile;
+
+  /**
+   * Only relevant when {@code profile=true}: If set to {@code true}, the measurements are also written as JSON file
+   * next to the graph file ({@code <outputFileName>.profile.json}).
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.writeProfile", defaultValue = "false")
+  private boolean writeProfile;
+
   /**
    * Skip execution when set to {@code true}.
    *
@@ -190,40 +293,124 @@ abstract class AbstractGraphMojo extends AbstractMojo {
   @Parameter(defaultValue = "${project}", readonly = true)
   private MavenProject project;
 
+  @Parameter(defaultValue = "${session}", readonly = true)
+  MavenSession mavenSession;
+
+  @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+  private MojoExecution mojoExecution;
+
+  /**
+   * The version of this plugin. It is part of the configuration fingerprint of incremental graphs and of the keys in
+   * the resolution cache.
+   */
+  @Parameter(defaultValue = "${plugin.version}", readonly = true)
+  private String pluginVersion;
+
   @Component
   ProjectDependenciesResolver dependenciesResolver;
 
+  /**
+   * The format of the graph that is currently created.
+   */
+  private GraphFormat currentGraphFormat;
+  private StyleConfiguration dotStyleConfiguration;
+
+  /**
+   * The Graphviz jobs of this execution.
+   */
+  private final List<Future<Void>> imageJobs = Collections.synchronizedList(new ArrayList<>());
+
+  /**
+   * The profile of this execution.
+   */
+  private ExecutionProfile executionProfile = ExecutionProfile.disabled();
+
   @Override
   public final void execute() throws MojoExecutionException, MojoFailureException {
     if (this.skip) {
       getLog().info("Skipping execution");
+      if (this.createImage && isLastExecutionOfBuild()) {
+        awaitDeferredGraphImages();
+      }
       return;
     }
 
-    GraphFormat graphFormat = GraphFormat.forName(this.graphFormat);
-    GraphStyleConfigurer graphStyleConfigurer = createGraphStyleConfigurer(graphFormat);
-    Path graphFilePath = createGraphFilePath(graphFormat);
+    if (!BUILTIN_IMAGE_RENDERER.equalsIgnoreCase(this.imageRenderer) && !"graphviz".equalsIgnoreCase(this.imageRenderer)) {
+      throw new MojoFailureException("Unsupported image renderer: " + this.imageRenderer + ". Use 'graphviz' or 'builtin'.");
+    }
+
+    if (this.profile) {
+      this.executionProfile = ExecutionProfile.create(getProject().getId());
+    }
+
+    Set<GraphFormat> graphFormats = getGraphFormats();
+    Map<GraphFormat, GraphStyleConfigurer> graphStyleConfigurers = new LinkedHashMap<>();
+    try (Measurement ignored = this.executionProfile.start("style configuration")) {
+      for (GraphFormat graphFormat : graphFormats) {
+        graphStyleConfigurers.put(graphFormat, createGraphStyleConfigurer(graphFormat));
+      }
+    }
 
     try {
-      GraphFactory graphFactory = createGraphFactory(graphStyleConfigurer);
-      String dependencyGraph = graphFactory.createGraph(getProject());
-      writeGraphFile(dependencyGraph, graphFilePath);
-
-      if (graphFormat == GraphFormat.DOT && this.createImage) {
-        createDotGraphImage(graphFilePath);
-      } else if (graphFormat == GraphFormat.TEXT) {
-        getLog().info("Dependency graph:\n" + dependencyGraph);
+      Map<String, String> fingerprints = createFingerprints();
+      Map<GraphFormat, GraphBuilder<DependencyNode>> graphs = new LinkedHashMap<>();
+      Set<GraphFormat> evaluatedGraphFormats = EnumSet.noneOf(GraphFormat.class);
+
+      for (Entry<GraphFormat, GraphStyleConfigurer> entry : graphStyleConfigurers.entrySet()) {
+        GraphFormat graphFormat = entry.getKey();
+        Path graphFilePath = createGraphFilePath(graphFormat);
+        if (fingerprints != null && isUpToDate(graphFormat, graphFilePath, createFingerprintFilePath(graphFilePath), fingerprints)) {
+          getLog().info("Dependency graph is up to date: " + graphFilePath);
+        } else {
+          this.currentGraphFormat = graphFormat;
+          GraphBuilder<DependencyNode> graph = createGraph(entry.getValue());
+          if (evaluateGraph(graph)) {
+            evaluatedGraphFormats.add(graphFormat);
+          } else {
+            graphs.put(graphFormat, graph);
+          }
+        }
+      }
+
+      writeGraphs(graphs, fingerprints);
+      awaitGraphImages();
+
+      if (graphFormats.contains(GraphFormat.TEXT) && !evaluatedGraphFormats.contains(GraphFormat.TEXT)) {
+        logTextGraph(createGraphFilePath(GraphFormat.TEXT));
       }
 
+      reportStatistics();
+      reportProfile();
+
     } catch (DependencyGraphException e) {
       throw new MojoExecutionException("Unable to create dependency graph.", e.getCause());
     } catch (IOException e) {
       throw new MojoExecutionException("Unable to write graph file.", e);
+    } finally {
+      this.currentGraphFormat = null;
+      if (this.createImage) {
+        // Failures of images that were not awaited yet are reported even if this execution failed
+        deferGraphImages();
+        if (isLastExecutionOfBuild()) {
+          logDeferredGraphImageFailures();
+        }
+      }
     }
   }
 
   protected abstract GraphFactory createGraphFactory(GraphStyleConfigurer graphStyleConfigurer);
 
+  private GraphBuilder<DependencyNode> createGraph(GraphStyleConfigurer graphStyleConfigurer) {
+    GraphBuilder<DependencyNode> graph;
+    try (Measurement ignored = this.executionProfile.start("graph creation")) {
+      graph = createGraphFactory(graphStyleConfigurer).createGraph(getProject());
+    }
+
+    this.executionProfile.count("nodes", graph.getNodeCount());
+    this.executionProfile.count("edges", graph.getEdgeCount());
+    return graph;
+  }
+
   /**
    * Override this method to configure additional style resources. It is recommendet to call
    * {@code super.getAdditionalStyleResources()} and add them to the set.
@@ -242,17 +429,136 @@ abstract class AbstractGraphMojo extends AbstractMojo {
    * @return {@code true} if the full graph should be shown, {@code false} else.
    */
   protected boolean showFullGraph() {
-    return GraphFormat.forName(this.graphFormat) == JSON && this.showAllAttributesForJson;
+    return this.currentGraphFormat == JSON && this.showAllAttributesForJson;
+  }
+
+  /**
+   * Returns the formats of the graphs that are created by this mojo.
+   *
+   * @return The graph formats in the configured order.
+   */
+  protected Set<GraphFormat> getGraphFormats() {
+    Set<GraphFormat> formats = new LinkedHashSet<>();
+    if (this.graphFormats == null || this.graphFormats.isEmpty()) {
+      formats.add(GraphFormat.forName(this.graphFormat));
+    } else {
+      for (String format : this.graphFormats) {
+        formats.add(GraphFormat.forName(format.trim()));
+      }
+    }
+
+    return formats;
   }
 
   protected MavenProject getProject() {
     return this.project;
   }
 
+  String getPluginVersion() {
+    return this.pluginVersion;
+  }
+
+  /**
+   * Override this method to enable incremental graph creation. The graph file is only created again if the returned
+   * fingerprints or the configuration of this mojo changed since the graph file was created.
+   *
+   * @return Fingerprints of the projects that are part of the graph or {@code null} to always create the graph.
+   */
+  protected Map<String, String> createProjectFingerprints() {
+    return null;
+  }
+
+  /**
+   * Indicates whether the graph that was just created only depends on the fingerprints returned by
+   * {@link #createProjectFingerprints()}. If not, the graph is created again on the next execution.
+   *
+   * @return {@code true} if the created graph can be reused as long as the fingerprints don't change.
+   */
+  protected boolean isGraphReusable() {
+    return true;
+  }
+
+  /**
+   * Indicates whether this is the last execution of this goal in the current build. Aggregating goals and goals that
+   * don't require a project run only once per build. For all other goals, the default implementation checks whether the
+   * current project is the last project of the reactor.
+   *
+   * @return {@code true} if this goal does not run for another project of this build.
+   */
+  protected boolean isLastExecutionOfBuild() {
+    MojoDescriptor mojoDescriptor = this.mojoExecution.getMojoDescriptor();
+    if (mojoDescriptor.isAggregator() || !mojoDescriptor.isProjectRequired()) {
+      return true;
+    }
+
+    List<MavenProject> projects = this.mavenSession.getProjects();
+    return projects.get(projects.size() - 1) == getProject();
+  }
+
+  /**
+   * Returns the profile of this execution. Subclasses should pass it to the components that execute the phases of the
+   * graph creation.
+   *
+   * @return The profile, which is disabled unless profiling is configured.
+   */
+  protected ExecutionProfile getExecutionProfile() {
+    return this.executionProfile;
+  }
+
+  /**
+   * Override this method to evaluate the created graph instead of writing it to a graph file. It is called right after
+   * the graph of each format was created.
+   *
+   * @param graph The created graph.
+   * @return {@code true} if the graph was evaluated and must not be written to a graph file.
+   * @throws IOException In case the result of the evaluation cannot be written.
+   */
+  protected boolean evaluateGraph(GraphBuilder<DependencyNode> graph) throws IOException {
+    return false;
+  }
+
+  /**
+   * Override this method to log statistics or to write additional reports after the graphs were created.
+   *
+   * @throws IOException In case a report cannot be written.
+   */
+  protected void reportStatistics() throws IOException {
+  }
+
+  /**
+   * Logs the text graph line by line, so large graphs don't need to be kept in memory.
+   */
+  private void logTextGraph(Path graphFilePath) throws IOException {
+    getLog().info("Dependency graph:");
+    try (BufferedReader reader = Files.newBufferedReader(graphFilePath, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        getLog().info(line);
+      }
+    }
+  }
+
+  private void reportProfile() throws IOException {
+    if (!this.executionProfile.isEnabled()) {
+      return;
+    }
+
+    getLog().info("Execution profile of " + getProject().getId() + ":\n" + this.executionProfile.toTable());
+
+    if (this.writeProfile) {
+      Path profileFilePath = createProfileFilePath();
+      try (Writer writer = Files.newBufferedWriter(profileFilePath, StandardCharsets.UTF_8)) {
+        this.executionProfile.writeJson(writer);
+      }
+      getLog().info("Execution profile written to " + profileFilePath);
+    }
+  }
+
   private GraphStyleConfigurer createGraphStyleConfigurer(GraphFormat graphFormat) throws MojoFailureException {
     switch (graphFormat) {
       case DOT:
         StyleConfiguration styleConfiguration = loadStyleConfiguration();
+        this.dotStyleConfiguration = styleConfiguration;
         return new DotGraphStyleConfigurer(styleConfiguration);
       case GML:
         return new GmlGraphStyleConfigurer();
@@ -261,7 +567,7 @@ abstract class AbstractGraphMojo extends AbstractMojo {
       case JSON:
         return new JsonGraphStyleConfigurer();
       case TEXT:
-        return new TextGraphStyleConfigurer();
+        return new TextGraphStyleConfigurer(this.maxLinesInTextGraph);
       default:
         throw new IllegalArgumentException("Unsupported output format: " + graphFormat);
     }
@@ -309,6 +615,129 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     return customStyleResource;
   }
 
+  private Map<String, String> createFingerprints() throws IOException, MojoFailureException {
+    Map<String, String> projectFingerprints = createProjectFingerprints();
+    if (projectFingerprints == null) {
+      return null;
+    }
+
+    Map<String, String> fingerprints = new TreeMap<>(projectFingerprints);
+    fingerprints.put(CONFIGURATION_FINGERPRINT, createConfigurationFingerprint());
+    return fingerprints;
+  }
+
+  /**
+   * Creates a fingerprint of the parameters of this mojo and of the custom style configuration. The parameters are
+   * taken from the mojo descriptor and their values from the fields of this mojo, so they already contain the values of
+   * expressions and user properties. Parameters that don't change the created graphs are not part of the fingerprint.
+   */
+  private String createConfigurationFingerprint() throws IOException, MojoFailureException {
+    List<org.apache.maven.plugin.descriptor.Parameter> parameters = new ArrayList<>();
+    if (this.mojoExecution.getMojoDescriptor().getParameters() != null) {
+      parameters.addAll(this.mojoExecution.getMojoDescriptor().getParameters());
+    }
+    parameters.sort(Comparator.comparing(org.apache.maven.plugin.descriptor.Parameter::getName));
+
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (org.apache.maven.plugin.descriptor.Parameter parameter : parameters) {
+      Field field = findParameterField(parameter.getName());
+      if (field != null && isConfigurationParameter(field) && !NON_OUTPUT_PARAMETERS.contains(parameter.getName())) {
+        field.setAccessible(true);
+        try {
+          hasher.putString(parameter.getName() + "=" + field.get(this) + "\n", StandardCharsets.UTF_8);
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+
+    if (StringUtils.isNotBlank(this.customStyleConfiguration)) {
+      try (InputStream is = getCustomStyleResource().openStream()) {
+        hasher.putBytes(ByteStreams.toByteArray(is));
+      }
+    }
+
+    return hasher.hash().toString();
+  }
+
+  private Field findParameterField(String name) {
+    for (Class<?> type = getClass(); type != AbstractMojo.class; type = type.getSuperclass()) {
+      try {
+        return type.getDeclaredField(name);
+      } catch (NoSuchFieldException e) {
+        // declared in a superclass
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean isConfigurationParameter(Field field) {
+    if (Modifier.isStatic(field.getModifiers())) {
+      return false;
+    }
+
+    Class<?> type = field.getType();
+    if (Collection.class.isAssignableFrom(type)) {
+      Type genericType = field.getGenericType();
+      return genericType instanceof ParameterizedType && ((ParameterizedType) genericType).getActualTypeArguments()[0] == String.class;
+    }
+
+    return type.isPrimitive() || Primitives.isWrapperType(type) || type.isEnum() || type == String.class || type == File.class;
+  }
+
+  private boolean isUpToDate(GraphFormat graphFormat, Path graphFilePath, Path fingerprintFilePath, Map<String, String> fingerprints) throws IOException {
+    if (!Files.isRegularFile(graphFilePath) || !Files.isRegularFile(fingerprintFilePath)) {
+      return false;
+    }
+
+    if (graphFormat == GraphFormat.DOT && this.createImage && !Files.isRegularFile(graphFilePath.resolveSibling(createDotImageFileName(graphFilePath)))) {
+      return false;
+    }
+
+    Map<String, String> previousFingerprints = new TreeMap<>();
+    for (String line : Files.readAllLines(fingerprintFilePath, StandardCharsets.UTF_8)) {
+      int separator = line.lastIndexOf(' ');
+      if (separator > 0) {
+        previousFingerprints.put(line.substring(0, separator), line.substring(separator + 1));
+      }
+    }
+
+    if (previousFingerprints.equals(fingerprints)) {
+      return true;
+    }
+
+    if (!Objects.equals(previousFingerprints.get(CONFIGURATION_FINGERPRINT), fingerprints.get(CONFIGURATION_FINGERPRINT))) {
+      getLog().info("Configuration changed. Creating dependency graph.");
+    } else {
+      Set<String> changedProjects = new TreeSet<>();
+      for (Entry<String, String> entry : fingerprints.entrySet()) {
+        if (!entry.getValue().equals(previousFingerprints.get(entry.getKey()))) {
+          changedProjects.add(entry.getKey());
+        }
+      }
+
+      getLog().info("Changed projects: " + Joiner.on(", ").join(changedProjects) + ". Creating dependency graph.");
+    }
+
+    return false;
+  }
+
+  private void writeFingerprintFile(Path fingerprintFilePath, Map<String, String> fingerprints) throws IOException {
+    if (!isGraphReusable()) {
+      getLog().info("The dependency graph contains version ranges or external snapshots and will be created on every execution.");
+      Files.deleteIfExists(fingerprintFilePath);
+      return;
+    }
+
+    List<String> lines = new ArrayList<>();
+    for (Entry<String, String> entry : fingerprints.entrySet()) {
+      lines.add(entry.getKey() + " " + entry.getValue());
+    }
+
+    Files.write(fingerprintFilePath, lines, StandardCharsets.UTF_8);
+  }
+
   private Path createGraphFilePath(GraphFormat graphFormat) {
     String fileName = this.useArtifactIdInFileName ? this.artifactId : this.outputFileName;
     fileName = addFileExtensionIfNeeded(graphFormat, fileName);
@@ -321,6 +750,15 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     return Paths.get(System.getProperty("user.dir"), fileName);
   }
 
+  private Path createProfileFilePath() {
+    GraphFormat graphFormat = getGraphFormats().iterator().next();
+    Path graphFilePath = createGraphFilePath(graphFormat);
+    String graphFileName = graphFilePath.getFileName().toString();
+    String baseName = graphFileName.substring(0, graphFileName.length() - graphFormat.getFileExtension().length());
+
+    return graphFilePath.resolveSibling(baseName + PROFILE_FILE_EXTENSION);
+  }
+
   private String addFileExtensionIfNeeded(GraphFormat graphFormat, String fileName) {
     String fileExtension = graphFormat.getFileExtension();
 
@@ -334,20 +772,208 @@ abstract class AbstractGraphMojo extends AbstractMojo {
     return !this.outputDirectory.toString().contains("${project.basedir}");
   }
 
-  private void writeGraphFile(String graph, Path graphFilePath) throws IOException {
+  /**
+   * Writes the given graphs and their fingerprint files. Multiple graphs are written in parallel since each of them has
+   * its own builder and formatter.
+   */
+  private void writeGraphs(Map<GraphFormat, GraphBuilder<DependencyNode>> graphs, Map<String, String> fingerprints) throws IOException {
+    if (graphs.size() <= 1) {
+      for (Entry<GraphFormat, GraphBuilder<DependencyNode>> entry : graphs.entrySet()) {
+        writeGraph(entry.getKey(), entry.getValue(), fingerprints);
+      }
+
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(graphs.size(), Runtime.getRuntime().availableProcessors()));
+    try {
+      List<Future<Void>> results = new ArrayList<>(graphs.size());
+      for (Entry<GraphFormat, GraphBuilder<DependencyNode>> entry : graphs.entrySet()) {
+        results.add(executor.submit(() -> {
+          writeGraph(entry.getKey(), entry.getValue(), fingerprints);
+          return null;
+        }));
+      }
+
+      for (Future<Void> result : results) {
+        awaitGraph(result);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void awaitGraph(Future<Void> result) throws IOException {
+    try {
+      result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while writing graph files", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private void writeGraph(GraphFormat graphFormat, GraphBuilder<DependencyNode> graph, Map<String, String> fingerprints) throws IOException {
+    Path graphFilePath = createGraphFilePath(graphFormat);
+    HashCode contentHash;
+    try (Measurement ignored = this.executionProfile.start("formatting and writing")) {
+      contentHash = writeGraphFile(graph, graphFilePath);
+    }
+
+    Path fingerprintFilePath = createFingerprintFilePath(graphFilePath);
+    if (graphFormat != GraphFormat.DOT || !this.createImage) {
+      if (fingerprints != null) {
+        writeFingerprintFile(fingerprintFilePath, fingerprints);
+      }
+
+      return;
+    }
+
+    // The graph is not up to date before its image was created, so the fingerprints are written after the image
+    Files.deleteIfExists(fingerprintFilePath);
+    if (isBuiltInImageRenderer()) {
+      // The SVG image is rendered right away, so no image job keeps the graph in memory
+      SvgGraphFormatter svgFormatter = new SvgGraphFormatter(this.dotStyleConfiguration.graphAttributes(), this.dotStyleConfiguration.defaultNodeAttributes(), this.dotStyleConfiguration.defaultEdgeAttributes());
+      try (Measurement ignored = this.executionProfile.start("svg rendering")) {
+        createSvgGraphImage(graph, svgFormatter, graphFilePath, contentHash);
+      }
+      writeFingerprintFileAfterImage(fingerprintFilePath, fingerprints);
+    } else {
+      this.imageJobs.add(getImageRenderingQueue().submit(() -> {
+        try (Measurement ignored = this.executionProfile.start("graphviz")) {
+          createDotGraphImage(graphFilePath, contentHash);
+        }
+        writeFingerprintFileAfterImage(fingerprintFilePath, fingerprints);
+        return null;
+      }));
+    }
+  }
+
+  private void writeFingerprintFileAfterImage(Path fingerprintFilePath, Map<String, String> fingerprints) throws IOException {
+    if (fingerprints != null) {
+      writeFingerprintFile(fingerprintFilePath, fingerprints);
+    }
+  }
+
+  /**
+   * Waits until the images of this execution are created. In sequential builds, executions from the command line don't
+   * wait for their images unless they are profiled, so Graphviz can run for multiple modules in parallel. The execution for the last project of
+   * the build then waits for all images and reports the modules whose images could not be created. If the build stops
+   * before, the images are awaited and reported at the end of the session.
+   */
+  private void awaitGraphImages() throws IOException, MojoExecutionException {
+    if (!this.createImage) {
+      return;
+    }
+
+    if (isGraphImageCreationDeferred() || isLastExecutionOfBuild()) {
+      // The last execution waits for its own images together with the deferred ones, so all failures are reported
+      deferGraphImages();
+      if (isLastExecutionOfBuild()) {
+        awaitDeferredGraphImages();
+      }
+
+      return;
+    }
+
+    for (Future<Void> imageJob : this.imageJobs) {
+      awaitGraph(imageJob);
+    }
+    this.imageJobs.clear();
+  }
+
+  private boolean isGraphImageCreationDeferred() {
+    // Only executions from the command line are guaranteed to run for the last project as well. Profiled executions
+    // wait for their images, so the image creation is part of their profile.
+    return !this.profile
+        && CLI_EXECUTION_ID.equals(this.mojoExecution.getExecutionId())
+        && this.mavenSession.getRequest().getDegreeOfConcurrency() <= 1
+        && !isLastExecutionOfBuild();
+  }
+
+  private void deferGraphImages() {
+    synchronized (this.imageJobs) {
+      if (this.imageJobs.isEmpty()) {
+        return;
+      }
+
+      for (Future<Void> imageJob : this.imageJobs) {
+        getImageRenderingQueue().defer(imageJob, getProject().getId());
+      }
+      this.imageJobs.clear();
+    }
+
+    SessionEndListener.forSession(this.mavenSession).register(ImageRenderingQueue.class.getName(), this::awaitDeferredGraphImages);
+  }
+
+  private void awaitDeferredGraphImages() throws MojoExecutionException {
+    List<String> modules = logDeferredGraphImageFailures();
+    if (!modules.isEmpty()) {
+      throw new MojoExecutionException("Unable to create graph images of " + Joiner.on(", ").join(modules));
+    }
+  }
+
+  /**
+   * Waits for the deferred images and logs their failures.
+   *
+   * @return The modules whose images could not be created.
+   */
+  private List<String> logDeferredGraphImageFailures() {
+    List<String> modules = new ArrayList<>();
+    for (Entry<String, Throwable> failure : getImageRenderingQueue().awaitDeferredJobs()) {
+      getLog().error("Unable to create graph image of " + failure.getKey() + ": " + failure.getValue().getMessage());
+      modules.add(failure.getKey());
+    }
+
+    return modules;
+  }
+
+  private ImageRenderingQueue getImageRenderingQueue() {
+    return ImageRenderingQueue.forSession(this.mavenSession.getRepositorySession());
+  }
+
+  private static Path createFingerprintFilePath(Path graphFilePath) {
+    return graphFilePath.resolveSibling(graphFilePath.getFileName() + FINGERPRINT_FILE_EXTENSION);
+  }
+
+  /**
+   * Writes the given graph to a file.
+   *
+   * @return The SHA-256 hash of the file content.
+   */
+  private HashCode writeGraphFile(GraphBuilder<DependencyNode> graph, Path graphFilePath) throws IOException {
     Path parent = graphFilePath.getParent();
     if (parent != null) {
       Files.createDirectories(parent);
     }
 
-    try (Writer writer = Files.newBufferedWriter(graphFilePath, StandardCharsets.UTF_8)) {
-      writer.write(graph);
+    HashingOutputStream hashingOutputStream = new HashingOutputStream(Hashing.sha256(), Files.newOutputStream(graphFilePath));
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(hashingOutputStream, StandardCharsets.UTF_8))) {
+      graph.writeTo(writer);
     }
+
+    return hashingOutputStream.hash();
   }
 
-  private void createDotGraphImage(Path graphFilePath) throws IOException {
+  /**
+   * Runs Graphviz to create an image of the given dot file. The image is not created again if neither the content of
+   * the dot file nor the Graphviz command changed since the image was created. This is checked with the hash that is
+   * stored next to the image.
+   */
+  private void createDotGraphImage(Path graphFilePath, HashCode contentHash) throws IOException {
     String graphFileName = createDotImageFileName(graphFilePath);
     Path graphFile = graphFilePath.resolveSibling(graphFileName);
+    Path imageHashFile = graphFile.resolveSibling(graphFileName + IMAGE_HASH_FILE_EXTENSION);
 
     String dotExecutable = determineDotExecutable();
     String[] arguments = new String[]{
@@ -360,45 +986,102 @@ abstract class AbstractGraphMojo extends AbstractMojo {
       arguments = ArrayUtils.addAll(arguments, dotArguments);
     }
 
-    Commandline cmd = new Commandline();
-    cmd.setExecutable(dotExecutable);
-    cmd.addArguments(arguments);
+    String imageHash = Hashing.sha256().newHasher()
+        .putString(contentHash.toString(), StandardCharsets.UTF_8)
+        .putString(dotExecutable + " " + Joiner.on(" ").join(arguments), StandardCharsets.UTF_8)
+        .hash()
+        .toString();
 
+    if (Files.isRegularFile(graphFile) && Files.isRegularFile(imageHashFile) && imageHash.equals(new String(Files.readAllBytes(imageHashFile), StandardCharsets.UTF_8))) {
+      getLog().info("Graph image is up to date: " + graphFile.toAbsolutePath());
+      return;
+    }
+
+    Files.deleteIfExists(imageHashFile);
     getLog().info("Running Graphviz: " + dotExecutable + " " + Joiner.on(" ").join(arguments));
 
-    StringStreamConsumer systemOut = new StringStreamConsumer();
-    StringStreamConsumer systemErr = new StringStreamConsumer();
-    int exitCode;
+    List<String> command = new ArrayList<>();
+    command.add(dotExecutable);
+    command.addAll(Arrays.asList(arguments));
 
+    Process process;
     try {
-      exitCode = CommandLineUtils.executeCommandLine(cmd, systemOut, systemErr);
-    } catch (CommandLineException e) {
+      process = new ProcessBuilder(command)
+          .redirectErrorStream(true)
+          .start();
+    } catch (IOException e) {
       throw new IOException("Unable to execute Graphviz", e);
     }
 
-    Splitter lineSplitter = Splitter.on(LINE_SEPARATOR_PATTERN).omitEmptyStrings().trimResults();
-    Iterable<String> output = Iterables.concat(
-        lineSplitter.split(systemOut.getOutput()),
-        lineSplitter.split(systemErr.getOutput()));
+    // Log the output while Graphviz is running instead of collecting all of it
+    process.getOutputStream().close();
+    try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+      String line;
+      while ((line = output.readLine()) != null) {
+        if (!line.trim().isEmpty()) {
+          getLog().info("  dot> " + line.trim());
+        }
+      }
+    }
 
-    for (String line : output) {
-      getLog().info("  dot> " + line);
+    int exitCode;
+    try {
+      exitCode = process.waitFor();
+    } catch (InterruptedException e) {
+      process.destroy();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while running Graphviz", e);
     }
 
     if (exitCode != 0) {
       throw new IOException("Graphviz terminated abnormally. Exit code: " + exitCode);
     }
 
+    Files.write(imageHashFile, imageHash.getBytes(StandardCharsets.UTF_8));
     getLog().info("Graph image created on " + graphFile.toAbsolutePath());
   }
 
+  /**
+   * Lays out the graph with the built-in renderer and writes it as SVG image. Like with Graphviz, the image is not
+   * created again if the content of the dot file did not change since the image was created.
+   */
+  private void createSvgGraphImage(GraphBuilder<DependencyNode> graph, SvgGraphFormatter svgFormatter, Path graphFilePath, HashCode contentHash) throws IOException {
+    String graphFileName = createDotImageFileName(graphFilePath);
+    Path graphFile = graphFilePath.resolveSibling(graphFileName);
+    Path imageHashFile = graphFile.resolveSibling(graphFileName + IMAGE_HASH_FILE_EXTENSION);
+
+    String imageHash = Hashing.sha256().newHasher()
+        .putString(contentHash.toString(), StandardCharsets.UTF_8)
+        .putString(BUILTIN_IMAGE_RENDERER + " " + this.pluginVersion, StandardCharsets.UTF_8)
+        .hash()
+        .toString();
+
+    if (Files.isRegularFile(graphFile) && Files.isRegularFile(imageHashFile) && imageHash.equals(new String(Files.readAllBytes(imageHashFile), StandardCharsets.UTF_8))) {
+      getLog().info("Graph image is up to date: " + graphFile.toAbsolutePath());
+      return;
+    }
+
+    Files.deleteIfExists(imageHashFile);
+    try (Writer writer = Files.newBufferedWriter(graphFile, StandardCharsets.UTF_8)) {
+      graph.writeTo(svgFormatter, writer);
+    }
+
+    Files.write(imageHashFile, imageHash.getBytes(StandardCharsets.UTF_8));
+    getLog().info("Graph image created on " + graphFile.toAbsolutePath());
+  }
+
+  private boolean isBuiltInImageRenderer() {
+    return BUILTIN_IMAGE_RENDERER.equalsIgnoreCase(this.imageRenderer);
+  }
+
   private String createDotImageFileName(Path graphFilePath) {
     String graphFileName = graphFilePath.getFileName().toString();
+    String imageFileExtension = isBuiltInImageRenderer() ? "svg" : this.imageFormat;
 
     if (graphFileName.endsWith(GraphFormat.DOT.getFileExtension())) {
-      graphFileName = graphFileName.substring(0, graphFileName.lastIndexOf(".")) + "." + this.imageFormat;
+      graphFileName = graphFileName.substring(0, graphFileName.lastIndexOf(".")) + "." + imageFileExtension;
     } else {
-      graphFileName = graphFileName + this.imageFormat;
+      graphFileName = graphFileName + imageFileExtension;
     }
 
     return graphFileName;
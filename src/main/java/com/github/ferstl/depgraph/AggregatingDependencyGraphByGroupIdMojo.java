@@ -39,7 +39,7 @@ import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
     aggregator = true,
     defaultPhase = LifecyclePhase.NONE,
     inheritByDefault = false,
-    requiresDependencyCollection = ResolutionScope.TEST,
+    requiresDependencyCollection = ResolutionScope.NONE,
     threadSafe = true)
 public class AggregatingDependencyGraphByGroupIdMojo extends AbstractAggregatingDependencyGraphMojo {
 
@@ -63,9 +63,15 @@ public class AggregatingDependencyGraphByGroupIdMojo extends AbstractAggregating
         .configure(GraphBuilder.create(nodeIdRenderer))
         .omitSelfReferences();
 
-    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
 
-    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, true, this.reduceEdges);
+    AggregatingGraphFactory.Options options = AggregatingGraphFactory.Options.defaults()
+        .withParentProjects(true)
+        .withReducedEdges(this.reduceEdges)
+        .withThreads(this.threads)
+        .withExecutionProfile(getExecutionProfile());
+
+    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, options);
   }
 
   @Override
@@ -38,7 +38,7 @@ import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
     aggregator = true,
     defaultPhase = LifecyclePhase.NONE,
     inheritByDefault = false,
-    requiresDependencyCollection = ResolutionScope.TEST,
+    requiresDependencyCollection = ResolutionScope.NONE,
     threadSafe = true)
 public class AggregatingDependencyGraphMojo extends AbstractAggregatingDependencyGraphMojo {
 
@@ -109,36 +109,32 @@ public class AggregatingDependencyGraphMojo extends AbstractAggregatingDependenc
 
   @Override
   protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer) {
-    handleOptionsForFullGraph();
-
     DependencyNodeIdRenderer nodeIdRenderer = DependencyNodeIdRenderer.versionlessId()
         .withClassifier(!this.mergeClassifiers)
         .withType(!this.mergeTypes)
         .withScope(!this.mergeScopes);
 
+    boolean fullGraph = showFullGraph();
     GraphBuilder<DependencyNode> graphBuilder = graphStyleConfigurer
-        .showGroupIds(this.showGroupIds)
+        .showGroupIds(this.showGroupIds || fullGraph)
         .showArtifactIds(true)
-        .showTypes(this.showTypes)
-        .showClassifiers(this.showClassifiers)
+        .showTypes(this.showTypes || fullGraph)
+        .showClassifiers(this.showClassifiers || fullGraph)
         .showOptional(this.showOptional)
         .showScope(true)
-        .showVersionsOnNodes(this.showVersions)
+        .showVersionsOnNodes(this.showVersions || fullGraph)
         // This graph won't show any conflicting dependencies. So don't show versions on edges
         .showVersionsOnEdges(false)
         .repeatTransitiveDependencies(this.repeatTransitiveDependenciesInTextGraph)
         .configure(GraphBuilder.create(nodeIdRenderer));
 
-    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
-    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, this.includeParentProjects, this.reduceEdges);
-  }
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    AggregatingGraphFactory.Options options = AggregatingGraphFactory.Options.defaults()
+        .withParentProjects(this.includeParentProjects)
+        .withReducedEdges(this.reduceEdges)
+        .withThreads(this.threads)
+        .withExecutionProfile(getExecutionProfile());
 
-  private void handleOptionsForFullGraph() {
-    if (showFullGraph()) {
-      this.showGroupIds = true;
-      this.showVersions = true;
-      this.showTypes = true;
-      this.showClassifiers = true;
-    }
+    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, options);
   }
 }
@@ -37,7 +37,7 @@ import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
 @Mojo(
     name = "by-groupid",
     defaultPhase = LifecyclePhase.NONE,
-    requiresDependencyCollection = ResolutionScope.TEST,
+    requiresDependencyCollection = ResolutionScope.NONE,
     threadSafe = true)
 public class DependencyGraphByGroupIdMojo extends AbstractDependencyGraphMojo {
 
@@ -56,7 +56,7 @@ public class DependencyGraphByGroupIdMojo extends AbstractDependencyGraphMojo {
         .configure(GraphBuilder.create(DependencyNodeIdRenderer.groupId().withScope(true)))
         .omitSelfReferences();
 
-    MavenGraphAdapter adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
     return new SimpleGraphFactory(adapter, globalFilter, graphBuilder);
   }
 
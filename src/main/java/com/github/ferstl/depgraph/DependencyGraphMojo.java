@@ -29,6 +29,7 @@ import com.github.ferstl.depgraph.dependency.MavenGraphAdapter;
 import com.github.ferstl.depgraph.dependency.NodeResolution;
 import com.github.ferstl.depgraph.dependency.SimpleGraphFactory;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.NodeRenderer;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
 import static java.util.EnumSet.allOf;
 import static java.util.EnumSet.complementOf;
@@ -40,7 +41,7 @@ import static java.util.EnumSet.of;
 @Mojo(
     name = "graph",
     defaultPhase = LifecyclePhase.NONE,
-    requiresDependencyCollection = ResolutionScope.TEST,
+    requiresDependencyCollection = ResolutionScope.NONE,
     threadSafe = true)
 public class DependencyGraphMojo extends AbstractDependencyGraphMojo {
 
@@ -122,8 +123,6 @@ public class DependencyGraphMojo extends AbstractDependencyGraphMojo {
 
   @Override
   protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer) {
-    handleOptionsForFullGraph();
-
     GraphBuilder<DependencyNode> graphBuilder = createGraphBuilder(graphStyleConfigurer);
     MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter);
 
@@ -135,27 +134,26 @@ public class DependencyGraphMojo extends AbstractDependencyGraphMojo {
         .withClassifier(!this.mergeClassifiers)
         .withType(!this.mergeTypes);
 
+    return createGraphBuilder(graphStyleConfigurer, nodeIdRenderer);
+  }
+
+  GraphBuilder<DependencyNode> createGraphBuilder(GraphStyleConfigurer graphStyleConfigurer, NodeRenderer<? super DependencyNode> nodeIdRenderer) {
+    // The full graph is only shown for some formats, so the configured options must not be changed
+    boolean fullGraph = showFullGraph();
+    boolean showVersions = this.showVersions || fullGraph;
+
     return graphStyleConfigurer
-        .showGroupIds(this.showGroupIds)
+        .showGroupIds(this.showGroupIds || fullGraph)
         .showArtifactIds(true)
-        .showTypes(this.showTypes)
-        .showClassifiers(this.showClassifiers)
+        .showTypes(this.showTypes || fullGraph)
+        .showClassifiers(this.showClassifiers || fullGraph)
         .showOptional(this.showOptional)
         .showScope(true)
-        .showVersionsOnNodes(this.showVersions)
-        .showVersionsOnEdges(this.showVersions && requiresFullGraph())
+        .showVersionsOnNodes(showVersions)
+        .showVersionsOnEdges(showVersions && requiresFullGraph())
         .configure(GraphBuilder.create(nodeIdRenderer));
   }
 
-  private void handleOptionsForFullGraph() {
-    if (showFullGraph()) {
-      this.showGroupIds = true;
-      this.showVersions = true;
-      this.showClassifiers = true;
-      this.showTypes = true;
-    }
-  }
-
   private MavenGraphAdapter createMavenGraphAdapter(ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter) {
     MavenGraphAdapter adapter;
     if (requiresFullGraph()) {
@@ -163,10 +161,10 @@ public class DependencyGraphMojo extends AbstractDependencyGraphMojo {
       resolutions = !this.showConflicts ? complementOf(of(NodeResolution.OMITTED_FOR_CONFLICT)) : resolutions;
       resolutions = !this.showDuplicates ? complementOf(of(NodeResolution.OMITTED_FOR_DUPLICATE)) : resolutions;
 
-      adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, resolutions);
+      adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, resolutions);
     } else {
       // there are no reachable paths to be omitted
-      adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+      adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
     }
     return adapter;
   }
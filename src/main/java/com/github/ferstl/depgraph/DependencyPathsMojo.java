@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import com.github.ferstl.depgraph.dependency.AggregatingGraphFactory;
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
+import com.github.ferstl.depgraph.dependency.GraphFactory;
+import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.MavenGraphAdapter;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.PathIndex;
+import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
+import static com.github.ferstl.depgraph.dependency.NodeResolution.OMITTED_FOR_DUPLICATE;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Shows why artifacts are part of the dependency graph by printing the paths from the modules of the reactor to these
+ * artifacts. The dependencies of all modules are resolved once and then queried, so unlike {@code targetIncludes}, the
+ * paths to multiple artifacts can be shown without resolving the graph again. No graph files are created.
+ *
+ * @since 4.0.2
+ */
+@Mojo(
+    name = "why",
+    aggregator = true,
+    defaultPhase = LifecyclePhase.NONE,
+    inheritByDefault = false,
+    requiresDependencyCollection = ResolutionScope.NONE,
+    threadSafe = true)
+public class DependencyPathsMojo extends AbstractAggregatingDependencyGraphMojo {
+
+  private static final String PATHS_SHORTEST = "shortest";
+  private static final String PATHS_FIRST = "first";
+  private static final String PATHS_ALL = "all";
+
+  /**
+   * List of artifacts, in the form of {@code groupId:artifactId:type:classifier}, whose paths should be shown. Each
+   * matching artifact is shown separately.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.targets", required = true)
+  private List<String> targets;
+
+  /**
+   * The paths to show for each artifact:
+   * <ul>
+   * <li>{@code shortest} (default): One of the shortest paths.</li>
+   * <li>{@code first}: The first {@link #maxPaths} paths in the order of the dependency declarations.</li>
+   * <li>{@code all}: All paths. The number of paths can grow exponentially with the number of dependencies.</li>
+   * </ul>
+   * The number of shown paths is printed for each artifact. Without {@link #maxDepth}, the total number of paths is
+   * printed as well, unless the artifact is reachable through a cycle.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.paths", defaultValue = PATHS_SHORTEST)
+  private String paths;
+
+  /**
+   * Only relevant when {@code paths=first}: The maximum number of paths to show for each artifact.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.maxPaths", defaultValue = "10")
+  private int maxPaths;
+
+  /**
+   * The maximum number of dependencies on a path. Longer paths are not shown. If a limit is set, the total number of
+   * paths is not computed and only the number of shown paths is printed. {@code 0} means no limit.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.maxDepth", defaultValue = "0")
+  private int maxDepth;
+
+  @Override
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer) {
+    if (!PATHS_SHORTEST.equals(this.paths) && !PATHS_FIRST.equals(this.paths) && !PATHS_ALL.equals(this.paths)) {
+      throw new IllegalArgumentException("Unsupported paths: " + this.paths + ". Use '" + PATHS_SHORTEST + "', '" + PATHS_FIRST + "' or '" + PATHS_ALL + "'.");
+    }
+
+    DependencyNodeIdRenderer nodeIdRenderer = DependencyNodeIdRenderer.versionlessId()
+        .withClassifier(true)
+        .withType(true)
+        .withScope(!this.mergeScopes);
+
+    GraphBuilder<DependencyNode> graphBuilder = graphStyleConfigurer
+        .showGroupIds(true)
+        .showArtifactIds(true)
+        .showTypes(false)
+        .showClassifiers(false)
+        .showOptional(true)
+        .showScope(true)
+        .showVersionsOnNodes(true)
+        .showVersionsOnEdges(false)
+        .configure(GraphBuilder.create(nodeIdRenderer));
+
+    // Duplicates are the paths that Maven did not need to resolve the artifact again
+    MavenGraphAdapter adapter = createMavenGraphAdapter(transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED, OMITTED_FOR_DUPLICATE));
+    // Reducing the edges would remove paths
+    AggregatingGraphFactory.Options options = AggregatingGraphFactory.Options.defaults()
+        .withThreads(this.threads)
+        .withExecutionProfile(getExecutionProfile());
+
+    return new AggregatingGraphFactory(adapter, subProjectsInReactorOrder(), globalFilter, graphBuilder, options);
+  }
+
+  /**
+   * The node names are rendered by the text style.
+   */
+  @Override
+  protected Set<GraphFormat> getGraphFormats() {
+    return EnumSet.of(GraphFormat.TEXT);
+  }
+
+  @Override
+  protected boolean evaluateGraph(GraphBuilder<DependencyNode> graph) {
+    PathIndex<DependencyNode> pathIndex = graph.createPathIndex();
+    StrictPatternIncludesArtifactFilter targetFilter = new StrictPatternIncludesArtifactFilter(this.targets);
+    int[] targetNodes = pathIndex.findNodes(node -> targetFilter.include(node.getArtifact()));
+
+    if (targetNodes.length == 0) {
+      getLog().warn("No artifact in the dependency graph matches " + String.join(", ", this.targets));
+      return true;
+    }
+
+    StringBuilder result = new StringBuilder();
+    for (int target : targetNodes) {
+      appendPaths(pathIndex, target, result);
+    }
+    getLog().info("Dependency paths:\n" + result);
+
+    return true;
+  }
+
+  private void appendPaths(PathIndex<DependencyNode> pathIndex, int target, StringBuilder result) {
+    List<int[]> targetPaths;
+    if (PATHS_SHORTEST.equals(this.paths)) {
+      int[] shortestPath = pathIndex.findShortestPath(target, this.maxDepth);
+      targetPaths = shortestPath != null ? singletonList(shortestPath) : emptyList();
+    } else {
+      targetPaths = pathIndex.findPaths(target, PATHS_FIRST.equals(this.paths) ? this.maxPaths : 0, this.maxDepth);
+    }
+
+    result.append(pathIndex.getNodeName(target)).append(" (").append(describePathCount(pathIndex, target, targetPaths.size())).append(")\n");
+    for (int[] path : targetPaths) {
+      result.append("  ");
+      for (int i = 0; i < path.length; i++) {
+        result.append(i > 0 ? " -> " : "").append(pathIndex.getNodeName(path[i]));
+      }
+      result.append('\n');
+    }
+  }
+
+  private String describePathCount(PathIndex<DependencyNode> pathIndex, int target, int shownPaths) {
+    if (shownPaths == 0) {
+      return this.maxDepth > 0 ? "no path with at most " + this.maxDepth + " dependencies" : "no path";
+    }
+
+    // Paths are only counted without depth limit
+    if (this.maxDepth > 0) {
+      return shownPaths + " shown";
+    }
+
+    long pathCount = pathIndex.countPaths(target);
+    if (pathCount < 0) {
+      return shownPaths + " shown, reachable through a cycle";
+    } else if (pathCount == Long.MAX_VALUE) {
+      return shownPaths + " of at least " + Long.MAX_VALUE + " paths";
+    }
+
+    return shownPaths + " of " + pathCount + (pathCount == 1 ? " path" : " paths");
+  }
+}
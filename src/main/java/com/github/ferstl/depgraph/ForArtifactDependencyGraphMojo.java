@@ -20,7 +20,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -106,16 +105,13 @@ public class ForArtifactDependencyGraphMojo extends DependencyGraphMojo {
   @Parameter(property = "profiles")
   private List<String> profiles;
 
-  @Parameter(defaultValue = "${session}", readonly = true, required = true)
-  private MavenSession session;
-
   @Component
   private ProjectBuilder projectBuilder;
 
   @Override
   public MavenProject getProject() {
-    ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(this.session.getProjectBuildingRequest());
-    buildingRequest.setRepositorySession(this.session.getRepositorySession());
+    ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(this.mavenSession.getProjectBuildingRequest());
+    buildingRequest.setRepositorySession(this.mavenSession.getRepositorySession());
     buildingRequest.setProject(null);
     buildingRequest.setResolveDependencies(true);
     buildingRequest.setActiveProfileIds(this.profiles);
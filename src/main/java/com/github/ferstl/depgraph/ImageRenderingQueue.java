@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Runs the Graphviz jobs of all modules of a Maven build on a shared pool, which has one thread per available
+ * processor. The queue is stored in the {@link SessionData} of the repository session.
+ * <p>
+ * Jobs can be deferred, so that the module's execution does not need to wait for its image. Deferred jobs are awaited
+ * by a later execution or at the end of the session, which also report their failures.
+ * </p>
+ */
+final class ImageRenderingQueue {
+
+  private static final String SESSION_DATA_KEY = ImageRenderingQueue.class.getName();
+  private static final long KEEP_ALIVE_SECONDS = 10;
+
+  private final ThreadPoolExecutor executor;
+  private final Map<Future<Void>, String> deferredJobs = new LinkedHashMap<>();
+
+  ImageRenderingQueue(int threads) {
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, "depgraph-graphviz-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+
+    // Idle threads terminate, so the pool does not outlive the build
+    this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Returns the queue of the given repository session and creates it if necessary.
+   *
+   * @param session The repository session of the current build.
+   * @return The queue of the given session.
+   */
+  static ImageRenderingQueue forSession(RepositorySystemSession session) {
+    SessionData data = session.getData();
+    Object queue = data.get(SESSION_DATA_KEY);
+    if (queue == null) {
+      ImageRenderingQueue newQueue = new ImageRenderingQueue(Runtime.getRuntime().availableProcessors());
+      queue = data.set(SESSION_DATA_KEY, null, newQueue) ? newQueue : data.get(SESSION_DATA_KEY);
+    }
+
+    // Another version of this plugin in the same build has its own class and cannot share the queue
+    return queue instanceof ImageRenderingQueue ? (ImageRenderingQueue) queue : new ImageRenderingQueue(Runtime.getRuntime().availableProcessors());
+  }
+
+  Future<Void> submit(Callable<Void> job) {
+    return this.executor.submit(job);
+  }
+
+  /**
+   * Registers a job that will be awaited by {@link #awaitDeferredJobs()}.
+   *
+   * @param job The job.
+   * @param module The module the job belongs to.
+   */
+  synchronized void defer(Future<Void> job, String module) {
+    this.deferredJobs.put(job, module);
+  }
+
+  /**
+   * Waits for all deferred jobs.
+   *
+   * @return The failures of the deferred jobs by module.
+   */
+  List<Entry<String, Throwable>> awaitDeferredJobs() {
+    Map<Future<Void>, String> jobs;
+    synchronized (this) {
+      jobs = new LinkedHashMap<>(this.deferredJobs);
+      this.deferredJobs.clear();
+    }
+
+    List<Entry<String, Throwable>> failures = new ArrayList<>();
+    for (Entry<Future<Void>, String> entry : jobs.entrySet()) {
+      try {
+        Uninterruptibles.getUninterruptibly(entry.getKey());
+      } catch (ExecutionException e) {
+        failures.add(new SimpleImmutableEntry<>(entry.getValue(), e.getCause()));
+      }
+    }
+
+    return failures;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.maven.project.MavenProject;
+import com.github.ferstl.depgraph.dependency.ReactorAnalysis;
+
+/**
+ * Reads the weights of reactor modules from a file. Two formats are supported:
+ * <ul>
+ * <li>CSV files with lines like {@code artifactId,weight} or {@code groupId:artifactId,weight}. Lines starting with
+ * {@code #} and lines without a numeric weight (e.g. headers) are ignored.</li>
+ * <li>Maven build logs. The build duration of each module in seconds is taken from the reactor summary.</li>
+ * </ul>
+ */
+final class ModuleWeights {
+
+  private static final Pattern ANSI_ESCAPE_PATTERN = Pattern.compile("\u001B\\[[;\\d]*m");
+  private static final Pattern CSV_PATTERN = Pattern.compile("^\\s*([^,;\\s]+)\\s*[,;]\\s*(\\d+(?:\\.\\d+)?)\\s*$");
+  private static final Pattern REACTOR_SUMMARY_PATTERN = Pattern.compile("^(?:\\[INFO]\\s+)?(.+?)\\s*\\.{2,}\\s*SUCCESS\\s*\\[\\s*([\\d:.]+)\\s*(s|min|h)?\\s*(?:\\|.*)?]\\s*$");
+
+  private ModuleWeights() {
+    throw new AssertionError("Not instantiable");
+  }
+
+  /**
+   * Reads the module weights from the given file.
+   *
+   * @param file CSV file or Maven build log.
+   * @param projects The modules of the reactor.
+   * @return The weights of all modules found in the file by their {@link ReactorAnalysis#getModuleId(MavenProject) ID}.
+   * @throws IOException In case the file cannot be read.
+   */
+  static Map<String, Double> read(Path file, Collection<MavenProject> projects) throws IOException {
+    Map<String, String> moduleIds = createModuleIndex(projects);
+    Map<String, Double> weights = new LinkedHashMap<>();
+
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = ANSI_ESCAPE_PATTERN.matcher(line).replaceAll("");
+        if (line.trim().startsWith("#")) {
+          continue;
+        }
+
+        Matcher csvMatcher = CSV_PATTERN.matcher(line);
+        Matcher summaryMatcher = REACTOR_SUMMARY_PATTERN.matcher(line);
+        if (csvMatcher.matches()) {
+          putWeight(weights, moduleIds.get(csvMatcher.group(1)), Double.parseDouble(csvMatcher.group(2)));
+        } else if (summaryMatcher.matches()) {
+          putWeight(weights, moduleIds.get(summaryMatcher.group(1).trim()), parseDuration(summaryMatcher.group(2), summaryMatcher.group(3)));
+        }
+      }
+    }
+
+    return weights;
+  }
+
+  private static Map<String, String> createModuleIndex(Collection<MavenProject> projects) {
+    Map<String, String> moduleIds = new HashMap<>();
+    // Less specific keys first, so that they can be overwritten by more specific keys of other modules
+    for (MavenProject project : projects) {
+      if (project.getName() != null) {
+        moduleIds.put(project.getName(), ReactorAnalysis.getModuleId(project));
+        moduleIds.put(project.getName() + " " + project.getVersion(), ReactorAnalysis.getModuleId(project));
+      }
+    }
+    for (MavenProject project : projects) {
+      moduleIds.put(project.getArtifactId(), ReactorAnalysis.getModuleId(project));
+    }
+    for (MavenProject project : projects) {
+      moduleIds.put(ReactorAnalysis.getModuleId(project), ReactorAnalysis.getModuleId(project));
+    }
+
+    return moduleIds;
+  }
+
+  private static void putWeight(Map<String, Double> weights, String moduleId, double weight) {
+    if (moduleId != null) {
+      weights.put(moduleId, weight);
+    }
+  }
+
+  /**
+   * Parses durations of the reactor summary: {@code 1.234} (seconds), {@code 01:02} (minutes with unit {@code min},
+   * hours with unit {@code h}).
+   */
+  private static double parseDuration(String duration, String unit) {
+    String[] parts = duration.split(":");
+    if (parts.length == 1) {
+      return Double.parseDouble(parts[0]);
+    }
+
+    double minutesOrHours = Double.parseDouble(parts[0]);
+    double secondsOrMinutes = Double.parseDouble(parts[1]);
+    return "h".equals(unit) ? minutesOrHours * 3600 + secondsOrMinutes * 60 : minutesOrHours * 60 + secondsOrMinutes;
+  }
+}
@@ -15,8 +15,17 @@
  */
 package com.github.ferstl.depgraph;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -25,6 +34,7 @@ import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
 import com.github.ferstl.depgraph.dependency.GraphFactory;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.ReactorAnalysis;
 import com.github.ferstl.depgraph.dependency.ReactorGraphFactory;
 import com.github.ferstl.depgraph.dependency.dot.style.resource.BuiltInStyleResource;
 import com.github.ferstl.depgraph.graph.GraphBuilder;
@@ -59,8 +69,35 @@ public class ReactorGraphMojo extends AbstractGraphMojo {
   @Parameter(property = "showVersions", defaultValue = "false")
   private boolean showVersions;
 
-  @Parameter(defaultValue = "${session}", readonly = true)
-  private MavenSession mavenSession;
+  /**
+   * If set to {@code true}, the reactor is analyzed for the possible build parallelism. The analysis contains the
+   * critical path (the longest chain of dependent modules), the level of each module in the reactor, the number of
+   * modules that can be built in parallel on each level and the slack of each module. A summary is logged and the full
+   * analysis is written to {@link #reactorAnalysisFile}.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.reactorAnalysis", defaultValue = "false")
+  private boolean reactorAnalysis;
+
+  /**
+   * The JSON file to which the reactor analysis is written.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.reactorAnalysisFile", defaultValue = "${project.build.directory}/reactor-analysis.json")
+  private File reactorAnalysisFile;
+
+  /**
+   * Optional file with the weights of the modules for the reactor analysis, e.g. their build durations. This can either
+   * be a CSV file with lines like {@code artifactId,weight} or {@code groupId:artifactId,weight} or the log of a
+   * previous build, in which case the durations of the reactor summary are used. If not set, every module has the
+   * weight 1.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.moduleWeights")
+  private File moduleWeights;
 
   @Override
   protected GraphFactory createGraphFactory(GraphStyleConfigurer graphStyleConfigurer) {
@@ -87,4 +124,39 @@ public class ReactorGraphMojo extends AbstractGraphMojo {
     
     return additionalStyleResources;
   }
+
+  @Override
+  protected void reportStatistics() throws IOException {
+    if (!this.reactorAnalysis) {
+      return;
+    }
+
+    ReactorAnalysis analysis = ReactorAnalysis.analyze(this.mavenSession.getProjectDependencyGraph(), readModuleWeights());
+
+    Path analysisFile = this.reactorAnalysisFile.toPath();
+    Files.createDirectories(analysisFile.toAbsolutePath().getParent());
+    try (Writer writer = Files.newBufferedWriter(analysisFile, StandardCharsets.UTF_8)) {
+      analysis.writeJson(writer);
+    }
+
+    getLog().info("Critical path (" + analysis.getCriticalPathLength() + "): " + String.join(" -> ", analysis.getCriticalPath()));
+    getLog().info("Maximum parallelism: " + analysis.getMaxParallelism() + " modules");
+    getLog().info("Reactor analysis: " + analysisFile);
+  }
+
+  private Map<String, Double> readModuleWeights() throws IOException {
+    if (this.moduleWeights == null) {
+      return Collections.emptyMap();
+    }
+
+    List<MavenProject> projects = this.mavenSession.getProjectDependencyGraph().getSortedProjects();
+    Map<String, Double> weights = ModuleWeights.read(this.moduleWeights.toPath(), projects);
+    for (MavenProject project : projects) {
+      if (weights.putIfAbsent(ReactorAnalysis.getModuleId(project), 0.0) == null) {
+        getLog().warn("No weight found for module " + ReactorAnalysis.getModuleId(project) + " in " + this.moduleWeights + ". Using 0.");
+      }
+    }
+
+    return weights;
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.File;
+import java.util.Map;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import com.github.ferstl.depgraph.dependency.GraphFactory;
+import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.JsonGraphFactory;
+
+/**
+ * Renders a dependency graph from a JSON file that was created before by one of the dependency graph goals, e.g. with
+ * {@code -DgraphFormat=json -DshowAllAttributesForJson=true}. No dependencies are resolved and no project is required,
+ * so the same graph can be rendered in any format and style without accessing a repository. The options that are
+ * applied when dependencies are resolved, such as {@code showConflicts}, {@code showDuplicates} or the merge options,
+ * have no effect because the graph only contains what was written to the JSON file.
+ *
+ * @since 4.0.2
+ */
+@Mojo(
+    name = "render",
+    aggregator = true,
+    defaultPhase = LifecyclePhase.NONE,
+    requiresProject = false,
+    requiresDependencyCollection = ResolutionScope.NONE,
+    requiresDependencyResolution = ResolutionScope.NONE,
+    threadSafe = true)
+public class RenderDependencyGraphMojo extends DependencyGraphMojo {
+
+  /**
+   * The JSON graph to render.
+   *
+   * @since 4.0.2
+   */
+  @Parameter(property = "depgraph.inputFile", required = true)
+  private File inputFile;
+
+  @Override
+  protected GraphFactory createGraphFactory(ArtifactFilter globalFilter, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, GraphStyleConfigurer graphStyleConfigurer) {
+    return new JsonGraphFactory(this.inputFile.toPath(), globalFilter, nodeIdRenderer -> createGraphBuilder(graphStyleConfigurer, nodeIdRenderer));
+  }
+
+  /**
+   * The graph depends on the input file instead of the projects of the build, so it is always rendered again.
+   */
+  @Override
+  protected Map<String, String> createProjectFingerprints() {
+    return null;
+  }
+}
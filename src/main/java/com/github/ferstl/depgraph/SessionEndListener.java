@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Runs actions at the end of a Maven session. The session ends after the last project was built, but also when the
+ * build stops early because a project failed. So these actions run even if the executions for the remaining projects
+ * never happen.
+ * <p>
+ * The listener replaces the execution listener of the request and forwards all events to it. The actions run before
+ * the replaced listener is notified about the end of the session, so exceptions that they add to the result of the
+ * session are part of the build result.
+ * </p>
+ */
+final class SessionEndListener implements ExecutionListener {
+
+  private final ExecutionListener delegate;
+  private final Map<String, SessionEndAction> actions = new LinkedHashMap<>();
+
+  SessionEndListener(ExecutionListener delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Returns the listener of the given session and installs it if necessary.
+   *
+   * @param session The current Maven session.
+   * @return The listener of the given session.
+   */
+  static SessionEndListener forSession(MavenSession session) {
+    MavenExecutionRequest request = session.getRequest();
+    synchronized (request) {
+      ExecutionListener listener = request.getExecutionListener();
+      if (listener instanceof SessionEndListener) {
+        return (SessionEndListener) listener;
+      }
+
+      SessionEndListener newListener = new SessionEndListener(listener);
+      request.setExecutionListener(newListener);
+      return newListener;
+    }
+  }
+
+  /**
+   * Registers an action that runs at the end of the session. Only the first action with a given key is registered.
+   *
+   * @param key Identifies the action.
+   * @param action The action.
+   */
+  synchronized void register(String key, SessionEndAction action) {
+    this.actions.putIfAbsent(key, action);
+  }
+
+  @Override
+  public void sessionEnded(ExecutionEvent event) {
+    List<SessionEndAction> sessionEndActions;
+    synchronized (this) {
+      sessionEndActions = new ArrayList<>(this.actions.values());
+      this.actions.clear();
+    }
+
+    for (SessionEndAction action : sessionEndActions) {
+      try {
+        action.run();
+      } catch (Exception e) {
+        event.getSession().getResult().addException(e);
+      }
+    }
+
+    if (this.delegate != null) {
+      this.delegate.sessionEnded(event);
+    }
+  }
+
+  @Override
+  public void projectDiscoveryStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectDiscoveryStarted(event);
+    }
+  }
+
+  @Override
+  public void sessionStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.sessionStarted(event);
+    }
+  }
+
+  @Override
+  public void projectSkipped(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectSkipped(event);
+    }
+  }
+
+  @Override
+  public void projectStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectStarted(event);
+    }
+  }
+
+  @Override
+  public void projectSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectSucceeded(event);
+    }
+  }
+
+  @Override
+  public void projectFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.projectFailed(event);
+    }
+  }
+
+  @Override
+  public void mojoSkipped(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoSkipped(event);
+    }
+  }
+
+  @Override
+  public void mojoStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoStarted(event);
+    }
+  }
+
+  @Override
+  public void mojoSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoSucceeded(event);
+    }
+  }
+
+  @Override
+  public void mojoFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.mojoFailed(event);
+    }
+  }
+
+  @Override
+  public void forkStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkStarted(event);
+    }
+  }
+
+  @Override
+  public void forkSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkSucceeded(event);
+    }
+  }
+
+  @Override
+  public void forkFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkFailed(event);
+    }
+  }
+
+  @Override
+  public void forkedProjectStarted(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkedProjectStarted(event);
+    }
+  }
+
+  @Override
+  public void forkedProjectSucceeded(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkedProjectSucceeded(event);
+    }
+  }
+
+  @Override
+  public void forkedProjectFailed(ExecutionEvent event) {
+    if (this.delegate != null) {
+      this.delegate.forkedProjectFailed(event);
+    }
+  }
+
+  /**
+   * An action that runs at the end of the session.
+   */
+  @FunctionalInterface
+  interface SessionEndAction {
+
+    void run() throws Exception;
+  }
+}
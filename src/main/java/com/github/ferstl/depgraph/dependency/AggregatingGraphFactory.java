@@ -15,7 +15,15 @@
  */
 package com.github.ferstl.depgraph.dependency;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
@@ -26,6 +34,11 @@ import com.github.ferstl.depgraph.graph.GraphBuilder;
  * A graph factory that creates a dependency graph from a multi-module project. Child modules are treated as
  * dependencies of the parent project. The created graph is the <strong>union</strong> of the child modules' dependency
  * graphs.
+ * <p>
+ * The dependency graphs of the child modules can be resolved in parallel. Since the resolution is mostly I/O bound, this
+ * speeds up large reactors considerably. The resolved graphs are always added to the {@link GraphBuilder} in reactor
+ * order, so the result is the same as with a sequential resolution.
+ * </p>
  */
 public class AggregatingGraphFactory implements GraphFactory {
 
@@ -35,35 +48,55 @@ public class AggregatingGraphFactory implements GraphFactory {
   private final GraphBuilder<DependencyNode> graphBuilder;
   private final boolean includeParentProjects;
   private final boolean reduceEdges;
-
+  private final int threads;
+  private final ExecutionProfile executionProfile;
+
+  /**
+   * Constructor.
+   *
+   * @param mavenGraphAdapter Adapter to resolve the dependency graphs of the modules.
+   * @param subProjectSupplier Supplies the modules of the graph.
+   * @param globalFilter Filter for all artifacts in the graph.
+   * @param graphBuilder The graph builder to add the dependencies to.
+   * @param options Whether to include parent projects and reduce edges, the number of threads and the profile.
+   */
   public AggregatingGraphFactory(
       MavenGraphAdapter mavenGraphAdapter,
       Supplier<Collection<MavenProject>> subProjectSupplier,
       ArtifactFilter globalFilter,
       GraphBuilder<DependencyNode> graphBuilder,
-      boolean includeParentProjects,
-      boolean reduceEdges) {
+      Options options) {
     this.mavenGraphAdapter = mavenGraphAdapter;
     this.subProjectSupplier = subProjectSupplier;
     this.globalFilter = globalFilter;
     this.graphBuilder = graphBuilder;
-    this.includeParentProjects = includeParentProjects;
-    this.reduceEdges = reduceEdges;
+    this.includeParentProjects = options.includeParentProjects;
+    this.reduceEdges = options.reduceEdges;
+    this.threads = options.threads;
+    this.executionProfile = options.executionProfile;
   }
 
   @Override
-  public String createGraph(MavenProject parent) {
+  public GraphBuilder<DependencyNode> createGraph(MavenProject parent) {
     this.graphBuilder.graphName(parent.getArtifactId());
 
     if (this.includeParentProjects) {
       buildModuleTree(parent, this.graphBuilder);
     }
 
-    Collection<MavenProject> collectedProjects = this.subProjectSupplier.get();
-    for (MavenProject collectedProject : collectedProjects) {
+    List<MavenProject> projects = new ArrayList<>();
+    for (MavenProject collectedProject : this.subProjectSupplier.get()) {
       // Process project only if its artifact is not filtered
       if (isPartOfGraph(collectedProject)) {
-        this.mavenGraphAdapter.buildDependencyGraph(collectedProject, this.globalFilter, this.graphBuilder);
+        projects.add(collectedProject);
+      }
+    }
+
+    if (this.threads > 1 && projects.size() > 1) {
+      buildDependencyGraphsInParallel(projects);
+    } else {
+      for (MavenProject project : projects) {
+        this.mavenGraphAdapter.buildDependencyGraph(project, this.globalFilter, this.graphBuilder);
       }
     }
 
@@ -74,10 +107,49 @@ public class AggregatingGraphFactory implements GraphFactory {
     }
 
     if (this.reduceEdges) {
-      this.graphBuilder.reduceEdges();
+      this.executionProfile.count("edges before reduction", this.graphBuilder.getEdgeCount());
+      try (ExecutionProfile.Measurement ignored = this.executionProfile.start("edge reduction")) {
+        this.graphBuilder.reduceEdges();
+      }
+    }
+
+    return this.graphBuilder;
+  }
+
+  private void buildDependencyGraphsInParallel(List<MavenProject> projects) {
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.threads, projects.size()), new ResolverThreadFactory());
+    try {
+      List<Future<org.eclipse.aether.graph.DependencyNode>> resolvedGraphs = new ArrayList<>(projects.size());
+      for (MavenProject project : projects) {
+        resolvedGraphs.add(executor.submit(() -> this.mavenGraphAdapter.resolveDependencyGraph(project)));
+      }
+
+      // The graph builder is not thread-safe and the graph depends on the insertion order. So the graphs are added
+      // sequentially in reactor order while the remaining modules are still being resolved.
+      for (int i = 0; i < projects.size(); i++) {
+        this.mavenGraphAdapter.buildDependencyGraph(projects.get(i), awaitResolution(resolvedGraphs.get(i)), this.globalFilter, this.graphBuilder);
+      }
+    } finally {
+      executor.shutdownNow();
     }
+  }
 
-    return this.graphBuilder.toString();
+  private static org.eclipse.aether.graph.DependencyNode awaitResolution(Future<org.eclipse.aether.graph.DependencyNode> resolvedGraph) {
+    try {
+      return resolvedGraph.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving dependencies", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      throw new IllegalStateException(cause);
+    }
   }
 
   private void buildModuleTree(MavenProject parentProject, GraphBuilder<DependencyNode> graphBuilder) {
@@ -122,4 +194,60 @@ public class AggregatingGraphFactory implements GraphFactory {
     return null;
   }
 
+  private static class ResolverThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "depgraph-resolver-" + this.threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /**
+   * Optional settings of an {@link AggregatingGraphFactory}. By default, parent projects are not included, edges are
+   * not reduced and the modules are resolved sequentially without a profile.
+   */
+  public static final class Options {
+
+    private boolean includeParentProjects;
+    private boolean reduceEdges;
+    private int threads = 1;
+    private ExecutionProfile executionProfile = ExecutionProfile.disabled();
+
+    private Options() {
+    }
+
+    public static Options defaults() {
+      return new Options();
+    }
+
+    public Options withParentProjects(boolean includeParentProjects) {
+      this.includeParentProjects = includeParentProjects;
+      return this;
+    }
+
+    public Options withReducedEdges(boolean reduceEdges) {
+      this.reduceEdges = reduceEdges;
+      return this;
+    }
+
+    /**
+     * Resolves the dependency graphs of the modules in parallel if more than one thread is given.
+     *
+     * @param threads The number of threads.
+     * @return These options.
+     */
+    public Options withThreads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    public Options withExecutionProfile(ExecutionProfile executionProfile) {
+      this.executionProfile = executionProfile;
+      return this;
+    }
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.function.Function;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Cache for resolved dependency graphs, which allows {@link MavenGraphAdapter} to skip the resolution of projects that
+ * did not change. Implementations need to be thread-safe because the dependency graphs of multiple projects may be
+ * resolved in parallel.
+ */
+public interface DependencyGraphCache {
+
+  /**
+   * Returns the cached dependency graph of the given project or resolves and caches it if there is no valid cache entry.
+   *
+   * @param project The project.
+   * @param resolver Function that resolves the dependency graph of a project.
+   * @return The root node of the project's dependency graph.
+   */
+  org.eclipse.aether.graph.DependencyNode getDependencyGraph(MavenProject project, Function<MavenProject, org.eclipse.aether.graph.DependencyNode> resolver);
+
+  /**
+   * Returns a cache that takes the dependency graphs which are not in this cache from the given cache.
+   *
+   * @param fallback The cache to use for graphs that are not in this cache.
+   * @return A cache that combines this cache with the given cache.
+   */
+  default DependencyGraphCache withFallback(DependencyGraphCache fallback) {
+    return (project, resolver) -> getDependencyGraph(project, p -> fallback.getDependencyGraph(p, resolver));
+  }
+
+  /**
+   * Returns a cache that always resolves the dependency graph.
+   *
+   * @return A cache that does not cache anything.
+   */
+  static DependencyGraphCache noCache() {
+    return (project, resolver) -> resolver.apply(project);
+  }
+
+  /**
+   * Returns a cache that keeps all dependency graphs in memory, so that each project is taken from the given cache
+   * only once. A project that is requested by multiple threads at the same time is taken from the given cache by the
+   * first thread only, the other threads wait for its result. Like in {@link SessionDependencyGraphCache}, failed
+   * resolutions are not kept in memory.
+   *
+   * @param cache The cache to use for projects that are not in memory yet.
+   * @return A cache that keeps all dependency graphs in memory.
+   */
+  static DependencyGraphCache inMemory(DependencyGraphCache cache) {
+    return new SessionDependencyGraphCache().forConfiguration("").withFallback(cache);
+  }
+}
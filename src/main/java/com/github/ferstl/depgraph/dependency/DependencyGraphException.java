@@ -15,10 +15,11 @@
  */
 package com.github.ferstl.depgraph.dependency;
 
+import java.io.IOException;
 import org.apache.maven.project.DependencyResolutionException;
 
 /**
- * Wrapper for {@link DependencyResolutionException}.
+ * Wrapper for {@link DependencyResolutionException} and for {@link IOException}s while reading a graph.
  */
 public final class DependencyGraphException extends RuntimeException {
 
@@ -27,4 +28,8 @@ public final class DependencyGraphException extends RuntimeException {
   public DependencyGraphException(DependencyResolutionException cause) {
     super(cause);
   }
+
+  public DependencyGraphException(IOException cause) {
+    super(cause);
+  }
 }
@@ -15,12 +15,13 @@
  */
 package com.github.ferstl.depgraph.dependency;
 
+import java.util.Collection;
 import java.util.Set;
-import java.util.TreeSet;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.eclipse.aether.util.graph.transformer.ConflictResolver;
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.OMITTED_FOR_CONFLICT;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.OMITTED_FOR_DUPLICATE;
@@ -33,15 +34,19 @@ import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
  * <li>{@link org.apache.maven.artifact.Artifact}</li>
  * <li>{@link org.eclipse.aether.graph.DependencyNode}</li>
  * </ul>
+ * Large graphs contain many nodes with the same coordinates. Therefore, the coordinates of Aether nodes are interned
+ * and the scopes, classifiers and types are stored in compact sets.
  */
 public final class DependencyNode {
 
+  private static final Interner<String> COORDINATES = Interners.newWeakInterner();
+
   private final Artifact artifact;
   private final String effectiveVersion;
   private final NodeResolution resolution;
-  private final Set<String> scopes;
-  private final Set<String> classifiers;
-  private final Set<String> types;
+  private final ValueSet scopes;
+  private final ValueSet classifiers;
+  private final ValueSet types;
 
 
   public DependencyNode(Artifact artifact) {
@@ -52,15 +57,25 @@ public final class DependencyNode {
     this(createMavenArtifact(dependencyNode), determineResolution(dependencyNode), determineEffectiveVersion(dependencyNode));
   }
 
+  /**
+   * Creates a node with additional scopes, classifiers and types, e.g. from a graph that was created before.
+   */
+  DependencyNode(Artifact artifact, NodeResolution resolution, String effectiveVersion, Collection<String> scopes, Collection<String> classifiers, Collection<String> types) {
+    this(artifact, resolution, effectiveVersion);
+    scopes.forEach(this.scopes::add);
+    classifiers.forEach(this.classifiers::add);
+    types.forEach(this.types::add);
+  }
+
   private DependencyNode(Artifact artifact, NodeResolution resolution, String effectiveVersion) {
     if (artifact == null) {
       throw new NullPointerException("Artifact must not be null");
     }
 
     this.effectiveVersion = effectiveVersion;
-    this.scopes = new TreeSet<>();
-    this.classifiers = new TreeSet<>();
-    this.types = new TreeSet<>();
+    this.scopes = new ValueSet(ValueSet.SCOPES);
+    this.classifiers = new ValueSet(ValueSet.CLASSIFIERS);
+    this.types = new ValueSet(ValueSet.TYPES);
     this.artifact = artifact;
     this.resolution = resolution;
     if (artifact.getScope() != null) {
@@ -95,15 +110,15 @@ public final class DependencyNode {
   }
 
   public Set<String> getScopes() {
-    return ImmutableSet.copyOf(this.scopes);
+    return this.scopes.toSet();
   }
 
   public Set<String> getClassifiers() {
-    return ImmutableSet.copyOf(this.classifiers);
+    return this.classifiers.toSet();
   }
 
   public Set<String> getTypes() {
-    return ImmutableSet.copyOf(this.types);
+    return this.types.toSet();
   }
 
 
@@ -125,8 +140,8 @@ public final class DependencyNode {
    * @return The effective scope of this node.
    */
   public String getEffectiveScope() {
-    if (this.scopes.size() > 0) {
-      return this.scopes.iterator().next();
+    if (!this.scopes.isEmpty()) {
+      return this.scopes.first();
     }
 
     return SCOPE_COMPILE;
@@ -148,11 +163,11 @@ public final class DependencyNode {
     }
 
     DefaultArtifact mavenArtifact = new DefaultArtifact(
-        artifact.getGroupId(),
-        artifact.getArtifactId(),
-        artifact.getVersion(),
+        COORDINATES.intern(artifact.getGroupId()),
+        COORDINATES.intern(artifact.getArtifactId()),
+        COORDINATES.intern(artifact.getVersion()),
         scope,
-        artifact.getProperty("type", artifact.getExtension()),
+        COORDINATES.intern(artifact.getProperty("type", artifact.getExtension())),
         artifact.getClassifier(),
         null
     );
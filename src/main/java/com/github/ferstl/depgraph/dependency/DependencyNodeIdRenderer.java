@@ -17,13 +17,10 @@ package com.github.ferstl.depgraph.dependency;
 
 import org.apache.maven.artifact.Artifact;
 import com.github.ferstl.depgraph.graph.NodeRenderer;
-import com.google.common.base.Joiner;
 import static com.google.common.base.Strings.emptyToNull;
 
 public class DependencyNodeIdRenderer implements NodeRenderer<DependencyNode> {
 
-  private static final Joiner COLON_JOINER = Joiner.on(":").skipNulls();
-
   private boolean withGroupId;
   private boolean withArtifactId;
   private boolean withType;
@@ -73,11 +70,21 @@ public class DependencyNodeIdRenderer implements NodeRenderer<DependencyNode> {
   public String render(DependencyNode node) {
     Artifact artifact = node.getArtifact();
 
-    return COLON_JOINER.join(
-        this.withGroupId ? artifact.getGroupId() : null,
-        this.withArtifactId ? artifact.getArtifactId() : null,
-        this.withType ? artifact.getType() : null,
-        this.withClassifier ? emptyToNull(artifact.getClassifier()) : null,
-        this.withScope ? node.getEffectiveScope() : null);
+    // This is called for each node of each edge, so avoid the varargs and iterators of a Joiner
+    StringBuilder id = new StringBuilder(64);
+    appendIfNotNull(id, this.withGroupId ? artifact.getGroupId() : null);
+    appendIfNotNull(id, this.withArtifactId ? artifact.getArtifactId() : null);
+    appendIfNotNull(id, this.withType ? artifact.getType() : null);
+    appendIfNotNull(id, this.withClassifier ? emptyToNull(artifact.getClassifier()) : null);
+    appendIfNotNull(id, this.withScope ? node.getEffectiveScope() : null);
+
+    // strip the leading separator
+    return id.length() > 0 ? id.substring(1) : "";
+  }
+
+  private static void appendIfNotNull(StringBuilder id, String value) {
+    if (value != null) {
+      id.append(':').append(value);
+    }
   }
 }
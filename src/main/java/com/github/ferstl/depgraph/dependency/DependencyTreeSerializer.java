@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+
+/**
+ * Writes and reads the parts of a verbose Aether dependency tree that are needed to build a dependency graph. Each
+ * string is written only once and then referenced by its index.
+ * <p>
+ * A node consists of its artifact coordinates, the {@code type} property, the scope and optional flag of its
+ * dependency, the version of the conflict winner (if any) and its children. The tree is traversed with an explicit
+ * stack, so deep trees don't overflow the call stack.
+ * </p>
+ */
+final class DependencyTreeSerializer {
+
+  private static final int HAS_DEPENDENCY = 1;
+  private static final int OPTIONAL = 1 << 1;
+  private static final int HAS_WINNER = 1 << 2;
+  private static final int NULL_STRING = -1;
+
+  private DependencyTreeSerializer() {
+    throw new AssertionError("Not instantiable");
+  }
+
+  /**
+   * Checks whether the given tree can be restored from its serialized form. This is not the case if the tree contains
+   * cycles or artifacts matching the given predicate.
+   *
+   * @param root The root of the tree.
+   * @param volatileArtifact Predicate for artifacts that may change without a change in the project model.
+   * @return {@code true} if the tree can be serialized.
+   */
+  static boolean isSerializable(DependencyNode root, Predicate<DependencyNode> volatileArtifact) {
+    Set<DependencyNode> path = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Iterator<DependencyNode>> children = new ArrayDeque<>();
+    Deque<DependencyNode> nodes = new ArrayDeque<>();
+
+    DependencyNode node = root;
+    while (true) {
+      if (volatileArtifact.test(node) || !path.add(node)) {
+        return false;
+      }
+      nodes.push(node);
+      children.push(node.getChildren().iterator());
+
+      // Leave all nodes whose children are done and continue with the next child
+      while (!children.peek().hasNext()) {
+        children.pop();
+        path.remove(nodes.pop());
+        if (children.isEmpty()) {
+          return true;
+        }
+      }
+      node = children.peek().next();
+    }
+  }
+
+  /**
+   * Writes the tree in pre-order, i.e. each node is followed by the number of its children and the children themselves.
+   */
+  static void write(DependencyNode root, DataOutput output) throws IOException {
+    Map<String, Integer> strings = new HashMap<>();
+    Deque<DependencyNode> stack = new ArrayDeque<>();
+    stack.push(root);
+
+    while (!stack.isEmpty()) {
+      DependencyNode node = stack.pop();
+      writeNode(node, output, strings);
+
+      List<DependencyNode> children = node.getChildren();
+      output.writeInt(children.size());
+      for (int i = children.size() - 1; i >= 0; i--) {
+        stack.push(children.get(i));
+      }
+    }
+  }
+
+  static DependencyNode read(DataInput input) throws IOException {
+    List<String> strings = new ArrayList<>();
+    Deque<PendingNode> stack = new ArrayDeque<>();
+
+    while (true) {
+      DefaultDependencyNode node = readNode(input, strings);
+      int childCount = input.readInt();
+      if (childCount < 0) {
+        throw new IOException("Invalid number of children " + childCount);
+      }
+
+      PendingNode pendingNode = new PendingNode(node, childCount);
+      if (!stack.isEmpty()) {
+        stack.peek().children.add(node);
+      }
+      stack.push(pendingNode);
+
+      // Complete all nodes whose children were read
+      while (stack.peek().isComplete()) {
+        PendingNode completed = stack.pop();
+        completed.node.setChildren(completed.children);
+        if (stack.isEmpty()) {
+          return completed.node;
+        }
+      }
+    }
+  }
+
+  private static void writeNode(DependencyNode node, DataOutput output, Map<String, Integer> strings) throws IOException {
+    Artifact artifact = node.getArtifact();
+    Dependency dependency = node.getDependency();
+    DependencyNode winner = (DependencyNode) node.getData().get(ConflictResolver.NODE_DATA_WINNER);
+
+    int flags = 0;
+    if (dependency != null) {
+      flags |= HAS_DEPENDENCY;
+      flags |= dependency.isOptional() ? OPTIONAL : 0;
+    }
+    flags |= winner != null ? HAS_WINNER : 0;
+
+    output.writeByte(flags);
+    writeString(artifact.getGroupId(), output, strings);
+    writeString(artifact.getArtifactId(), output, strings);
+    writeString(artifact.getVersion(), output, strings);
+    writeString(artifact.getClassifier(), output, strings);
+    writeString(artifact.getExtension(), output, strings);
+    writeString(artifact.getProperty("type", null), output, strings);
+    if (dependency != null) {
+      writeString(dependency.getScope(), output, strings);
+    }
+    if (winner != null) {
+      writeString(winner.getArtifact().getVersion(), output, strings);
+    }
+  }
+
+  private static DefaultDependencyNode readNode(DataInput input, List<String> strings) throws IOException {
+    int flags = input.readByte();
+    String groupId = readString(input, strings);
+    String artifactId = readString(input, strings);
+    String version = readString(input, strings);
+    String classifier = readString(input, strings);
+    String extension = readString(input, strings);
+    String type = readString(input, strings);
+
+    Artifact artifact = new DefaultArtifact(groupId, artifactId, classifier, extension, version);
+    if (type != null) {
+      artifact = artifact.setProperties(Collections.singletonMap("type", type));
+    }
+
+    DefaultDependencyNode node;
+    if ((flags & HAS_DEPENDENCY) != 0) {
+      String scope = readString(input, strings);
+      node = new DefaultDependencyNode(new Dependency(artifact, scope, (flags & OPTIONAL) != 0));
+    } else {
+      node = new DefaultDependencyNode(artifact);
+    }
+
+    if ((flags & HAS_WINNER) != 0) {
+      String winnerVersion = readString(input, strings);
+      node.setData(ConflictResolver.NODE_DATA_WINNER, new DefaultDependencyNode(artifact.setVersion(winnerVersion)));
+    }
+
+    return node;
+  }
+
+  private static void writeString(String value, DataOutput output, Map<String, Integer> strings) throws IOException {
+    if (value == null) {
+      output.writeInt(NULL_STRING);
+      return;
+    }
+
+    Integer index = strings.get(value);
+    if (index != null) {
+      output.writeInt(index);
+    } else {
+      int newIndex = strings.size();
+      strings.put(value, newIndex);
+      output.writeInt(newIndex);
+      output.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInput input, List<String> strings) throws IOException {
+    int index = input.readInt();
+    if (index == NULL_STRING) {
+      return null;
+    }
+
+    if (index == strings.size()) {
+      strings.add(input.readUTF());
+    } else if (index < 0 || index > strings.size()) {
+      throw new IOException("Invalid string reference " + index);
+    }
+
+    return strings.get(index);
+  }
+
+  /**
+   * A node that was read but whose children were not read completely yet.
+   */
+  private static final class PendingNode {
+
+    private final DefaultDependencyNode node;
+    private final List<DependencyNode> children;
+    private final int childCount;
+
+    PendingNode(DefaultDependencyNode node, int childCount) {
+      this.node = node;
+      this.childCount = childCount;
+      this.children = new ArrayList<>(Math.min(childCount, 16));
+    }
+
+    boolean isComplete() {
+      return this.children.size() == this.childCount;
+    }
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+
+/**
+ * Records the wall time, CPU time and allocated bytes of the phases of a graph creation together with counters such as
+ * the number of nodes and edges. Each phase is measured on the thread that executes it, so phases that run on multiple
+ * threads in parallel may add up to more wall time than the execution took. If the JVM supports Flight Recorder, each
+ * measured phase is also emitted as {@code com.github.ferstl.depgraph.Phase} event. This class is thread-safe.
+ */
+public final class ExecutionProfile {
+
+  private static final ExecutionProfile DISABLED = new ExecutionProfile(null);
+  private static final Measurement NO_MEASUREMENT = new Measurement(DISABLED, null);
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final boolean FLIGHT_RECORDER_AVAILABLE = isFlightRecorderAvailable();
+
+  private final String executionName;
+  private final Map<String, PhaseStatistics> phases = new LinkedHashMap<>();
+  private final Map<String, Long> counters = new LinkedHashMap<>();
+
+  private ExecutionProfile(String executionName) {
+    this.executionName = executionName;
+  }
+
+  /**
+   * Returns a profile that does not record anything.
+   *
+   * @return A disabled profile.
+   */
+  public static ExecutionProfile disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Creates a new profile.
+   *
+   * @param executionName Name of the profiled execution, e.g. the project ID.
+   * @return The profile.
+   */
+  public static ExecutionProfile create(String executionName) {
+    return new ExecutionProfile(executionName);
+  }
+
+  public boolean isEnabled() {
+    return this != DISABLED;
+  }
+
+  /**
+   * Starts the measurement of a phase. The measurement has to be closed on the same thread.
+   *
+   * @param phase Name of the phase.
+   * @return The running measurement.
+   */
+  public Measurement start(String phase) {
+    if (!isEnabled()) {
+      return NO_MEASUREMENT;
+    }
+
+    return new Measurement(this, phase);
+  }
+
+  /**
+   * Adds the given value to a counter.
+   *
+   * @param counter Name of the counter.
+   * @param value The value to add.
+   */
+  public void count(String counter, long value) {
+    if (isEnabled()) {
+      synchronized (this) {
+        this.counters.merge(counter, value, Long::sum);
+      }
+    }
+  }
+
+  /**
+   * Formats the recorded phases and counters as table.
+   *
+   * @return The formatted table.
+   */
+  public synchronized String toTable() {
+    StringBuilder table = new StringBuilder();
+    table.append(String.format(Locale.ROOT, "%-24s %6s %12s %12s %16s%n", "Phase", "Calls", "Wall [ms]", "CPU [ms]", "Allocated [KB]"));
+    for (Entry<String, PhaseStatistics> entry : this.phases.entrySet()) {
+      PhaseStatistics statistics = entry.getValue();
+      table.append(String.format(Locale.ROOT, "%-24s %6d %12.1f %12s %16s%n",
+          entry.getKey(),
+          statistics.invocations,
+          statistics.wallTimeNanos / 1_000_000.0,
+          statistics.cpuTimeNanos < 0 ? "n/a" : String.format(Locale.ROOT, "%.1f", statistics.cpuTimeNanos / 1_000_000.0),
+          statistics.allocatedBytes < 0 ? "n/a" : String.valueOf(statistics.allocatedBytes / 1024)));
+    }
+
+    for (Entry<String, Long> entry : this.counters.entrySet()) {
+      table.append(String.format(Locale.ROOT, "%-24s %6d%n", entry.getKey(), entry.getValue()));
+    }
+
+    return table.toString();
+  }
+
+  /**
+   * Writes the recorded phases and counters as JSON. Times are in nanoseconds. CPU time and allocated bytes are -1 if
+   * the JVM does not support measuring them.
+   *
+   * @param writer The writer.
+   * @throws IOException In case the JSON cannot be written.
+   */
+  public synchronized void writeJson(Writer writer) throws IOException {
+    try (JsonGenerator generator = new JsonFactory().configure(AUTO_CLOSE_TARGET, false).createGenerator(writer)) {
+      generator.setPrettyPrinter(new DefaultPrettyPrinter().withObjectIndenter(new DefaultIndenter("  ", "\n")));
+      generator.writeStartObject();
+      generator.writeStringField("execution", this.executionName);
+
+      generator.writeArrayFieldStart("phases");
+      for (Entry<String, PhaseStatistics> entry : this.phases.entrySet()) {
+        PhaseStatistics statistics = entry.getValue();
+        generator.writeStartObject();
+        generator.writeStringField("name", entry.getKey());
+        generator.writeNumberField("invocations", statistics.invocations);
+        generator.writeNumberField("wallTimeNanos", statistics.wallTimeNanos);
+        generator.writeNumberField("cpuTimeNanos", statistics.cpuTimeNanos);
+        generator.writeNumberField("allocatedBytes", statistics.allocatedBytes);
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+
+      generator.writeObjectFieldStart("counters");
+      for (Entry<String, Long> entry : this.counters.entrySet()) {
+        generator.writeNumberField(entry.getKey(), entry.getValue());
+      }
+      generator.writeEndObject();
+
+      generator.writeEndObject();
+    }
+  }
+
+  private synchronized void record(String phase, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+    this.phases.computeIfAbsent(phase, k -> new PhaseStatistics()).add(wallTimeNanos, cpuTimeNanos, allocatedBytes);
+  }
+
+  private static long currentThreadCpuTime() {
+    if (THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+      return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    }
+
+    return -1;
+  }
+
+  private static long currentThreadAllocatedBytes() {
+    if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threadMxBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+      if (threadMxBean.isThreadAllocatedMemorySupported() && threadMxBean.isThreadAllocatedMemoryEnabled()) {
+        return threadMxBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+
+    return -1;
+  }
+
+  private static boolean isFlightRecorderAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, ExecutionProfile.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * A running measurement of a phase.
+   */
+  public static final class Measurement implements AutoCloseable {
+
+    private final ExecutionProfile profile;
+    private final String phase;
+    private final long startWallTime;
+    private final long startCpuTime;
+    private final long startAllocatedBytes;
+    private final Object event;
+
+    private Measurement(ExecutionProfile profile, String phase) {
+      this.profile = profile;
+      this.phase = phase;
+
+      if (profile.isEnabled()) {
+        this.event = FLIGHT_RECORDER_AVAILABLE ? PhaseEvents.begin(profile.executionName, phase) : null;
+        this.startAllocatedBytes = currentThreadAllocatedBytes();
+        this.startCpuTime = currentThreadCpuTime();
+        this.startWallTime = System.nanoTime();
+      } else {
+        this.event = null;
+        this.startAllocatedBytes = 0;
+        this.startCpuTime = 0;
+        this.startWallTime = 0;
+      }
+    }
+
+    @Override
+    public void close() {
+      if (!this.profile.isEnabled()) {
+        return;
+      }
+
+      long wallTime = System.nanoTime() - this.startWallTime;
+      long cpuTime = this.startCpuTime < 0 ? -1 : currentThreadCpuTime() - this.startCpuTime;
+      long allocatedBytes = this.startAllocatedBytes < 0 ? -1 : currentThreadAllocatedBytes() - this.startAllocatedBytes;
+
+      this.profile.record(this.phase, wallTime, cpuTime, allocatedBytes);
+      if (this.event != null) {
+        PhaseEvents.commit(this.event, cpuTime, allocatedBytes);
+      }
+    }
+  }
+
+  private static final class PhaseStatistics {
+
+    private int invocations;
+    private long wallTimeNanos;
+    private long cpuTimeNanos;
+    private long allocatedBytes;
+
+    void add(long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+      this.invocations++;
+      this.wallTimeNanos += wallTimeNanos;
+      // -1 (not supported) is sticky
+      this.cpuTimeNanos = this.cpuTimeNanos < 0 || cpuTimeNanos < 0 ? -1 : this.cpuTimeNanos + cpuTimeNanos;
+      this.allocatedBytes = this.allocatedBytes < 0 || allocatedBytes < 0 ? -1 : this.allocatedBytes + allocatedBytes;
+    }
+  }
+}
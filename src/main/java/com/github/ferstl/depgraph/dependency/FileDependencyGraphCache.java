@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Function;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.graph.DependencyNode;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Stores resolved dependency graphs in a directory, one file per project. Each file contains the
+ * {@linkplain ProjectFingerprints fingerprint} of the project. A cached graph is only used if its fingerprint matches
+ * the current fingerprint of the project and if it was written by the same version of this plugin.
+ * <p>
+ * Graphs containing version ranges or snapshot artifacts that are not part of the reactor are never cached, since they
+ * may change without a change in any project model.
+ * </p>
+ */
+public class FileDependencyGraphCache implements DependencyGraphCache {
+
+  private static final int MAGIC = 0x44504743;
+  private static final int FORMAT_VERSION = 1;
+
+  private final Path cacheDirectory;
+  private final String pluginVersion;
+  private final ProjectFingerprints projectFingerprints;
+  private volatile boolean uncacheableGraphs;
+
+  public FileDependencyGraphCache(Path cacheDirectory, String pluginVersion, Collection<MavenProject> reactorProjects) {
+    this(cacheDirectory, pluginVersion, new ProjectFingerprints(reactorProjects));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param cacheDirectory The directory of the cache files.
+   * @param pluginVersion The version of this plugin. Cache files of other versions are not used.
+   * @param projectFingerprints The fingerprints of the reactor projects.
+   */
+  public FileDependencyGraphCache(Path cacheDirectory, String pluginVersion, ProjectFingerprints projectFingerprints) {
+    this.cacheDirectory = cacheDirectory;
+    this.pluginVersion = pluginVersion;
+    this.projectFingerprints = projectFingerprints;
+  }
+
+  @Override
+  public DependencyNode getDependencyGraph(MavenProject project, Function<MavenProject, DependencyNode> resolver) {
+    Path cacheFile = this.cacheDirectory.resolve(project.getGroupId() + "_" + project.getArtifactId() + ".bin");
+    String key = createKey(project);
+
+    DependencyNode cachedGraph = read(cacheFile, key);
+    if (cachedGraph != null) {
+      return cachedGraph;
+    }
+
+    DependencyNode dependencyGraph = resolver.apply(project);
+    if (DependencyTreeSerializer.isSerializable(dependencyGraph, this::isVolatile)) {
+      write(cacheFile, key, dependencyGraph);
+    } else {
+      this.uncacheableGraphs = true;
+    }
+
+    return dependencyGraph;
+  }
+
+  /**
+   * Indicates whether this cache was asked for a graph that could not be cached. Such a graph may change without a
+   * change in the fingerprint of its project.
+   *
+   * @return {@code true} if at least one graph could not be cached.
+   */
+  public boolean hasUncacheableGraphs() {
+    return this.uncacheableGraphs;
+  }
+
+  String createKey(MavenProject project) {
+    // Snapshot builds of this plugin may change the format without changing FORMAT_VERSION
+    return this.pluginVersion + ":" + this.projectFingerprints.getFingerprint(project);
+  }
+
+  private boolean isVolatile(DependencyNode node) {
+    if (node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null) {
+      return true;
+    }
+
+    org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
+    return artifact.isSnapshot() && !this.projectFingerprints.isReactorProject(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+  }
+
+  private static DependencyNode read(Path cacheFile, String key) {
+    if (!Files.isRegularFile(cacheFile)) {
+      return null;
+    }
+
+    try (InputStream is = Files.newInputStream(cacheFile);
+         DataInputStream input = new DataInputStream(new BufferedInputStream(is))) {
+      if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !key.equals(input.readUTF())) {
+        return null;
+      }
+
+      return DependencyTreeSerializer.read(input);
+    } catch (IOException | RuntimeException e) {
+      // An unreadable cache file is treated like a missing one and will be overwritten
+      return null;
+    }
+  }
+
+  private static void write(Path cacheFile, String key, DependencyNode dependencyGraph) {
+    try {
+      Files.createDirectories(cacheFile.getParent());
+      Path tempFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+      try {
+        try (OutputStream os = Files.newOutputStream(tempFile);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(os))) {
+          output.writeInt(MAGIC);
+          output.writeInt(FORMAT_VERSION);
+          output.writeUTF(key);
+          DependencyTreeSerializer.write(dependencyGraph, output);
+        }
+
+        // Other modules of a parallel build may write the same file
+        Files.move(tempFile, cacheFile, ATOMIC_MOVE, REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      // The cache is only an optimization. The graph will be resolved again next time.
+    }
+  }
+}
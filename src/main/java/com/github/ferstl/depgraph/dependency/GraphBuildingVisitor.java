@@ -31,6 +31,7 @@ class GraphBuildingVisitor implements DependencyVisitor {
 
   private final GraphBuilder<DependencyNode> graphBuilder;
   private final Deque<DependencyNode> nodeStack;
+  private final Deque<org.eclipse.aether.graph.DependencyNode> visitedNodeStack;
   private final ArtifactFilter globalFilter;
   private final ArtifactFilter transitiveFilter;
   private final ArtifactFilter targetFilter;
@@ -40,10 +41,12 @@ class GraphBuildingVisitor implements DependencyVisitor {
    * Max depth of the graph. Nodes deeper than this depth will be cut off from the graph.
    */
   private int cutOffDepth = 0;
+  private int visitedNodes = 0;
 
   GraphBuildingVisitor(GraphBuilder<DependencyNode> graphBuilder, ArtifactFilter globalFilter, ArtifactFilter transitiveFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
     this.graphBuilder = graphBuilder;
     this.nodeStack = new ArrayDeque<>();
+    this.visitedNodeStack = new ArrayDeque<>();
     this.globalFilter = globalFilter;
     this.transitiveFilter = transitiveFilter;
     this.targetFilter = targetFilter;
@@ -52,14 +55,16 @@ class GraphBuildingVisitor implements DependencyVisitor {
 
   @Override
   public boolean visitEnter(org.eclipse.aether.graph.DependencyNode node) {
-    DependencyNode node1 = new DependencyNode(node);
-    if (isExcluded(node1)) {
+    this.visitedNodes++;
+    DependencyNode dependencyNode = new DependencyNode(node);
+    if (isExcluded(dependencyNode)) {
       return true;
     }
 
-    this.nodeStack.push(node1);
+    this.nodeStack.push(dependencyNode);
+    this.visitedNodeStack.push(node);
 
-    if (this.targetFilter.include(node1.getArtifact())) {
+    if (this.targetFilter.include(dependencyNode.getArtifact())) {
       this.cutOffDepth = this.nodeStack.size();
     }
 
@@ -68,12 +73,13 @@ class GraphBuildingVisitor implements DependencyVisitor {
 
   @Override
   public boolean visitLeave(org.eclipse.aether.graph.DependencyNode node) {
-    DependencyNode dependencyNode = new DependencyNode(node);
-    if (isExcluded(dependencyNode)) {
+    // Excluded nodes were not pushed in visitEnter()
+    if (this.visitedNodeStack.peek() != node) {
       return true;
     }
 
-    this.nodeStack.pop();
+    this.visitedNodeStack.pop();
+    DependencyNode dependencyNode = this.nodeStack.pop();
 
     DependencyNode currentParent = this.nodeStack.peek();
     if (this.nodeStack.size() < this.cutOffDepth) {
@@ -92,6 +98,14 @@ class GraphBuildingVisitor implements DependencyVisitor {
     return true;
   }
 
+  /**
+   * Returns the number of visited nodes, including the ones that were excluded from the graph.
+   *
+   * @return The number of visited nodes.
+   */
+  int getVisitedNodes() {
+    return this.visitedNodes;
+  }
 
   private boolean isExcluded(DependencyNode node) {
     Artifact artifact = node.getArtifact();
@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.dependency;
 
 import org.apache.maven.project.MavenProject;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
 
 
 public interface GraphFactory {
@@ -24,8 +25,8 @@ public interface GraphFactory {
    * Creates a graph for the given {@link MavenProject}.
    *
    * @param project The maven project to create the graph for.
-   * @return The String representation of the created graph.
+   * @return The graph builder containing the created graph. Use {@link GraphBuilder#writeTo(Appendable)} to write it.
    * @throws DependencyGraphException In case that the graph cannot be created.
    */
-  String createGraph(MavenProject project);
+  GraphBuilder<DependencyNode> createGraph(MavenProject project);
 }
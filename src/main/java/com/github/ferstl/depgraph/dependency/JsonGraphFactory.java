@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.project.MavenProject;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.NodeRenderer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A graph factory that reads a graph from a JSON file that was created by one of the dependency graph goals. The file
+ * is read as a stream and no dependencies are resolved, so the given project is not used.
+ * <p>
+ * The artifacts must contain their group ID, artifact ID and version, which is always the case if the graph was created
+ * with {@code showAllAttributesForJson=true}. The nodes keep their IDs from the JSON file and the dependencies keep
+ * their resolution and, for conflicts, the omitted version.
+ * </p>
+ */
+public class JsonGraphFactory implements GraphFactory {
+
+  private static final String DEFAULT_TYPE = "jar";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final Path inputFile;
+  private final ArtifactFilter globalFilter;
+  private final Function<NodeRenderer<? super DependencyNode>, GraphBuilder<DependencyNode>> graphBuilderFactory;
+
+  /**
+   * Constructor.
+   *
+   * @param inputFile The JSON graph.
+   * @param globalFilter Filter for the artifacts of the graph.
+   * @param graphBuilderFactory Creates the graph builder with the given node ID renderer.
+   */
+  public JsonGraphFactory(Path inputFile, ArtifactFilter globalFilter, Function<NodeRenderer<? super DependencyNode>, GraphBuilder<DependencyNode>> graphBuilderFactory) {
+    this.inputFile = inputFile;
+    this.globalFilter = globalFilter;
+    this.graphBuilderFactory = graphBuilderFactory;
+  }
+
+  @Override
+  public GraphBuilder<DependencyNode> createGraph(MavenProject project) {
+    Map<DependencyNode, String> nodeIds = new IdentityHashMap<>();
+    GraphBuilder<DependencyNode> graphBuilder = this.graphBuilderFactory.apply(nodeIds::get);
+
+    try (Reader reader = Files.newBufferedReader(this.inputFile, UTF_8);
+        JsonParser parser = OBJECT_MAPPER.getFactory().createParser(reader)) {
+      new GraphReader(parser, graphBuilder, nodeIds).read();
+    } catch (IOException e) {
+      throw new DependencyGraphException(e);
+    }
+
+    return graphBuilder;
+  }
+
+
+  private final class GraphReader {
+
+    private final JsonParser parser;
+    private final GraphBuilder<DependencyNode> graphBuilder;
+    private final Map<DependencyNode, String> nodeIds;
+    private final Map<String, JsonArtifact> artifacts = new HashMap<>();
+
+    GraphReader(JsonParser parser, GraphBuilder<DependencyNode> graphBuilder, Map<DependencyNode, String> nodeIds) {
+      this.parser = parser;
+      this.graphBuilder = graphBuilder;
+      this.nodeIds = nodeIds;
+    }
+
+    void read() throws IOException {
+      expect(this.parser.nextToken(), JsonToken.START_OBJECT);
+      while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+        String fieldName = this.parser.getCurrentName();
+        JsonToken value = this.parser.nextToken();
+        if ("graphName".equals(fieldName) && value == JsonToken.VALUE_STRING) {
+          this.graphBuilder.graphName(this.parser.getText());
+        } else if ("artifacts".equals(fieldName)) {
+          readArray(value, this::addArtifact);
+        } else if ("dependencies".equals(fieldName)) {
+          readArray(value, this::addDependency);
+        } else {
+          this.parser.skipChildren();
+        }
+      }
+    }
+
+    /**
+     * Reads the elements of an array one by one, so only a single artifact or dependency is kept in memory.
+     */
+    private void readArray(JsonToken value, ElementHandler handler) throws IOException {
+      expect(value, JsonToken.START_ARRAY);
+      while (this.parser.nextToken() == JsonToken.START_OBJECT) {
+        handler.handle(this.parser.readValueAsTree());
+      }
+    }
+
+    private void addArtifact(JsonNode element) throws IOException {
+      String id = requireText(element, "id");
+      JsonArtifact artifact = new JsonArtifact(
+          id,
+          requireText(element, "groupId"),
+          requireText(element, "artifactId"),
+          requireText(element, "version"),
+          element.path("optional").asBoolean(false),
+          readValues(element, "scopes"),
+          readValues(element, "classifiers"),
+          readValues(element, "types"));
+
+      if (this.artifacts.put(id, artifact) != null) {
+        throw new IOException("Duplicate artifact '" + id + "' in " + JsonGraphFactory.this.inputFile);
+      }
+
+      DependencyNode node = artifact.getNode(NodeResolution.INCLUDED, artifact.version);
+      if (JsonGraphFactory.this.globalFilter.include(node.getArtifact())) {
+        this.graphBuilder.addNode(node);
+      }
+    }
+
+    private void addDependency(JsonNode element) throws IOException {
+      JsonArtifact from = getArtifact(requireText(element, "from"));
+      JsonArtifact to = getArtifact(requireText(element, "to"));
+      NodeResolution resolution = element.hasNonNull("resolution") ? parseResolution(element.get("resolution").asText()) : NodeResolution.INCLUDED;
+
+      // Only parent projects have parent edges and only the resolution of parent projects is relevant for the source
+      DependencyNode fromNode = from.getNode(resolution == NodeResolution.PARENT ? NodeResolution.PARENT : NodeResolution.INCLUDED, from.version);
+      DependencyNode toNode = to.getNode(resolution, element.hasNonNull("version") ? element.get("version").asText() : to.version);
+
+      if (JsonGraphFactory.this.globalFilter.include(fromNode.getArtifact()) && JsonGraphFactory.this.globalFilter.include(toNode.getArtifact())) {
+        this.graphBuilder.addEdge(fromNode, toNode);
+      }
+    }
+
+    private JsonArtifact getArtifact(String id) throws IOException {
+      JsonArtifact artifact = this.artifacts.get(id);
+      if (artifact == null) {
+        throw new IOException("Unknown artifact '" + id + "' in the dependencies of " + JsonGraphFactory.this.inputFile);
+      }
+
+      return artifact;
+    }
+
+    private NodeResolution parseResolution(String resolution) throws IOException {
+      try {
+        return NodeResolution.valueOf(resolution);
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Unknown resolution '" + resolution + "' in " + JsonGraphFactory.this.inputFile, e);
+      }
+    }
+
+    private String requireText(JsonNode element, String fieldName) throws IOException {
+      JsonNode value = element.get(fieldName);
+      if (value == null || !value.isValueNode() || value.asText().isEmpty()) {
+        throw new IOException("Missing '" + fieldName + "' in " + JsonGraphFactory.this.inputFile
+            + ". The graph has to be created with showAllAttributesForJson=true.");
+      }
+
+      return value.asText();
+    }
+
+    private List<String> readValues(JsonNode element, String fieldName) {
+      List<String> values = new ArrayList<>();
+      element.path(fieldName).forEach(value -> values.add(value.asText()));
+      return values;
+    }
+
+    private void expect(JsonToken actual, JsonToken expected) throws IOException {
+      if (actual != expected) {
+        throw new IOException("Expected " + expected + " but was " + actual + " in " + JsonGraphFactory.this.inputFile);
+      }
+    }
+
+
+    /**
+     * An artifact of the JSON graph. It creates one node per resolution and version, so that nodes can be looked up by
+     * identity when their IDs are rendered.
+     */
+    private final class JsonArtifact {
+
+      private final String id;
+      private final String groupId;
+      private final String artifactId;
+      private final String version;
+      private final boolean optional;
+      private final List<String> scopes;
+      private final List<String> classifiers;
+      private final List<String> types;
+      private final Map<String, DependencyNode> nodes = new HashMap<>();
+
+      JsonArtifact(String id, String groupId, String artifactId, String version, boolean optional, List<String> scopes, List<String> classifiers, List<String> types) {
+        this.id = id;
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.optional = optional;
+        this.scopes = scopes;
+        this.classifiers = classifiers;
+        this.types = types;
+      }
+
+      DependencyNode getNode(NodeResolution resolution, String artifactVersion) {
+        return this.nodes.computeIfAbsent(resolution + ":" + artifactVersion, k -> createNode(resolution, artifactVersion));
+      }
+
+      private DependencyNode createNode(NodeResolution resolution, String artifactVersion) {
+        String scope = resolution == NodeResolution.PARENT ? null : first(this.scopes);
+        String type = this.types.isEmpty() ? DEFAULT_TYPE : this.types.get(0);
+        String classifier = this.classifiers.isEmpty() ? "" : this.classifiers.get(0);
+
+        DefaultArtifact artifact = new DefaultArtifact(this.groupId, this.artifactId, artifactVersion, scope, type, classifier, null);
+        artifact.setOptional(this.optional);
+
+        Collection<String> nodeScopes = resolution == NodeResolution.PARENT ? Collections.<String>emptyList() : this.scopes;
+        DependencyNode node = new DependencyNode(artifact, resolution, this.version, nodeScopes, this.classifiers, this.types);
+        GraphReader.this.nodeIds.put(node, this.id);
+        return node;
+      }
+
+      private String first(List<String> values) {
+        return values.isEmpty() ? null : values.get(0);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface ElementHandler {
+
+    void handle(JsonNode element) throws IOException;
+  }
+}
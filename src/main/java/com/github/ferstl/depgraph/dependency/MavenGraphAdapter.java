@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.dependency;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
@@ -42,15 +43,49 @@ public final class MavenGraphAdapter {
   private final ArtifactFilter transitiveIncludeExcludeFilter;
   private final ArtifactFilter targetFilter;
   private final Set<NodeResolution> includedResolutions;
+  private final DependencyGraphCache dependencyGraphCache;
+  private final ScopePruningDependencySelector scopePruningSelector;
+  private final ExecutionProfile executionProfile;
 
-  public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions) {
+  /**
+   * Constructor.
+   *
+   * @param dependenciesResolver Resolver for the project dependencies.
+   * @param transitiveIncludeExcludeFilter Filter for transitive dependencies.
+   * @param targetFilter Filter for the target dependencies.
+   * @param includedResolutions The node resolutions to include.
+   * @param options The cache, the collected scopes and the execution profile.
+   */
+  public MavenGraphAdapter(ProjectDependenciesResolver dependenciesResolver, ArtifactFilter transitiveIncludeExcludeFilter, ArtifactFilter targetFilter, Set<NodeResolution> includedResolutions, Options options) {
     this.dependenciesResolver = dependenciesResolver;
     this.transitiveIncludeExcludeFilter = transitiveIncludeExcludeFilter;
     this.targetFilter = targetFilter;
     this.includedResolutions = includedResolutions;
+    this.dependencyGraphCache = options.dependencyGraphCache;
+    this.executionProfile = options.executionProfile;
+
+    ScopePruningDependencySelector selector = options.includedScopes != null ? ScopePruningDependencySelector.forIncludedScopes(options.includedScopes) : null;
+    this.scopePruningSelector = selector != null && !selector.getPrunedScopes().isEmpty() ? selector : null;
   }
 
   public void buildDependencyGraph(MavenProject project, ArtifactFilter globalFilter, GraphBuilder<DependencyNode> graphBuilder) {
+    buildDependencyGraph(project, resolveDependencyGraph(project), globalFilter, graphBuilder);
+  }
+
+  /**
+   * Resolves the dependency graph of the given project or takes it from the {@link DependencyGraphCache}. This method
+   * does not modify any state and may be called concurrently for different projects.
+   *
+   * @param project The project to resolve.
+   * @return The root node of the resolved dependency graph.
+   */
+  public org.eclipse.aether.graph.DependencyNode resolveDependencyGraph(MavenProject project) {
+    try (ExecutionProfile.Measurement ignored = this.executionProfile.start("resolution")) {
+      return this.dependencyGraphCache.getDependencyGraph(project, this::resolve);
+    }
+  }
+
+  private org.eclipse.aether.graph.DependencyNode resolve(MavenProject project) {
     DefaultDependencyResolutionRequest request = new DefaultDependencyResolutionRequest();
     request.setMavenProject(project);
     request.setRepositorySession(getVerboseRepositorySession(project));
@@ -64,18 +99,36 @@ public final class MavenGraphAdapter {
       throw new DependencyGraphException(e);
     }
 
-    org.eclipse.aether.graph.DependencyNode root = result.getDependencyGraph();
+    return result.getDependencyGraph();
+  }
+
+  /**
+   * Adds a dependency graph that was resolved with {@link #resolveDependencyGraph(MavenProject)} to the given graph
+   * builder.
+   *
+   * @param project The project of the dependency graph.
+   * @param root The root node of the resolved dependency graph.
+   * @param globalFilter Filter for all artifacts in the graph.
+   * @param graphBuilder The graph builder to add the dependencies to.
+   */
+  public void buildDependencyGraph(MavenProject project, org.eclipse.aether.graph.DependencyNode root, ArtifactFilter globalFilter, GraphBuilder<DependencyNode> graphBuilder) {
     ArtifactFilter transitiveDependencyFilter = createTransitiveDependencyFilter(project);
 
     GraphBuildingVisitor visitor = new GraphBuildingVisitor(graphBuilder, globalFilter, transitiveDependencyFilter, this.targetFilter, this.includedResolutions);
-    root.accept(visitor);
+    try (ExecutionProfile.Measurement ignored = this.executionProfile.start("visiting")) {
+      root.accept(visitor);
+    }
+    this.executionProfile.count("resolved nodes", visitor.getVisitedNodes());
   }
 
-  private static RepositorySystemSession getVerboseRepositorySession(MavenProject project) {
+  private RepositorySystemSession getVerboseRepositorySession(MavenProject project) {
     @SuppressWarnings("deprecation")
     RepositorySystemSession repositorySession = project.getProjectBuildingRequest().getRepositorySession();
     DefaultRepositorySystemSession verboseRepositorySession = new DefaultRepositorySystemSession(repositorySession);
     verboseRepositorySession.setConfigProperty(CONFIG_PROP_VERBOSE, "true");
+    if (this.scopePruningSelector != null) {
+      verboseRepositorySession.setDependencySelector(this.scopePruningSelector.and(repositorySession.getDependencySelector()));
+    }
     verboseRepositorySession.setReadOnly();
     repositorySession = verboseRepositorySession;
     return repositorySession;
@@ -93,6 +146,52 @@ public final class MavenGraphAdapter {
     artifactFilter.add(new StrictPatternIncludesArtifactFilter(dependencyKeys));
     artifactFilter.add(new StrictPatternIncludesArtifactFilter(singletonList(project.getArtifact().toString())));
 
-    return artifactFilter;
+    return new MemoizingArtifactFilter(artifactFilter);
+  }
+
+  /**
+   * Optional settings of a {@link MavenGraphAdapter}. By default, no cache and no profile are used and all
+   * dependencies are collected.
+   */
+  public static final class Options {
+
+    private DependencyGraphCache dependencyGraphCache = DependencyGraphCache.noCache();
+    private Collection<String> includedScopes;
+    private ExecutionProfile executionProfile = ExecutionProfile.disabled();
+
+    private Options() {
+    }
+
+    public static Options defaults() {
+      return new Options();
+    }
+
+    public Options withDependencyGraphCache(DependencyGraphCache dependencyGraphCache) {
+      this.dependencyGraphCache = dependencyGraphCache;
+      return this;
+    }
+
+    /**
+     * Does not collect dependencies which cannot contribute to the given scopes. Only use this if the graph is filtered
+     * by exactly these scopes.
+     *
+     * @param includedScopes The scopes that are included in the graph or {@code null} to collect all dependencies.
+     * @return These options.
+     */
+    public Options withIncludedScopes(Collection<String> includedScopes) {
+      this.includedScopes = includedScopes;
+      return this;
+    }
+
+    /**
+     * Records the resolution and the visiting of the dependency graphs in the given profile.
+     *
+     * @param executionProfile The profile of the current execution.
+     * @return These options.
+     */
+    public Options withExecutionProfile(ExecutionProfile executionProfile) {
+      this.executionProfile = executionProfile;
+      return this;
+    }
   }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+
+/**
+ * Caches the result of an {@link ArtifactFilter} for each distinct artifact. The same artifacts appear many times in a
+ * verbose dependency graph, and the pattern filters parse their patterns on each call.
+ * <p>
+ * The results are cached by the properties that the filters of this plugin look at: The coordinates, the (base)
+ * version, the scope and the optional flag. The delegate must not depend on anything else.
+ * </p>
+ */
+public final class MemoizingArtifactFilter implements ArtifactFilter {
+
+  private final ArtifactFilter delegate;
+  private final ConcurrentMap<ArtifactKey, Boolean> results = new ConcurrentHashMap<>();
+
+  public MemoizingArtifactFilter(ArtifactFilter delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean include(Artifact artifact) {
+    ArtifactKey key = new ArtifactKey(artifact);
+    Boolean result = this.results.get(key);
+    if (result == null) {
+      result = this.delegate.include(artifact);
+      this.results.putIfAbsent(key, result);
+    }
+
+    return result;
+  }
+
+  /**
+   * The properties of an artifact that are relevant for the filters. They are copied because artifacts are mutable.
+   */
+  private static final class ArtifactKey {
+
+    private final String groupId;
+    private final String artifactId;
+    private final String type;
+    private final String classifier;
+    private final String version;
+    private final String baseVersion;
+    private final String scope;
+    private final boolean optional;
+    private final int hashCode;
+
+    ArtifactKey(Artifact artifact) {
+      this.groupId = artifact.getGroupId();
+      this.artifactId = artifact.getArtifactId();
+      this.type = artifact.getType();
+      this.classifier = artifact.getClassifier();
+      this.version = artifact.getVersion();
+      this.baseVersion = artifact.getBaseVersion();
+      this.scope = artifact.getScope();
+      this.optional = artifact.isOptional();
+
+      int hash = Objects.hashCode(this.groupId);
+      hash = 31 * hash + Objects.hashCode(this.artifactId);
+      hash = 31 * hash + Objects.hashCode(this.version);
+      hash = 31 * hash + Objects.hashCode(this.scope);
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ArtifactKey)) {
+        return false;
+      }
+
+      ArtifactKey other = (ArtifactKey) obj;
+      return this.hashCode == other.hashCode
+          && this.optional == other.optional
+          && Objects.equals(this.groupId, other.groupId)
+          && Objects.equals(this.artifactId, other.artifactId)
+          && Objects.equals(this.type, other.type)
+          && Objects.equals(this.classifier, other.classifier)
+          && Objects.equals(this.version, other.version)
+          && Objects.equals(this.baseVersion, other.baseVersion)
+          && Objects.equals(this.scope, other.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hashCode;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits the phases measured by {@link ExecutionProfile} as Flight Recorder events. This class must only be loaded if
+ * the JVM provides the {@code jdk.jfr} API. The events are passed as {@link Object} so that callers don't refer to
+ * any Flight Recorder type.
+ */
+final class PhaseEvents {
+
+  private PhaseEvents() {
+    throw new AssertionError("Not instantiable");
+  }
+
+  static Object begin(String execution, String phase) {
+    PhaseEvent event = new PhaseEvent();
+    event.execution = execution;
+    event.phase = phase;
+    event.begin();
+
+    return event;
+  }
+
+  static void commit(Object event, long cpuTimeNanos, long allocatedBytes) {
+    PhaseEvent phaseEvent = (PhaseEvent) event;
+    phaseEvent.end();
+    if (phaseEvent.shouldCommit()) {
+      phaseEvent.cpuTime = cpuTimeNanos;
+      phaseEvent.allocatedBytes = allocatedBytes;
+      phaseEvent.commit();
+    }
+  }
+
+  @Name("com.github.ferstl.depgraph.Phase")
+  @Label("Depgraph Phase")
+  @Category("Maven")
+  static class PhaseEvent extends Event {
+
+    @Label("Execution")
+    String execution;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+
+    @Label("Allocated Bytes")
+    @DataAmount(DataAmount.BYTES)
+    long allocatedBytes;
+  }
+}
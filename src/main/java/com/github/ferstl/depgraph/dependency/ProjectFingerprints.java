@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.repository.RemoteRepository;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Creates fingerprints of the projects in a reactor. The fingerprint of a project is created from its effective model,
+ * which already contains the inherited configuration of its parents and the imported dependency management, its active
+ * profiles, its remote repositories and the effective models of all reactor projects it depends on. The dependency
+ * graph of a project can only change if its fingerprint changes or if it contains version ranges or snapshots from
+ * outside the reactor.
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class ProjectFingerprints {
+
+  private final Map<String, MavenProject> reactorProjects;
+  private final Map<String, String> modelHashes;
+
+  public ProjectFingerprints(Collection<MavenProject> reactorProjects) {
+    this.reactorProjects = new HashMap<>();
+    this.modelHashes = new ConcurrentHashMap<>();
+    for (MavenProject reactorProject : reactorProjects) {
+      this.reactorProjects.put(projectKey(reactorProject.getGroupId(), reactorProject.getArtifactId(), reactorProject.getVersion()), reactorProject);
+    }
+  }
+
+  public String getFingerprint(MavenProject project) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putString(modelHash(project), UTF_8);
+
+    for (Profile profile : project.getActiveProfiles()) {
+      hasher.putString(profile.getId(), UTF_8);
+    }
+
+    List<RemoteRepository> remoteRepositories = project.getRemoteProjectRepositories();
+    if (remoteRepositories != null) {
+      for (RemoteRepository repository : remoteRepositories) {
+        hasher.putString(repository.getId(), UTF_8).putString(repository.getUrl(), UTF_8);
+      }
+    }
+
+    for (MavenProject reactorDependency : getReactorDependencies(project)) {
+      hasher.putString(modelHash(reactorDependency), UTF_8);
+    }
+
+    return hasher.hash().toString();
+  }
+
+  boolean isReactorProject(String groupId, String artifactId, String version) {
+    return this.reactorProjects.containsKey(projectKey(groupId, artifactId, version));
+  }
+
+  /**
+   * Returns all reactor projects the given project depends on, directly or transitively via other reactor projects, in
+   * a deterministic order.
+   */
+  private Collection<MavenProject> getReactorDependencies(MavenProject project) {
+    Set<MavenProject> reactorDependencies = new HashSet<>();
+    List<MavenProject> orderedDependencies = new ArrayList<>();
+    Deque<MavenProject> projectsToVisit = new ArrayDeque<>();
+    projectsToVisit.add(project);
+
+    while (!projectsToVisit.isEmpty()) {
+      MavenProject current = projectsToVisit.poll();
+      for (Dependency dependency : current.getDependencies()) {
+        MavenProject reactorProject = this.reactorProjects.get(projectKey(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()));
+        if (reactorProject != null && reactorProject != project && reactorDependencies.add(reactorProject)) {
+          orderedDependencies.add(reactorProject);
+          projectsToVisit.add(reactorProject);
+        }
+      }
+    }
+
+    return orderedDependencies;
+  }
+
+  private String modelHash(MavenProject project) {
+    String projectKey = projectKey(project.getGroupId(), project.getArtifactId(), project.getVersion());
+    return this.modelHashes.computeIfAbsent(projectKey, k -> {
+      StringWriter modelWriter = new StringWriter();
+      try {
+        new MavenXpp3Writer().write(modelWriter, project.getModel());
+      } catch (IOException e) {
+        // should never happen with StringWriter
+        throw new IllegalStateException(e);
+      }
+
+      return Hashing.sha256().hashString(modelWriter.toString(), UTF_8).toString();
+    });
+  }
+
+  private static String projectKey(String groupId, String artifactId, String version) {
+    return groupId + ":" + artifactId + ":" + version;
+  }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.project.MavenProject;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+
+/**
+ * Analyzes how well the modules of a Maven reactor can be built in parallel.
+ * <p>
+ * Modules without upstream modules are on level 0. Every other module is one level above its highest upstream module.
+ * The number of modules on a level is the maximum number of modules that can be built in parallel at that stage.
+ * The critical path is the chain of dependent modules with the highest total weight. No parallel build can be faster
+ * than this chain. The slack of a module is the amount by which its build could be delayed without making the build
+ * longer, so modules on the critical path have no slack.
+ * </p>
+ */
+public final class ReactorAnalysis {
+
+  private static final double DEFAULT_WEIGHT = 1.0;
+
+  private final List<String> modules;
+  private final List<List<String>> upstreamModules;
+  private final double[] weights;
+  private final int[] levels;
+  private final double[] earliestFinishes;
+  private final double[] slacks;
+  private final List<String> criticalPath;
+  private final double criticalPathLength;
+  private final double totalWeight;
+
+  private ReactorAnalysis(List<String> modules, List<List<String>> upstreamModules, double[] weights, int[] levels,
+      double[] earliestFinishes, double[] slacks, List<String> criticalPath) {
+    this.modules = modules;
+    this.upstreamModules = upstreamModules;
+    this.weights = weights;
+    this.levels = levels;
+    this.earliestFinishes = earliestFinishes;
+    this.slacks = slacks;
+    this.criticalPath = criticalPath;
+
+    double maxFinish = 0;
+    double sum = 0;
+    for (int i = 0; i < weights.length; i++) {
+      maxFinish = Math.max(maxFinish, earliestFinishes[i]);
+      sum += weights[i];
+    }
+    this.criticalPathLength = maxFinish;
+    this.totalWeight = sum;
+  }
+
+  /**
+   * Analyzes the given reactor.
+   *
+   * @param projectDependencyGraph The reactor.
+   * @param weights The weight (e.g. the build duration) of each module by {@code groupId:artifactId}. Modules without
+   * a weight have the weight 1.
+   * @return The analysis.
+   */
+  public static ReactorAnalysis analyze(ProjectDependencyGraph projectDependencyGraph, Map<String, Double> weights) {
+    List<String> modules = new ArrayList<>();
+    Map<String, List<String>> upstreamModules = new HashMap<>();
+
+    for (MavenProject project : projectDependencyGraph.getSortedProjects()) {
+      String module = getModuleId(project);
+      List<String> upstream = new ArrayList<>();
+      for (MavenProject upstreamProject : projectDependencyGraph.getUpstreamProjects(project, false)) {
+        upstream.add(getModuleId(upstreamProject));
+      }
+
+      modules.add(module);
+      upstreamModules.put(module, upstream);
+    }
+
+    return analyze(modules, upstreamModules, weights);
+  }
+
+  /**
+   * Analyzes a reactor with the given modules.
+   *
+   * @param modules The modules in reactor order. Upstream modules must appear before their downstream modules.
+   * @param upstreamModules The direct upstream modules of each module.
+   * @param weights The weight of each module. Modules without a weight have the weight 1.
+   * @return The analysis.
+   */
+  static ReactorAnalysis analyze(List<String> modules, Map<String, List<String>> upstreamModules, Map<String, Double> weights) {
+    int moduleCount = modules.size();
+    Map<String, Integer> moduleIndices = new HashMap<>();
+    List<List<String>> upstreamByIndex = new ArrayList<>(moduleCount);
+    int[][] upstreamIndices = new int[moduleCount][];
+    double[] moduleWeights = new double[moduleCount];
+
+    for (int i = 0; i < moduleCount; i++) {
+      String module = modules.get(i);
+      moduleIndices.put(module, i);
+      moduleWeights[i] = weights.getOrDefault(module, DEFAULT_WEIGHT);
+
+      List<String> upstream = upstreamModules.getOrDefault(module, Collections.emptyList());
+      upstreamByIndex.add(upstream);
+      upstreamIndices[i] = new int[upstream.size()];
+      for (int j = 0; j < upstream.size(); j++) {
+        Integer upstreamIndex = moduleIndices.get(upstream.get(j));
+        if (upstreamIndex == null) {
+          throw new IllegalArgumentException("Upstream module " + upstream.get(j) + " of " + module + " is not built before " + module);
+        }
+        upstreamIndices[i][j] = upstreamIndex;
+      }
+    }
+
+    // Longest paths from the start of the build, in reactor order
+    int[] levels = new int[moduleCount];
+    double[] earliestFinishes = new double[moduleCount];
+    int[] criticalPredecessors = new int[moduleCount];
+    int lastCriticalModule = -1;
+    for (int i = 0; i < moduleCount; i++) {
+      criticalPredecessors[i] = -1;
+      double earliestStart = 0;
+      for (int upstream : upstreamIndices[i]) {
+        levels[i] = Math.max(levels[i], levels[upstream] + 1);
+        if (criticalPredecessors[i] == -1 || earliestFinishes[upstream] > earliestStart) {
+          earliestStart = earliestFinishes[upstream];
+          criticalPredecessors[i] = upstream;
+        }
+      }
+
+      earliestFinishes[i] = earliestStart + moduleWeights[i];
+      if (lastCriticalModule == -1 || earliestFinishes[i] > earliestFinishes[lastCriticalModule]) {
+        lastCriticalModule = i;
+      }
+    }
+
+    // Longest paths to the end of the build, in reverse reactor order
+    double[] remainingWeights = new double[moduleCount];
+    for (int i = moduleCount - 1; i >= 0; i--) {
+      for (int upstream : upstreamIndices[i]) {
+        remainingWeights[upstream] = Math.max(remainingWeights[upstream], moduleWeights[i] + remainingWeights[i]);
+      }
+    }
+
+    double criticalPathLength = lastCriticalModule == -1 ? 0 : earliestFinishes[lastCriticalModule];
+    double[] slacks = new double[moduleCount];
+    for (int i = 0; i < moduleCount; i++) {
+      slacks[i] = criticalPathLength - earliestFinishes[i] - remainingWeights[i];
+    }
+
+    List<String> criticalPath = new ArrayList<>();
+    for (int i = lastCriticalModule; i != -1; i = criticalPredecessors[i]) {
+      criticalPath.add(modules.get(i));
+    }
+    Collections.reverse(criticalPath);
+
+    return new ReactorAnalysis(new ArrayList<>(modules), upstreamByIndex, moduleWeights, levels, earliestFinishes, slacks, criticalPath);
+  }
+
+  public List<String> getCriticalPath() {
+    return Collections.unmodifiableList(this.criticalPath);
+  }
+
+  public double getCriticalPathLength() {
+    return this.criticalPathLength;
+  }
+
+  public double getTotalWeight() {
+    return this.totalWeight;
+  }
+
+  /**
+   * Returns the modules on each level.
+   *
+   * @return The modules by level, starting at level 0.
+   */
+  public Map<Integer, List<String>> getModulesByLevel() {
+    Map<Integer, List<String>> modulesByLevel = new LinkedHashMap<>();
+    int maxLevel = -1;
+    for (int level : this.levels) {
+      maxLevel = Math.max(maxLevel, level);
+    }
+    for (int level = 0; level <= maxLevel; level++) {
+      modulesByLevel.put(level, new ArrayList<>());
+    }
+    for (int i = 0; i < this.modules.size(); i++) {
+      modulesByLevel.get(this.levels[i]).add(this.modules.get(i));
+    }
+
+    return modulesByLevel;
+  }
+
+  /**
+   * Returns the highest number of modules on the same level.
+   *
+   * @return The maximum parallelism of the reactor.
+   */
+  public int getMaxParallelism() {
+    int maxParallelism = 0;
+    for (List<String> modulesOnLevel : getModulesByLevel().values()) {
+      maxParallelism = Math.max(maxParallelism, modulesOnLevel.size());
+    }
+
+    return maxParallelism;
+  }
+
+  /**
+   * Writes the analysis as JSON. Besides the summary, it contains all modules with their upstream modules, level,
+   * weight, earliest start and finish and slack.
+   *
+   * @param writer The writer.
+   * @throws IOException In case the JSON cannot be written.
+   */
+  public void writeJson(Writer writer) throws IOException {
+    try (JsonGenerator generator = new JsonFactory().configure(AUTO_CLOSE_TARGET, false).createGenerator(writer)) {
+      generator.setPrettyPrinter(new DefaultPrettyPrinter().withObjectIndenter(new DefaultIndenter("  ", "\n")));
+      generator.writeStartObject();
+      generator.writeNumberField("criticalPathLength", this.criticalPathLength);
+      generator.writeNumberField("totalWeight", this.totalWeight);
+      generator.writeNumberField("maxSpeedup", this.criticalPathLength > 0 ? this.totalWeight / this.criticalPathLength : 0);
+      generator.writeNumberField("maxParallelism", getMaxParallelism());
+
+      generator.writeArrayFieldStart("criticalPath");
+      for (String module : this.criticalPath) {
+        generator.writeString(module);
+      }
+      generator.writeEndArray();
+
+      generator.writeArrayFieldStart("levels");
+      for (Map.Entry<Integer, List<String>> entry : getModulesByLevel().entrySet()) {
+        generator.writeStartObject();
+        generator.writeNumberField("level", entry.getKey());
+        generator.writeNumberField("parallelism", entry.getValue().size());
+        generator.writeArrayFieldStart("modules");
+        for (String module : entry.getValue()) {
+          generator.writeString(module);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+
+      generator.writeArrayFieldStart("modules");
+      for (int i = 0; i < this.modules.size(); i++) {
+        generator.writeStartObject();
+        generator.writeStringField("id", this.modules.get(i));
+        generator.writeNumberField("level", this.levels[i]);
+        generator.writeNumberField("weight", this.weights[i]);
+        generator.writeNumberField("earliestStart", this.earliestFinishes[i] - this.weights[i]);
+        generator.writeNumberField("earliestFinish", this.earliestFinishes[i]);
+        generator.writeNumberField("slack", this.slacks[i]);
+        generator.writeBooleanField("critical", this.criticalPath.contains(this.modules.get(i)));
+        generator.writeArrayFieldStart("upstreamModules");
+        for (String upstream : this.upstreamModules.get(i)) {
+          generator.writeString(upstream);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * Returns the ID that identifies a module in the analysis and in the module weights.
+   *
+   * @param project The module.
+   * @return The module's {@code groupId:artifactId}.
+   */
+  public static String getModuleId(MavenProject project) {
+    return project.getGroupId() + ":" + project.getArtifactId();
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
+import static org.apache.maven.artifact.Artifact.SCOPE_PROVIDED;
+import static org.apache.maven.artifact.Artifact.SCOPE_RUNTIME;
+import static org.apache.maven.artifact.Artifact.SCOPE_SYSTEM;
+import static org.apache.maven.artifact.Artifact.SCOPE_TEST;
+
+/**
+ * A {@link DependencySelector} that skips dependencies during the collection if neither the dependency nor any of its
+ * transitive dependencies can end up in one of the included scopes.
+ * <p>
+ * The selector tracks the scope that Maven derives for each dependency from the scope of its parent (e.g. a compile
+ * dependency of a test dependency becomes a test dependency). A dependency is skipped if none of the scopes that can be
+ * derived within its subtree is included. Such a subtree would be completely removed from the graph anyway, because
+ * {@link GraphBuildingVisitor} only reattaches the children of excluded nodes to their parent.
+ * </p>
+ * <p>
+ * The selector wraps the selector of the repository session, because the plugin cannot access the implementations in
+ * Maven's resolver utilities (like {@code AndDependencySelector}).
+ * </p>
+ */
+final class ScopePruningDependencySelector implements DependencySelector {
+
+  private static final List<String> KNOWN_SCOPES = Arrays.asList(SCOPE_COMPILE, SCOPE_PROVIDED, SCOPE_RUNTIME, SCOPE_TEST, SCOPE_SYSTEM);
+
+  private final Set<String> prunedScopes;
+  private final String parentScope;
+  private final DependencySelector delegate;
+
+  private ScopePruningDependencySelector(Set<String> prunedScopes, String parentScope, DependencySelector delegate) {
+    this.prunedScopes = prunedScopes;
+    this.parentScope = parentScope;
+    this.delegate = delegate;
+  }
+
+  /**
+   * Creates a selector that keeps all dependencies that may contribute to the given scopes.
+   *
+   * @param includedScopes The scopes that are included in the graph.
+   * @return The selector.
+   */
+  static ScopePruningDependencySelector forIncludedScopes(Collection<String> includedScopes) {
+    Set<String> prunedScopes = new HashSet<>();
+    for (String scope : KNOWN_SCOPES) {
+      if (Collections.disjoint(getReachableScopes(scope), includedScopes)) {
+        prunedScopes.add(scope);
+      }
+    }
+
+    return new ScopePruningDependencySelector(prunedScopes, null, null);
+  }
+
+  /**
+   * Creates a selector that only selects dependencies that are selected by this selector <strong>and</strong> the given
+   * selector.
+   *
+   * @param selector The selector to combine with this selector or {@code null}.
+   * @return The combined selector.
+   */
+  ScopePruningDependencySelector and(DependencySelector selector) {
+    return new ScopePruningDependencySelector(this.prunedScopes, this.parentScope, selector);
+  }
+
+  Set<String> getPrunedScopes() {
+    return Collections.unmodifiableSet(this.prunedScopes);
+  }
+
+  @Override
+  public boolean selectDependency(Dependency dependency) {
+    return !this.prunedScopes.contains(deriveScope(this.parentScope, dependency.getScope()))
+        && (this.delegate == null || this.delegate.selectDependency(dependency));
+  }
+
+  @Override
+  public DependencySelector deriveChildSelector(DependencyCollectionContext context) {
+    Dependency dependency = context.getDependency();
+    String scope = dependency != null ? deriveScope(this.parentScope, dependency.getScope()) : this.parentScope;
+    DependencySelector childDelegate = this.delegate != null ? this.delegate.deriveChildSelector(context) : null;
+
+    if (Objects.equals(scope, this.parentScope) && childDelegate == this.delegate) {
+      return this;
+    }
+
+    return new ScopePruningDependencySelector(this.prunedScopes, scope, childDelegate);
+  }
+
+  /**
+   * Returns the given scope and all scopes that may be derived for the transitive dependencies of a dependency in this
+   * scope.
+   */
+  private static Set<String> getReachableScopes(String scope) {
+    Set<String> reachableScopes = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>();
+    pending.push(scope);
+
+    while (!pending.isEmpty()) {
+      String current = pending.pop();
+      if (reachableScopes.add(current)) {
+        for (String childScope : KNOWN_SCOPES) {
+          pending.push(deriveScope(current, childScope));
+        }
+      }
+    }
+
+    return reachableScopes;
+  }
+
+  /**
+   * Derives the scope of a dependency from the scope of its parent. This follows the rules of Maven's
+   * {@code JavaScopeDeriver}.
+   */
+  static String deriveScope(String parentScope, String scope) {
+    String childScope = scope == null || scope.isEmpty() ? SCOPE_COMPILE : scope;
+    if (SCOPE_SYSTEM.equals(childScope) || SCOPE_TEST.equals(childScope)) {
+      return childScope;
+    }
+
+    if (parentScope == null || parentScope.isEmpty() || SCOPE_COMPILE.equals(parentScope)) {
+      return childScope;
+    }
+
+    if (SCOPE_TEST.equals(parentScope) || SCOPE_RUNTIME.equals(parentScope)) {
+      return parentScope;
+    }
+
+    if (SCOPE_SYSTEM.equals(parentScope) || SCOPE_PROVIDED.equals(parentScope)) {
+      return SCOPE_PROVIDED;
+    }
+
+    return SCOPE_RUNTIME;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof ScopePruningDependencySelector)) {
+      return false;
+    }
+
+    ScopePruningDependencySelector other = (ScopePruningDependencySelector) o;
+    return this.prunedScopes.equals(other.prunedScopes)
+        && Objects.equals(this.parentScope, other.parentScope)
+        && Objects.equals(this.delegate, other.delegate);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.prunedScopes, this.parentScope, this.delegate);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "(pruned=" + this.prunedScopes + ", parentScope=" + this.parentScope + ", delegate=" + this.delegate + ")";
+  }
+}
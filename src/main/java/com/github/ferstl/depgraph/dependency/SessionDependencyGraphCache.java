@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.graph.DependencyNode;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Keeps resolved dependency graphs in memory for a whole Maven session. All goals and modules of a build share the same
+ * instance, which is stored in the {@link SessionData} of the repository session. So each project is resolved only once
+ * per build and resolution configuration, even if several goals create graphs of it or if the modules are built in
+ * parallel.
+ * <p>
+ * A project that is requested by multiple threads at the same time is resolved by the first thread only. The other
+ * threads wait for its result. Failed resolutions are not cached.
+ * </p>
+ */
+public final class SessionDependencyGraphCache {
+
+  private static final String SESSION_DATA_KEY = SessionDependencyGraphCache.class.getName();
+
+  private final ConcurrentMap<String, FutureTask<DependencyNode>> dependencyGraphs = new ConcurrentHashMap<>();
+  private final AtomicInteger hits = new AtomicInteger();
+  private final AtomicInteger misses = new AtomicInteger();
+
+  SessionDependencyGraphCache() {
+  }
+
+  /**
+   * Returns the cache of the given repository session and creates it if necessary.
+   *
+   * @param session The repository session of the current build.
+   * @return The cache of the given session.
+   */
+  public static SessionDependencyGraphCache forSession(RepositorySystemSession session) {
+    SessionData data = session.getData();
+    Object cache = data.get(SESSION_DATA_KEY);
+    if (cache == null) {
+      SessionDependencyGraphCache newCache = new SessionDependencyGraphCache();
+      cache = data.set(SESSION_DATA_KEY, null, newCache) ? newCache : data.get(SESSION_DATA_KEY);
+    }
+
+    // Another version of this plugin in the same build has its own class and cannot share the cache
+    return cache instanceof SessionDependencyGraphCache ? (SessionDependencyGraphCache) cache : new SessionDependencyGraphCache();
+  }
+
+  /**
+   * Returns a view of this cache for dependency graphs that were resolved with the given configuration. Graphs of the
+   * same project that were resolved with different configurations are cached separately.
+   *
+   * @param configuration Identifies the resolution configuration.
+   * @return A cache that stores the graphs in this session cache.
+   */
+  public DependencyGraphCache forConfiguration(String configuration) {
+    return (project, resolver) -> getDependencyGraph(configuration + "/" + project.getId(), project, resolver);
+  }
+
+  public int getHits() {
+    return this.hits.get();
+  }
+
+  public int getMisses() {
+    return this.misses.get();
+  }
+
+  private DependencyNode getDependencyGraph(String key, MavenProject project, Function<MavenProject, DependencyNode> resolver) {
+    FutureTask<DependencyNode> newTask = new FutureTask<>(() -> resolver.apply(project));
+    FutureTask<DependencyNode> task = this.dependencyGraphs.putIfAbsent(key, newTask);
+    if (task == null) {
+      this.misses.incrementAndGet();
+      task = newTask;
+      task.run();
+    } else {
+      this.hits.incrementAndGet();
+    }
+
+    try {
+      return Uninterruptibles.getUninterruptibly(task);
+    } catch (ExecutionException e) {
+      // Let the next request resolve the project again
+      this.dependencyGraphs.remove(key, task);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+}
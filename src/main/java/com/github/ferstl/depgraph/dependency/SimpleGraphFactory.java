@@ -36,7 +36,7 @@ public class SimpleGraphFactory implements GraphFactory {
   }
 
   @Override
-  public String createGraph(MavenProject project) {
+  public GraphBuilder<DependencyNode> createGraph(MavenProject project) {
     this.graphBuilder.graphName(project.getArtifactId());
     this.mavenGraphAdapter.buildDependencyGraph(project, this.globalFilter, this.graphBuilder);
 
@@ -46,7 +46,7 @@ public class SimpleGraphFactory implements GraphFactory {
       this.graphBuilder.addNode(new DependencyNode(artifact));
     }
 
-    return this.graphBuilder.toString();
+    return this.graphBuilder;
   }
 
 }
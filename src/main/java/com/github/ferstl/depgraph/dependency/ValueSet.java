@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.Set;
+import java.util.TreeSet;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A sorted set of strings for the scopes, types and classifiers of a {@link DependencyNode}. Well-known values, such as
+ * the Maven scopes, are stored in a bit mask. Other values are stored in a {@link TreeSet} that is only created when
+ * needed. Since most nodes only have well-known values, a set usually consists of a single small object.
+ */
+final class ValueSet {
+
+  // The well-known values need to be sorted, so that the bit mask can be iterated in natural order
+  static final String[] SCOPES = {"compile", "import", "provided", "runtime", "system", "test"};
+  static final String[] TYPES = {"bundle", "ear", "ejb", "jar", "maven-plugin", "pom", "test-jar", "war"};
+  static final String[] CLASSIFIERS = {"javadoc", "sources", "tests"};
+
+  private final String[] wellKnownValues;
+  private int bits;
+  private TreeSet<String> otherValues;
+
+  ValueSet(String[] wellKnownValues) {
+    this.wellKnownValues = wellKnownValues;
+  }
+
+  void add(String value) {
+    int index = indexOf(value);
+    if (index >= 0) {
+      this.bits |= 1 << index;
+    } else {
+      if (this.otherValues == null) {
+        this.otherValues = new TreeSet<>();
+      }
+
+      this.otherValues.add(value);
+    }
+  }
+
+  void addAll(ValueSet other) {
+    if (other.wellKnownValues != this.wellKnownValues) {
+      throw new IllegalArgumentException("Incompatible value sets");
+    }
+
+    this.bits |= other.bits;
+    if (other.otherValues != null) {
+      if (this.otherValues == null) {
+        this.otherValues = new TreeSet<>();
+      }
+
+      this.otherValues.addAll(other.otherValues);
+    }
+  }
+
+  boolean isEmpty() {
+    return this.bits == 0 && (this.otherValues == null || this.otherValues.isEmpty());
+  }
+
+  /**
+   * Returns the smallest value of this set.
+   *
+   * @return The smallest value or {@code null} if this set is empty.
+   */
+  String first() {
+    String wellKnownValue = this.bits != 0 ? this.wellKnownValues[Integer.numberOfTrailingZeros(this.bits)] : null;
+    String otherValue = this.otherValues != null && !this.otherValues.isEmpty() ? this.otherValues.first() : null;
+
+    if (wellKnownValue == null || (otherValue != null && otherValue.compareTo(wellKnownValue) < 0)) {
+      return otherValue;
+    }
+
+    return wellKnownValue;
+  }
+
+  Set<String> toSet() {
+    if (this.otherValues == null) {
+      ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+      for (int i = 0; i < this.wellKnownValues.length; i++) {
+        if ((this.bits & (1 << i)) != 0) {
+          builder.add(this.wellKnownValues[i]);
+        }
+      }
+
+      return builder.build();
+    }
+
+    TreeSet<String> values = new TreeSet<>(this.otherValues);
+    for (int i = 0; i < this.wellKnownValues.length; i++) {
+      if ((this.bits & (1 << i)) != 0) {
+        values.add(this.wellKnownValues[i]);
+      }
+    }
+
+    return ImmutableSet.copyOf(values);
+  }
+
+  private int indexOf(String value) {
+    for (int i = 0; i < this.wellKnownValues.length; i++) {
+      if (this.wellKnownValues[i].equals(value)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  @Override
+  public String toString() {
+    return toSet().toString();
+  }
+}
@@ -36,6 +36,10 @@ public class DotDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
 
   @Override
   public String render(DependencyNode from, DependencyNode to) {
+    return createAttributes(from, to).toString();
+  }
+
+  DotAttributeBuilder createAttributes(DependencyNode from, DependencyNode to) {
     NodeResolution fromResolution = from.getResolution();
     NodeResolution toResolution = to.getResolution();
 
@@ -44,7 +48,7 @@ public class DotDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
       builder.label(abbreviateVersion(to.getArtifact().getVersion()));
     }
 
-    return builder.toString();
+    return builder;
   }
 
 }
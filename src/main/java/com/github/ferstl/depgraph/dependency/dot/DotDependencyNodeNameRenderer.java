@@ -22,6 +22,7 @@ import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleKey;
 import com.github.ferstl.depgraph.graph.NodeRenderer;
+import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
 import com.google.common.base.Joiner;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 
@@ -53,6 +54,10 @@ public class DotDependencyNodeNameRenderer implements NodeRenderer<DependencyNod
 
   @Override
   public String render(DependencyNode node) {
+    return createAttributes(node).toString();
+  }
+
+  DotAttributeBuilder createAttributes(DependencyNode node) {
     Artifact artifact = node.getArtifact();
     String scopes = createScopeString(node.getScopes());
     String types = createTypeString(node.getTypes());
@@ -70,7 +75,7 @@ public class DotDependencyNodeNameRenderer implements NodeRenderer<DependencyNod
         this.showTypes ? types : null,
         this.showClassifiers ? classifiers : null,
         this.showScope ? scopes : null
-    ).toString();
+    );
   }
 
   private static String createScopeString(Set<String> scopes) {
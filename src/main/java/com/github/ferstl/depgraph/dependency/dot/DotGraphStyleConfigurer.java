@@ -35,9 +35,9 @@ public class DotGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
     DotDependencyNodeNameRenderer nodeNameRenderer = new DotDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope, this.styleConfiguration);
     DotDependencyEdgeRenderer edgeRenderer = new DotDependencyEdgeRenderer(this.showVersionOnEdges, this.styleConfiguration);
 
+    // The node and edge attributes are passed directly to the formatters, so there is no need to render node and edge names
     return graphBuilder
         .graphFormatter(new DotGraphFormatter(this.styleConfiguration.graphAttributes(), this.styleConfiguration.defaultNodeAttributes(), this.styleConfiguration.defaultEdgeAttributes()))
-        .useNodeNameRenderer(nodeNameRenderer)
-        .useEdgeRenderer(edgeRenderer);
+        .useAttributeRenderer(new DotDependencyAttributeRenderer(nodeNameRenderer, edgeRenderer));
   }
 }
@@ -47,6 +47,11 @@ public class StyleConfiguration {
   private final Map<StyleKey, Edge> edgeNodeStylesTo = new LinkedHashMap<>();
   private final Map<NodeResolution, Edge> edgeResolutionStyles = new LinkedHashMap<>();
 
+  // Compiled lazily from the style maps above. Transient fields are ignored by Jackson.
+  private transient StyleMatcherIndex<AbstractNode> nodeStyleIndex;
+  private transient StyleMatcherIndex<Edge> edgeNodeStyleFromIndex;
+  private transient StyleMatcherIndex<Edge> edgeNodeStyleToIndex;
+
 
   public static StyleConfiguration load(StyleResource mainConfig, StyleResource... overrides) {
     ObjectMapper mapper = createObjectMapper();
@@ -114,23 +119,17 @@ public class StyleConfiguration {
     // Specific edge style-from win over node resolution
     if (from != null) {
       StyleKey artifactKeyFrom = StyleKey.create(from.getGroupId(), from.getArtifactId(), from.getScope(), from.getType(), from.getVersion(), from.getClassifier(), from.isOptional());
-      for (Entry<StyleKey, Edge> entry : this.edgeNodeStylesFrom.entrySet()) {
-        StyleKey styleKey = entry.getKey();
-        if (styleKey.matches(artifactKeyFrom)) {
-          edge = entry.getValue();
-          break;
-        }
+      Edge edgeFrom = getEdgeNodeStyleFromIndex().find(artifactKeyFrom);
+      if (edgeFrom != null) {
+        edge = edgeFrom;
       }
     }
     // Specific edge style-from to over node resolution
     if (to != null) {
       StyleKey artifactKeyTo = StyleKey.create(to.getGroupId(), to.getArtifactId(), to.getScope(), to.getType(), to.getVersion(), to.getClassifier(), to.isOptional());
-      for (Entry<StyleKey, Edge> entry : this.edgeNodeStylesTo.entrySet()) {
-        StyleKey styleKey = entry.getKey();
-        if (styleKey.matches(artifactKeyTo)) {
-          edge = entry.getValue();
-          break;
-        }
+      Edge edgeTo = getEdgeNodeStyleToIndex().find(artifactKeyTo);
+      if (edgeTo != null) {
+        edge = edgeTo;
       }
     }
 
@@ -138,14 +137,9 @@ public class StyleConfiguration {
   }
 
   public DotAttributeBuilder nodeAttributes(StyleKey artifactKey, String groupId, String artifactId, String version, boolean isOptional, String types, String classifiers, String scopes) {
-    AbstractNode node = this.defaultNode;
-
-    for (Entry<StyleKey, AbstractNode> entry : this.nodeStyles.entrySet()) {
-      StyleKey styleKey = entry.getKey();
-      if (styleKey.matches(artifactKey)) {
-        node = entry.getValue();
-        break;
-      }
+    AbstractNode node = getNodeStyleIndex().find(artifactKey);
+    if (node == null) {
+      node = this.defaultNode;
     }
 
     return node.createAttributes(groupId, artifactId, version, isOptional, types, scopes, classifiers, node != this.defaultNode);
@@ -162,7 +156,35 @@ public class StyleConfiguration {
     }
   }
 
+  private StyleMatcherIndex<AbstractNode> getNodeStyleIndex() {
+    if (this.nodeStyleIndex == null) {
+      this.nodeStyleIndex = new StyleMatcherIndex<>(this.nodeStyles);
+    }
+
+    return this.nodeStyleIndex;
+  }
+
+  private StyleMatcherIndex<Edge> getEdgeNodeStyleFromIndex() {
+    if (this.edgeNodeStyleFromIndex == null) {
+      this.edgeNodeStyleFromIndex = new StyleMatcherIndex<>(this.edgeNodeStylesFrom);
+    }
+
+    return this.edgeNodeStyleFromIndex;
+  }
+
+  private StyleMatcherIndex<Edge> getEdgeNodeStyleToIndex() {
+    if (this.edgeNodeStyleToIndex == null) {
+      this.edgeNodeStyleToIndex = new StyleMatcherIndex<>(this.edgeNodeStylesTo);
+    }
+
+    return this.edgeNodeStyleToIndex;
+  }
+
   private void merge(StyleConfiguration other) {
+    this.nodeStyleIndex = null;
+    this.edgeNodeStyleFromIndex = null;
+    this.edgeNodeStyleToIndex = null;
+
     this.graph.merge(other.graph);
     // We have to deal with subclasses here. Hence the double merge.
     this.defaultNode.merge(other.defaultNode);
@@ -15,6 +15,7 @@
  */
 package com.github.ferstl.depgraph.dependency.dot.style;
 
+import java.util.Arrays;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 import com.google.common.base.Joiner;
@@ -34,36 +35,35 @@ public final class StyleKey {
   private final String optional;
 
 
-  private StyleKey(String[] parts) {
-    if (parts.length > NUM_ELEMENTS) {
-      throw new IllegalArgumentException("Too many parts. Expecting '<groupId>:<artifactId>:<version>:<scope>:<type>:<classifier>:<true|false>'");
-    }
+  private int hash;
 
-    String[] expanded = new String[NUM_ELEMENTS];
-    for (int i = 0; i < expanded.length; i++) {
-      expanded[i] = "";
-    }
 
-    for (int i = 0; i < parts.length; i++) {
-      expanded[i] = defaultIfEmpty(parts[i], "");
-    }
-
-    this.groupId = expanded[0];
-    this.artifactId = expanded[1];
-    this.scope = expanded[2];
-    this.type = expanded[3];
-    this.version = expanded[4];
-    this.classifier = expanded[5];
-    this.optional = expanded[6];
+  private StyleKey(String groupId, String artifactId, String scope, String type, String version, String classifier, String optional) {
+    this.groupId = defaultIfEmpty(groupId, "");
+    this.artifactId = defaultIfEmpty(artifactId, "");
+    this.scope = defaultIfEmpty(scope, "");
+    this.type = defaultIfEmpty(type, "");
+    this.version = defaultIfEmpty(version, "");
+    this.classifier = defaultIfEmpty(classifier, "");
+    this.optional = defaultIfEmpty(optional, "");
   }
 
   public static StyleKey fromString(String keyString) {
     String[] parts = keyString.split(",");
-    return new StyleKey(parts);
+    if (parts.length > NUM_ELEMENTS) {
+      throw new IllegalArgumentException("Too many parts. Expecting '<groupId>:<artifactId>:<version>:<scope>:<type>:<classifier>:<true|false>'");
+    }
+
+    String[] expanded = Arrays.copyOf(parts, NUM_ELEMENTS);
+    return new StyleKey(expanded[0], expanded[1], expanded[2], expanded[3], expanded[4], expanded[5], expanded[6]);
   }
 
   public static StyleKey create(String groupId, String artifactId, String scope, String type, String version, String classifier, Boolean isOptional) {
-    return new StyleKey(new String[]{groupId, artifactId, scope, type, version, classifier, isOptional != null ? isOptional.toString() : null});
+    return new StyleKey(groupId, artifactId, scope, type, version, classifier, isOptional != null ? isOptional.toString() : null);
+  }
+
+  String getGroupId() {
+    return this.groupId;
   }
 
   public boolean matches(StyleKey other) {
@@ -100,7 +100,13 @@ public final class StyleKey {
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.groupId, this.artifactId, this.scope, this.type, this.version, this.classifier, this.optional);
+    int result = this.hash;
+    if (result == 0) {
+      result = Objects.hash(this.groupId, this.artifactId, this.scope, this.type, this.version, this.classifier, this.optional);
+      this.hash = result;
+    }
+
+    return result;
   }
 
   @Override
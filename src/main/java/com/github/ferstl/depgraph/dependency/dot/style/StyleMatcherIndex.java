@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.dot.style;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compiled lookup structure for style rules keyed by {@link StyleKey}. Rules with an exact group ID are stored in a hash
+ * map and rules with a group ID prefix (e.g. {@code com.example.*}) in a prefix trie. So only the rules whose group ID
+ * can match at all are tested. Like the linear scan in {@link StyleConfiguration}, the first matching rule in
+ * definition order wins.
+ * <p>
+ * The results are cached per looked up {@link StyleKey}, so each distinct artifact coordinate is resolved only once.
+ *
+ * @param <V> Type of the style.
+ */
+final class StyleMatcherIndex<V> {
+
+  private final Map<String, List<Rule<V>>> exactGroupIds = new HashMap<>();
+  private final PrefixNode<V> groupIdPrefixes = new PrefixNode<>();
+  private final ConcurrentMap<StyleKey, Optional<V>> cache = new ConcurrentHashMap<>();
+
+  StyleMatcherIndex(Map<StyleKey, ? extends V> styles) {
+    int ordinal = 0;
+    for (Entry<StyleKey, ? extends V> entry : styles.entrySet()) {
+      StyleKey styleKey = entry.getKey();
+      Rule<V> rule = new Rule<>(ordinal++, styleKey, entry.getValue());
+      String groupId = styleKey.getGroupId();
+
+      if (groupId.isEmpty() || groupId.endsWith("*")) {
+        String prefix = groupId.isEmpty() ? "" : groupId.substring(0, groupId.length() - 1);
+        this.groupIdPrefixes.getOrCreate(prefix).rules.add(rule);
+      } else {
+        this.exactGroupIds.computeIfAbsent(groupId, k -> new ArrayList<>()).add(rule);
+      }
+    }
+  }
+
+  /**
+   * Returns the style of the first rule that matches the given key.
+   *
+   * @param artifactKey Key of the artifact to look up.
+   * @return The style of the first matching rule or {@code null} if no rule matches.
+   */
+  V find(StyleKey artifactKey) {
+    Optional<V> result = this.cache.get(artifactKey);
+    if (result == null) {
+      result = Optional.ofNullable(lookup(artifactKey));
+      this.cache.putIfAbsent(artifactKey, result);
+    }
+
+    return result.orElse(null);
+  }
+
+  private V lookup(StyleKey artifactKey) {
+    String groupId = artifactKey.getGroupId();
+    Rule<V> firstMatch = findFirstMatch(this.exactGroupIds.get(groupId), artifactKey, null);
+
+    PrefixNode<V> node = this.groupIdPrefixes;
+    firstMatch = findFirstMatch(node.rules, artifactKey, firstMatch);
+    for (int i = 0; i < groupId.length(); i++) {
+      node = node.children.get(groupId.charAt(i));
+      if (node == null) {
+        break;
+      }
+
+      firstMatch = findFirstMatch(node.rules, artifactKey, firstMatch);
+    }
+
+    return firstMatch != null ? firstMatch.style : null;
+  }
+
+  /**
+   * Returns the first rule in {@code rules} that matches {@code artifactKey} if it was defined before
+   * {@code currentMatch}. Otherwise {@code currentMatch} is returned.
+   */
+  private static <V> Rule<V> findFirstMatch(List<Rule<V>> rules, StyleKey artifactKey, Rule<V> currentMatch) {
+    if (rules == null) {
+      return currentMatch;
+    }
+
+    for (Rule<V> rule : rules) {
+      if (currentMatch != null && rule.ordinal > currentMatch.ordinal) {
+        break;
+      }
+
+      if (rule.styleKey.matches(artifactKey)) {
+        return rule;
+      }
+    }
+
+    return currentMatch;
+  }
+
+  private static final class Rule<V> {
+
+    final int ordinal;
+    final StyleKey styleKey;
+    final V style;
+
+    Rule(int ordinal, StyleKey styleKey, V style) {
+      this.ordinal = ordinal;
+      this.styleKey = styleKey;
+      this.style = style;
+    }
+  }
+
+  private static final class PrefixNode<V> {
+
+    final Map<Character, PrefixNode<V>> children = new HashMap<>();
+    final List<Rule<V>> rules = new ArrayList<>();
+
+    PrefixNode<V> getOrCreate(String prefix) {
+      PrefixNode<V> node = this;
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.children.computeIfAbsent(prefix.charAt(i), k -> new PrefixNode<>());
+      }
+
+      return node;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.json;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.ferstl.depgraph.graph.json.JsonAttributes;
+
+/**
+ * JSON attributes of an artifact node.
+ */
+class ArtifactData extends JsonAttributes {
+
+  private final String groupId;
+  private final String artifactId;
+  private final String version;
+  private final Boolean optional;
+  private final Collection<String> classifiers;
+  private final Collection<String> scopes;
+  private final Collection<String> types;
+
+  ArtifactData(
+      String groupId,
+      String artifactId,
+      String version,
+      Boolean optional,
+      Collection<String> classifiers,
+      Collection<String> scopes,
+      Collection<String> types) {
+    this.optional = optional;
+    this.groupId = groupId;
+    this.artifactId = artifactId;
+    this.version = version;
+    this.classifiers = classifiers;
+    this.scopes = scopes;
+    this.types = types;
+  }
+
+  @Override
+  public void writeFields(JsonGenerator generator) throws IOException {
+    writeStringField(generator, "groupId", this.groupId);
+    writeStringField(generator, "artifactId", this.artifactId);
+    writeStringField(generator, "version", this.version);
+    writeBooleanField(generator, "optional", this.optional);
+    writeArrayField(generator, "classifiers", this.classifiers);
+    writeArrayField(generator, "scopes", this.scopes);
+    writeArrayField(generator, "types", this.types);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof ArtifactData)) {
+      return false;
+    }
+
+    ArtifactData other = (ArtifactData) o;
+    return Objects.equals(this.groupId, other.groupId)
+        && Objects.equals(this.artifactId, other.artifactId)
+        && Objects.equals(this.version, other.version)
+        && Objects.equals(this.optional, other.optional)
+        && Objects.equals(this.classifiers, other.classifiers)
+        && Objects.equals(this.scopes, other.scopes)
+        && Objects.equals(this.types, other.types);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.groupId, this.artifactId, this.version, this.optional, this.classifiers, this.scopes, this.types);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.json;
+
+import java.io.IOException;
+import java.util.Objects;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.ferstl.depgraph.dependency.NodeResolution;
+import com.github.ferstl.depgraph.graph.json.JsonAttributes;
+
+/**
+ * JSON attributes of a dependency edge.
+ */
+class DependencyData extends JsonAttributes {
+
+  private final String version;
+  private final NodeResolution resolution;
+
+  DependencyData(String version, NodeResolution resolution) {
+    this.version = version;
+    this.resolution = resolution;
+  }
+
+  @Override
+  public void writeFields(JsonGenerator generator) throws IOException {
+    writeStringField(generator, "version", this.version);
+    writeStringField(generator, "resolution", this.resolution != null ? this.resolution.name() : null);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof DependencyData)) {
+      return false;
+    }
+
+    DependencyData other = (DependencyData) o;
+    return Objects.equals(this.version, other.version)
+        && this.resolution == other.resolution;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.version, this.resolution);
+  }
+}
@@ -15,55 +15,27 @@
  */
 package com.github.ferstl.depgraph.dependency.json;
 
-import java.io.IOException;
-import java.io.StringWriter;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.dependency.NodeResolution;
 import com.github.ferstl.depgraph.graph.EdgeRenderer;
 
-import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
-import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
-import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
-
 public class JsonDependencyEdgeRenderer implements EdgeRenderer<DependencyNode> {
 
   private final boolean renderVersions;
-  private final ObjectMapper objectMapper;
 
   public JsonDependencyEdgeRenderer(boolean renderVersions) {
     this.renderVersions = renderVersions;
-    this.objectMapper = new ObjectMapper()
-        .setSerializationInclusion(NON_EMPTY)
-        .setVisibility(FIELD, ANY);
   }
 
   @Override
   public String render(DependencyNode from, DependencyNode to) {
-    NodeResolution resolution = to.getResolution();
-    boolean showVersion = resolution == NodeResolution.OMITTED_FOR_CONFLICT && this.renderVersions;
-
-    DependencyData dependencyData = new DependencyData(showVersion ? to.getArtifact().getVersion() : null, resolution);
-
-    StringWriter jsonStringWriter = new StringWriter();
-    try {
-      this.objectMapper.writer().writeValue(jsonStringWriter, dependencyData);
-    } catch (IOException e) {
-      // should never happen with StringWriter
-      throw new IllegalStateException(e);
-    }
-
-    return jsonStringWriter.toString();
+    return createAttributes(from, to).toString();
   }
 
-  private static class DependencyData {
-
-    private final String version;
-    private final NodeResolution resolution;
+  DependencyData createAttributes(DependencyNode from, DependencyNode to) {
+    NodeResolution resolution = to.getResolution();
+    boolean showVersion = resolution == NodeResolution.OMITTED_FOR_CONFLICT && this.renderVersions;
 
-    DependencyData(String version, NodeResolution resolution) {
-      this.version = version;
-      this.resolution = resolution;
-    }
+    return new DependencyData(showVersion ? to.getArtifact().getVersion() : null, resolution);
   }
 }
@@ -24,9 +24,12 @@ public class JsonGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
 
   @Override
   public GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder) {
+    JsonDependencyNodeNameRenderer nodeRenderer = new JsonDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope);
+    JsonDependencyEdgeRenderer edgeRenderer = new JsonDependencyEdgeRenderer(this.showVersionOnEdges);
+
+    // The attributes are written directly by the formatter, so there is no need to render node and edge names
     return graphBuilder
-        .useNodeNameRenderer(new JsonDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope))
-        .useEdgeRenderer(new JsonDependencyEdgeRenderer(this.showVersionOnEdges))
+        .useAttributeRenderer(new JsonDependencyAttributeRenderer(nodeRenderer, edgeRenderer))
         .graphFormatter(new JsonGraphFormatter());
   }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.puml;
+
+import com.github.ferstl.depgraph.dependency.DependencyNode;
+import com.github.ferstl.depgraph.graph.AttributeRenderer;
+
+/**
+ * Creates the {@link PumlNodeInfo}s and {@link PumlEdgeInfo}s of nodes and edges, which are written directly by the
+ * {@link com.github.ferstl.depgraph.graph.puml.PumlGraphFormatter PumlGraphFormatter}.
+ */
+public class PumlDependencyAttributeRenderer implements AttributeRenderer<DependencyNode> {
+
+  private final PumlDependencyNodeNameRenderer nodeRenderer;
+  private final PumlDependencyEgdeRenderer edgeRenderer;
+
+  public PumlDependencyAttributeRenderer(PumlDependencyNodeNameRenderer nodeRenderer, PumlDependencyEgdeRenderer edgeRenderer) {
+    this.nodeRenderer = nodeRenderer;
+    this.edgeRenderer = edgeRenderer;
+  }
+
+  @Override
+  public Object renderNodeAttributes(DependencyNode node) {
+    return this.nodeRenderer.createNodeInfo(node);
+  }
+
+  @Override
+  public Object renderEdgeAttributes(DependencyNode from, DependencyNode to) {
+    return this.edgeRenderer.createEdgeInfo(from, to);
+  }
+}
@@ -37,6 +37,10 @@ public class PumlDependencyEgdeRenderer implements EdgeRenderer<DependencyNode>
 
   @Override
   public String render(DependencyNode from, DependencyNode to) {
+    return createEdgeInfo(from, to).toString();
+  }
+
+  PumlEdgeInfo createEdgeInfo(DependencyNode from, DependencyNode to) {
     NodeResolution resolution = to.getResolution();
 
     PumlEdgeInfo edgeInfo = new PumlEdgeInfo();
@@ -65,6 +69,6 @@ public class PumlDependencyEgdeRenderer implements EdgeRenderer<DependencyNode>
         // do not output an edge in other cases
     }
 
-    return edgeInfo.toString();
+    return edgeInfo;
   }
 }
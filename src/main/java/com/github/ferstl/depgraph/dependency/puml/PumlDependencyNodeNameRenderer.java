@@ -47,6 +47,10 @@ public class PumlDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
 
   @Override
   public String render(DependencyNode node) {
+    return createNodeInfo(node).toString();
+  }
+
+  PumlNodeInfo createNodeInfo(DependencyNode node) {
     Artifact artifact = node.getArtifact();
     PumlNodeInfo nodeInfo = new PumlNodeInfo().withComponent("rectangle");
 
@@ -65,7 +69,7 @@ public class PumlDependencyNodeNameRenderer implements NodeRenderer<DependencyNo
         .withLabel(name)
         .withOptional(this.showOptional && artifact.isOptional());
 
-    return nodeInfo.toString();
+    return nodeInfo;
   }
 
   private static String createTypeString(Set<String> types) {
@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.dependency.puml;
 
 import java.io.IOException;
+import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -90,6 +91,28 @@ public class PumlEdgeInfo {
     }
   }
 
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+
+    if (!(obj instanceof PumlEdgeInfo)) {
+      return false;
+    }
+
+    PumlEdgeInfo other = (PumlEdgeInfo) obj;
+    return Objects.equals(this.begin, other.begin)
+        && Objects.equals(this.end, other.end)
+        && Objects.equals(this.color, other.color)
+        && Objects.equals(this.label, other.label);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.begin, this.end, this.color, this.label);
+  }
+
   @Override
   public String toString() {
     try {
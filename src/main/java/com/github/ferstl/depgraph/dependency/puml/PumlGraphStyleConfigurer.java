@@ -24,9 +24,12 @@ public class PumlGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
 
   @Override
   public GraphBuilder<DependencyNode> configure(GraphBuilder<DependencyNode> graphBuilder) {
+    PumlDependencyNodeNameRenderer nodeRenderer = new PumlDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope);
+    PumlDependencyEgdeRenderer edgeRenderer = new PumlDependencyEgdeRenderer(this.showVersionOnEdges);
+
+    // The node and edge infos are passed directly to the formatter, so there is no need to render node and edge names
     return graphBuilder
-        .useNodeNameRenderer(new PumlDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope))
-        .useEdgeRenderer(new PumlDependencyEgdeRenderer(this.showVersionOnEdges))
+        .useAttributeRenderer(new PumlDependencyAttributeRenderer(nodeRenderer, edgeRenderer))
         .graphFormatter(new PumlGraphFormatter());
   }
 
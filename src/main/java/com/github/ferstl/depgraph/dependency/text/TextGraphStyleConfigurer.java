@@ -23,8 +23,20 @@ import com.github.ferstl.depgraph.graph.text.TextGraphFormatter;
 
 public class TextGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
 
+  private final int maxLines;
   boolean repeatTransitiveDependencies;
 
+  public TextGraphStyleConfigurer() {
+    this(0);
+  }
+
+  /**
+   * @param maxLines The maximum number of lines of the text graph or {@code 0} for no limit.
+   */
+  public TextGraphStyleConfigurer(int maxLines) {
+    this.maxLines = maxLines;
+  }
+
   @Override
   public GraphStyleConfigurer repeatTransitiveDependencies(boolean repeatTransitiveDependencies) {
     this.repeatTransitiveDependencies = repeatTransitiveDependencies;
@@ -36,6 +48,6 @@ public class TextGraphStyleConfigurer extends AbstractGraphStyleConfigurer {
     return graphBuilder
         .useNodeNameRenderer(new TextDependencyNodeNameRenderer(this.showGroupId, this.showArtifactId, this.showTypes, this.showClassifiers, this.showVersionsOnNodes, this.showOptional, this.showScope))
         .useEdgeRenderer(new TextDependencyEdgeRenderer(this.showVersionOnEdges))
-        .graphFormatter(new TextGraphFormatter(this.repeatTransitiveDependencies));
+        .graphFormatter(new TextGraphFormatter(this.repeatTransitiveDependencies, this.maxLines));
   }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+/**
+ * Renders structured attributes of nodes and edges. In contrast to {@link NodeRenderer} and {@link EdgeRenderer}, the
+ * attributes are not rendered to strings. They are passed as objects to the {@link GraphFormatter}, which writes them
+ * in its own output format. Edge attributes are part of the edge's identity and need to implement
+ * {@code equals()} and {@code hashCode()}.
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public interface AttributeRenderer<T> {
+
+  Object renderNodeAttributes(T node);
+
+  Object renderEdgeAttributes(T from, T to);
+}
@@ -22,6 +22,7 @@ public final class Edge {
   private final String fromNodeId;
   private final String toNodeId;
   private final String name;
+  private final Object attributes;
   // Not part of equals()/hashCode()
   private final boolean permanent;
 
@@ -30,10 +31,15 @@ public final class Edge {
   }
 
   public Edge(String fromNodeId, String toNodeId, String name, boolean permanent) {
+    this(fromNodeId, toNodeId, name, permanent, null);
+  }
+
+  public Edge(String fromNodeId, String toNodeId, String name, boolean permanent, Object attributes) {
     this.fromNodeId = fromNodeId;
     this.toNodeId = toNodeId;
     this.name = name;
     this.permanent = permanent;
+    this.attributes = attributes;
   }
 
   public String getFromNodeId() {
@@ -48,6 +54,15 @@ public final class Edge {
     return this.name;
   }
 
+  /**
+   * Returns the structured attributes of this edge created by an {@link AttributeRenderer}.
+   *
+   * @return The attributes of this edge or {@code null} if there are none.
+   */
+  public Object getAttributes() {
+    return this.attributes;
+  }
+
   public boolean isPermanent() {
     return this.permanent;
   }
@@ -60,12 +75,13 @@ public final class Edge {
     Edge edge = (Edge) o;
     return Objects.equals(this.fromNodeId, edge.fromNodeId)
         && Objects.equals(this.toNodeId, edge.toNodeId)
-        && Objects.equals(this.name, edge.name);
+        && Objects.equals(this.name, edge.name)
+        && Objects.equals(this.attributes, edge.attributes);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.fromNodeId, this.toNodeId, this.name);
+    return Objects.hash(this.fromNodeId, this.toNodeId, this.name, this.attributes);
   }
 
   @Override
@@ -15,35 +15,52 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
 import com.github.ferstl.depgraph.graph.dot.DotGraphFormatter;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
+import static java.util.stream.Collectors.toList;
 
 /**
  * A builder to create <a href="http://www.graphviz.org/doc/info/lang.html">DOT</a> strings by defining edges between
  * Nodes. The builder allows some customizations including custom {@link NodeRenderer}s and
  * {@link EdgeRenderer}s.
+ * <p>
+ * Each node ID is rendered once per added edge and interned into a dense integer index. All nodes and edges share the
+ * interned ID strings and the {@link ReachabilityIndex} works on the integer indices only.
+ * </p>
+ * <p>
+ * Node names and node attributes are not rendered while the graph is built. The builder only keeps the most recently
+ * added object of each node and renders it exactly once when the graph is formatted. So the configured
+ * {@link NodeRenderer} and {@link AttributeRenderer} must not depend on the order in which nodes are added.
+ * </p>
  *
  * @param <T> Type of the graph nodes.
  */
 public final class GraphBuilder<T> {
 
   private final NodeRenderer<? super T> nodeIdRenderer;
-  private final Map<String, Node<T>> nodeDefinitions;
+  private final Map<String, Integer> nodeIndices;
+  private final List<String> nodeIds;
+  private final List<T> nodeObjects;
   private final Set<Edge> edges;
-  private final ReachabilityMap reachabilityMap;
+  private final ReachabilityIndex reachabilityIndex;
 
   private String graphName;
   private GraphFormatter graphFormatter;
   private NodeRenderer<? super T> nodeNameRenderer;
   private EdgeRenderer<? super T> edgeRenderer;
+  private AttributeRenderer<? super T> attributeRenderer;
   private boolean omitSelfReferences;
 
   public static <T> GraphBuilder<T> create(NodeRenderer<? super T> nodeIdRenderer) {
@@ -52,9 +69,11 @@ public final class GraphBuilder<T> {
 
   private GraphBuilder(NodeRenderer<? super T> nodeIdRenderer) {
     this.nodeIdRenderer = nodeIdRenderer;
-    this.nodeDefinitions = new LinkedHashMap<>();
+    this.nodeIndices = new HashMap<>();
+    this.nodeIds = new ArrayList<>();
+    this.nodeObjects = new ArrayList<>();
     this.edges = new LinkedHashSet<>();
-    this.reachabilityMap = new ReachabilityMap();
+    this.reachabilityIndex = new ReachabilityIndex();
 
     DotAttributeBuilder graphAttributeBuilder = new DotAttributeBuilder();
     DotAttributeBuilder nodeAttributeBuilder = new DotAttributeBuilder().shape("box").fontName("Helvetica");
@@ -64,6 +83,7 @@ public final class GraphBuilder<T> {
     this.graphFormatter = new DotGraphFormatter(graphAttributeBuilder, nodeAttributeBuilder, edgeAttributeBuilder);
     this.nodeNameRenderer = createDefaultNodeNameRenderer();
     this.edgeRenderer = createDefaultEdgeRenderer();
+    this.attributeRenderer = createDefaultAttributeRenderer();
   }
 
   public GraphBuilder<T> graphName(String name) {
@@ -81,6 +101,11 @@ public final class GraphBuilder<T> {
     return this;
   }
 
+  public GraphBuilder<T> useAttributeRenderer(AttributeRenderer<? super T> attributeRenderer) {
+    this.attributeRenderer = attributeRenderer;
+    return this;
+  }
+
   public GraphBuilder<T> omitSelfReferences() {
     this.omitSelfReferences = true;
     return this;
@@ -92,7 +117,15 @@ public final class GraphBuilder<T> {
   }
 
   public boolean isEmpty() {
-    return this.nodeDefinitions.isEmpty();
+    return this.nodeObjects.isEmpty();
+  }
+
+  public int getNodeCount() {
+    return this.nodeObjects.size();
+  }
+
+  public int getEdgeCount() {
+    return this.edges.size();
   }
 
   /**
@@ -102,10 +135,7 @@ public final class GraphBuilder<T> {
    * @return This builder.
    */
   public GraphBuilder<T> addNode(T node) {
-    String nodeId = this.nodeIdRenderer.render(node);
-    String nodeName = this.nodeNameRenderer.render(node);
-    this.nodeDefinitions.put(nodeId, new Node<>(nodeId, nodeName, node));
-
+    addNodeInternal(node, this.nodeIdRenderer.render(node));
     return this;
   }
 
@@ -124,29 +154,101 @@ public final class GraphBuilder<T> {
    * @return The firstly added node or the given node if not present.
    */
   public T getEffectiveNode(T node) {
-    String key = this.nodeIdRenderer.render(node);
-    if (this.nodeDefinitions.containsKey(key)) {
-      return this.nodeDefinitions.get(key).nodeObject;
+    Integer index = this.nodeIndices.get(this.nodeIdRenderer.render(node));
+    if (index != null) {
+      return this.nodeObjects.get(index);
     }
 
     return node;
   }
 
+  /**
+   * Removes all non-permanent edges whose target node is reachable via an older path from their source node.
+   */
   public void reduceEdges() {
-    this.edges.removeIf(edge -> !edge.isPermanent() && this.reachabilityMap.hasOlderPath(edge.getToNodeId(), edge.getFromNodeId()));
+    List<Edge> reducibleEdges = this.edges.stream()
+        .filter(edge -> !edge.isPermanent())
+        .collect(toList());
+
+    int[] sources = new int[reducibleEdges.size()];
+    int[] targets = new int[reducibleEdges.size()];
+    for (int i = 0; i < reducibleEdges.size(); i++) {
+      Edge edge = reducibleEdges.get(i);
+      sources[i] = this.nodeIndices.get(edge.getFromNodeId());
+      targets[i] = this.nodeIndices.get(edge.getToNodeId());
+    }
+
+    BitSet redundantEdges = this.reachabilityIndex.findRedundantEdges(sources, targets);
+    for (int i = redundantEdges.nextSetBit(0); i >= 0; i = redundantEdges.nextSetBit(i + 1)) {
+      this.edges.remove(reducibleEdges.get(i));
+    }
+  }
+
+  /**
+   * Formats the graph and writes it directly to the given output. The formatter receives read-only collections. The
+   * edges are shared with this builder and the nodes are rendered once per call.
+   *
+   * @param output The output to write to.
+   * @throws IOException In case the output cannot be written.
+   */
+  public void writeTo(Appendable output) throws IOException {
+    this.graphFormatter.format(this.graphName, getNodes(), getEdges(), output);
+  }
+
+  /**
+   * Formats the graph with the given formatter instead of the configured one and writes it to the given output.
+   *
+   * @param formatter The formatter.
+   * @param output The output to write to.
+   * @throws IOException In case the output cannot be written.
+   */
+  public void writeTo(GraphFormatter formatter, Appendable output) throws IOException {
+    formatter.format(this.graphName, getNodes(), getEdges(), output);
+  }
+
+  /**
+   * Creates an index to query the paths of this graph. The index is a snapshot of the current nodes and edges and uses
+   * the configured {@link NodeRenderer} for the node names.
+   *
+   * @return The path index.
+   */
+  public PathIndex<T> createPathIndex() {
+    int[] sources = new int[this.edges.size()];
+    int[] targets = new int[this.edges.size()];
+    Set<Long> addedEdges = new HashSet<>();
+    int edgeCount = 0;
+    for (Edge edge : this.edges) {
+      int from = this.nodeIndices.get(edge.getFromNodeId());
+      int to = this.nodeIndices.get(edge.getToNodeId());
+
+      // Edges between the same nodes only differ in their name or attributes
+      if (addedEdges.add(((long) from << 32) | to)) {
+        sources[edgeCount] = from;
+        targets[edgeCount] = to;
+        edgeCount++;
+      }
+    }
+
+    return new PathIndex<>(new ArrayList<>(this.nodeObjects), this.nodeNameRenderer, Arrays.copyOf(sources, edgeCount), Arrays.copyOf(targets, edgeCount));
   }
 
   @Override
   public String toString() {
-    // Work around some generics restrictions
-    ImmutableList.Builder<Node<?>> nodeListBuilder = ImmutableList.builder();
-    for (Node<?> node : this.nodeDefinitions.values()) {
-      nodeListBuilder.add(node);
+    return this.graphFormatter.format(this.graphName, getNodes(), getEdges());
+  }
+
+  private Collection<Node<?>> getNodes() {
+    List<Node<?>> nodes = new ArrayList<>(this.nodeObjects.size());
+    for (int i = 0; i < this.nodeObjects.size(); i++) {
+      T node = this.nodeObjects.get(i);
+      nodes.add(new Node<>(this.nodeIds.get(i), this.nodeNameRenderer.render(node), node, this.attributeRenderer.renderNodeAttributes(node)));
     }
-    ImmutableList<Node<?>> nodeList = nodeListBuilder.build();
-    ImmutableSet<Edge> edgeSet = ImmutableSet.copyOf(this.edges);
 
-    return this.graphFormatter.format(this.graphName, nodeList, edgeSet);
+    return Collections.unmodifiableList(nodes);
+  }
+
+  private Collection<Edge> getEdges() {
+    return Collections.unmodifiableSet(this.edges);
   }
 
   /**
@@ -160,23 +262,41 @@ public final class GraphBuilder<T> {
    */
   private GraphBuilder<T> addEdgeInternal(T from, T to, boolean permanent) {
     if (from != null && to != null) {
-      addNode(from);
-      addNode(to);
+      int fromIndex = addNodeInternal(from, this.nodeIdRenderer.render(from));
+      int toIndex = addNodeInternal(to, this.nodeIdRenderer.render(to));
 
-      safelyAddEdge(from, to, permanent);
+      safelyAddEdge(from, to, fromIndex, toIndex, permanent);
     }
 
     return this;
   }
 
-  private void safelyAddEdge(T fromNode, T toNode, boolean permanent) {
-    String fromNodeId = this.nodeIdRenderer.render(fromNode);
-    String toNodeId = this.nodeIdRenderer.render(toNode);
+  /**
+   * Adds or replaces the given node and returns its index. A replaced node keeps its index and its interned ID. The
+   * node is not rendered until the graph is formatted.
+   */
+  private int addNodeInternal(T node, String renderedNodeId) {
+    Integer index = this.nodeIndices.get(renderedNodeId);
+    if (index != null) {
+      this.nodeObjects.set(index, node);
+      return index;
+    }
+
+    int newIndex = this.nodeObjects.size();
+    this.nodeIds.add(renderedNodeId);
+    this.nodeObjects.add(node);
+    this.nodeIndices.put(renderedNodeId, newIndex);
 
-    if (!this.omitSelfReferences || !fromNodeId.equals(toNodeId)) {
-      Edge edge = new Edge(fromNodeId, toNodeId, this.edgeRenderer.render(fromNode, toNode), permanent);
+    return newIndex;
+  }
+
+  private void safelyAddEdge(T fromNode, T toNode, int fromIndex, int toIndex, boolean permanent) {
+    if (!this.omitSelfReferences || fromIndex != toIndex) {
+      String name = this.edgeRenderer.render(fromNode, toNode);
+      Object attributes = this.attributeRenderer.renderEdgeAttributes(fromNode, toNode);
+      Edge edge = new Edge(this.nodeIds.get(fromIndex), this.nodeIds.get(toIndex), name, permanent, attributes);
       this.edges.add(edge);
-      this.reachabilityMap.registerEdge(fromNodeId, toNodeId);
+      this.reachabilityIndex.registerEdge(fromIndex, toIndex);
     }
   }
 
@@ -188,77 +308,19 @@ public final class GraphBuilder<T> {
     return node -> "";
   }
 
-  /**
-   * A map that tracks which nodes are reachable from other nodes.
-   * When a new edge 'A -> B' is added, the map registers node 'A' as a parent of node 'B'. To find out whether a node
-   * 'Y' is reachable from node 'X', we can recursively traverse the parents of node 'Y'. When node 'X' is found in this
-   * traversal, 'Y' is reachable via 'X'. When all nodes are traversed and 'X' is not found, 'Y' is not reachable via 'X'.
-   * To handle cycles in the graph, the node traversal keeps track of all already traversed nodes.
-   */
-  private static class ReachabilityMap {
-
-    private final Map<String, Set<String>> parentIndex = new LinkedHashMap<>();
-
-    void registerEdge(String from, String to) {
-      Set<String> parents = safelyGetParents(to);
-      parents.add(from);
-    }
-
-    boolean hasOlderPath(String target, String source) {
-      return isReachable(target, source, true, new HashSet<>());
-    }
-
-
-    /**
-     * Recursively traverses the parents of {@code target} trying to find {@code source} by keeping track of already traversed
-     * nodes. If {@code olderParentsOnly} is set to {@code true}, only the parents that were inserted <strong>before</strong>
-     * {@code source} will be considered.
-     *
-     * @return {@code true} if {@code target} is reachable via {@code source}, {@code false} else.
-     */
-    private boolean isReachable(String target, String source, boolean olderParentsOnly, Set<String> alreadyVisited) {
-      if (alreadyVisited.contains(target)) {
-        return false;
-      }
-
-      alreadyVisited.add(target);
+  private static <T> AttributeRenderer<T> createDefaultAttributeRenderer() {
+    return new AttributeRenderer<T>() {
 
-      Set<String> parents = olderParentsOnly ? getOlderParents(target, source) : safelyGetParents(target);
-      if (parents.contains(source)) {
-        return true;
+      @Override
+      public Object renderNodeAttributes(T node) {
+        return null;
       }
 
-      for (String parent : parents) {
-        if (isReachable(parent, source, false, alreadyVisited)) {
-          return true;
-        }
+      @Override
+      public Object renderEdgeAttributes(T from, T to) {
+        return null;
       }
-
-      return false;
-    }
-
-    private Set<String> getOlderParents(String target, String source) {
-      Set<String> olderParents = new LinkedHashSet<>(safelyGetParents(target));
-      boolean remove = false;
-      Iterator<String> iterator = olderParents.iterator();
-      while (iterator.hasNext()) {
-        String value = iterator.next();
-        if (value.equals(source)) {
-          remove = true;
-        }
-
-        if (remove) {
-          iterator.remove();
-        }
-      }
-
-      return olderParents;
-    }
-
-    private Set<String> safelyGetParents(String node) {
-      return this.parentIndex.computeIfAbsent(node, k -> new LinkedHashSet<>());
-    }
-
+    };
   }
 
 }
@@ -15,6 +15,7 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.io.IOException;
 import java.util.Collection;
 
 /**
@@ -22,5 +23,26 @@ import java.util.Collection;
  */
 public interface GraphFormatter {
 
-  String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges);
+  /**
+   * Writes the graph directly to the given output without building an intermediate string of the whole graph.
+   *
+   * @param graphName Name of the graph.
+   * @param nodes The nodes of the graph.
+   * @param edges The edges of the graph.
+   * @param output The output to append the formatted graph to.
+   * @throws IOException In case the output cannot be written.
+   */
+  void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException;
+
+  default String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+    StringBuilder output = new StringBuilder();
+    try {
+      format(graphName, nodes, edges, output);
+    } catch (IOException e) {
+      // should never happen with StringBuilder
+      throw new IllegalStateException(e);
+    }
+
+    return output.toString();
+  }
 }
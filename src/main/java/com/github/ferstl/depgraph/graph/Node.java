@@ -21,12 +21,18 @@ public final class Node<T> {
 
   private final String nodeId;
   private final String nodeName;
+  private final Object attributes;
   final T nodeObject;
 
   public Node(String nodeId, String nodeName, T nodeObject) {
+    this(nodeId, nodeName, nodeObject, null);
+  }
+
+  public Node(String nodeId, String nodeName, T nodeObject, Object attributes) {
     this.nodeId = nodeId;
     this.nodeName = nodeName;
     this.nodeObject = nodeObject;
+    this.attributes = attributes;
   }
 
   public String getNodeId() {
@@ -37,6 +43,15 @@ public final class Node<T> {
     return this.nodeName;
   }
 
+  /**
+   * Returns the structured attributes of this node created by an {@link AttributeRenderer}.
+   *
+   * @return The attributes of this node or {@code null} if there are none.
+   */
+  public Object getAttributes() {
+    return this.attributes;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -49,12 +64,13 @@ public final class Node<T> {
 
     Node<?> other = (Node<?>) o;
     return Objects.equals(this.nodeId, other.nodeId)
-        && Objects.equals(this.nodeName, other.nodeName);
+        && Objects.equals(this.nodeName, other.nodeName)
+        && Objects.equals(this.attributes, other.attributes);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.nodeId, this.nodeName);
+    return Objects.hash(this.nodeId, this.nodeName, this.attributes);
   }
 
   @Override
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An index to query the paths from the root nodes of a graph to a target node.
+ * <p>
+ * The index keeps the forward and the reverse adjacency of the graph in compact arrays. All queries start with a
+ * breadth-first search from the target along the reverse edges. It finds the shortest distance to the target of every
+ * node that can reach the target. The enumeration of the paths from the roots only follows edges to such nodes, so it
+ * never visits a part of the graph without a path to the target and the cost of each query mainly depends on the
+ * number of paths it returns. Root nodes are nodes without incoming edges.
+ * </p>
+ *
+ * @param <T> Type of the graph nodes.
+ */
+public final class PathIndex<T> {
+
+  private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+  private final List<T> nodes;
+  private final NodeRenderer<? super T> nodeNameRenderer;
+  private final String[] nodeNames;
+  private final int[] childOffsets;
+  private final int[] children;
+  private final int[] parentOffsets;
+  private final int[] parents;
+  private final int[] roots;
+
+  PathIndex(List<T> nodes, NodeRenderer<? super T> nodeNameRenderer, int[] sources, int[] targets) {
+    int nodeCount = nodes.size();
+    this.nodes = nodes;
+    this.nodeNameRenderer = nodeNameRenderer;
+    this.nodeNames = new String[nodeCount];
+    this.childOffsets = new int[nodeCount + 1];
+    this.children = new int[sources.length];
+    this.parentOffsets = new int[nodeCount + 1];
+    this.parents = new int[sources.length];
+
+    for (int i = 0; i < sources.length; i++) {
+      this.childOffsets[sources[i] + 1]++;
+      this.parentOffsets[targets[i] + 1]++;
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      this.childOffsets[node + 1] += this.childOffsets[node];
+      this.parentOffsets[node + 1] += this.parentOffsets[node];
+    }
+
+    // Edges keep their order within the adjacency of a node
+    int[] childPositions = Arrays.copyOf(this.childOffsets, nodeCount);
+    int[] parentPositions = Arrays.copyOf(this.parentOffsets, nodeCount);
+    boolean[] hasParent = new boolean[nodeCount];
+    int rootCount = nodeCount;
+    for (int i = 0; i < sources.length; i++) {
+      this.children[childPositions[sources[i]]++] = targets[i];
+      this.parents[parentPositions[targets[i]]++] = sources[i];
+      if (sources[i] != targets[i] && !hasParent[targets[i]]) {
+        hasParent[targets[i]] = true;
+        rootCount--;
+      }
+    }
+
+    this.roots = new int[rootCount];
+    for (int node = 0, i = 0; node < nodeCount; node++) {
+      if (!hasParent[node]) {
+        this.roots[i++] = node;
+      }
+    }
+  }
+
+  public int getNodeCount() {
+    return this.nodes.size();
+  }
+
+  public T getNode(int node) {
+    return this.nodes.get(node);
+  }
+
+  /**
+   * Returns the name of a node. Names are rendered on first access.
+   *
+   * @param node The node.
+   * @return The name of the node.
+   */
+  public String getNodeName(int node) {
+    String name = this.nodeNames[node];
+    if (name == null) {
+      name = this.nodeNameRenderer.render(this.nodes.get(node));
+      this.nodeNames[node] = name;
+    }
+
+    return name;
+  }
+
+  /**
+   * Finds all nodes matching the given predicate.
+   *
+   * @param predicate The predicate.
+   * @return The matching nodes in the order in which they were added to the graph.
+   */
+  public int[] findNodes(Predicate<? super T> predicate) {
+    int[] result = new int[this.nodes.size()];
+    int count = 0;
+    for (int node = 0; node < this.nodes.size(); node++) {
+      if (predicate.test(this.nodes.get(node))) {
+        result[count++] = node;
+      }
+    }
+
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Finds a shortest path from any root to the given target.
+   *
+   * @param target The target node.
+   * @param maxDepth Maximum number of edges of the path or {@code 0} for no limit.
+   * @return The nodes of the path from the root to the target or {@code null} if there is no such path.
+   */
+  public int[] findShortestPath(int target, int maxDepth) {
+    int[] distances = findDistancesToTarget(target, maxDepth);
+    int nearestRoot = -1;
+    for (int root : this.roots) {
+      if (distances[root] != UNREACHABLE && (nearestRoot == -1 || distances[root] < distances[nearestRoot])) {
+        nearestRoot = root;
+      }
+    }
+
+    if (nearestRoot == -1) {
+      return null;
+    }
+
+    // Each node on a shortest path has a child that is one step closer to the target
+    int[] path = new int[distances[nearestRoot] + 1];
+    path[0] = nearestRoot;
+    for (int i = 1; i < path.length; i++) {
+      int node = path[i - 1];
+      for (int j = this.childOffsets[node]; j < this.childOffsets[node + 1]; j++) {
+        if (distances[this.children[j]] == distances[node] - 1) {
+          path[i] = this.children[j];
+          break;
+        }
+      }
+    }
+
+    return path;
+  }
+
+  /**
+   * Finds the paths from the roots to the given target in depth-first order. A path never contains a node twice.
+   *
+   * @param target The target node.
+   * @param maxPaths Maximum number of paths or {@code 0} for no limit.
+   * @param maxDepth Maximum number of edges of each path or {@code 0} for no limit.
+   * @return The paths, each containing the nodes from the root to the target.
+   */
+  public List<int[]> findPaths(int target, int maxPaths, int maxDepth) {
+    int limit = maxPaths > 0 ? maxPaths : Integer.MAX_VALUE;
+    int depthLimit = maxDepth > 0 ? maxDepth : Integer.MAX_VALUE;
+    int[] distances = findDistancesToTarget(target, maxDepth);
+    List<int[]> paths = new ArrayList<>();
+
+    int[] path = new int[this.nodes.size()];
+    int[] edgePositions = new int[this.nodes.size()];
+    boolean[] onPath = new boolean[this.nodes.size()];
+
+    for (int root : this.roots) {
+      if (distances[root] == UNREACHABLE) {
+        continue;
+      }
+
+      int depth = 0;
+      path[depth] = root;
+      edgePositions[depth] = this.childOffsets[root];
+      onPath[root] = true;
+
+      while (depth >= 0 && paths.size() < limit) {
+        int node = path[depth];
+        if (node == target) {
+          paths.add(Arrays.copyOf(path, depth + 1));
+          onPath[node] = false;
+          depth--;
+          continue;
+        }
+
+        if (edgePositions[depth] == this.childOffsets[node + 1]) {
+          onPath[node] = false;
+          depth--;
+          continue;
+        }
+
+        int child = this.children[edgePositions[depth]++];
+        if (distances[child] != UNREACHABLE && !onPath[child] && depth + 1 + distances[child] <= depthLimit) {
+          depth++;
+          path[depth] = child;
+          edgePositions[depth] = this.childOffsets[child];
+          onPath[child] = true;
+        }
+      }
+
+      // Clean up if the limit was reached in the middle of the search
+      for (int i = 0; i <= depth; i++) {
+        onPath[path[i]] = false;
+      }
+
+      if (paths.size() >= limit) {
+        break;
+      }
+    }
+
+    return paths;
+  }
+
+  /**
+   * Counts the paths from the roots to the given target without enumerating them.
+   *
+   * @param target The target node.
+   * @return The number of paths, {@link Long#MAX_VALUE} if there are more paths than that or {@code -1} if the paths
+   * cannot be counted because the target can be reached through a cycle.
+   */
+  public long countPaths(int target) {
+    int[] distances = findDistancesToTarget(target, 0);
+    long[] counts = new long[this.nodes.size()];
+    // 0 = not visited, 1 = in progress, 2 = done
+    byte[] states = new byte[this.nodes.size()];
+    int[] stack = new int[this.nodes.size()];
+    int[] edgePositions = new int[this.nodes.size()];
+    long total = 0;
+
+    for (int root : this.roots) {
+      if (distances[root] == UNREACHABLE) {
+        continue;
+      }
+
+      if (states[root] == 0) {
+        int depth = 0;
+        stack[depth] = root;
+        edgePositions[depth] = this.childOffsets[root];
+        states[root] = 1;
+
+        while (depth >= 0) {
+          int node = stack[depth];
+          if (node == target) {
+            counts[node] = 1;
+          }
+
+          if (node == target || edgePositions[depth] == this.childOffsets[node + 1]) {
+            states[node] = 2;
+            depth--;
+            if (depth >= 0) {
+              int parent = stack[depth];
+              counts[parent] = saturatedAdd(counts[parent], counts[node]);
+            }
+            continue;
+          }
+
+          int child = this.children[edgePositions[depth]++];
+          if (distances[child] == UNREACHABLE) {
+            continue;
+          }
+
+          if (states[child] == 1) {
+            return -1;
+          } else if (states[child] == 2) {
+            counts[node] = saturatedAdd(counts[node], counts[child]);
+          } else {
+            depth++;
+            stack[depth] = child;
+            edgePositions[depth] = this.childOffsets[child];
+            states[child] = 1;
+          }
+        }
+      }
+
+      total = saturatedAdd(total, counts[root]);
+    }
+
+    return total;
+  }
+
+  /**
+   * Computes the number of edges from each node to the target with a breadth-first search along the reverse edges.
+   */
+  private int[] findDistancesToTarget(int target, int maxDepth) {
+    int[] distances = new int[this.nodes.size()];
+    Arrays.fill(distances, UNREACHABLE);
+    int[] queue = new int[this.nodes.size()];
+    int head = 0;
+    int tail = 0;
+
+    distances[target] = 0;
+    queue[tail++] = target;
+    while (head < tail) {
+      int node = queue[head++];
+      if (maxDepth > 0 && distances[node] == maxDepth) {
+        continue;
+      }
+
+      for (int i = this.parentOffsets[node]; i < this.parentOffsets[node + 1]; i++) {
+        int parent = this.parents[i];
+        if (distances[parent] == UNREACHABLE) {
+          distances[parent] = distances[node] + 1;
+          queue[tail++] = parent;
+        }
+      }
+    }
+
+    return distances;
+  }
+
+  private static long saturatedAdd(long a, long b) {
+    long sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An index that tracks which nodes are reachable from other nodes and is used to find redundant edges.
+ * <p>
+ * Nodes are identified by the dense integer IDs assigned by {@link GraphBuilder}. For each node, the index keeps its
+ * parents in the order in which the edges were registered. An edge 'A -> B' is redundant if 'B' has a parent 'P' that was
+ * registered <strong>before</strong> 'A' and 'P' is reachable from 'A' without passing through 'B'.
+ * <p>
+ * All traversals are iterative and use stamped arrays instead of visited sets, so they neither allocate per query nor
+ * overflow the stack on deep graphs. Edges whose target has no parent older than their source are skipped without any
+ * traversal. For the remaining edges, the nodes reachable from a source are discovered lazily and shared by all edges of
+ * that source. Only edges pointing into a cycle need a dedicated traversal, because the path from 'A' to 'P' must not
+ * pass through 'B'.
+ */
+final class ReachabilityIndex {
+
+  private static final int[] NO_NODES = new int[0];
+
+  private final EdgeKeySet registeredEdges = new EdgeKeySet();
+  private int[][] parents = new int[16][];
+  private int[] parentCounts = new int[16];
+  private int nodeCount;
+
+  void registerEdge(int from, int to) {
+    ensureCapacity(Math.max(from, to) + 1);
+
+    if (this.registeredEdges.add(edgeKey(from, to))) {
+      this.parents[to] = append(this.parents[to], this.parentCounts[to]++, from);
+    }
+  }
+
+  /**
+   * Finds all edges {@code sources[i] -> targets[i]} that can be reached via an older path. Edges that were never
+   * registered are never redundant.
+   *
+   * @param sources The source node of each edge.
+   * @param targets The target node of each edge.
+   * @return The indices of the redundant edges.
+   */
+  BitSet findRedundantEdges(int[] sources, int[] targets) {
+    BitSet redundantEdges = new BitSet(sources.length);
+    if (sources.length == 0) {
+      return redundantEdges;
+    }
+
+    int[][] children = createChildIndex();
+    boolean[] cyclic = findCyclicNodes(children);
+    int[] edgesBySource = sortBySource(sources, targets);
+
+    int[] searchStamps = new int[this.nodeCount];
+    int[] stack = new int[this.nodeCount];
+    int searchStamp = 0;
+    ReachableNodes reachableNodes = new ReachableNodes(children, this.nodeCount);
+
+    for (int i = 0; i < edgesBySource.length; i += 3) {
+      int source = edgesBySource[i];
+      int target = edgesBySource[i + 1];
+
+      if (!hasOlderParent(target, source)) {
+        continue;
+      }
+
+      boolean redundant;
+      if (cyclic[target]) {
+        redundant = hasOlderPathAvoidingTarget(target, source, searchStamps, ++searchStamp, stack);
+      } else {
+        redundant = hasOlderReachableParent(target, source, reachableNodes);
+      }
+
+      if (redundant) {
+        redundantEdges.set(edgesBySource[i + 2]);
+      }
+    }
+
+    return redundantEdges;
+  }
+
+  /**
+   * Creates a flat array of {@code (source, target, edgeIndex)} triples sorted by source, so that the reachability of
+   * each source node needs to be computed only once.
+   */
+  private int[] sortBySource(int[] sources, int[] targets) {
+    int[] sourceOffsets = new int[this.nodeCount + 1];
+    boolean[] known = new boolean[sources.length];
+    int knownEdges = 0;
+
+    for (int i = 0; i < sources.length; i++) {
+      int source = sources[i];
+      if (source < this.nodeCount && targets[i] < this.nodeCount && this.registeredEdges.contains(edgeKey(source, targets[i]))) {
+        known[i] = true;
+        sourceOffsets[source + 1]++;
+        knownEdges++;
+      }
+    }
+
+    for (int i = 0; i < this.nodeCount; i++) {
+      sourceOffsets[i + 1] += sourceOffsets[i];
+    }
+
+    int[] result = new int[knownEdges * 3];
+    for (int i = 0; i < sources.length; i++) {
+      if (known[i]) {
+        int source = sources[i];
+        int position = sourceOffsets[source]++ * 3;
+        result[position] = source;
+        result[position + 1] = targets[i];
+        result[position + 2] = i;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Checks whether {@code target} has a parent other than itself that was registered before {@code source}. Edges
+   * without such a parent can never be redundant, so no traversal is required for them.
+   */
+  private boolean hasOlderParent(int target, int source) {
+    int[] targetParents = this.parents[target];
+    for (int i = 0; i < this.parentCounts[target] && targetParents[i] != source; i++) {
+      if (targetParents[i] != target) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Checks whether one of the parents of {@code target} that were registered before {@code source} is reachable from
+   * {@code source}. This is only correct if {@code target} is not part of a cycle, because in this case no path from
+   * {@code source} to such a parent can pass through {@code target}.
+   */
+  private boolean hasOlderReachableParent(int target, int source, ReachableNodes reachableNodes) {
+    reachableNodes.startAt(source);
+    return reachableNodes.reachesOlderParent(target, this.parents[target], this.parentCounts[target]);
+  }
+
+  /**
+   * Traverses the parents of {@code target} trying to find {@code source}. Only the parents that were registered
+   * before {@code source} are considered on the first level and {@code target} itself is never traversed again.
+   */
+  private boolean hasOlderPathAvoidingTarget(int target, int source, int[] searchStamps, int stamp, int[] stack) {
+    int[] targetParents = this.parents[target];
+    int top = 0;
+    searchStamps[target] = stamp;
+
+    for (int i = 0; i < this.parentCounts[target] && targetParents[i] != source; i++) {
+      int parent = targetParents[i];
+      if (searchStamps[parent] != stamp) {
+        searchStamps[parent] = stamp;
+        stack[top++] = parent;
+      }
+    }
+
+    while (top > 0) {
+      int node = stack[--top];
+      int[] nodeParents = this.parents[node];
+      for (int i = 0; i < this.parentCounts[node]; i++) {
+        int parent = nodeParents[i];
+        if (parent == source) {
+          return true;
+        }
+
+        if (searchStamps[parent] != stamp) {
+          searchStamps[parent] = stamp;
+          stack[top++] = parent;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private int[][] createChildIndex() {
+    int[] childCounts = new int[this.nodeCount];
+    for (int node = 0; node < this.nodeCount; node++) {
+      for (int i = 0; i < this.parentCounts[node]; i++) {
+        childCounts[this.parents[node][i]]++;
+      }
+    }
+
+    int[][] children = new int[this.nodeCount][];
+    for (int node = 0; node < this.nodeCount; node++) {
+      children[node] = childCounts[node] == 0 ? NO_NODES : new int[childCounts[node]];
+      childCounts[node] = 0;
+    }
+
+    for (int node = 0; node < this.nodeCount; node++) {
+      for (int i = 0; i < this.parentCounts[node]; i++) {
+        int parent = this.parents[node][i];
+        children[parent][childCounts[parent]++] = node;
+      }
+    }
+
+    return children;
+  }
+
+  /**
+   * Finds all nodes that are part of a strongly connected component with more than one node using an iterative
+   * version of Tarjan's algorithm.
+   */
+  private boolean[] findCyclicNodes(int[][] children) {
+    int[] index = new int[this.nodeCount];
+    int[] lowLink = new int[this.nodeCount];
+    int[] childPositions = new int[this.nodeCount];
+    boolean[] onStack = new boolean[this.nodeCount];
+    boolean[] cyclic = new boolean[this.nodeCount];
+    int[] componentStack = new int[this.nodeCount];
+    int[] callStack = new int[this.nodeCount];
+    int componentTop = 0;
+    int nextIndex = 1;
+
+    for (int root = 0; root < this.nodeCount; root++) {
+      if (index[root] != 0) {
+        continue;
+      }
+
+      int depth = 0;
+      index[root] = lowLink[root] = nextIndex++;
+      componentStack[componentTop++] = root;
+      onStack[root] = true;
+      callStack[depth++] = root;
+
+      while (depth > 0) {
+        int node = callStack[depth - 1];
+        if (childPositions[node] < children[node].length) {
+          int child = children[node][childPositions[node]++];
+          if (index[child] == 0) {
+            index[child] = lowLink[child] = nextIndex++;
+            componentStack[componentTop++] = child;
+            onStack[child] = true;
+            callStack[depth++] = child;
+          } else if (onStack[child]) {
+            lowLink[node] = Math.min(lowLink[node], index[child]);
+          }
+          continue;
+        }
+
+        depth--;
+        if (depth > 0) {
+          int parent = callStack[depth - 1];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+        }
+
+        if (lowLink[node] == index[node]) {
+          boolean multipleNodes = componentStack[componentTop - 1] != node;
+          int member;
+          do {
+            member = componentStack[--componentTop];
+            onStack[member] = false;
+            cyclic[member] = multipleNodes;
+          } while (member != node);
+        }
+      }
+    }
+
+    return cyclic;
+  }
+
+  private void ensureCapacity(int requiredNodes) {
+    if (requiredNodes > this.parents.length) {
+      int newLength = Math.max(requiredNodes, this.parents.length * 2);
+      this.parents = Arrays.copyOf(this.parents, newLength);
+      this.parentCounts = Arrays.copyOf(this.parentCounts, newLength);
+    }
+
+    for (int node = this.nodeCount; node < requiredNodes; node++) {
+      this.parents[node] = NO_NODES;
+    }
+    this.nodeCount = Math.max(this.nodeCount, requiredNodes);
+  }
+
+  private static int[] append(int[] array, int size, int value) {
+    int[] result = array;
+    if (size == array.length) {
+      result = Arrays.copyOf(array, Math.max(4, size * 2));
+    }
+
+    result[size] = value;
+    return result;
+  }
+
+  private static long edgeKey(int from, int to) {
+    return ((long) from << 32) | (to & 0xFFFFFFFFL);
+  }
+
+  /**
+   * The nodes that are reachable from a source node. The traversal is only continued as far as required to answer
+   * a query and resumed for the next query of the same source, so each source is traversed at most once.
+   */
+  private static final class ReachableNodes {
+
+    private final int[][] children;
+    private final int[] reachStamps;
+    private final int[] wantedStamps;
+    private final int[] stack;
+    private int source = -1;
+    private int top;
+    private int wantedStamp;
+
+    ReachableNodes(int[][] children, int nodeCount) {
+      this.children = children;
+      this.reachStamps = new int[nodeCount];
+      this.wantedStamps = new int[nodeCount];
+      this.stack = new int[nodeCount];
+    }
+
+    void startAt(int source) {
+      if (source != this.source) {
+        this.source = source;
+        this.top = 0;
+        this.reachStamps[source] = source + 1;
+        this.stack[this.top++] = source;
+      }
+    }
+
+    /**
+     * Checks whether a parent of {@code target} that was registered before the current source is reachable.
+     */
+    boolean reachesOlderParent(int target, int[] targetParents, int parentCount) {
+      int stamp = this.source + 1;
+      this.wantedStamp++;
+      for (int i = 0; i < parentCount && targetParents[i] != this.source; i++) {
+        int parent = targetParents[i];
+        if (parent == target) {
+          continue;
+        }
+
+        if (this.reachStamps[parent] == stamp) {
+          return true;
+        }
+
+        this.wantedStamps[parent] = this.wantedStamp;
+      }
+
+      boolean found = false;
+      while (this.top > 0 && !found) {
+        for (int child : this.children[this.stack[--this.top]]) {
+          if (this.reachStamps[child] != stamp) {
+            this.reachStamps[child] = stamp;
+            this.stack[this.top++] = child;
+            found |= this.wantedStamps[child] == this.wantedStamp;
+          }
+        }
+      }
+
+      return found;
+    }
+  }
+
+  /**
+   * Open addressing hash set of edge keys, which avoids boxing a {@link Long} for each edge.
+   */
+  private static final class EdgeKeySet {
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys = newTable(64);
+    private int size;
+
+    boolean add(long key) {
+      if ((this.size + 1) * 2 > this.keys.length) {
+        rehash();
+      }
+
+      int slot = findSlot(this.keys, key);
+      if (this.keys[slot] == key) {
+        return false;
+      }
+
+      this.keys[slot] = key;
+      this.size++;
+      return true;
+    }
+
+    boolean contains(long key) {
+      return this.keys[findSlot(this.keys, key)] == key;
+    }
+
+    private void rehash() {
+      long[] newKeys = newTable(this.keys.length * 2);
+      for (long key : this.keys) {
+        if (key != EMPTY) {
+          newKeys[findSlot(newKeys, key)] = key;
+        }
+      }
+
+      this.keys = newKeys;
+    }
+
+    private static int findSlot(long[] table, long key) {
+      int mask = table.length - 1;
+      int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+      while (table[slot] != EMPTY && table[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+
+      return slot;
+    }
+
+    private static long[] newTable(int size) {
+      long[] table = new long[size];
+      Arrays.fill(table, EMPTY);
+      return table;
+    }
+  }
+}
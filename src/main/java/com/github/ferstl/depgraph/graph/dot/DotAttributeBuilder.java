@@ -18,6 +18,7 @@ package com.github.ferstl.depgraph.graph.dot;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 
 import static com.github.ferstl.depgraph.graph.dot.DotEscaper.escape;
@@ -26,6 +27,7 @@ import static com.github.ferstl.depgraph.graph.dot.DotEscaper.escape;
 public class DotAttributeBuilder {
 
   private final Map<String, String> attributes;
+  private boolean htmlLabel;
 
   public DotAttributeBuilder() {
     this.attributes = new LinkedHashMap<>();
@@ -34,6 +36,7 @@ public class DotAttributeBuilder {
   public DotAttributeBuilder label(String label) {
     if (StringUtils.startsWith(label, "<") && StringUtils.endsWith(label, ">")) {
       this.attributes.put("label", label);
+      this.htmlLabel = true;
       return this;
     }
 
@@ -84,7 +87,10 @@ public class DotAttributeBuilder {
 
   public DotAttributeBuilder addAttribute(String key, String value) {
     if (value != null) {
-      this.attributes.put(key, escape(value));
+      this.attributes.put(key, value);
+      if ("label".equals(key)) {
+        this.htmlLabel = false;
+      }
     }
     return this;
   }
@@ -93,6 +99,44 @@ public class DotAttributeBuilder {
     return this.attributes.isEmpty();
   }
 
+  /**
+   * Returns the unescaped attribute values by their names. Quotes around values are removed and HTML-like labels keep
+   * their enclosing angle brackets.
+   *
+   * @return The attributes in the order they were added.
+   */
+  public Map<String, String> getAttributes() {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (Entry<String, String> attribute : this.attributes.entrySet()) {
+      String value = attribute.getValue();
+      if (!isHtmlLabel(attribute.getKey()) && value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")) {
+        value = value.substring(1, value.length() - 1);
+      }
+      values.put(attribute.getKey(), value);
+    }
+
+    return values;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof DotAttributeBuilder)) {
+      return false;
+    }
+
+    DotAttributeBuilder other = (DotAttributeBuilder) o;
+    return this.htmlLabel == other.htmlLabel
+        && Objects.equals(this.attributes, other.attributes);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(this.attributes, this.htmlLabel);
+  }
+
   @Override
   public String toString() {
     if (this.attributes.isEmpty()) {
@@ -101,11 +145,16 @@ public class DotAttributeBuilder {
 
     StringBuilder sb = new StringBuilder("[");
     for (Entry<String, String> attribute : this.attributes.entrySet()) {
-      sb.append(attribute.getKey()).append("=").append(attribute.getValue()).append(",");
+      String value = attribute.getValue();
+      sb.append(attribute.getKey()).append("=").append(isHtmlLabel(attribute.getKey()) ? value : escape(value)).append(",");
     }
 
     return sb.delete(sb.length() - 1, sb.length())
         .append("]")
         .toString();
   }
+
+  private boolean isHtmlLabel(String key) {
+    return this.htmlLabel && "label".equals(key);
+  }
 }
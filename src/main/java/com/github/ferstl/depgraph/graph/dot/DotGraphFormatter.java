@@ -16,6 +16,7 @@
 package com.github.ferstl.depgraph.graph.dot;
 
 
+import java.io.IOException;
 import java.util.Collection;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.GraphFormatter;
@@ -42,36 +43,43 @@ public class DotGraphFormatter implements GraphFormatter {
   }
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    StringBuilder sb = new StringBuilder("digraph ").append(escape(graphName)).append(" {");
-    appendAttributes("graph", this.graphAttributeBuilder, sb);
-    appendAttributes("node", this.nodeAttributeBuilder, sb);
-    appendAttributes("edge", this.edgeAttributeBuilder, sb);
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException {
+    output.append("digraph ").append(escape(graphName)).append(" {");
+    appendAttributes("graph", this.graphAttributeBuilder, output);
+    appendAttributes("node", this.nodeAttributeBuilder, output);
+    appendAttributes("edge", this.edgeAttributeBuilder, output);
 
-    sb.append("\n\n  // Node Definitions:");
+    output.append("\n\n  // Node Definitions:");
     for (Node<?> node : nodes) {
       String nodeId = node.getNodeId();
-      String nodeName = node.getNodeName();
-      sb.append("\n  ")
+      output.append("\n  ")
           .append(escape(nodeId))
-          .append(nodeName);
+          .append(attributeList(node.getAttributes(), node.getNodeName()));
     }
 
-    sb.append("\n\n  // Edge Definitions:");
+    output.append("\n\n  // Edge Definitions:");
     for (Edge edge : edges) {
-      String edgeDefinition = escape(edge.getFromNodeId()) + " -> " + escape(edge.getToNodeId()) + edge.getName();
-      sb.append("\n  ").append(edgeDefinition);
+      output.append("\n  ")
+          .append(escape(edge.getFromNodeId()))
+          .append(" -> ")
+          .append(escape(edge.getToNodeId()))
+          .append(attributeList(edge.getAttributes(), edge.getName()));
     }
 
-    return sb.append("\n}").toString();
+    output.append("\n}");
   }
 
-  private void appendAttributes(String tagName, DotAttributeBuilder attributeBuilder, StringBuilder sb) {
+  private static String attributeList(Object attributes, String name) {
+    // Nodes and edges without typed attributes carry their rendered attribute list in their name
+    return attributes instanceof DotAttributeBuilder ? attributes.toString() : name;
+  }
+
+  private void appendAttributes(String tagName, DotAttributeBuilder attributeBuilder, Appendable output) throws IOException {
     if (!attributeBuilder.isEmpty()) {
-      sb.append("\n  ")
+      output.append("\n  ")
           .append(tagName)
           .append(" ")
-          .append(attributeBuilder);
+          .append(attributeBuilder.toString());
     }
   }
 }
@@ -15,6 +15,7 @@
  */
 package com.github.ferstl.depgraph.graph.gml;
 
+import java.io.IOException;
 import java.util.Collection;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.GraphFormatter;
@@ -25,32 +26,30 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class GmlGraphFormatter implements GraphFormatter {
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    StringBuilder result = new StringBuilder();
-    result.append("graph [\n");
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException {
+    output.append("graph [\n");
 
     //output nodes
     for (Node<?> node : nodes) {
-      result.append("node [\n");
-      result.append("id \"").append(node.getNodeId()).append("\"\n");
+      output.append("node [\n");
+      output.append("id \"").append(node.getNodeId()).append("\"\n");
       if (isNotBlank(node.getNodeName())) {
-        result.append(node.getNodeName()).append("\n");
+        output.append(node.getNodeName()).append("\n");
       }
-      result.append("]\n\n");
+      output.append("]\n\n");
     }
 
     //output edges
     for (Edge edge : edges) {
-      result.append("edge [\n");
-      result.append("source \"").append(edge.getFromNodeId()).append("\"\n");
-      result.append("target \"").append(edge.getToNodeId()).append("\"\n");
+      output.append("edge [\n");
+      output.append("source \"").append(edge.getFromNodeId()).append("\"\n");
+      output.append("target \"").append(edge.getToNodeId()).append("\"\n");
       if (isNotBlank(edge.getName())) {
-        result.append(edge.getName()).append("\n");
+        output.append(edge.getName()).append("\n");
       }
-      result.append("]\n\n");
+      output.append("]\n\n");
     }
 
-    result.append("]");
-    return result.toString();
+    output.append("]");
   }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Node or edge attributes that are written directly as fields of a JSON object by the {@link JsonGraphFormatter}.
+ * Like Jackson's {@code NON_EMPTY} inclusion, the helper methods skip {@code null} values, empty strings and empty
+ * collections.
+ */
+public abstract class JsonAttributes {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * Writes the attributes as fields into the JSON object that is currently open in the given generator.
+   *
+   * @param generator The generator to write to.
+   * @throws IOException In case the generator cannot write.
+   */
+  public abstract void writeFields(JsonGenerator generator) throws IOException;
+
+  protected static void writeStringField(JsonGenerator generator, String name, String value) throws IOException {
+    if (value != null && !value.isEmpty()) {
+      generator.writeStringField(name, value);
+    }
+  }
+
+  protected static void writeBooleanField(JsonGenerator generator, String name, Boolean value) throws IOException {
+    if (value != null) {
+      generator.writeBooleanField(name, value);
+    }
+  }
+
+  protected static void writeArrayField(JsonGenerator generator, String name, Collection<String> values) throws IOException {
+    if (values != null && !values.isEmpty()) {
+      generator.writeArrayFieldStart(name);
+      for (String value : values) {
+        generator.writeString(value);
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  /**
+   * Returns the attributes as compact JSON object.
+   */
+  @Override
+  public String toString() {
+    StringWriter jsonStringWriter = new StringWriter();
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(jsonStringWriter)) {
+      generator.writeStartObject();
+      writeFields(generator);
+      generator.writeEndObject();
+    } catch (IOException e) {
+      // should never happen with StringWriter
+      throw new IllegalStateException(e);
+    }
+
+    return jsonStringWriter.toString();
+  }
+}
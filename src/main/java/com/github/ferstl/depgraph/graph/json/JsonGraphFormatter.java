@@ -16,49 +16,87 @@
 package com.github.ferstl.depgraph.graph.json;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.GraphFormatter;
 import com.github.ferstl.depgraph.graph.Node;
+import com.google.common.io.CharStreams;
 
-import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
-import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
-import static com.fasterxml.jackson.annotation.PropertyAccessor.FIELD;
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static com.github.ferstl.depgraph.graph.json.JsonAttributes.writeStringField;
 
+/**
+ * Writes the graph with a streaming {@link JsonGenerator}. Node and edge attributes of type {@link JsonAttributes} are
+ * written directly. For nodes and edges without such attributes, the node name or edge name is expected to be a JSON
+ * object whose fields are copied.
+ */
 public class JsonGraphFormatter implements GraphFormatter {
 
   private final ObjectMapper objectMapper = new ObjectMapper()
-      .setSerializationInclusion(NON_EMPTY)
-      .setVisibility(FIELD, ANY);
+      .configure(AUTO_CLOSE_TARGET, false);
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException {
     Map<String, Integer> nodeIdMap = new HashMap<>(nodes.size());
-    JsonGraph jsonGraph = new JsonGraph(graphName);
 
-    int numericNodeId = 0;
-    for (Node<?> node : nodes) {
-      String nodeId = node.getNodeId();
-      nodeIdMap.put(nodeId, numericNodeId++);
-      jsonGraph.addArtifact(nodeId, numericNodeId, readJson(node.getNodeName()));
-    }
+    try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(CharStreams.asWriter(output))) {
+      generator.setPrettyPrinter(new DefaultPrettyPrinter().withObjectIndenter(new DefaultIndenter("  ", "\n")));
+      generator.writeStartObject();
+      writeStringField(generator, "graphName", graphName);
+
+      if (!nodes.isEmpty()) {
+        generator.writeArrayFieldStart("artifacts");
+        int numericNodeId = 0;
+        for (Node<?> node : nodes) {
+          String nodeId = node.getNodeId();
+          nodeIdMap.put(nodeId, numericNodeId++);
+
+          generator.writeStartObject();
+          writeStringField(generator, "id", nodeId);
+          generator.writeNumberField("numericId", numericNodeId);
+          writeAttributes(generator, node.getAttributes(), node.getNodeName());
+          generator.writeEndObject();
+        }
+        generator.writeEndArray();
+      }
 
-    for (Edge edge : edges) {
-      String fromNodeId = edge.getFromNodeId();
-      Integer fromNodeIdNumeric = nodeIdMap.get(fromNodeId);
-      String toNodeId = edge.getToNodeId();
-      Integer toNodeIdNumeric = nodeIdMap.get(toNodeId);
-      jsonGraph.addDependency(fromNodeId, fromNodeIdNumeric, toNodeId, toNodeIdNumeric, readJson(edge.getName()));
+      if (!edges.isEmpty()) {
+        generator.writeArrayFieldStart("dependencies");
+        for (Edge edge : edges) {
+          String fromNodeId = edge.getFromNodeId();
+          String toNodeId = edge.getToNodeId();
+
+          generator.writeStartObject();
+          writeStringField(generator, "from", fromNodeId);
+          writeStringField(generator, "to", toNodeId);
+          generator.writeNumberField("numericFrom", nodeIdMap.get(fromNodeId));
+          generator.writeNumberField("numericTo", nodeIdMap.get(toNodeId));
+          writeAttributes(generator, edge.getAttributes(), edge.getName());
+          generator.writeEndObject();
+        }
+        generator.writeEndArray();
+      }
+
+      generator.writeEndObject();
     }
+  }
 
-    return serialize(jsonGraph);
+  private void writeAttributes(JsonGenerator generator, Object attributes, String json) throws IOException {
+    if (attributes instanceof JsonAttributes) {
+      ((JsonAttributes) attributes).writeFields(generator);
+    } else {
+      for (Entry<?, ?> entry : readJson(json).entrySet()) {
+        generator.writeFieldName(String.valueOf(entry.getKey()));
+        generator.writeObject(entry.getValue());
+      }
+    }
   }
 
   private Map<?, ?> readJson(String json) {
@@ -68,21 +106,4 @@ public class JsonGraphFormatter implements GraphFormatter {
       throw new IllegalStateException("Unable to read JSON '" + json + "'", e);
     }
   }
-
-  private String serialize(JsonGraph jsonGraph) {
-    DefaultPrettyPrinter prettyPrinter = new DefaultPrettyPrinter()
-        .withObjectIndenter(new DefaultIndenter("  ", "\n"));
-
-    ObjectWriter writer = this.objectMapper.writer(prettyPrinter);
-    StringWriter jsonWriter = new StringWriter();
-    try {
-      writer.writeValue(jsonWriter, jsonGraph);
-    } catch (IOException e) {
-      // should never happen with StringWriter
-      throw new IllegalStateException(e);
-    }
-
-    return jsonWriter.toString();
-  }
-
 }
@@ -15,8 +15,10 @@
  */
 package com.github.ferstl.depgraph.graph.puml;
 
+import java.io.IOException;
 import java.util.Collection;
-import org.apache.commons.lang3.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
 import com.github.ferstl.depgraph.dependency.puml.PumlEdgeInfo;
 import com.github.ferstl.depgraph.dependency.puml.PumlNodeInfo;
 import com.github.ferstl.depgraph.graph.Edge;
@@ -25,28 +27,30 @@ import com.github.ferstl.depgraph.graph.Node;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 
 /**
- * Graph formatter for <a href="PlantUML">http://plantuml.com/component-diagram</a> diagram.
+ * Graph formatter for <a href="PlantUML">http://plantuml.com/component-diagram</a> diagram. Node and edge attributes of
+ * type {@link PumlNodeInfo} and {@link PumlEdgeInfo} are written directly. For nodes and edges without such attributes,
+ * the node name or edge name is expected to be the JSON representation of a {@link PumlNodeInfo} or
+ * {@link PumlEdgeInfo}.
  */
 public class PumlGraphFormatter implements GraphFormatter {
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    StringBuilder puml = new StringBuilder();
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable puml) throws IOException {
+    // Each node ID is escaped only once
+    Map<String, String> escapedIds = new HashMap<>();
 
     startUml(puml);
     skinParam(puml);
-    writeNodes(puml, nodes);
-    writeEdges(puml, edges);
+    writeNodes(puml, nodes, escapedIds);
+    writeEdges(puml, edges, escapedIds);
     endUml(puml);
-
-    return puml.toString();
   }
 
-  private void startUml(StringBuilder puml) {
+  private void startUml(Appendable puml) throws IOException {
     puml.append("@startuml\n");
   }
 
-  private void skinParam(StringBuilder puml) {
+  private void skinParam(Appendable puml) throws IOException {
     puml.append("skinparam defaultTextAlignment center\n")
         .append("skinparam rectangle {\n")
         .append("  BackgroundColor<<optional>> beige\n")
@@ -56,16 +60,16 @@ public class PumlGraphFormatter implements GraphFormatter {
         .append("}\n");
   }
 
-  private void writeNodes(StringBuilder puml, Collection<Node<?>> nodes) {
+  private void writeNodes(Appendable puml, Collection<Node<?>> nodes, Map<String, String> escapedIds) throws IOException {
     for (Node<?> node : nodes) {
-
-      PumlNodeInfo nodeInfo = PumlNodeInfo.parse(node.getNodeName());
+      Object attributes = node.getAttributes();
+      PumlNodeInfo nodeInfo = attributes instanceof PumlNodeInfo ? (PumlNodeInfo) attributes : PumlNodeInfo.parse(node.getNodeName());
 
       puml.append(nodeInfo.getComponent())
           .append(" \"")
           .append(nodeInfo.getLabel())
           .append("\" as ")
-          .append(escape(node.getNodeId()));
+          .append(escapedIds.computeIfAbsent(node.getNodeId(), PumlGraphFormatter::escape));
 
 
       if (nodeInfo.getStereotype() != null && !nodeInfo.getStereotype().equals(SCOPE_COMPILE)) {
@@ -85,16 +89,17 @@ public class PumlGraphFormatter implements GraphFormatter {
     }
   }
 
-  private void writeEdges(StringBuilder puml, Collection<Edge> edges) {
+  private void writeEdges(Appendable puml, Collection<Edge> edges, Map<String, String> escapedIds) throws IOException {
     for (Edge edge : edges) {
-      PumlEdgeInfo edgeInfo = PumlEdgeInfo.parse(edge.getName());
-      puml.append(escape(edge.getFromNodeId()))
+      Object attributes = edge.getAttributes();
+      PumlEdgeInfo edgeInfo = attributes instanceof PumlEdgeInfo ? (PumlEdgeInfo) attributes : PumlEdgeInfo.parse(edge.getName());
+      puml.append(escapedIds.computeIfAbsent(edge.getFromNodeId(), PumlGraphFormatter::escape))
           .append(" ")
           .append(edgeInfo.getBegin())
           .append(edgeInfo.getColor())
           .append(edgeInfo.getEnd())
           .append(" ")
-          .append(escape(edge.getToNodeId()));
+          .append(escapedIds.computeIfAbsent(edge.getToNodeId(), PumlGraphFormatter::escape));
 
       if (edgeInfo.getLabel() != null && !edgeInfo.getLabel().equals("")) {
         puml.append(": ")
@@ -105,11 +110,36 @@ public class PumlGraphFormatter implements GraphFormatter {
     }
   }
 
-  private void endUml(StringBuilder puml) {
+  private void endUml(Appendable puml) throws IOException {
     puml.append("@enduml");
   }
 
-  private String escape(String id) {
-    return StringUtils.removeEnd(id.replaceAll("\\W", "_"), "_");
+  /**
+   * Replaces all non-word characters ({@code [^a-zA-Z_0-9]}) in the given ID with '_' and removes a trailing '_'.
+   */
+  static String escape(String id) {
+    int end = id.length();
+    if (end > 0) {
+      int lastCodePoint = id.codePointBefore(end);
+      if (lastCodePoint == '_' || !isWordCharacter(lastCodePoint)) {
+        end -= Character.charCount(lastCodePoint);
+      }
+    }
+
+    StringBuilder escaped = new StringBuilder(end);
+    for (int i = 0; i < end; ) {
+      int codePoint = id.codePointAt(i);
+      escaped.append(isWordCharacter(codePoint) ? (char) codePoint : '_');
+      i += Character.charCount(codePoint);
+    }
+
+    return escaped.toString();
+  }
+
+  private static boolean isWordCharacter(int codePoint) {
+    return (codePoint >= 'a' && codePoint <= 'z')
+        || (codePoint >= 'A' && codePoint <= 'Z')
+        || (codePoint >= '0' && codePoint <= '9')
+        || codePoint == '_';
   }
 }
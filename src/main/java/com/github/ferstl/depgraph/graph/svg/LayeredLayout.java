@@ -0,0 +1,615 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.svg;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A layered (Sugiyama-style) layout for directed graphs. The layout is created in four steps:
+ * <ol>
+ * <li>Cycles are broken by reversing the back edges of a depth-first search.</li>
+ * <li>Each node is assigned to a layer by the longest path from the sources. Edges that span multiple layers are split
+ * by dummy nodes.</li>
+ * <li>The crossings between adjacent layers are reduced with the barycenter heuristic. All layers with an even index
+ * are reordered at once while the odd layers are fixed and vice versa, so the layers of each half are reordered in
+ * parallel. The order with the fewest crossings is kept.</li>
+ * <li>The nodes are placed as close as possible to the average position of their neighbours without overlapping.</li>
+ * </ol>
+ * All coordinates are the centers of the nodes in a top to bottom layout. All steps are iterative and run in
+ * {@code O(iterations * (nodes + edges) * log(nodes))}.
+ */
+final class LayeredLayout {
+
+  private static final int MAX_ITERATIONS = 24;
+  private static final int MAX_ITERATIONS_WITHOUT_IMPROVEMENT = 4;
+  private static final int PLACEMENT_ITERATIONS = 8;
+  private static final int PARALLEL_THRESHOLD = 2000;
+  private static final double MARGIN = 4;
+  private static final double SELF_LOOP_SIZE = 18;
+  private static final double DUMMY_NODE_WEIGHT = 2;
+
+  private final int nodeCount;
+  private final int[] sources;
+  private final int[] targets;
+  private final double[] widths;
+  private final double[] heights;
+  private final double nodeSeparation;
+  private final double rankSeparation;
+
+  // Layered graph including the dummy nodes. Nodes [0, nodeCount) are the original nodes.
+  private int layeredNodeCount;
+  private int[] layers;
+  private int[][] upperNeighbours;
+  private int[][] lowerNeighbours;
+  private int[][] layerNodes;
+  private int[] positions;
+  private int[][] edgeChains;
+  private boolean[] reversed;
+  private boolean parallel;
+
+  private double[] x;
+  private double[] y;
+  private double width;
+  private double height;
+
+  private LayeredLayout(int nodeCount, int[] sources, int[] targets, double[] widths, double[] heights, double nodeSeparation, double rankSeparation) {
+    this.nodeCount = nodeCount;
+    this.sources = sources;
+    this.targets = targets;
+    this.widths = widths;
+    this.heights = heights;
+    this.nodeSeparation = nodeSeparation;
+    this.rankSeparation = rankSeparation;
+  }
+
+  /**
+   * Creates the layout of a graph.
+   *
+   * @param nodeCount Number of nodes.
+   * @param sources The source node of each edge.
+   * @param targets The target node of each edge.
+   * @param widths The width of each node.
+   * @param heights The height of each node.
+   * @param nodeSeparation Minimum horizontal space between two nodes.
+   * @param rankSeparation Vertical space between two layers.
+   * @return The layout.
+   */
+  static LayeredLayout create(int nodeCount, int[] sources, int[] targets, double[] widths, double[] heights, double nodeSeparation, double rankSeparation) {
+    LayeredLayout layout = new LayeredLayout(nodeCount, sources, targets, widths, heights, nodeSeparation, rankSeparation);
+    layout.removeCycles();
+    layout.assignLayers();
+    layout.reduceCrossings();
+    layout.assignCoordinates();
+
+    return layout;
+  }
+
+  double getX(int node) {
+    return this.x[node];
+  }
+
+  double getY(int node) {
+    return this.y[node];
+  }
+
+  double getWidth() {
+    return this.width;
+  }
+
+  double getHeight() {
+    return this.height;
+  }
+
+  int getLayer(int node) {
+    return this.layers[node];
+  }
+
+  /**
+   * Returns the position of a node within its layer.
+   *
+   * @param node The node.
+   * @return The position from left to right.
+   */
+  int getPosition(int node) {
+    return this.positions[node];
+  }
+
+  /**
+   * Returns the points of an edge from its source to its target as {@code [x0, y0, x1, y1, ...]}. Edges start at the
+   * bottom of their source and end at the top of their target. Edges that span multiple layers pass through the
+   * positions of their dummy nodes.
+   *
+   * @param edge Index of the edge.
+   * @return The points of the edge.
+   */
+  double[] getEdgePoints(int edge) {
+    int source = this.sources[edge];
+    int target = this.targets[edge];
+    if (source == target) {
+      double right = this.x[source] + this.widths[source] / 2;
+      double top = this.y[source] - this.heights[source] / 4;
+      double bottom = this.y[source] + this.heights[source] / 4;
+      return new double[]{right, top, right + SELF_LOOP_SIZE, top, right + SELF_LOOP_SIZE, bottom, right, bottom};
+    }
+
+    int[] chain = this.edgeChains[edge];
+    double[] points = new double[chain.length * 2];
+    for (int i = 0; i < chain.length; i++) {
+      int node = chain[i];
+      points[2 * i] = this.x[node];
+      points[2 * i + 1] = this.y[node];
+    }
+    points[1] += this.heights[chain[0]] / 2;
+    points[points.length - 1] -= this.heights[chain[chain.length - 1]] / 2;
+
+    if (this.reversed[edge]) {
+      for (int i = 0, j = points.length - 2; i < j; i += 2, j -= 2) {
+        double tmpX = points[i];
+        double tmpY = points[i + 1];
+        points[i] = points[j];
+        points[i + 1] = points[j + 1];
+        points[j] = tmpX;
+        points[j + 1] = tmpY;
+      }
+    }
+
+    return points;
+  }
+
+  /**
+   * Counts the crossings between all adjacent layers.
+   *
+   * @return The number of edge crossings.
+   */
+  long countCrossings() {
+    return layers(this.layerNodes.length - 1).mapToLong(this::countCrossings).sum();
+  }
+
+  private void removeCycles() {
+    int[][] outgoingEdges = createOutgoingEdges();
+    this.reversed = new boolean[this.sources.length];
+
+    // 0 = not visited, 1 = on the DFS stack, 2 = done
+    byte[] states = new byte[this.nodeCount];
+    int[] stack = new int[this.nodeCount];
+    int[] edgePositions = new int[this.nodeCount];
+
+    for (int root = 0; root < this.nodeCount; root++) {
+      if (states[root] != 0) {
+        continue;
+      }
+
+      int top = 0;
+      stack[top++] = root;
+      states[root] = 1;
+      while (top > 0) {
+        int node = stack[top - 1];
+        if (edgePositions[node] < outgoingEdges[node].length) {
+          int edge = outgoingEdges[node][edgePositions[node]++];
+          int target = this.targets[edge];
+          if (states[target] == 0) {
+            states[target] = 1;
+            stack[top++] = target;
+          } else if (states[target] == 1) {
+            this.reversed[edge] = true;
+          }
+        } else {
+          states[node] = 2;
+          top--;
+        }
+      }
+    }
+  }
+
+  private int[][] createOutgoingEdges() {
+    int[] counts = new int[this.nodeCount];
+    for (int edge = 0; edge < this.sources.length; edge++) {
+      if (this.sources[edge] != this.targets[edge]) {
+        counts[this.sources[edge]]++;
+      }
+    }
+
+    int[][] outgoingEdges = new int[this.nodeCount][];
+    for (int node = 0; node < this.nodeCount; node++) {
+      outgoingEdges[node] = new int[counts[node]];
+      counts[node] = 0;
+    }
+
+    for (int edge = 0; edge < this.sources.length; edge++) {
+      int source = this.sources[edge];
+      if (source != this.targets[edge]) {
+        outgoingEdges[source][counts[source]++] = edge;
+      }
+    }
+
+    return outgoingEdges;
+  }
+
+  private void assignLayers() {
+    int edgeCount = this.sources.length;
+    int[] inDegrees = new int[this.nodeCount];
+    int[][] outgoingNodes = new int[this.nodeCount][];
+    int[] outDegrees = new int[this.nodeCount];
+    for (int edge = 0; edge < edgeCount; edge++) {
+      if (!isSelfLoop(edge)) {
+        outDegrees[upperNode(edge)]++;
+        inDegrees[lowerNode(edge)]++;
+      }
+    }
+    for (int node = 0; node < this.nodeCount; node++) {
+      outgoingNodes[node] = new int[outDegrees[node]];
+      outDegrees[node] = 0;
+    }
+    for (int edge = 0; edge < edgeCount; edge++) {
+      if (!isSelfLoop(edge)) {
+        int upper = upperNode(edge);
+        outgoingNodes[upper][outDegrees[upper]++] = lowerNode(edge);
+      }
+    }
+
+    // Longest path layering in topological order
+    int[] nodeLayers = new int[this.nodeCount];
+    int[] queue = new int[this.nodeCount];
+    int head = 0;
+    int tail = 0;
+    for (int node = 0; node < this.nodeCount; node++) {
+      if (inDegrees[node] == 0) {
+        queue[tail++] = node;
+      }
+    }
+    while (head < tail) {
+      int node = queue[head++];
+      for (int child : outgoingNodes[node]) {
+        nodeLayers[child] = Math.max(nodeLayers[child], nodeLayers[node] + 1);
+        if (--inDegrees[child] == 0) {
+          queue[tail++] = child;
+        }
+      }
+    }
+
+    // Split long edges by dummy nodes
+    int dummyNodes = 0;
+    for (int edge = 0; edge < edgeCount; edge++) {
+      if (!isSelfLoop(edge)) {
+        dummyNodes += nodeLayers[lowerNode(edge)] - nodeLayers[upperNode(edge)] - 1;
+      }
+    }
+
+    this.layeredNodeCount = this.nodeCount + dummyNodes;
+    this.layers = Arrays.copyOf(nodeLayers, this.layeredNodeCount);
+    this.edgeChains = new int[edgeCount][];
+    int nextDummy = this.nodeCount;
+    int[] upperCounts = new int[this.layeredNodeCount];
+    int[] lowerCounts = new int[this.layeredNodeCount];
+    for (int edge = 0; edge < edgeCount; edge++) {
+      if (isSelfLoop(edge)) {
+        continue;
+      }
+
+      int upper = upperNode(edge);
+      int lower = lowerNode(edge);
+      int span = nodeLayers[lower] - nodeLayers[upper];
+      int[] chain = new int[span + 1];
+      chain[0] = upper;
+      for (int i = 1; i < span; i++) {
+        chain[i] = nextDummy;
+        this.layers[nextDummy++] = nodeLayers[upper] + i;
+      }
+      chain[span] = lower;
+      this.edgeChains[edge] = chain;
+
+      for (int i = 0; i < span; i++) {
+        lowerCounts[chain[i]]++;
+        upperCounts[chain[i + 1]]++;
+      }
+    }
+
+    this.upperNeighbours = new int[this.layeredNodeCount][];
+    this.lowerNeighbours = new int[this.layeredNodeCount][];
+    for (int node = 0; node < this.layeredNodeCount; node++) {
+      this.upperNeighbours[node] = new int[upperCounts[node]];
+      this.lowerNeighbours[node] = new int[lowerCounts[node]];
+      upperCounts[node] = 0;
+      lowerCounts[node] = 0;
+    }
+    for (int[] chain : this.edgeChains) {
+      if (chain != null) {
+        for (int i = 0; i < chain.length - 1; i++) {
+          this.lowerNeighbours[chain[i]][lowerCounts[chain[i]]++] = chain[i + 1];
+          this.upperNeighbours[chain[i + 1]][upperCounts[chain[i + 1]]++] = chain[i];
+        }
+      }
+    }
+
+    int layerCount = 0;
+    for (int layer : this.layers) {
+      layerCount = Math.max(layerCount, layer + 1);
+    }
+    int[] layerSizes = new int[layerCount];
+    for (int layer : this.layers) {
+      layerSizes[layer]++;
+    }
+    this.layerNodes = new int[layerCount][];
+    for (int layer = 0; layer < layerCount; layer++) {
+      this.layerNodes[layer] = new int[layerSizes[layer]];
+      layerSizes[layer] = 0;
+    }
+    this.positions = new int[this.layeredNodeCount];
+    for (int node = 0; node < this.layeredNodeCount; node++) {
+      int layer = this.layers[node];
+      this.positions[node] = layerSizes[layer];
+      this.layerNodes[layer][layerSizes[layer]++] = node;
+    }
+
+    this.parallel = this.layeredNodeCount >= PARALLEL_THRESHOLD;
+  }
+
+  private void reduceCrossings() {
+    // Initial order by a sequential sweep from top to bottom and back
+    for (int layer = 1; layer < this.layerNodes.length; layer++) {
+      reorder(layer, true, false);
+    }
+    for (int layer = this.layerNodes.length - 2; layer >= 0; layer--) {
+      reorder(layer, false, true);
+    }
+
+    long bestCrossings = countCrossings();
+    int[] bestPositions = this.positions.clone();
+    int iterationsWithoutImprovement = 0;
+
+    for (int iteration = 0; iteration < MAX_ITERATIONS && bestCrossings > 0; iteration++) {
+      for (int parity = 0; parity < 2; parity++) {
+        int currentParity = parity;
+        layers(this.layerNodes.length)
+            .filter(layer -> layer % 2 == currentParity)
+            .forEach(layer -> reorder(layer, true, true));
+      }
+
+      long crossings = countCrossings();
+      if (crossings < bestCrossings) {
+        bestCrossings = crossings;
+        System.arraycopy(this.positions, 0, bestPositions, 0, bestPositions.length);
+        iterationsWithoutImprovement = 0;
+      } else if (++iterationsWithoutImprovement >= MAX_ITERATIONS_WITHOUT_IMPROVEMENT) {
+        break;
+      }
+    }
+
+    this.positions = bestPositions;
+    for (int[] nodes : this.layerNodes) {
+      for (int node : nodes.clone()) {
+        nodes[this.positions[node]] = node;
+      }
+    }
+  }
+
+  /**
+   * Sorts the nodes of a layer by the average position of their neighbours in the adjacent layers. Nodes without
+   * neighbours keep their position. Only the positions of the nodes in the given layer are modified.
+   */
+  private void reorder(int layer, boolean useUpperLayer, boolean useLowerLayer) {
+    int[] nodes = this.layerNodes[layer];
+    double[] barycenters = new double[nodes.length];
+    Integer[] order = new Integer[nodes.length];
+
+    for (int i = 0; i < nodes.length; i++) {
+      int node = nodes[i];
+      double sum = 0;
+      int count = 0;
+      if (useUpperLayer) {
+        for (int neighbour : this.upperNeighbours[node]) {
+          sum += this.positions[neighbour];
+          count++;
+        }
+      }
+      if (useLowerLayer) {
+        for (int neighbour : this.lowerNeighbours[node]) {
+          sum += this.positions[neighbour];
+          count++;
+        }
+      }
+
+      barycenters[i] = count > 0 ? sum / count : this.positions[node];
+      order[i] = i;
+    }
+
+    Arrays.sort(order, (a, b) -> {
+      int result = Double.compare(barycenters[a], barycenters[b]);
+      return result != 0 ? result : Integer.compare(this.positions[nodes[a]], this.positions[nodes[b]]);
+    });
+
+    int[] sortedNodes = new int[nodes.length];
+    for (int i = 0; i < order.length; i++) {
+      sortedNodes[i] = nodes[order[i]];
+    }
+    for (int i = 0; i < sortedNodes.length; i++) {
+      nodes[i] = sortedNodes[i];
+      this.positions[sortedNodes[i]] = i;
+    }
+  }
+
+  /**
+   * Counts the crossings between a layer and the layer below by counting the inversions of the lower positions with a
+   * Fenwick tree.
+   */
+  private long countCrossings(int layer) {
+    int[] lowerLayer = this.layerNodes[layer + 1];
+    long[] tree = new long[lowerLayer.length + 1];
+    long crossings = 0;
+    long inserted = 0;
+
+    for (int node : this.layerNodes[layer]) {
+      int[] lowerPositions = new int[this.lowerNeighbours[node].length];
+      for (int i = 0; i < lowerPositions.length; i++) {
+        lowerPositions[i] = this.positions[this.lowerNeighbours[node][i]];
+      }
+      Arrays.sort(lowerPositions);
+
+      for (int position : lowerPositions) {
+        long notGreater = 0;
+        for (int i = position + 1; i > 0; i -= i & -i) {
+          notGreater += tree[i];
+        }
+        crossings += inserted - notGreater;
+
+        for (int i = position + 1; i < tree.length; i += i & -i) {
+          tree[i]++;
+        }
+        inserted++;
+      }
+    }
+
+    return crossings;
+  }
+
+  private void assignCoordinates() {
+    this.x = new double[this.layeredNodeCount];
+    this.y = new double[this.layeredNodeCount];
+
+    double top = MARGIN;
+    for (int[] nodes : this.layerNodes) {
+      double layerHeight = 0;
+      for (int node : nodes) {
+        layerHeight = Math.max(layerHeight, getNodeHeight(node));
+      }
+
+      double left = MARGIN;
+      for (int node : nodes) {
+        this.x[node] = left + getNodeWidth(node) / 2;
+        this.y[node] = top + layerHeight / 2;
+        left += getNodeWidth(node) + this.nodeSeparation;
+      }
+      top += layerHeight + this.rankSeparation;
+    }
+
+    for (int iteration = 0; iteration < PLACEMENT_ITERATIONS; iteration++) {
+      for (int layer = 1; layer < this.layerNodes.length; layer++) {
+        place(layer, this.upperNeighbours);
+      }
+      for (int layer = this.layerNodes.length - 2; layer >= 0; layer--) {
+        place(layer, this.lowerNeighbours);
+      }
+    }
+
+    boolean[] selfLoops = new boolean[this.nodeCount];
+    for (int edge = 0; edge < this.sources.length; edge++) {
+      selfLoops[this.sources[edge]] |= isSelfLoop(edge);
+    }
+
+    double minX = Double.MAX_VALUE;
+    double maxX = 0;
+    double maxY = 0;
+    for (int node = 0; node < this.layeredNodeCount; node++) {
+      minX = Math.min(minX, this.x[node] - getNodeWidth(node) / 2);
+    }
+    for (int node = 0; node < this.layeredNodeCount; node++) {
+      this.x[node] += MARGIN - minX;
+      double right = this.x[node] + getNodeWidth(node) / 2;
+      if (node < this.nodeCount && selfLoops[node]) {
+        right += SELF_LOOP_SIZE;
+      }
+      maxX = Math.max(maxX, right);
+      maxY = Math.max(maxY, this.y[node] + getNodeHeight(node) / 2);
+    }
+
+    this.width = this.layeredNodeCount > 0 ? maxX + MARGIN : 2 * MARGIN;
+    this.height = this.layeredNodeCount > 0 ? maxY + MARGIN : 2 * MARGIN;
+  }
+
+  /**
+   * Moves the nodes of a layer as close as possible to the average x coordinate of their neighbours while keeping their
+   * order and the minimum distance between them. This is a weighted isotonic regression, which is solved with the
+   * pool adjacent violators algorithm.
+   */
+  private void place(int layer, int[][] neighbours) {
+    int[] nodes = this.layerNodes[layer];
+    int size = nodes.length;
+    if (size == 0) {
+      return;
+    }
+
+    // Offsets that guarantee the minimum separation: x[i] = z[i] + offsets[i] with z non-decreasing
+    double[] offsets = new double[size];
+    for (int i = 1; i < size; i++) {
+      offsets[i] = offsets[i - 1] + (getNodeWidth(nodes[i - 1]) + getNodeWidth(nodes[i])) / 2 + this.nodeSeparation;
+    }
+
+    double[] blockSums = new double[size];
+    double[] blockWeights = new double[size];
+    int[] blockEnds = new int[size];
+    int blocks = 0;
+
+    for (int i = 0; i < size; i++) {
+      int node = nodes[i];
+      double desired = this.x[node];
+      if (neighbours[node].length > 0) {
+        double sum = 0;
+        for (int neighbour : neighbours[node]) {
+          sum += this.x[neighbour];
+        }
+        desired = sum / neighbours[node].length;
+      }
+
+      double weight = node < this.nodeCount ? 1 : DUMMY_NODE_WEIGHT;
+      blockSums[blocks] = (desired - offsets[i]) * weight;
+      blockWeights[blocks] = weight;
+      blockEnds[blocks] = i;
+      blocks++;
+
+      while (blocks > 1 && blockSums[blocks - 2] / blockWeights[blocks - 2] > blockSums[blocks - 1] / blockWeights[blocks - 1]) {
+        blockSums[blocks - 2] += blockSums[blocks - 1];
+        blockWeights[blocks - 2] += blockWeights[blocks - 1];
+        blockEnds[blocks - 2] = blockEnds[blocks - 1];
+        blocks--;
+      }
+    }
+
+    int start = 0;
+    for (int block = 0; block < blocks; block++) {
+      double z = blockSums[block] / blockWeights[block];
+      for (int i = start; i <= blockEnds[block]; i++) {
+        this.x[nodes[i]] = z + offsets[i];
+      }
+      start = blockEnds[block] + 1;
+    }
+  }
+
+  private IntStream layers(int count) {
+    IntStream layers = IntStream.range(0, Math.max(count, 0));
+    return this.parallel ? layers.parallel() : layers;
+  }
+
+  private double getNodeWidth(int node) {
+    return node < this.nodeCount ? this.widths[node] : 0;
+  }
+
+  private double getNodeHeight(int node) {
+    return node < this.nodeCount ? this.heights[node] : 0;
+  }
+
+  private boolean isSelfLoop(int edge) {
+    return this.sources[edge] == this.targets[edge];
+  }
+
+  private int upperNode(int edge) {
+    return this.reversed[edge] ? this.targets[edge] : this.sources[edge];
+  }
+
+  private int lowerNode(int edge) {
+    return this.reversed[edge] ? this.sources[edge] : this.targets[edge];
+  }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.svg;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.github.ferstl.depgraph.graph.Edge;
+import com.github.ferstl.depgraph.graph.GraphFormatter;
+import com.github.ferstl.depgraph.graph.Node;
+import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
+import com.github.ferstl.depgraph.graph.svg.SvgLabel.Font;
+import com.github.ferstl.depgraph.graph.svg.SvgLabel.Segment;
+import com.google.common.escape.Escaper;
+import com.google.common.xml.XmlEscapers;
+
+/**
+ * Renders a graph as SVG image without Graphviz. The nodes are arranged by a {@link LayeredLayout}. The node and edge
+ * attributes are expected to be {@link DotAttributeBuilder}s as they are created for the DOT format, so the image
+ * honours the same style configuration: shapes ({@code box}, {@code ellipse}, {@code polygon}), styles ({@code rounded},
+ * {@code filled}, {@code dashed}, {@code dotted}, {@code bold}, {@code invis}), colors, fonts, labels and the
+ * {@code rankdir} of the graph. All other Graphviz attributes are ignored, as well as the names of nodes and edges.
+ */
+public class SvgGraphFormatter implements GraphFormatter {
+
+  private static final double NODE_SEPARATION = 18;
+  private static final double RANK_SEPARATION = 36;
+  private static final double MIN_NODE_WIDTH = 54;
+  private static final double MIN_NODE_HEIGHT = 36;
+  private static final double HORIZONTAL_PADDING = 8;
+  private static final double VERTICAL_PADDING = 4;
+  private static final double CORNER_RADIUS = 6;
+  private static final double ARROW_LENGTH = 10;
+  private static final double ARROW_WIDTH = 7;
+  private static final double DEFAULT_FONT_SIZE = 14;
+  private static final Set<String> RECTANGULAR_SHAPES = new HashSet<>(Arrays.asList("box", "rect", "rectangle", "square"));
+  private static final Set<String> ELLIPTIC_SHAPES = new HashSet<>(Arrays.asList("ellipse", "oval", "circle"));
+  private static final Set<String> SHAPELESS_SHAPES = new HashSet<>(Arrays.asList("plaintext", "plain", "none"));
+  private static final Escaper CONTENT_ESCAPER = XmlEscapers.xmlContentEscaper();
+  private static final Escaper ATTRIBUTE_ESCAPER = XmlEscapers.xmlAttributeEscaper();
+
+  private final Map<String, String> graphAttributes;
+  private final Map<String, String> nodeAttributes;
+  private final Map<String, String> edgeAttributes;
+
+  public SvgGraphFormatter() {
+    this(new DotAttributeBuilder(), new DotAttributeBuilder().shape("box").fontName("Helvetica"), new DotAttributeBuilder().fontName("Helvetica").fontSize(10));
+  }
+
+  public SvgGraphFormatter(DotAttributeBuilder graphAttributeBuilder, DotAttributeBuilder nodeAttributeBuilder, DotAttributeBuilder edgeAttributeBuilder) {
+    this.graphAttributes = graphAttributeBuilder.getAttributes();
+    this.nodeAttributes = nodeAttributeBuilder.getAttributes();
+    this.edgeAttributes = edgeAttributeBuilder.getAttributes();
+  }
+
+  @Override
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException {
+    List<Map<String, String>> nodeStyles = new ArrayList<>(nodes.size());
+    List<SvgLabel> nodeLabels = new ArrayList<>(nodes.size());
+    List<String> nodeIds = new ArrayList<>(nodes.size());
+    Map<String, Integer> nodeIndices = new HashMap<>();
+    double[] widths = new double[nodes.size()];
+    double[] heights = new double[nodes.size()];
+
+    for (Node<?> node : nodes) {
+      int index = nodeIds.size();
+      Map<String, String> style = mergeAttributes(this.nodeAttributes, node.getAttributes());
+      SvgLabel label = SvgLabel.parse(style.getOrDefault("label", node.getNodeId()), createFont(style));
+      String shape = style.getOrDefault("shape", "ellipse");
+
+      double width = label.getWidth() + 2 * HORIZONTAL_PADDING;
+      double height = label.getHeight() + 2 * VERTICAL_PADDING;
+      if (ELLIPTIC_SHAPES.contains(shape) || "polygon".equals(shape)) {
+        width *= Math.sqrt(2);
+        height *= Math.sqrt(2);
+      }
+      widths[index] = Math.max(MIN_NODE_WIDTH, width);
+      heights[index] = Math.max(MIN_NODE_HEIGHT, height);
+
+      nodeIndices.put(node.getNodeId(), index);
+      nodeIds.add(node.getNodeId());
+      nodeStyles.add(style);
+      nodeLabels.add(label);
+    }
+
+    List<Edge> edgeList = new ArrayList<>(edges.size());
+    for (Edge edge : edges) {
+      if (nodeIndices.containsKey(edge.getFromNodeId()) && nodeIndices.containsKey(edge.getToNodeId())) {
+        edgeList.add(edge);
+      }
+    }
+    int[] sources = new int[edgeList.size()];
+    int[] targets = new int[edgeList.size()];
+    for (int i = 0; i < edgeList.size(); i++) {
+      sources[i] = nodeIndices.get(edgeList.get(i).getFromNodeId());
+      targets[i] = nodeIndices.get(edgeList.get(i).getToNodeId());
+    }
+
+    Direction direction = Direction.forRankdir(this.graphAttributes.get("rankdir"));
+    LayeredLayout layout = direction.isHorizontal()
+        ? LayeredLayout.create(nodeIds.size(), sources, targets, heights, widths, NODE_SEPARATION, RANK_SEPARATION)
+        : LayeredLayout.create(nodeIds.size(), sources, targets, widths, heights, NODE_SEPARATION, RANK_SEPARATION);
+    double imageWidth = direction.isHorizontal() ? layout.getHeight() : layout.getWidth();
+    double imageHeight = direction.isHorizontal() ? layout.getWidth() : layout.getHeight();
+
+    output.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n")
+        .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(number(imageWidth)).append("pt\" height=\"").append(number(imageHeight))
+        .append("pt\" viewBox=\"0 0 ").append(number(imageWidth)).append(" ").append(number(imageHeight)).append("\">\n")
+        .append("<title>").append(CONTENT_ESCAPER.escape(graphName)).append("</title>\n")
+        .append("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+
+    output.append("<g class=\"edges\">\n");
+    for (int i = 0; i < edgeList.size(); i++) {
+      Edge edge = edgeList.get(i);
+      double[] points = direction.transform(layout.getEdgePoints(i), layout.getWidth(), layout.getHeight());
+      writeEdge(edge, mergeAttributes(this.edgeAttributes, edge.getAttributes()), points, output);
+    }
+    output.append("</g>\n");
+
+    output.append("<g class=\"nodes\">\n");
+    for (int i = 0; i < nodeIds.size(); i++) {
+      double[] center = direction.transform(new double[]{layout.getX(i), layout.getY(i)}, layout.getWidth(), layout.getHeight());
+      writeNode(nodeIds.get(i), nodeStyles.get(i), nodeLabels.get(i), center[0], center[1], widths[i], heights[i], output);
+    }
+    output.append("</g>\n")
+        .append("</svg>\n");
+  }
+
+  private static void writeNode(String nodeId, Map<String, String> style, SvgLabel label, double x, double y, double width, double height, Appendable output) throws IOException {
+    Set<String> styles = parseStyles(style);
+    if (styles.contains("invis")) {
+      return;
+    }
+
+    String color = style.getOrDefault("color", "black");
+    String fill = styles.contains("filled") ? style.getOrDefault("fillcolor", style.getOrDefault("color", "lightgrey")) : "none";
+    String shape = style.getOrDefault("shape", "ellipse");
+    String strokeAttributes = " fill=\"" + ATTRIBUTE_ESCAPER.escape(fill) + "\" stroke=\"" + ATTRIBUTE_ESCAPER.escape(color) + "\"" + createLineStyle(styles);
+
+    output.append("<g class=\"node\"><title>").append(CONTENT_ESCAPER.escape(nodeId)).append("</title>");
+    if (ELLIPTIC_SHAPES.contains(shape)) {
+      output.append("<ellipse cx=\"").append(number(x)).append("\" cy=\"").append(number(y))
+          .append("\" rx=\"").append(number(width / 2)).append("\" ry=\"").append(number(height / 2)).append("\"")
+          .append(strokeAttributes).append("/>");
+    } else if ("polygon".equals(shape)) {
+      int sides = Math.max(3, (int) Font.parseSize(style.get("sides"), 4));
+      output.append("<polygon points=\"");
+      for (int i = 0; i < sides; i++) {
+        double angle = Math.PI / 2 + Math.PI / sides + 2 * Math.PI * i / sides;
+        output.append(number(x + Math.cos(angle) * width / 2)).append(",").append(number(y + Math.sin(angle) * height / 2)).append(" ");
+      }
+      output.append("\"").append(strokeAttributes).append("/>");
+    } else if (!SHAPELESS_SHAPES.contains(shape)) {
+      // Unsupported shapes are drawn as boxes
+      double radius = styles.contains("rounded") ? CORNER_RADIUS : 0;
+      output.append("<rect x=\"").append(number(x - width / 2)).append("\" y=\"").append(number(y - height / 2))
+          .append("\" width=\"").append(number(width)).append("\" height=\"").append(number(height))
+          .append("\" rx=\"").append(number(radius)).append("\"")
+          .append(strokeAttributes).append("/>");
+    }
+
+    writeLabel(label, x, y, output);
+    output.append("</g>\n");
+  }
+
+  private void writeEdge(Edge edge, Map<String, String> style, double[] points, Appendable output) throws IOException {
+    Set<String> styles = parseStyles(style);
+    if (styles.contains("invis")) {
+      return;
+    }
+
+    String color = ATTRIBUTE_ESCAPER.escape(style.getOrDefault("color", "black"));
+    int last = points.length - 2;
+    double directionX = points[last] - points[last - 2];
+    double directionY = points[last + 1] - points[last - 1];
+    double length = Math.max(Math.hypot(directionX, directionY), 1e-6);
+    directionX /= length;
+    directionY /= length;
+    boolean arrow = !"none".equals(style.get("arrowhead"));
+    double arrowLength = arrow ? Math.min(ARROW_LENGTH, length) : 0;
+
+    output.append("<g class=\"edge\"><title>").append(CONTENT_ESCAPER.escape(edge.getFromNodeId() + "->" + edge.getToNodeId())).append("</title>")
+        .append("<path d=\"M");
+    for (int i = 0; i < points.length; i += 2) {
+      double pointX = i == last ? points[i] - directionX * arrowLength : points[i];
+      double pointY = i == last ? points[i + 1] - directionY * arrowLength : points[i + 1];
+      output.append(i == 0 ? "" : " L").append(number(pointX)).append(",").append(number(pointY));
+    }
+    output.append("\" fill=\"none\" stroke=\"").append(color).append("\"").append(createLineStyle(styles)).append("/>");
+
+    if (arrow) {
+      double baseX = points[last] - directionX * arrowLength;
+      double baseY = points[last + 1] - directionY * arrowLength;
+      double offsetX = -directionY * ARROW_WIDTH / 2;
+      double offsetY = directionX * ARROW_WIDTH / 2;
+      output.append("<polygon points=\"")
+          .append(number(points[last])).append(",").append(number(points[last + 1])).append(" ")
+          .append(number(baseX + offsetX)).append(",").append(number(baseY + offsetY)).append(" ")
+          .append(number(baseX - offsetX)).append(",").append(number(baseY - offsetY))
+          .append("\" fill=\"").append(color).append("\" stroke=\"").append(color).append("\"/>");
+    }
+
+    String labelText = style.get("label");
+    if (labelText != null && !labelText.isEmpty()) {
+      // Place the label next to the middle of the edge
+      int middle = (points.length / 4) * 2;
+      int previous = Math.max(0, middle - 2);
+      double labelX = (points[previous] + points[middle]) / 2;
+      double labelY = (points[previous + 1] + points[middle + 1]) / 2;
+      SvgLabel label = SvgLabel.parse(labelText, createFont(style));
+      writeLabel(label, labelX + label.getWidth() / 2 + 2, labelY, output);
+    }
+
+    output.append("</g>\n");
+  }
+
+  private static void writeLabel(SvgLabel label, double x, double y, Appendable output) throws IOException {
+    if (label.isEmpty()) {
+      return;
+    }
+
+    double baseline = y - label.getHeight() / 2;
+    for (List<Segment> line : label.lines) {
+      double lineHeight = SvgLabel.getLineHeight(line);
+      // The descent of the font is roughly 20% of its size
+      baseline += lineHeight;
+      if (line.isEmpty()) {
+        continue;
+      }
+
+      output.append("<text x=\"").append(number(x)).append("\" y=\"").append(number(baseline - lineHeight / 6)).append("\" text-anchor=\"middle\">");
+      for (Segment segment : line) {
+        Font font = segment.font;
+        output.append("<tspan font-family=\"").append(ATTRIBUTE_ESCAPER.escape(fontFamily(font.name))).append("\"")
+            .append(" font-size=\"").append(number(font.size)).append("\"")
+            .append(" fill=\"").append(ATTRIBUTE_ESCAPER.escape(font.color)).append("\"")
+            .append(font.bold ? " font-weight=\"bold\"" : "")
+            .append(font.italic ? " font-style=\"italic\"" : "")
+            .append(font.underline ? " text-decoration=\"underline\"" : "")
+            .append(">")
+            .append(CONTENT_ESCAPER.escape(segment.text))
+            .append("</tspan>");
+      }
+      output.append("</text>");
+    }
+  }
+
+  private static Map<String, String> mergeAttributes(Map<String, String> defaults, Object attributeBuilder) {
+    Map<String, String> attributes = new LinkedHashMap<>(defaults);
+    if (attributeBuilder instanceof DotAttributeBuilder) {
+      attributes.putAll(((DotAttributeBuilder) attributeBuilder).getAttributes());
+    }
+    return attributes;
+  }
+
+  private static Font createFont(Map<String, String> style) {
+    return new Font(
+        style.getOrDefault("fontname", "Times-Roman"),
+        Font.parseSize(style.get("fontsize"), DEFAULT_FONT_SIZE),
+        style.getOrDefault("fontcolor", "black"),
+        false,
+        false,
+        false);
+  }
+
+  private static Set<String> parseStyles(Map<String, String> style) {
+    Set<String> styles = new HashSet<>();
+    for (String value : style.getOrDefault("style", "").split(",")) {
+      styles.add(value.trim());
+    }
+
+    return styles;
+  }
+
+  private static String createLineStyle(Set<String> styles) {
+    if (styles.contains("dashed")) {
+      return " stroke-dasharray=\"5,2\"";
+    } else if (styles.contains("dotted")) {
+      return " stroke-dasharray=\"1,5\"";
+    } else if (styles.contains("bold")) {
+      return " stroke-width=\"2\"";
+    }
+
+    return "";
+  }
+
+  private static String fontFamily(String fontName) {
+    String lowerCaseName = fontName.toLowerCase();
+    if (lowerCaseName.startsWith("helvetica") || lowerCaseName.startsWith("arial")) {
+      return fontName + ",Arial,sans-serif";
+    } else if (lowerCaseName.startsWith("times")) {
+      return "Times,serif";
+    } else if (lowerCaseName.startsWith("courier")) {
+      return "Courier,monospace";
+    }
+
+    return fontName;
+  }
+
+  private static String number(double value) {
+    double rounded = Math.round(value * 100) / 100.0;
+    if (rounded == (long) rounded) {
+      return Long.toString((long) rounded);
+    }
+
+    return Double.toString(rounded);
+  }
+
+  /**
+   * The direction of the graph as defined by the {@code rankdir} attribute.
+   */
+  private enum Direction {
+    TB, BT, LR, RL;
+
+    static Direction forRankdir(String rankdir) {
+      if (rankdir != null) {
+        for (Direction direction : values()) {
+          if (direction.name().equalsIgnoreCase(rankdir)) {
+            return direction;
+          }
+        }
+      }
+
+      return TB;
+    }
+
+    boolean isHorizontal() {
+      return this == LR || this == RL;
+    }
+
+    /**
+     * Transforms the given points of the top to bottom layout into this direction.
+     */
+    double[] transform(double[] points, double layoutWidth, double layoutHeight) {
+      double[] result = new double[points.length];
+      for (int i = 0; i < points.length; i += 2) {
+        double x = points[i];
+        double y = points[i + 1];
+        switch (this) {
+          case BT:
+            result[i] = x;
+            result[i + 1] = layoutHeight - y;
+            break;
+          case LR:
+            result[i] = y;
+            result[i + 1] = x;
+            break;
+          case RL:
+            result[i] = layoutHeight - y;
+            result[i + 1] = x;
+            break;
+          default:
+            result[i] = x;
+            result[i + 1] = y;
+        }
+      }
+
+      return result;
+    }
+  }
+}
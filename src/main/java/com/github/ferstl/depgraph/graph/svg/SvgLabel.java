@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.svg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A node or edge label with multiple lines of differently styled text. Supports plain labels and the subset of
+ * Graphviz' <a href=http://www.graphviz.org/doc/info/shapes.html#html>HTML-like labels</a> that is created by
+ * {@link com.github.ferstl.depgraph.graph.dot.DotLabelBuilder}: {@code <br/>}, {@code <font>}, {@code <b>}, {@code <i>}
+ * and {@code <u>}.
+ * <p>
+ * The size of a label is estimated from the average character width of proportional fonts, since the fonts are not
+ * available when the image is created.
+ * </p>
+ */
+final class SvgLabel {
+
+  private static final double AVERAGE_CHARACTER_WIDTH = 0.6;
+  private static final double LINE_HEIGHT = 1.2;
+  private static final Pattern TAG_PATTERN = Pattern.compile("<(/?)([a-zA-Z]+)([^>]*?)/?>");
+  private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("([a-zA-Z-]+)\\s*=\\s*\"([^\"]*)\"");
+
+  final List<List<Segment>> lines;
+
+  private SvgLabel(List<List<Segment>> lines) {
+    this.lines = lines;
+  }
+
+  /**
+   * Parses a label.
+   *
+   * @param label The label. HTML-like labels are enclosed in angle brackets.
+   * @param defaultFont The font of text without {@code <font>} tag.
+   * @return The parsed label.
+   */
+  static SvgLabel parse(String label, Font defaultFont) {
+    List<List<Segment>> lines = new ArrayList<>();
+    if (!label.startsWith("<") || !label.endsWith(">")) {
+      for (String text : label.split("\r\n|[\r\n]")) {
+        List<Segment> line = new ArrayList<>();
+        if (!text.isEmpty()) {
+          line.add(new Segment(text, defaultFont));
+        }
+        lines.add(line);
+      }
+
+      return new SvgLabel(lines);
+    }
+
+    List<Segment> currentLine = new ArrayList<>();
+    lines.add(currentLine);
+    String html = label.substring(1, label.length() - 1);
+    Deque<Font> fonts = new ArrayDeque<>();
+    fonts.push(defaultFont);
+
+    Matcher tagMatcher = TAG_PATTERN.matcher(html);
+    int position = 0;
+    while (tagMatcher.find()) {
+      addText(currentLine, html.substring(position, tagMatcher.start()), fonts.peek());
+      position = tagMatcher.end();
+
+      boolean closing = !tagMatcher.group(1).isEmpty();
+      String tagName = tagMatcher.group(2).toLowerCase();
+      if ("br".equals(tagName)) {
+        currentLine = new ArrayList<>();
+        lines.add(currentLine);
+      } else if (closing) {
+        if (fonts.size() > 1) {
+          fonts.pop();
+        }
+      } else {
+        fonts.push(fonts.peek().derive(tagName, tagMatcher.group(3)));
+      }
+    }
+    addText(currentLine, html.substring(position), fonts.peek());
+
+    return new SvgLabel(lines);
+  }
+
+  private static void addText(List<Segment> line, String text, Font font) {
+    if (!text.isEmpty()) {
+      line.add(new Segment(unescape(text), font));
+    }
+  }
+
+  private static String unescape(String text) {
+    return text
+        .replace("&lt;", "<")
+        .replace("&gt;", ">")
+        .replace("&quot;", "\"")
+        .replace("&#39;", "'")
+        .replace("&amp;", "&");
+  }
+
+  double getWidth() {
+    double width = 0;
+    for (List<Segment> line : this.lines) {
+      double lineWidth = 0;
+      for (Segment segment : line) {
+        lineWidth += segment.getWidth();
+      }
+      width = Math.max(width, lineWidth);
+    }
+
+    return width;
+  }
+
+  double getHeight() {
+    double height = 0;
+    for (List<Segment> line : this.lines) {
+      height += getLineHeight(line);
+    }
+
+    return height;
+  }
+
+  static double getLineHeight(List<Segment> line) {
+    double size = 0;
+    for (Segment segment : line) {
+      size = Math.max(size, segment.font.size);
+    }
+
+    return size * LINE_HEIGHT;
+  }
+
+  boolean isEmpty() {
+    return this.lines.size() == 1 && this.lines.get(0).isEmpty();
+  }
+
+  static final class Segment {
+
+    final String text;
+    final Font font;
+
+    Segment(String text, Font font) {
+      this.text = text;
+      this.font = font;
+    }
+
+    double getWidth() {
+      return this.text.length() * this.font.size * AVERAGE_CHARACTER_WIDTH * (this.font.bold ? 1.1 : 1.0);
+    }
+  }
+
+  static final class Font {
+
+    final String name;
+    final double size;
+    final String color;
+    final boolean bold;
+    final boolean italic;
+    final boolean underline;
+
+    Font(String name, double size, String color, boolean bold, boolean italic, boolean underline) {
+      this.name = name;
+      this.size = size;
+      this.color = color;
+      this.bold = bold;
+      this.italic = italic;
+      this.underline = underline;
+    }
+
+    Font derive(String tagName, String tagAttributes) {
+      switch (tagName) {
+        case "b":
+          return new Font(this.name, this.size, this.color, true, this.italic, this.underline);
+        case "i":
+          return new Font(this.name, this.size, this.color, this.bold, true, this.underline);
+        case "u":
+          return new Font(this.name, this.size, this.color, this.bold, this.italic, true);
+        case "font":
+          String name = this.name;
+          double size = this.size;
+          String color = this.color;
+          Matcher attributeMatcher = ATTRIBUTE_PATTERN.matcher(tagAttributes);
+          while (attributeMatcher.find()) {
+            String value = attributeMatcher.group(2);
+            switch (attributeMatcher.group(1).toLowerCase()) {
+              case "face":
+                name = value;
+                break;
+              case "point-size":
+                size = parseSize(value, size);
+                break;
+              case "color":
+                color = value;
+                break;
+              default:
+                // ignore
+            }
+          }
+          return new Font(name, size, color, this.bold, this.italic, this.underline);
+        default:
+          return this;
+      }
+    }
+
+    static double parseSize(String size, double defaultSize) {
+      try {
+        return size != null ? Double.parseDouble(size) : defaultSize;
+      } catch (NumberFormatException e) {
+        return defaultSize;
+      }
+    }
+  }
+}
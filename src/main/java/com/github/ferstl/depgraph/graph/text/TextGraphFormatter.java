@@ -15,142 +15,216 @@
  */
 package com.github.ferstl.depgraph.graph.text;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
 
 public class TextGraphFormatter implements com.github.ferstl.depgraph.graph.GraphFormatter {
 
   private final boolean repeatTransitiveDependencies;
+  private final int maxLines;
 
   public TextGraphFormatter(boolean repeatTransitiveDependencies) {
+    this(repeatTransitiveDependencies, 0);
+  }
+
+  /**
+   * Creates a formatter that stops writing after the given number of lines. With
+   * {@code repeatTransitiveDependencies=true}, the number of lines can grow exponentially with the number of
+   * dependencies.
+   *
+   * @param repeatTransitiveDependencies Whether the transitive dependencies of a node are repeated on each occurrence.
+   * @param maxLines The maximum number of lines or {@code 0} for no limit.
+   */
+  public TextGraphFormatter(boolean repeatTransitiveDependencies, int maxLines) {
     this.repeatTransitiveDependencies = repeatTransitiveDependencies;
+    this.maxLines = maxLines;
   }
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
-    TextGraphWriter writer = new TextGraphWriter(nodes, edges, this.repeatTransitiveDependencies);
-    StringBuilder graphStringBuilder = new StringBuilder();
-    writer.write(graphStringBuilder);
-
-    return graphStringBuilder.toString();
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException {
+    TextGraphWriter writer = new TextGraphWriter(nodes, edges, this.repeatTransitiveDependencies, this.maxLines);
+    writer.write(output);
   }
 
+  /**
+   * Writes the tree line by line using an explicit stack, so deep graphs cannot overflow the call stack. The text of
+   * each child line is rendered only once per edge. Repeated sub trees just use a different indentation prefix.
+   */
   private static class TextGraphWriter {
 
     private static final String INDENTATION_FOR_PARENT = "|  ";
     private static final String INDENTATION_FOR_LAST_PARENT = "   ";
     private static final String ELEMENT_MARKER = "+- ";
     private static final String LAST_ELEMENT_MARKER = "\\- ";
+    private static final int INDENTATION_LENGTH = INDENTATION_FOR_PARENT.length();
 
-    private final Map<String, Node<?>> nodesById;
-    private final Map<String, Collection<Edge>> relations;
-    private final Collection<String> roots;
     private final boolean repeatTransitiveDependencies;
+    private final int maxLines;
+
+    private final List<String> nodeNames;
+    private final Map<String, Integer> nodeIndices;
+    private final List<List<Edge>> relations;
+    private final List<Integer> roots;
 
-    TextGraphWriter(Collection<Node<?>> nodes, Collection<Edge> edges, boolean repeatTransitiveDependencies) {
+    private int[][] children;
+    private String[][] childLines;
+    private boolean[] onPath;
+    private boolean[] written;
+    private int lineCount;
+
+    TextGraphWriter(Collection<Node<?>> nodes, Collection<Edge> edges, boolean repeatTransitiveDependencies, int maxLines) {
       this.repeatTransitiveDependencies = repeatTransitiveDependencies;
-      this.nodesById = new LinkedHashMap<>();
-      this.relations = new LinkedHashMap<>();
-      this.roots = new LinkedHashSet<>();
+      this.maxLines = maxLines;
+      this.nodeNames = new ArrayList<>();
+      this.nodeIndices = new HashMap<>();
+      this.relations = new ArrayList<>();
+      this.roots = new ArrayList<>();
 
       initializeGraphData(nodes);
       initializeRootElements(edges);
     }
 
-    void write(StringBuilder stringBuilder) {
-      Iterator<String> rootIterator = this.roots.iterator();
-      while (rootIterator.hasNext()) {
-        String root = rootIterator.next();
-        Node<?> fromNode = this.nodesById.get(root);
-        stringBuilder.append(fromNode.getNodeName()).append("\n");
-
-        List<Boolean> lastParents = new ArrayList<>();
-        lastParents.add(!rootIterator.hasNext());
-        Set<String> currentPath = new LinkedHashSet<>();
+    void write(Appendable output) throws IOException {
+      int nodeCount = this.nodeNames.size();
+      this.children = new int[nodeCount][];
+      this.childLines = new String[nodeCount][];
+      for (int i = 0; i < nodeCount; i++) {
+        List<Edge> edges = this.relations.get(i);
+        this.children[i] = new int[edges.size()];
+        this.childLines[i] = new String[edges.size()];
+        for (int j = 0; j < edges.size(); j++) {
+          this.children[i][j] = this.nodeIndices.get(edges.get(j).getToNodeId());
+        }
+      }
+      this.onPath = new boolean[nodeCount];
+      this.written = new boolean[nodeCount];
 
-        writeChildren(stringBuilder, root, currentPath, lastParents);
+      for (int root : this.roots) {
+        if (!writeLine(output, "", "", this.nodeNames.get(root)) || !writeChildren(output, root)) {
+          return;
+        }
       }
     }
 
     private void initializeGraphData(Collection<Node<?>> nodes) {
       for (Node<?> node : nodes) {
-        String nodeId = node.getNodeId();
-        this.nodesById.put(nodeId, node);
-        this.relations.put(nodeId, new ArrayList<>());
+        Integer index = this.nodeIndices.get(node.getNodeId());
+        if (index == null) {
+          this.nodeIndices.put(node.getNodeId(), this.nodeNames.size());
+          this.nodeNames.add(node.getNodeName());
+          this.relations.add(new ArrayList<>());
+        } else {
+          this.nodeNames.set(index, node.getNodeName());
+        }
       }
     }
 
     private void initializeRootElements(Collection<Edge> edges) {
-      this.roots.addAll(this.nodesById.keySet());
+      boolean[] hasParent = new boolean[this.nodeNames.size()];
       for (Edge edge : edges) {
-        this.relations.get(edge.getFromNodeId()).add(edge);
+        this.relations.get(this.nodeIndices.get(edge.getFromNodeId())).add(edge);
 
         if (!edge.getFromNodeId().equals(edge.getToNodeId())) {
-          this.roots.remove(edge.getToNodeId());
+          hasParent[this.nodeIndices.get(edge.getToNodeId())] = true;
         }
       }
-    }
 
-    private void writeChildren(StringBuilder stringBuilder, String parent, Set<String> currentPath, List<Boolean> lastParents) {
-      Collection<Edge> edges = this.relations.get(parent);
-      // Prevent ConcurrentModificationException (see #159)
-      Collection<Edge> edgesCopy = new ArrayList<>(edges);
-      Iterator<Edge> edgeIterator = edgesCopy.iterator();
-
-      while (edgeIterator.hasNext()) {
-        Edge edge = edgeIterator.next();
-        Node<?> childNode = this.nodesById.get(edge.getToNodeId());
-        boolean circleDetected = currentPath.contains(childNode.getNodeId());
-
-        // Write the current child node
-        indent(stringBuilder, lastParents, !edgeIterator.hasNext());
-        writeChildNode(stringBuilder, childNode.getNodeName(), edge.getName(), circleDetected);
-
-        // Recursively write sub tree
-        lastParents.add(!edgeIterator.hasNext());
-        if (!circleDetected) {
-          currentPath.add(childNode.getNodeId());
-          writeChildren(stringBuilder, childNode.getNodeId(), currentPath, lastParents);
+      for (int i = 0; i < hasParent.length; i++) {
+        if (!hasParent[i]) {
+          this.roots.add(i);
         }
-        lastParents.remove(lastParents.size() - 1);
-        currentPath.remove(childNode.getNodeId());
       }
+    }
 
-      if (!this.repeatTransitiveDependencies) {
-        edges.clear();
+    /**
+     * Writes the sub tree of the given root. Nodes that are already on the current path are marked as circle. Without
+     * {@code repeatTransitiveDependencies}, the children of a node are only written on its first occurrence.
+     *
+     * @return {@code false} if the maximum number of lines was reached.
+     */
+    private boolean writeChildren(Appendable output, int root) throws IOException {
+      int[] nodeStack = new int[this.nodeNames.size()];
+      int[] edgePositions = new int[this.nodeNames.size()];
+      StringBuilder prefix = new StringBuilder();
+      int depth = 0;
+
+      nodeStack[depth++] = root;
+      this.onPath[root] = true;
+
+      while (depth > 0) {
+        int parent = nodeStack[depth - 1];
+        int[] parentChildren = this.children[parent];
+        int position = edgePositions[depth - 1]++;
+
+        if (position == parentChildren.length) {
+          depth--;
+          this.onPath[parent] = false;
+          this.written[parent] = !this.repeatTransitiveDependencies;
+          prefix.setLength(Math.max(0, depth - 1) * INDENTATION_LENGTH);
+          continue;
+        }
+
+        int child = parentChildren[position];
+        boolean lastElement = position == parentChildren.length - 1;
+        boolean circleDetected = this.onPath[child];
+
+        // Use different element markers depending on whether the element is the last one in the sub tree.
+        String marker = lastElement ? LAST_ELEMENT_MARKER : ELEMENT_MARKER;
+        String childLine = circleDetected ? renderChildLine(parent, position, true) : getChildLine(parent, position);
+        if (!writeLine(output, prefix, marker, childLine)) {
+          return false;
+        }
+
+        if (!circleDetected && !this.written[child]) {
+          // The root element is not indented, so the prefix only contains the indentation of the child nodes
+          prefix.append(lastElement ? INDENTATION_FOR_LAST_PARENT : INDENTATION_FOR_PARENT);
+          nodeStack[depth] = child;
+          edgePositions[depth] = 0;
+          depth++;
+          this.onPath[child] = true;
+        }
       }
+
+      return true;
     }
 
-    private void indent(StringBuilder stringBuilder, List<Boolean> lastParents, boolean lastElement) {
-      // Don't indent after the root element
-      for (int i = 1; i < lastParents.size(); i++) {
-        stringBuilder.append(lastParents.get(i) ? INDENTATION_FOR_LAST_PARENT : INDENTATION_FOR_PARENT);
+    private String getChildLine(int parent, int position) {
+      String childLine = this.childLines[parent][position];
+      if (childLine == null) {
+        childLine = renderChildLine(parent, position, false);
+        this.childLines[parent][position] = childLine;
       }
 
-      // Use different element markers depending on whether the element is the last one in the sub tree.
-      if (lastElement) {
-        stringBuilder.append(LAST_ELEMENT_MARKER);
-      } else {
-        stringBuilder.append(ELEMENT_MARKER);
-      }
+      return childLine;
     }
 
-    private void writeChildNode(StringBuilder stringBuilder, String childNodeName, String edgeName, boolean circleDetected) {
-      stringBuilder.append(childNodeName);
+    private String renderChildLine(int parent, int position, boolean circleDetected) {
+      String childNodeName = this.nodeNames.get(this.children[parent][position]);
+      String edgeName = this.relations.get(parent).get(position).getName();
       if (edgeName != null && !edgeName.isEmpty()) {
-        stringBuilder.append(" (").append(circleDetected ? "circle, " : "").append(edgeName).append(")");
+        return childNodeName + " (" + (circleDetected ? "circle, " : "") + edgeName + ")";
       } else if (circleDetected) {
-        stringBuilder.append(" (circle)");
+        return childNodeName + " (circle)";
+      }
+
+      return childNodeName;
+    }
+
+    private boolean writeLine(Appendable output, CharSequence prefix, String marker, String text) throws IOException {
+      if (this.maxLines > 0 && this.lineCount == this.maxLines) {
+        output.append("... (truncated after ").append(String.valueOf(this.maxLines)).append(" lines)\n");
+        return false;
       }
-      stringBuilder.append("\n");
+
+      this.lineCount++;
+      output.append(prefix).append(marker).append(text).append("\n");
+      return true;
     }
   }
 }
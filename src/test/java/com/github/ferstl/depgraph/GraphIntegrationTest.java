@@ -16,7 +16,11 @@
 package com.github.ferstl.depgraph;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,6 +36,17 @@ import static com.github.ferstl.depgraph.MavenVersion.MIN_VERSION;
 import static io.takari.maven.testing.TestResources.assertFileContents;
 import static io.takari.maven.testing.TestResources.assertFilesNotPresent;
 import static io.takari.maven.testing.TestResources.assertFilesPresent;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeFalse;
 
 @RunWith(MavenJUnitTestRunner.class)
 @MavenVersions({MAX_VERSION, MIN_VERSION})
@@ -77,6 +92,244 @@ public class GraphIntegrationTest {
     assertFileContents(basedir, "expectations/graph_module-3.dot", "sub-parent/module-3/target/dependency-graph.dot");
   }
 
+  @Test
+  public void graphWithResolutionCache() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.resolutionCache")
+        .execute("depgraph:graph")
+        .assertErrorFreeLog();
+
+    // second run uses the cached dependency graphs
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.resolutionCache")
+        .execute("depgraph:graph");
+
+    result.assertErrorFreeLog();
+    assertFilesPresent(
+        basedir,
+        "module-1/target/depgraph-cache/com.github.ferstl_module-1.bin",
+        "sub-parent/module-3/target/depgraph-cache/com.github.ferstl_module-3.bin");
+
+    assertFileContents(basedir, "expectations/graph_parent.dot", "target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_module-1.dot", "module-1/target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_module-2.dot", "module-2/target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_sub-parent.dot", "sub-parent/target/dependency-graph.dot");
+    assertFileContents(basedir, "expectations/graph_module-3.dot", "sub-parent/module-3/target/dependency-graph.dot");
+  }
+
+  @Test
+  public void incrementalAggregate() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    runIncrementalAggregate(basedir).assertErrorFreeLog();
+
+    // second run with the same configuration does not create the graph again
+    MavenExecutionResult result = runIncrementalAggregate(basedir);
+
+    result.assertErrorFreeLog();
+    result.assertLogText("Dependency graph is up to date");
+    assertFilesPresent(basedir, "target/dependency-graph.txt.fingerprint");
+    assertFileContents(basedir, "expectations/aggregate_transitive-excludes.txt", "target/dependency-graph.txt");
+
+    // a changed configuration creates the graph again
+    result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.incremental")
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DshowGroupIds")
+        .withCliOption("-DshowVersions")
+        .withCliOption("-DtransitiveExcludes=com.google.*:*")
+        .execute("depgraph:aggregate");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("Configuration changed");
+  }
+
+  private MavenExecutionResult runIncrementalAggregate(File basedir) throws Exception {
+    return this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.incremental")
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DshowGroupIds")
+        .withCliOption("-DtransitiveExcludes=com.google.*:*")
+        .execute("depgraph:aggregate");
+  }
+
+  @Test
+  public void graphImageIsOnlyCreatedWhenGraphChanges() throws Exception {
+    // The fake dot executable is a shell script
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    Path dotExecutable = createFakeDotExecutable(basedir, "no-module");
+
+    for (String showVersions : asList("false", "false", "true")) {
+      this.mavenRuntime
+          .forProject(basedir)
+          .withCliOption("-DcreateImage")
+          .withCliOption("-DdotExecutable=" + dotExecutable)
+          .withCliOption("-DshowVersions=" + showVersions)
+          .withCliOption("-pl=module-1")
+          .execute("depgraph:graph")
+          .assertErrorFreeLog();
+    }
+
+    // the second execution did not change the graph
+    assertFilesPresent(basedir, "module-1/target/dependency-graph.png", "module-1/target/dependency-graph.png.sha256");
+    assertEquals(2, readAllLines(basedir.toPath().resolve("module-1/target/dependency-graph.png.log")).size());
+  }
+
+  @Test
+  public void incrementalGraphImageIsCreatedAgainAfterFailure() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.incremental")
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + createFakeDotExecutable(basedir, "module-1"))
+        .withCliOption("-pl=module-1")
+        .execute("depgraph:graph")
+        .assertLogText("Graphviz terminated abnormally");
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.incremental")
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + createFakeDotExecutable(basedir, "no-module"))
+        .withCliOption("-pl=module-1")
+        .execute("depgraph:graph");
+
+    // the broken image of the first execution is replaced
+    result.assertErrorFreeLog();
+    result.assertNoLogText("Dependency graph is up to date");
+    assertEquals(1, readAllLines(basedir.toPath().resolve("module-1/target/dependency-graph.png.log")).size());
+    assertFilesPresent(basedir, "module-1/target/dependency-graph.dot.fingerprint");
+  }
+
+  @Test
+  public void graphImagesOfAllModules() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    Path dotExecutable = createFakeDotExecutable(basedir, "no-module");
+
+    this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + dotExecutable)
+        .execute("clean", "depgraph:graph")
+        .assertErrorFreeLog();
+
+    assertFilesPresent(
+        basedir,
+        "target/dependency-graph.png",
+        "module-1/target/dependency-graph.png",
+        "module-2/target/dependency-graph.png",
+        "sub-parent/target/dependency-graph.png",
+        "sub-parent/module-3/target/dependency-graph.png");
+  }
+
+  @Test
+  public void graphImagesWithBuiltInRenderer() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+
+    this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DimageRenderer=builtin")
+        .withCliOption("-DdotExecutable=does-not-exist")
+        .execute("clean", "depgraph:graph")
+        .assertErrorFreeLog()
+        .assertLogText("Graph image created on");
+
+    assertFilesPresent(
+        basedir,
+        "target/dependency-graph.svg",
+        "module-1/target/dependency-graph.svg",
+        "module-2/target/dependency-graph.svg",
+        "sub-parent/target/dependency-graph.svg",
+        "sub-parent/module-3/target/dependency-graph.svg");
+    assertFilesNotPresent(basedir, "module-1/target/dependency-graph.png");
+    String svg = new String(readAllBytes(new File(basedir, "module-1/target/dependency-graph.svg").toPath()), UTF_8);
+    assertThat(svg, containsString(">module-1</tspan>"));
+  }
+
+  @Test
+  public void graphImageFailuresAreReportedPerModule() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    Path dotExecutable = createFakeDotExecutable(basedir, "module-2");
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + dotExecutable)
+        .execute("clean", "depgraph:graph");
+
+    result.assertLogText("Unable to create graph image of com.github.ferstl:module-2:jar:1.0.0-SNAPSHOT: Graphviz terminated abnormally. Exit code: 1");
+    result.assertLogText("Unable to create graph images of com.github.ferstl:module-2:jar:1.0.0-SNAPSHOT");
+    assertFilesPresent(basedir, "module-1/target/dependency-graph.png", "sub-parent/module-3/target/dependency-graph.png");
+  }
+
+  @Test
+  public void graphImageFailuresOfLastModuleAreReported() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    Path dotExecutable = createFakeDotExecutable(basedir, "module-2", "module-3");
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + dotExecutable)
+        .execute("clean", "depgraph:graph");
+
+    result.assertLogText("Unable to create graph image of com.github.ferstl:module-2:jar:1.0.0-SNAPSHOT: Graphviz terminated abnormally. Exit code: 1");
+    result.assertLogText("Unable to create graph image of com.github.ferstl:module-3:jar:1.0.0-SNAPSHOT: Graphviz terminated abnormally. Exit code: 1");
+    result.assertLogText("[ERROR] Failed to execute goal com.github.ferstl:depgraph-maven-plugin");
+  }
+
+  @Test
+  public void graphImageFailuresAreReportedWhenLaterModuleFails() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    Path dotExecutable = createFakeDotExecutable(basedir, "module-1");
+    // module-2 cannot write its graph file, so the build stops before the last module
+    createDirectories(basedir.toPath().resolve("module-2/target/dependency-graph.dot"));
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + dotExecutable)
+        .execute("depgraph:graph");
+
+    result.assertLogText("Unable to write graph file.");
+    result.assertLogText("Unable to create graph image of com.github.ferstl:module-1:jar:1.0.0-SNAPSHOT: Graphviz terminated abnormally. Exit code: 1");
+    result.assertLogText("Unable to create graph images of com.github.ferstl:module-1:jar:1.0.0-SNAPSHOT");
+  }
+
+  @Test
+  public void aggregatedGraphImageFailuresAreReported() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    Path dotExecutable = createFakeDotExecutable(basedir, "target");
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + dotExecutable)
+        .execute("clean", "depgraph:example");
+
+    result.assertLogText("Unable to create graph image of com.github.ferstl:parent:pom:1.0.0-SNAPSHOT: Graphviz terminated abnormally. Exit code: 1");
+  }
+
   @Test
   public void byGroupIdInDot() throws Exception {
     File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
@@ -154,6 +407,75 @@ public class GraphIntegrationTest {
     assertFileContents(basedir, "expectations/aggregate-without-dependencies.gml", "target/dependency-graph.gml");
   }
 
+  @Test
+  public void aggregateWithExecutionProfile() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.profile")
+        .withCliOption("-Ddepgraph.writeProfile")
+        .execute("clean", "depgraph:aggregate");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("Execution profile of com.github.ferstl:parent:pom:1.0.0-SNAPSHOT");
+    result.assertLogText("resolution");
+    result.assertLogText("edge reduction");
+    result.assertLogText("formatting and writing");
+    result.assertLogText("edges before reduction");
+    assertFilesPresent(basedir, "target/dependency-graph.dot", "target/dependency-graph.profile.json");
+  }
+
+  @Test
+  public void graphImagesInExecutionProfileOfEachModule() throws Exception {
+    assumeFalse(System.getProperty("os.name").toLowerCase(Locale.US).contains("windows"));
+
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.profile")
+        .withCliOption("-Ddepgraph.writeProfile")
+        .withCliOption("-DcreateImage")
+        .withCliOption("-DdotExecutable=" + createFakeDotExecutable(basedir, "no-module"))
+        .execute("clean", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+    for (String module : asList("module-1", "module-2", "sub-parent/module-3")) {
+      String profile = new String(readAllBytes(basedir.toPath().resolve(module + "/target/dependency-graph.profile.json")), UTF_8);
+      assertThat(profile, containsString("graphviz"));
+    }
+  }
+
+  @Test
+  public void why() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.targets=commons-codec:commons-codec,org.hamcrest")
+        .withCliOption("-Ddepgraph.paths=all")
+        .execute("clean", "depgraph:why");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("commons-codec:commons-codec:1.15:compile (3 of 3 paths)");
+    result.assertLogText("  com.github.ferstl:module-3:1.0.0-SNAPSHOT:compile -> com.github.ferstl:module-2:1.0.0-SNAPSHOT:compile -> com.github.ferstl:module-1:1.0.0-SNAPSHOT:compile -> commons-codec:commons-codec:1.15:compile");
+    result.assertLogText("org.hamcrest:hamcrest-core:1.3:test (");
+    assertFilesNotPresent(basedir, "target/dependency-graph.txt", "target/dependency-graph.dot");
+  }
+
+  @Test
+  public void whyShortestPath() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.targets=commons-codec")
+        .execute("clean", "depgraph:why");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("commons-codec:commons-codec:1.15:compile (1 of 3 paths)");
+    result.assertLogText("  com.github.ferstl:module-3:1.0.0-SNAPSHOT:compile -> com.github.ferstl:module-1:1.0.0-SNAPSHOT:compile -> commons-codec:commons-codec:1.15:compile");
+  }
+
   @Test
   public void targetIncludes() throws Exception {
     File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
@@ -222,6 +544,59 @@ public class GraphIntegrationTest {
     assertFileContents(basedir, "expectations/aggregate_transitive-excludes.txt", "target/dependency-graph.txt");
   }
 
+  @Test
+  public void aggregateWithParallelResolution() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DshowGroupIds")
+        .withCliOption("-DtransitiveExcludes=com.google.*:*")
+        .withCliOption("-Ddepgraph.threads=4")
+        .execute("clean", "depgraph:aggregate");
+
+    result.assertErrorFreeLog();
+    assertFilesPresent(basedir, "target/dependency-graph.txt");
+
+    // same result as the sequential resolution
+    assertFileContents(basedir, "expectations/aggregate_transitive-excludes.txt", "target/dependency-graph.txt");
+  }
+
+  @Test
+  public void graphAndAggregateWithSessionCache() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-DshowGroupIds")
+        .withCliOption("-DtransitiveExcludes=com.google.*:*")
+        .withCliOption("-Ddepgraph.sessionCache")
+        .execute("clean", "depgraph:graph", "depgraph:aggregate");
+
+    result.assertErrorFreeLog();
+    // the aggregate goal takes the graphs of the three modules from the graph goal
+    List<String> statistics = result.getLog().stream()
+        .filter(line -> line.contains("Session resolution cache"))
+        .collect(toList());
+    assertEquals(1, statistics.size());
+    assertThat(statistics.get(0), containsString("Session resolution cache: 3 hits, 5 misses"));
+    assertFileContents(basedir, "expectations/aggregate_transitive-excludes.txt", "target/dependency-graph.txt");
+  }
+
+  @Test
+  public void parallelGraphWithSessionCache() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-T2")
+        .withCliOption("-Ddepgraph.sessionCache")
+        .execute("clean", "depgraph:graph");
+
+    // the statistics are logged after all modules were resolved
+    result.assertErrorFreeLog();
+    result.assertLogText("Session resolution cache: 0 hits, 5 misses");
+  }
+
   @Test
   public void transitiveAndTargetFiltering() throws Exception {
     File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
@@ -291,6 +666,58 @@ public class GraphIntegrationTest {
     assertFileContents(basedir, "expectations/graph_module-3.json", "sub-parent/module-3/target/dependency-graph.json");
   }
 
+  @Test
+  public void multipleGraphFormats() throws Exception {
+    File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormats=json,dot,text")
+        .withCliOption("-DshowVersions")
+        .withCliOption("-DshowConflicts")
+        .execute("clean", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("Dependency graph:");
+
+    // Each graph must be the same as if it were created on its own
+    for (String format : asList("json", "dot", "text")) {
+      this.mavenRuntime
+          .forProject(basedir)
+          .withCliOption("-DgraphFormat=" + format)
+          .withCliOption("-DshowVersions")
+          .withCliOption("-DshowConflicts")
+          .withCliOption("-DoutputFileName=single-format")
+          .execute("depgraph:graph")
+          .assertErrorFreeLog();
+    }
+
+    for (String module : asList("", "module-1/", "module-2/", "sub-parent/", "sub-parent/module-3/")) {
+      assertFileContents(basedir, module + "target/single-format.json", module + "target/dependency-graph.json");
+      assertFileContents(basedir, module + "target/single-format.dot", module + "target/dependency-graph.dot");
+      assertFileContents(basedir, module + "target/single-format.txt", module + "target/dependency-graph.txt");
+    }
+  }
+
+  /**
+   * Creates a shell script that is used instead of Graphviz. It writes a dummy image and a log line for each invocation.
+   * The script leaves a broken image and fails for images in the given modules.
+   */
+  private static Path createFakeDotExecutable(File basedir, String... failingModules) throws IOException {
+    Path dotExecutable = basedir.toPath().resolve("fake-dot.sh");
+    write(dotExecutable, asList(
+        "#!/bin/sh",
+        "while [ $# -gt 0 ]; do",
+        "  if [ \"$1\" = \"-o\" ]; then image=\"$2\"; fi",
+        "  shift",
+        "done",
+        "case \"$image\" in */" + String.join("/*|*/", failingModules) + "/*) echo broken > \"$image\"; exit 1;; esac",
+        "echo image > \"$image\"",
+        "echo rendered >> \"$image.log\""));
+    dotExecutable.toFile().setExecutable(true);
+
+    return dotExecutable;
+  }
+
   @Test
   public void graphInText() throws Exception {
     File basedir = this.resources.getBasedir("depgraph-maven-plugin-test");
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JUnit tests for {@link ModuleWeights}.
+ */
+class ModuleWeightsTest {
+
+  @TempDir
+  Path directory;
+
+  private final List<MavenProject> projects = asList(
+      createProject("module-parent", "Module Parent"),
+      createProject("module-a", "Module A"),
+      createProject("module-b", null));
+
+  @Test
+  void csv() throws Exception {
+    // arrange
+    Path file = write(
+        "# Build durations",
+        "module,duration",
+        "module-a, 12.5",
+        "com.github.ferstl:module-b;3",
+        "unknown-module,42");
+
+    // act
+    Map<String, Double> weights = ModuleWeights.read(file, this.projects);
+
+    // assert
+    Map<String, Double> expected = new HashMap<>();
+    expected.put("com.github.ferstl:module-a", 12.5);
+    expected.put("com.github.ferstl:module-b", 3.0);
+    assertEquals(expected, weights);
+  }
+
+  @Test
+  void reactorSummary() throws Exception {
+    // arrange
+    Path file = write(
+        "[INFO] Reactor Summary for Module Parent 1.0.0-SNAPSHOT:",
+        "[INFO] ",
+        "[INFO] Module Parent 1.0.0-SNAPSHOT ....................... SUCCESS [  0.512 s]",
+        "[\u001B[1;34mINFO\u001B[m] Module A ........................................... \u001B[1;32mSUCCESS\u001B[m [01:02 min]",
+        "[INFO] module-b ........................................... SUCCESS [1:30 h]",
+        "[INFO] ------------------------------------------------------------------------",
+        "[INFO] BUILD SUCCESS");
+
+    // act
+    Map<String, Double> weights = ModuleWeights.read(file, this.projects);
+
+    // assert
+    Map<String, Double> expected = new HashMap<>();
+    expected.put("com.github.ferstl:module-parent", 0.512);
+    expected.put("com.github.ferstl:module-a", 62.0);
+    expected.put("com.github.ferstl:module-b", 5400.0);
+    assertEquals(expected, weights);
+  }
+
+  @Test
+  void legacyReactorSummary() throws Exception {
+    // arrange
+    Path file = write(
+        "[INFO] Module Parent ...................................... SUCCESS [0.512s]",
+        "[INFO] Module A ........................................... SUCCESS [  1.234 s|  0.000 s]");
+
+    // act
+    Map<String, Double> weights = ModuleWeights.read(file, this.projects);
+
+    // assert
+    Map<String, Double> expected = new HashMap<>();
+    expected.put("com.github.ferstl:module-parent", 0.512);
+    expected.put("com.github.ferstl:module-a", 1.234);
+    assertEquals(expected, weights);
+  }
+
+  private Path write(String... lines) throws IOException {
+    return Files.write(this.directory.resolve("weights.txt"), asList(lines), StandardCharsets.UTF_8);
+  }
+
+  private static MavenProject createProject(String artifactId, String name) {
+    Model model = new Model();
+    model.setGroupId("com.github.ferstl");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    model.setName(name);
+
+    return new MavenProject(model);
+  }
+}
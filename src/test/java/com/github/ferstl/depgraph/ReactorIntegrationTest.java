@@ -16,7 +16,10 @@
 package com.github.ferstl.depgraph;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -29,6 +32,9 @@ import io.takari.maven.testing.executor.MavenVersions;
 import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
 import static com.github.ferstl.depgraph.MavenVersion.MAX_VERSION;
 import static com.github.ferstl.depgraph.MavenVersion.MIN_VERSION;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static io.takari.maven.testing.TestResources.assertFileContents;
 
 @RunWith(MavenJUnitTestRunner.class)
@@ -104,4 +110,45 @@ public class ReactorIntegrationTest {
 
     assertFileContents(basedir, "expectations/reactor.gml", "target/dependency-graph.gml");
   }
+
+  @Test
+  public void reactorAnalysis() throws Exception {
+    File basedir = this.resources.getBasedir("reactor-graph");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.reactorAnalysis")
+        .execute("clean", "depgraph:reactor");
+
+    result.assertErrorFreeLog();
+    result.assertLogText("Critical path (5.0): com.github.ferstl:reactor-parent -> com.github.ferstl:reactor-common -> "
+        + "com.github.ferstl:reactor-database -> com.github.ferstl:reactor-service -> com.github.ferstl:reactor-application");
+    result.assertLogText("Maximum parallelism: 2 modules");
+
+    String analysis = new String(Files.readAllBytes(basedir.toPath().resolve("target/reactor-analysis.json")), StandardCharsets.UTF_8);
+    assertThat(analysis, containsString("\"maxSpeedup\" : 1.4"));
+  }
+
+  @Test
+  public void reactorAnalysisWithModuleWeights() throws Exception {
+    File basedir = this.resources.getBasedir("reactor-graph");
+    Path moduleWeights = Files.write(basedir.toPath().resolve("module-weights.csv"), asList(
+        "reactor-parent,0.5",
+        "reactor-api,5",
+        "reactor-common,1",
+        "reactor-database,1",
+        "reactor-service,1",
+        "reactor-ui,10",
+        "reactor-application,2"), StandardCharsets.UTF_8);
+
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.reactorAnalysis")
+        .withCliOption("-Ddepgraph.moduleWeights=" + moduleWeights)
+        .execute("clean", "depgraph:reactor");
+
+    result.assertErrorFreeLog();
+    result.assertNoLogText("No weight found");
+    result.assertLogText("Critical path (17.5): com.github.ferstl:reactor-parent -> com.github.ferstl:reactor-api -> "
+        + "com.github.ferstl:reactor-ui -> com.github.ferstl:reactor-application");
+  }
 }
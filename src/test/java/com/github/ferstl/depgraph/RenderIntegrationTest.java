@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph;
+
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import io.takari.maven.testing.TestProperties;
+import io.takari.maven.testing.TestResources;
+import io.takari.maven.testing.executor.MavenExecutionResult;
+import io.takari.maven.testing.executor.MavenRuntime;
+import io.takari.maven.testing.executor.MavenVersions;
+import io.takari.maven.testing.executor.junit.MavenJUnitTestRunner;
+import static com.github.ferstl.depgraph.MavenVersion.MAX_VERSION;
+import static com.github.ferstl.depgraph.MavenVersion.MIN_VERSION;
+import static io.takari.maven.testing.TestResources.assertFileContents;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllBytes;
+
+@RunWith(MavenJUnitTestRunner.class)
+@MavenVersions({MAX_VERSION, MIN_VERSION})
+public class RenderIntegrationTest {
+
+  @Rule
+  public final TestResources resources = new TestResources();
+
+  private final MavenRuntime mavenRuntime;
+  private final TestProperties testProperties;
+
+  public RenderIntegrationTest(MavenRuntime.MavenRuntimeBuilder builder) throws Exception {
+    this.testProperties = new TestProperties();
+    this.mavenRuntime = builder
+        .withCliOptions("-B")
+        .build();
+  }
+
+  @Test
+  public void runWithoutProject() throws Exception {
+    // arrange
+    File basedir = this.resources.getBasedir("no-project");
+    File expectations = new File(this.resources.getBasedir("depgraph-maven-plugin-test"), "expectations");
+    File inputFile = new File(expectations, "graph_module-1.json");
+
+    // act
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.inputFile=" + inputFile.getAbsolutePath())
+        .withCliOption("-DshowVersions")
+        .withCliOption("-DgraphFormat=text")
+        .execute(createFullyQualifiedGoal());
+
+    // assert
+    result.assertErrorFreeLog();
+    String expectedContents = new String(readAllBytes(new File(expectations, "graph_module-1.txt").toPath()), UTF_8);
+    assertFileContents(expectedContents, basedir, "dependency-graph.txt");
+  }
+
+  @Test
+  public void runWithInvalidInputFile() throws Exception {
+    // arrange
+    File basedir = this.resources.getBasedir("no-project");
+    File inputFile = new File(basedir, "this-is-not-a-maven-project.txt");
+
+    // act
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-Ddepgraph.inputFile=" + inputFile.getAbsolutePath())
+        .execute(createFullyQualifiedGoal());
+
+    // assert
+    result.assertLogText("[ERROR] Failed to execute goal com.github.ferstl:depgraph-maven-plugin");
+    result.assertLogText("Unable to create dependency graph.");
+  }
+
+  private String createFullyQualifiedGoal() {
+    return this.testProperties.get("project.groupId") + ":"
+        + this.testProperties.get("project.artifactId") + ":"
+        + this.testProperties.get("project.version") + ":"
+        + "render";
+  }
+}
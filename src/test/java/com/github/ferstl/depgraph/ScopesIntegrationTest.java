@@ -77,6 +77,24 @@ public class ScopesIntegrationTest {
     assertFileContents(basedir, "expectations/module-d-compile-scope.txt", "module-d/target/dependency-graph.txt");
   }
 
+  @Test
+  public void compileOnlyWithPrunedScopes() throws Exception {
+    File basedir = this.resources.getBasedir("scopes-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-Dscopes=compile")
+        .withCliOption("-Ddepgraph.pruneExcludedScopes=true")
+        .execute("clean", "depgraph:graph");
+
+    result.assertErrorFreeLog();
+
+    assertFileContents(basedir, "expectations/module-a-compile-scope.txt", "module-a/target/dependency-graph.txt");
+    assertFileContents(basedir, "expectations/module-b-compile-scope.txt", "module-b/target/dependency-graph.txt");
+    assertFileContents(basedir, "expectations/module-c-compile-scope.txt", "module-c/target/dependency-graph.txt");
+    assertFileContents(basedir, "expectations/module-d-compile-scope.txt", "module-d/target/dependency-graph.txt");
+  }
+
   @Test
   public void providedOnly() throws Exception {
     File basedir = this.resources.getBasedir("scopes-test");
@@ -146,4 +164,22 @@ public class ScopesIntegrationTest {
     assertFilesPresent(basedir, "target/dependency-graph.txt");
     assertFileContents(basedir, "expectations/aggregated-provided-and-test.txt", "target/dependency-graph.txt");
   }
+
+  @Test
+  public void aggregatedWithPrunedScopes() throws Exception {
+    File basedir = this.resources.getBasedir("scopes-test");
+    MavenExecutionResult result = this.mavenRuntime
+        .forProject(basedir)
+        .withCliOption("-DgraphFormat=text")
+        .withCliOption("-Dscopes=provided")
+        .withCliOption("-Ddepgraph.pruneExcludedScopes=true")
+        .execute("clean", "depgraph:graph", "depgraph:aggregate");
+
+    result.assertErrorFreeLog();
+
+    assertFileContents(basedir, "expectations/module-a-provided-scope.txt", "module-a/target/dependency-graph.txt");
+    assertFileContents(basedir, "expectations/module-b-provided-scope.txt", "module-b/target/dependency-graph.txt");
+    assertFileContents(basedir, "expectations/module-c-provided-scope.txt", "module-c/target/dependency-graph.txt");
+    assertFileContents(basedir, "expectations/module-d-provided-scope.txt", "module-d/target/dependency-graph.txt");
+  }
 }
@@ -15,6 +15,7 @@
  */
 package com.github.ferstl.depgraph.dependency;
 
+import java.util.Collection;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -65,11 +66,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getNodeNameForGroupIdOnly("group1"), this.from),
         new Node<>(this.toId, getNodeNameForGroupIdOnly("group2"), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
   }
 
   @Test
@@ -86,11 +87,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getNodeNameForArtifactIdOnly("artifact1"), this.from),
         new Node<>(this.versionlessIdRenderer.render(this.to), getNodeNameForArtifactIdOnly("artifact2"), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
   }
 
   @Test
@@ -107,11 +108,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getNodeNameForVersionOnly("version1"), this.from),
         new Node<>(this.toId, getNodeNameForVersionOnly("version2"), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
   }
 
   @Test
@@ -128,11 +129,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getNodeNameForVersionOnly("version1"), this.from),
         new Node<>(this.toId, getNodeNameForVersionOnly("version2"), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForConflictingVersion("version2-alpha", false))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForConflictingVersion("version2-alpha", false))));
   }
 
   @Test
@@ -149,11 +150,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getEmptyNodeName(), this.from),
         new Node<>(this.toId, getEmptyNodeName(), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForNonConflictingVersion("version2"))));
   }
 
   @Test
@@ -170,11 +171,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getEmptyNodeName(), this.from),
         new Node<>(this.toId, getEmptyNodeName(), this.toWithConflict)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForConflictingVersion("version2-alpha", true))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForConflictingVersion("version2-alpha", true))));
   }
 
   @Test
@@ -194,11 +195,11 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getNodeNameForAllAttributes("group1", "artifact1", "version1"), this.from),
         new Node<>(this.toId, getNodeNameForAllAttributes("group2", "artifact2", "version2"), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForConflictingVersion("version2-alpha", true))));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, getEdgeNameForConflictingVersion("version2-alpha", true))));
   }
 
   @Test
@@ -213,15 +214,23 @@ public abstract class AbstractGraphStyleConfigurerTest {
     graphBuilder.toString();
 
     // assert
-    assertThat(this.formatter.nodes, Matchers.<Node>containsInAnyOrder(
+    assertThat(formattedNodes(this.formatter), Matchers.<Node>containsInAnyOrder(
         new Node<>(this.fromId, getEmptyNodeName(), this.from),
         new Node<>(this.toId, getEmptyNodeName(), this.to)));
 
-    assertThat(this.formatter.edges, Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, "")));
+    assertThat(formattedEdges(this.formatter), Matchers.containsInAnyOrder(new Edge(this.fromId, this.toId, "")));
   }
 
   protected abstract GraphStyleConfigurer createGraphStyleConfigurer();
 
+  protected Collection<Node<?>> formattedNodes(TestFormatter formatter) {
+    return formatter.nodes;
+  }
+
+  protected Collection<Edge> formattedEdges(TestFormatter formatter) {
+    return formatter.edges;
+  }
+
   protected abstract String getNodeNameForGroupIdOnly(String groupId);
 
   protected abstract String getNodeNameForArtifactIdOnly(String artifactId);
@@ -16,9 +16,12 @@
 package com.github.ferstl.depgraph.dependency;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.project.DependencyResolutionException;
 import org.apache.maven.project.DependencyResolutionRequest;
 import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
@@ -33,9 +36,14 @@ import com.github.ferstl.depgraph.graph.GraphBuilder;
 import static com.github.ferstl.depgraph.dependency.NodeResolution.INCLUDED;
 import static com.github.ferstl.depgraph.graph.GraphBuilderMatcher.emptyGraph;
 import static com.github.ferstl.depgraph.graph.GraphBuilderMatcher.hasNodesAndEdges;
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -76,7 +84,7 @@ class AggregatingGraphFactoryTest {
     this.dependenciesResolver = mock(ProjectDependenciesResolver.class);
     when(this.dependenciesResolver.resolve(any(DependencyResolutionRequest.class))).thenReturn(dependencyResolutionResult);
 
-    this.adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED));
+    this.adapter = new MavenGraphAdapter(this.dependenciesResolver, transitiveIncludeExcludeFilter, targetFilter, EnumSet.of(INCLUDED), MavenGraphAdapter.Options.defaults());
     this.graphBuilder = GraphBuilder.create(ToStringNodeIdRenderer.INSTANCE);
   }
 
@@ -95,7 +103,7 @@ class AggregatingGraphFactoryTest {
     createMavenProject("child1", parent);
     createMavenProject("child2", parent);
 
-    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, true, false);
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withParentProjects(true));
 
     graphFactory.createGraph(parent);
 
@@ -124,7 +132,7 @@ class AggregatingGraphFactoryTest {
     createMavenProject("child1", parent);
     createMavenProject("child2", parent);
 
-    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, false, false);
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults());
 
     graphFactory.createGraph(parent);
 
@@ -158,7 +166,7 @@ class AggregatingGraphFactoryTest {
     createMavenProject("child2-1", subParent);
     createMavenProject("child2-2", subParent);
 
-    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, true, true);
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withParentProjects(true).withReducedEdges(true));
 
     graphFactory.createGraph(parent);
 
@@ -192,7 +200,7 @@ class AggregatingGraphFactoryTest {
     MavenProject parent = createMavenProject("parent", parentParent);
     createMavenProject("child", parent);
 
-    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, true, false);
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withParentProjects(true));
 
     graphFactory.createGraph(parent);
 
@@ -225,7 +233,7 @@ class AggregatingGraphFactoryTest {
     createMavenProject("child2-1", subParent);
     createMavenProject("child2-2", subParent);
 
-    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, true, false);
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withParentProjects(true));
 
     when(this.globalFilter.include(subParent.getArtifact())).thenReturn(false);
 
@@ -256,7 +264,7 @@ class AggregatingGraphFactoryTest {
     MavenProject child1 = createMavenProject("child1", parent);
     createMavenProject("child2", parent);
 
-    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, true, false);
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withParentProjects(true));
 
     when(this.globalFilter.include(child1.getArtifact())).thenReturn(false);
 
@@ -275,6 +283,62 @@ class AggregatingGraphFactoryTest {
             "\"groupId:parent:jar:version:compile\" -> \"groupId:child2:jar:version:compile\"[style=dotted]"}));
   }
 
+  /**
+   * .
+   * <pre>
+   * parent
+   * - child1 (slow resolution)
+   * - child2
+   * - child3
+   * resolved with 3 threads
+   * </pre>
+   */
+  @Test
+  void parallelResolutionKeepsReactorOrder() throws Exception {
+    MavenProject parent = createMavenProject("parent");
+    createMavenProject("child1", parent);
+    createMavenProject("child2", parent);
+    createMavenProject("child3", parent);
+
+    List<String> visitedProjects = Collections.synchronizedList(new ArrayList<>());
+    mockResolution("child1", visitedProjects, 200);
+    mockResolution("child2", visitedProjects, 0);
+    mockResolution("child3", visitedProjects, 0);
+
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withThreads(3));
+
+    graphFactory.createGraph(parent);
+
+    assertEquals(asList("child1", "child2", "child3"), visitedProjects);
+  }
+
+  @Test
+  void parallelResolutionFailure() throws Exception {
+    MavenProject parent = createMavenProject("parent");
+    createMavenProject("child1", parent);
+    createMavenProject("child2", parent);
+
+    DependencyResolutionException resolutionException = mock(DependencyResolutionException.class);
+    doThrow(resolutionException).when(this.dependenciesResolver).resolve(argThat(projectName("child2")));
+
+    AggregatingGraphFactory graphFactory = new AggregatingGraphFactory(this.adapter, parent::getCollectedProjects, this.globalFilter, this.graphBuilder, AggregatingGraphFactory.Options.defaults().withThreads(2));
+
+    DependencyGraphException e = assertThrows(DependencyGraphException.class, () -> graphFactory.createGraph(parent));
+    assertEquals(resolutionException, e.getCause());
+  }
+
+  private void mockResolution(String projectName, List<String> visitedProjects, long delay) throws Exception {
+    org.eclipse.aether.graph.DependencyNode dependencyNode = mock(org.eclipse.aether.graph.DependencyNode.class);
+    when(dependencyNode.accept(any())).then(invocation -> visitedProjects.add(projectName));
+
+    DependencyResolutionResult dependencyResolutionResult = mock(DependencyResolutionResult.class);
+    when(dependencyResolutionResult.getDependencyGraph()).thenReturn(dependencyNode);
+
+    doAnswer(invocation -> {
+      Thread.sleep(delay);
+      return dependencyResolutionResult;
+    }).when(this.dependenciesResolver).resolve(argThat(projectName(projectName)));
+  }
 
   private MavenProject createMavenProject(String artifactId) {
     MavenProject project = new MavenProject();
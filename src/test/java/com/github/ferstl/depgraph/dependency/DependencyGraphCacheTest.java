@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * JUnit tests for {@link DependencyGraphCache}.
+ */
+class DependencyGraphCacheTest {
+
+  private final AtomicInteger resolutionCount = new AtomicInteger();
+
+  @Test
+  void noCache() {
+    // arrange
+    DependencyGraphCache cache = DependencyGraphCache.noCache();
+    MavenProject project = createProject("module-a");
+
+    // act
+    org.eclipse.aether.graph.DependencyNode first = cache.getDependencyGraph(project, this::resolve);
+    org.eclipse.aether.graph.DependencyNode second = cache.getDependencyGraph(project, this::resolve);
+
+    // assert
+    assertEquals(2, this.resolutionCount.get());
+    assertNotSame(first, second);
+  }
+
+  @Test
+  void inMemory() {
+    // arrange
+    DependencyGraphCache cache = DependencyGraphCache.inMemory(DependencyGraphCache.noCache());
+    MavenProject projectA = createProject("module-a");
+    MavenProject projectB = createProject("module-b");
+
+    // act
+    org.eclipse.aether.graph.DependencyNode first = cache.getDependencyGraph(projectA, this::resolve);
+    org.eclipse.aether.graph.DependencyNode second = cache.getDependencyGraph(projectA, this::resolve);
+    org.eclipse.aether.graph.DependencyNode other = cache.getDependencyGraph(projectB, this::resolve);
+
+    // assert
+    assertEquals(2, this.resolutionCount.get());
+    assertSame(first, second);
+    assertEquals("module-b", other.getArtifact().getArtifactId());
+  }
+
+  @Test
+  void inMemoryUsesDelegate() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode delegateGraph = new DefaultDependencyNode(new DefaultArtifact("com.github.ferstl:cached:1.0.0"));
+    DependencyGraphCache cache = DependencyGraphCache.inMemory((project, resolver) -> delegateGraph);
+    Function<MavenProject, org.eclipse.aether.graph.DependencyNode> resolver = this::resolve;
+
+    // act
+    org.eclipse.aether.graph.DependencyNode graph = cache.getDependencyGraph(createProject("module-a"), resolver);
+
+    // assert
+    assertSame(delegateGraph, graph);
+    assertEquals(0, this.resolutionCount.get());
+  }
+
+  @Test
+  void inMemoryDoesNotKeepFailures() {
+    // arrange
+    DependencyGraphCache cache = DependencyGraphCache.inMemory(DependencyGraphCache.noCache());
+    MavenProject project = createProject("module-a");
+
+    // act
+    assertThrows(IllegalStateException.class, () -> cache.getDependencyGraph(project, p -> {
+      throw new IllegalStateException("resolution failed");
+    }));
+    org.eclipse.aether.graph.DependencyNode graph = cache.getDependencyGraph(project, this::resolve);
+
+    // assert
+    assertEquals("module-a", graph.getArtifact().getArtifactId());
+    assertEquals(1, this.resolutionCount.get());
+  }
+
+  @Test
+  void withFallback() {
+    // arrange
+    DependencyGraphCache fallback = DependencyGraphCache.inMemory(DependencyGraphCache.noCache());
+    DependencyGraphCache cache = DependencyGraphCache.noCache().withFallback(fallback);
+    MavenProject project = createProject("module-a");
+
+    // act
+    org.eclipse.aether.graph.DependencyNode fromFallback = fallback.getDependencyGraph(project, this::resolve);
+    org.eclipse.aether.graph.DependencyNode graph = cache.getDependencyGraph(project, this::resolve);
+
+    // assert
+    assertSame(fromFallback, graph);
+    assertEquals(1, this.resolutionCount.get());
+  }
+
+  private org.eclipse.aether.graph.DependencyNode resolve(MavenProject project) {
+    this.resolutionCount.incrementAndGet();
+    return new DefaultDependencyNode(new DefaultArtifact(project.getGroupId(), project.getArtifactId(), "jar", project.getVersion()));
+  }
+
+  private static MavenProject createProject(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("com.github.ferstl");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    model.setPackaging("jar");
+    return new MavenProject(model);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * JUnit tests for {@link ExecutionProfile}.
+ */
+class ExecutionProfileTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void phasesAndCounters() throws Exception {
+    // arrange
+    ExecutionProfile profile = ExecutionProfile.create("test");
+
+    // act
+    for (int i = 0; i < 2; i++) {
+      try (ExecutionProfile.Measurement ignored = profile.start("resolution")) {
+        allocate();
+      }
+    }
+    try (ExecutionProfile.Measurement ignored = profile.start("edge reduction")) {
+      allocate();
+    }
+    profile.count("nodes", 3);
+    profile.count("nodes", 4);
+
+    // assert
+    String table = profile.toTable();
+    assertThat(table, containsString("resolution                    2"));
+    assertThat(table, containsString("edge reduction                1"));
+    assertThat(table, containsString("nodes                         7"));
+
+    StringWriter writer = new StringWriter();
+    profile.writeJson(writer);
+    String json = writer.toString().replaceAll("\\s", "");
+    assertThat(json, containsString("\"execution\":\"test\""));
+    assertThat(json, containsString("{\"name\":\"resolution\",\"invocations\":2,"));
+    assertThat(json, containsString("\"counters\":{\"nodes\":7}"));
+  }
+
+  @Test
+  void disabled() {
+    // arrange
+    ExecutionProfile profile = ExecutionProfile.disabled();
+
+    // act
+    try (ExecutionProfile.Measurement ignored = profile.start("resolution")) {
+      allocate();
+    }
+    profile.count("nodes", 3);
+
+    // assert
+    assertFalse(profile.isEnabled());
+    assertThat(profile.toTable(), not(containsString("resolution")));
+    assertThat(profile.toTable(), not(containsString("nodes")));
+  }
+
+  @Test
+  void flightRecorderEvents() throws Exception {
+    // arrange
+    ExecutionProfile profile = ExecutionProfile.create("test");
+    Path recordingFile = this.directory.resolve("recording.jfr");
+
+    // act
+    try (Recording recording = new Recording()) {
+      recording.enable("com.github.ferstl.depgraph.Phase");
+      recording.start();
+      try (ExecutionProfile.Measurement ignored = profile.start("visiting")) {
+        allocate();
+      }
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    // assert
+    List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+    assertThat(events, hasSize(1));
+    assertEquals("test", events.get(0).getString("execution"));
+    assertEquals("visiting", events.get(0).getString("phase"));
+  }
+
+  private static void allocate() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append(i);
+    }
+    assertFalse(sb.toString().isEmpty());
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * JUnit tests for {@link FileDependencyGraphCache}.
+ */
+class FileDependencyGraphCacheTest {
+
+  private static final String PLUGIN_VERSION = "1.0.0";
+
+  @TempDir
+  Path cacheDirectory;
+
+  private MavenProject project;
+  private MavenProject reactorDependency;
+  private int resolutionCount;
+
+  @BeforeEach
+  void before() {
+    this.reactorDependency = createProject("module-b");
+    this.project = createProject("module-a");
+    this.project.getModel().addDependency(createDependency("com.github.ferstl", "module-b", "1.0.0-SNAPSHOT"));
+  }
+
+  @Test
+  void cacheHit() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode resolvedGraph = createGraph("1.0.0");
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // act
+    org.eclipse.aether.graph.DependencyNode cachedGraph = createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // assert
+    assertEquals(1, this.resolutionCount);
+    assertNotSame(resolvedGraph, cachedGraph);
+    assertEquals(describe(resolvedGraph), describe(cachedGraph));
+  }
+
+  @Test
+  void changedModel() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode resolvedGraph = createGraph("1.0.0");
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+    this.project.getModel().addProperty("changed", "true");
+
+    // act
+    org.eclipse.aether.graph.DependencyNode graph = createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // assert
+    assertEquals(2, this.resolutionCount);
+    assertSame(resolvedGraph, graph);
+  }
+
+  @Test
+  void changedReactorDependency() {
+    // arrange
+    FileDependencyGraphCache cache = createCache();
+    String key = cache.createKey(this.project);
+    this.reactorDependency.getModel().addProperty("changed", "true");
+
+    // act
+    String newKey = createCache().createKey(this.project);
+
+    // assert
+    assertNotEquals(key, newKey);
+  }
+
+  @Test
+  void changedPluginVersion() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode resolvedGraph = createGraph("1.0.0");
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // act
+    org.eclipse.aether.graph.DependencyNode graph = createCache("1.0.1").getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // assert
+    assertEquals(2, this.resolutionCount);
+    assertSame(resolvedGraph, graph);
+  }
+
+  @Test
+  void deepGraph() {
+    // arrange
+    DefaultDependencyNode resolvedGraph = new DefaultDependencyNode(new DefaultArtifact("com.github.ferstl:module-a:jar:1.0.0-SNAPSHOT"));
+    DefaultDependencyNode parent = resolvedGraph;
+    for (int i = 0; i < 10_000; i++) {
+      DefaultDependencyNode child = createNode(new DefaultArtifact("com.example:artifact-" + i + ":jar:1.0"), "compile", false);
+      parent.setChildren(new ArrayList<>(Collections.singletonList(child)));
+      parent = child;
+    }
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // act
+    org.eclipse.aether.graph.DependencyNode cachedGraph = createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // assert
+    assertEquals(1, this.resolutionCount);
+    assertNotSame(resolvedGraph, cachedGraph);
+    int depth = 0;
+    for (org.eclipse.aether.graph.DependencyNode node = cachedGraph; !node.getChildren().isEmpty(); node = node.getChildren().get(0)) {
+      depth++;
+    }
+    assertEquals(10_000, depth);
+  }
+
+  @Test
+  void externalSnapshotIsNotCached() {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode resolvedGraph = createGraph("1.0.0-SNAPSHOT");
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // act
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // assert
+    assertEquals(2, this.resolutionCount);
+  }
+
+  @Test
+  void corruptCacheFile() throws IOException {
+    // arrange
+    org.eclipse.aether.graph.DependencyNode resolvedGraph = createGraph("1.0.0");
+    createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+    try (Stream<Path> cacheFiles = Files.list(this.cacheDirectory)) {
+      for (Path cacheFile : (Iterable<Path>) cacheFiles::iterator) {
+        Files.write(cacheFile, Arrays.copyOf(Files.readAllBytes(cacheFile), 100));
+      }
+    }
+
+    // act
+    org.eclipse.aether.graph.DependencyNode graph = createCache().getDependencyGraph(this.project, resolver(resolvedGraph));
+
+    // assert
+    assertEquals(2, this.resolutionCount);
+    assertSame(resolvedGraph, graph);
+  }
+
+  private FileDependencyGraphCache createCache() {
+    return createCache(PLUGIN_VERSION);
+  }
+
+  private FileDependencyGraphCache createCache(String pluginVersion) {
+    return new FileDependencyGraphCache(this.cacheDirectory, pluginVersion, asList(this.project, this.reactorDependency));
+  }
+
+  private Function<MavenProject, org.eclipse.aether.graph.DependencyNode> resolver(org.eclipse.aether.graph.DependencyNode graph) {
+    return project -> {
+      this.resolutionCount++;
+      return graph;
+    };
+  }
+
+  /**
+   * Creates this graph:
+   * <pre>
+   * module-a
+   * +- module-b:1.0.0-SNAPSHOT (compile)
+   * |  \- guava:&lt;guavaVersion&gt; (compile, optional, classifier and type)
+   * \- commons-lang:1.0 (test, omitted for conflict with 2.0)
+   * </pre>
+   */
+  private static org.eclipse.aether.graph.DependencyNode createGraph(String guavaVersion) {
+    DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("com.github.ferstl:module-a:jar:1.0.0-SNAPSHOT"));
+
+    DefaultDependencyNode moduleB = createNode(new DefaultArtifact("com.github.ferstl:module-b:jar:1.0.0-SNAPSHOT"), "compile", false);
+    DefaultArtifact guava = new DefaultArtifact("com.google.guava", "guava", "tests", "jar", guavaVersion, Collections.singletonMap("type", "test-jar"), (File) null);
+    moduleB.setChildren(new ArrayList<>(Collections.singletonList(createNode(guava, "compile", true))));
+
+    DefaultDependencyNode commonsLang = createNode(new DefaultArtifact("org.apache:commons-lang:jar:1.0"), "test", false);
+    commonsLang.setData(ConflictResolver.NODE_DATA_WINNER, new DefaultDependencyNode(new DefaultArtifact("org.apache:commons-lang:jar:2.0")));
+
+    root.setChildren(new ArrayList<>(asList(moduleB, commonsLang)));
+    return root;
+  }
+
+  private static DefaultDependencyNode createNode(DefaultArtifact artifact, String scope, boolean optional) {
+    return new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(artifact, scope, optional));
+  }
+
+  private static List<String> describe(org.eclipse.aether.graph.DependencyNode graph) {
+    List<String> description = new ArrayList<>();
+    describe(graph, "", description);
+    return description;
+  }
+
+  private static void describe(org.eclipse.aether.graph.DependencyNode node, String indent, List<String> description) {
+    DependencyNode dependencyNode = new DependencyNode(node);
+    description.add(indent + dependencyNode.getArtifact() + " optional=" + dependencyNode.getArtifact().isOptional()
+        + " resolution=" + dependencyNode.getResolution() + " effectiveVersion=" + dependencyNode.getEffectiveVersion());
+
+    for (org.eclipse.aether.graph.DependencyNode child : node.getChildren()) {
+      describe(child, indent + "  ", description);
+    }
+  }
+
+  private static MavenProject createProject(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("com.github.ferstl");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    return new MavenProject(model);
+  }
+
+  private static Dependency createDependency(String groupId, String artifactId, String version) {
+    Dependency dependency = new Dependency();
+    dependency.setGroupId(groupId);
+    dependency.setArtifactId(artifactId);
+    dependency.setVersion(version);
+    return dependency;
+  }
+}
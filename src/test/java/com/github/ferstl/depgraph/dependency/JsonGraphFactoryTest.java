@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.github.ferstl.depgraph.dependency.json.JsonGraphStyleConfigurer;
+import com.github.ferstl.depgraph.dependency.text.TextGraphStyleConfigurer;
+import com.github.ferstl.depgraph.graph.GraphBuilder;
+import com.github.ferstl.depgraph.graph.NodeRenderer;
+import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.createDependencyNode;
+import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.createDependencyNodeWithConflict;
+import static com.github.ferstl.depgraph.dependency.DependencyNodeUtil.createDependencyNodeWithDuplicate;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * JUnit tests for {@link JsonGraphFactory}.
+ */
+class JsonGraphFactoryTest {
+
+  private static final ArtifactFilter INCLUDE_ALL = artifact -> true;
+
+  @TempDir
+  Path tempDir;
+
+  private Path inputFile;
+
+  @BeforeEach
+  void before() {
+    this.inputFile = this.tempDir.resolve("graph.json");
+  }
+
+  @Test
+  void roundTrip() throws Exception {
+    // arrange
+    String json = createJsonGraph();
+    Files.write(this.inputFile, json.getBytes(UTF_8));
+
+    // act
+    GraphBuilder<DependencyNode> graph = new JsonGraphFactory(this.inputFile, INCLUDE_ALL, JsonGraphFactoryTest::createJsonGraphBuilder).createGraph(null);
+
+    // assert
+    assertEquals(json, graph.toString());
+  }
+
+  @Test
+  void renderAsText() throws Exception {
+    // arrange
+    Files.write(this.inputFile, createJsonGraph().getBytes(UTF_8));
+
+    // act
+    GraphBuilder<DependencyNode> graph = new JsonGraphFactory(this.inputFile, INCLUDE_ALL, JsonGraphFactoryTest::createTextGraphBuilder).createGraph(null);
+
+    // assert
+    assertEquals(""
+            + "parent:1.0.0:compile\n"
+            + "\\- module:1.0.0:compile\n"
+            + "   +- a:1.0.0:compile\n"
+            + "   |  \\- c:2.0.0:compile (omitted for conflict: 2.0.0-alpha)\n"
+            + "   \\- b:1.0.0:test\n"
+            + "      \\- a:1.0.0:compile (omitted for duplicate)\n",
+        graph.toString());
+  }
+
+  @Test
+  void globalFilter() throws Exception {
+    // arrange
+    Files.write(this.inputFile, createJsonGraph().getBytes(UTF_8));
+    ArtifactFilter excludeA = artifact -> !"a".equals(artifact.getArtifactId());
+
+    // act
+    GraphBuilder<DependencyNode> graph = new JsonGraphFactory(this.inputFile, excludeA, JsonGraphFactoryTest::createTextGraphBuilder).createGraph(null);
+
+    // assert
+    assertEquals(""
+            + "parent:1.0.0:compile\n"
+            + "\\- module:1.0.0:compile\n"
+            + "   \\- b:1.0.0:test\n"
+            + "c:2.0.0:compile\n",
+        graph.toString());
+  }
+
+  @Test
+  void missingVersion() throws Exception {
+    // arrange
+    Files.write(this.inputFile, ("{\"graphName\":\"test\",\"artifacts\":[{\"id\":\"g:a:jar\",\"groupId\":\"g\",\"artifactId\":\"a\"}],\"dependencies\":[]}").getBytes(UTF_8));
+    JsonGraphFactory factory = new JsonGraphFactory(this.inputFile, INCLUDE_ALL, JsonGraphFactoryTest::createJsonGraphBuilder);
+
+    // act
+    DependencyGraphException e = assertThrows(DependencyGraphException.class, () -> factory.createGraph(null));
+
+    // assert
+    assertThat(e.getCause().getMessage(), containsString("Missing 'version'"));
+    assertThat(e.getCause().getMessage(), containsString("showAllAttributesForJson=true"));
+  }
+
+  @Test
+  void unknownArtifact() throws Exception {
+    // arrange
+    Files.write(this.inputFile, ("{\"graphName\":\"test\",\"artifacts\":[],\"dependencies\":[{\"from\":\"g:a:jar\",\"to\":\"g:b:jar\"}]}").getBytes(UTF_8));
+    JsonGraphFactory factory = new JsonGraphFactory(this.inputFile, INCLUDE_ALL, JsonGraphFactoryTest::createJsonGraphBuilder);
+
+    // act
+    DependencyGraphException e = assertThrows(DependencyGraphException.class, () -> factory.createGraph(null));
+
+    // assert
+    assertThat(e.getCause().getMessage(), containsString("Unknown artifact 'g:a:jar'"));
+  }
+
+  @Test
+  void missingFile() {
+    // arrange
+    JsonGraphFactory factory = new JsonGraphFactory(this.tempDir.resolve("missing.json"), INCLUDE_ALL, JsonGraphFactoryTest::createJsonGraphBuilder);
+
+    // act/assert
+    DependencyGraphException e = assertThrows(DependencyGraphException.class, () -> factory.createGraph(null));
+    assertThat(e.getCause(), instanceOf(IOException.class));
+  }
+
+  /**
+   * Creates a JSON graph with all attributes like the {@code aggregate} goal with conflicts and duplicates.
+   */
+  private static String createJsonGraph() {
+    DependencyNode parent = new DependencyNode(new DefaultArtifact("groupId", "parent", "1.0.0", null, "pom", "", null));
+    DependencyNode moduleAsChild = new DependencyNode(new DefaultArtifact("groupId", "module", "1.0.0", null, "jar", "", null));
+    DependencyNode module = createDependencyNode("groupId", "module", "1.0.0", "compile");
+    DependencyNode a = createDependencyNode("groupId", "a", "1.0.0");
+    DependencyNode b = createDependencyNode("groupId", "b", "1.0.0", "test");
+    DependencyNode aDuplicate = createDependencyNodeWithDuplicate("groupId", "a", "1.0.0");
+    DependencyNode cConflict = createDependencyNodeWithConflict("groupId", "c", "2.0.0");
+
+    GraphBuilder<DependencyNode> graphBuilder = createJsonGraphBuilder(DependencyNodeIdRenderer.versionlessId().withType(true));
+    graphBuilder.graphName("test");
+    graphBuilder.addEdge(parent, moduleAsChild);
+    graphBuilder.addEdge(module, a);
+    graphBuilder.addEdge(a, cConflict);
+    graphBuilder.addEdge(module, b);
+    graphBuilder.addEdge(b, aDuplicate);
+
+    return graphBuilder.toString();
+  }
+
+  private static GraphBuilder<DependencyNode> createJsonGraphBuilder(NodeRenderer<? super DependencyNode> nodeIdRenderer) {
+    return configure(new JsonGraphStyleConfigurer(), true, nodeIdRenderer);
+  }
+
+  private static GraphBuilder<DependencyNode> createTextGraphBuilder(NodeRenderer<? super DependencyNode> nodeIdRenderer) {
+    return configure(new TextGraphStyleConfigurer(), false, nodeIdRenderer);
+  }
+
+  private static GraphBuilder<DependencyNode> configure(GraphStyleConfigurer configurer, boolean showAll, NodeRenderer<? super DependencyNode> nodeIdRenderer) {
+    return configurer
+        .showGroupIds(showAll)
+        .showArtifactIds(true)
+        .showTypes(showAll)
+        .showClassifiers(showAll)
+        .showOptional(showAll)
+        .showScope(true)
+        .showVersionsOnNodes(true)
+        .showVersionsOnEdges(true)
+        .configure(GraphBuilder.create(nodeIdRenderer));
+  }
+}
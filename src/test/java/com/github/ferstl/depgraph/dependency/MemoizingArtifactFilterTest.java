@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link MemoizingArtifactFilter}.
+ */
+class MemoizingArtifactFilterTest {
+
+  private List<Artifact> evaluatedArtifacts;
+  private MemoizingArtifactFilter filter;
+
+  @BeforeEach
+  void before() {
+    this.evaluatedArtifacts = new ArrayList<>();
+    StrictPatternIncludesArtifactFilter patternFilter = new StrictPatternIncludesArtifactFilter(singletonList("com.github.ferstl:*:*:[1.0.0,2.0.0)"));
+    this.filter = new MemoizingArtifactFilter(artifact -> {
+      this.evaluatedArtifacts.add(artifact);
+      return patternFilter.include(artifact) && !artifact.isOptional();
+    });
+  }
+
+  @Test
+  void sameArtifact() {
+    // act
+    boolean first = this.filter.include(createArtifact("module-a", "1.0.0", "compile", false));
+    boolean second = this.filter.include(createArtifact("module-a", "1.0.0", "compile", false));
+
+    // assert
+    assertTrue(first);
+    assertTrue(second);
+    assertEquals(1, this.evaluatedArtifacts.size());
+  }
+
+  @Test
+  void differentArtifacts() {
+    // act
+    boolean includedVersion = this.filter.include(createArtifact("module-a", "1.0.0", "compile", false));
+    boolean excludedVersion = this.filter.include(createArtifact("module-a", "2.0.0", "compile", false));
+    boolean otherScope = this.filter.include(createArtifact("module-a", "1.0.0", "test", false));
+    boolean optional = this.filter.include(createArtifact("module-a", "1.0.0", "compile", true));
+
+    // assert
+    assertTrue(includedVersion);
+    assertFalse(excludedVersion);
+    assertTrue(otherScope);
+    assertFalse(optional);
+    assertEquals(4, this.evaluatedArtifacts.size());
+  }
+
+  private static Artifact createArtifact(String artifactId, String version, String scope, boolean optional) {
+    DefaultArtifact artifact = new DefaultArtifact("com.github.ferstl", artifactId, version, scope, "jar", "", null);
+    artifact.setOptional(optional);
+    return artifact;
+  }
+}
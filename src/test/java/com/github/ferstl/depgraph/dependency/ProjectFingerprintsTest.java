@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * JUnit tests for {@link ProjectFingerprints}.
+ */
+class ProjectFingerprintsTest {
+
+  private MavenProject project;
+  private MavenProject reactorDependency;
+  private MavenProject otherReactorProject;
+
+  @BeforeEach
+  void before() {
+    this.reactorDependency = createProject("module-b");
+    this.otherReactorProject = createProject("module-c");
+    this.project = createProject("module-a");
+    this.project.getModel().addDependency(createDependency("module-b"));
+  }
+
+  @Test
+  void sameModel() {
+    // arrange
+    String fingerprint = createFingerprints().getFingerprint(this.project);
+
+    // act
+    String newFingerprint = createFingerprints().getFingerprint(this.project);
+
+    // assert
+    assertEquals(fingerprint, newFingerprint);
+  }
+
+  @Test
+  void changedDependencyManagement() {
+    // arrange
+    String fingerprint = createFingerprints().getFingerprint(this.project);
+    DependencyManagement dependencyManagement = new DependencyManagement();
+    dependencyManagement.addDependency(createDependency("module-x"));
+    this.project.getModel().setDependencyManagement(dependencyManagement);
+
+    // act
+    String newFingerprint = createFingerprints().getFingerprint(this.project);
+
+    // assert
+    assertNotEquals(fingerprint, newFingerprint);
+  }
+
+  @Test
+  void changedReactorDependency() {
+    // arrange
+    String fingerprint = createFingerprints().getFingerprint(this.project);
+    this.reactorDependency.getModel().addProperty("changed", "true");
+
+    // act
+    String newFingerprint = createFingerprints().getFingerprint(this.project);
+
+    // assert
+    assertNotEquals(fingerprint, newFingerprint);
+  }
+
+  @Test
+  void changedUnrelatedReactorProject() {
+    // arrange
+    String fingerprint = createFingerprints().getFingerprint(this.project);
+    this.otherReactorProject.getModel().addProperty("changed", "true");
+
+    // act
+    String newFingerprint = createFingerprints().getFingerprint(this.project);
+
+    // assert
+    assertEquals(fingerprint, newFingerprint);
+  }
+
+  private ProjectFingerprints createFingerprints() {
+    return new ProjectFingerprints(asList(this.project, this.reactorDependency, this.otherReactorProject));
+  }
+
+  private static MavenProject createProject(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("com.github.ferstl");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    return new MavenProject(model);
+  }
+
+  private static Dependency createDependency(String artifactId) {
+    Dependency dependency = new Dependency();
+    dependency.setGroupId("com.github.ferstl");
+    dependency.setArtifactId(artifactId);
+    dependency.setVersion("1.0.0-SNAPSHOT");
+    return dependency;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * JUnit tests for {@link ReactorAnalysis}.
+ */
+class ReactorAnalysisTest {
+
+  private List<String> modules;
+  private Map<String, List<String>> upstreamModules;
+
+  @BeforeEach
+  void before() {
+    this.modules = new ArrayList<>();
+    this.upstreamModules = new LinkedHashMap<>();
+  }
+
+  @Test
+  void reactorGraphTestProject() {
+    // arrange (modules in the reactor order of the "reactor-graph" test project)
+    addModule("parent");
+    addModule("api", "parent");
+    addModule("common", "parent");
+    addModule("database", "parent", "common");
+    addModule("service", "parent", "api", "common", "database");
+    addModule("ui", "parent", "api", "common");
+    addModule("application", "parent", "service", "ui");
+
+    // act
+    ReactorAnalysis analysis = ReactorAnalysis.analyze(this.modules, this.upstreamModules, Collections.emptyMap());
+
+    // assert
+    assertThat(analysis.getCriticalPath(), contains("parent", "common", "database", "service", "application"));
+    assertEquals(5.0, analysis.getCriticalPathLength());
+    assertEquals(7.0, analysis.getTotalWeight());
+    assertEquals(2, analysis.getMaxParallelism());
+
+    Map<Integer, List<String>> expectedLevels = new LinkedHashMap<>();
+    expectedLevels.put(0, asList("parent"));
+    expectedLevels.put(1, asList("api", "common"));
+    expectedLevels.put(2, asList("database", "ui"));
+    expectedLevels.put(3, asList("service"));
+    expectedLevels.put(4, asList("application"));
+    assertEquals(expectedLevels, analysis.getModulesByLevel());
+  }
+
+  @Test
+  void weightedCriticalPath() {
+    // arrange
+    addModule("a");
+    addModule("b", "a");
+    addModule("c", "b");
+    addModule("d", "a");
+    addModule("e", "c", "d");
+    Map<String, Double> weights = new HashMap<>();
+    weights.put("d", 10.0);
+
+    // act
+    ReactorAnalysis analysis = ReactorAnalysis.analyze(this.modules, this.upstreamModules, weights);
+
+    // assert
+    assertThat(analysis.getCriticalPath(), contains("a", "d", "e"));
+    assertEquals(12.0, analysis.getCriticalPathLength());
+    assertEquals(14.0, analysis.getTotalWeight());
+  }
+
+  @Test
+  void independentModules() {
+    // arrange
+    addModule("a");
+    addModule("b");
+    addModule("c");
+
+    // act
+    ReactorAnalysis analysis = ReactorAnalysis.analyze(this.modules, this.upstreamModules, Collections.emptyMap());
+
+    // assert
+    assertThat(analysis.getCriticalPath(), contains("a"));
+    assertEquals(1.0, analysis.getCriticalPathLength());
+    assertEquals(3, analysis.getMaxParallelism());
+  }
+
+  @Test
+  void emptyReactor() {
+    // act
+    ReactorAnalysis analysis = ReactorAnalysis.analyze(this.modules, this.upstreamModules, Collections.emptyMap());
+
+    // assert
+    assertThat(analysis.getCriticalPath(), empty());
+    assertEquals(0.0, analysis.getCriticalPathLength());
+    assertEquals(0, analysis.getMaxParallelism());
+  }
+
+  @Test
+  void upstreamModuleAfterDownstreamModule() {
+    // arrange
+    addModule("a", "b");
+    addModule("b");
+
+    // act/assert
+    assertThrows(IllegalArgumentException.class, () -> ReactorAnalysis.analyze(this.modules, this.upstreamModules, Collections.emptyMap()));
+  }
+
+  @Test
+  void writeJson() throws Exception {
+    // arrange
+    addModule("a");
+    addModule("b", "a");
+    addModule("c", "a");
+    ReactorAnalysis analysis = ReactorAnalysis.analyze(this.modules, this.upstreamModules, Collections.singletonMap("b", 3.0));
+    StringWriter writer = new StringWriter();
+
+    // act
+    analysis.writeJson(writer);
+
+    // assert
+    String json = writer.toString().replaceAll("\\s", "");
+    assertThat(json, containsString("\"criticalPath\":[\"a\",\"b\"]"));
+    assertThat(json, containsString("\"maxParallelism\":2"));
+    assertThat(json, containsString("{\"id\":\"c\",\"level\":1,\"weight\":1.0,\"earliestStart\":1.0,\"earliestFinish\":2.0,\"slack\":2.0,"
+        + "\"critical\":false,\"upstreamModules\":[\"a\"]}"));
+  }
+
+  private void addModule(String module, String... upstreamModules) {
+    this.modules.add(module);
+    this.upstreamModules.put(module, asList(upstreamModules));
+  }
+}
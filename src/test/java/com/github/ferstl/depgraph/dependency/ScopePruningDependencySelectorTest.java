@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JUnit tests for {@link ScopePruningDependencySelector}.
+ */
+class ScopePruningDependencySelectorTest {
+
+  @Test
+  void compileScope() {
+    // act
+    ScopePruningDependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("compile"));
+
+    // assert
+    assertThat(selector.getPrunedScopes(), containsInAnyOrder("provided", "runtime", "test", "system"));
+  }
+
+  @Test
+  void runtimeScope() {
+    // act
+    ScopePruningDependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("runtime"));
+
+    // assert
+    assertThat(selector.getPrunedScopes(), containsInAnyOrder("provided", "test", "system"));
+  }
+
+  @Test
+  void testScopeIsReachableFromAllScopes() {
+    // act
+    ScopePruningDependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("test"));
+
+    // assert
+    assertThat(selector.getPrunedScopes(), empty());
+  }
+
+  @Test
+  void systemScopeIsReachableFromAllScopes() {
+    // act
+    ScopePruningDependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Arrays.asList("compile", "provided", "system"));
+
+    // assert
+    assertThat(selector.getPrunedScopes(), empty());
+  }
+
+  @Test
+  void selectDirectDependencies() {
+    // arrange
+    DependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("compile"))
+        .deriveChildSelector(context(null));
+
+    // act/assert
+    assertTrue(selector.selectDependency(dependency("compile")));
+    assertTrue(selector.selectDependency(dependency("")));
+    assertTrue(selector.selectDependency(dependency("custom")));
+    assertFalse(selector.selectDependency(dependency("runtime")));
+    assertFalse(selector.selectDependency(dependency("test")));
+  }
+
+  @Test
+  void selectTransitiveDependencies() {
+    // arrange
+    ScopePruningDependencySelector rootSelector = ScopePruningDependencySelector.forIncludedScopes(Arrays.asList("compile", "runtime"));
+
+    // act
+    DependencySelector compileSelector = rootSelector.deriveChildSelector(context(dependency("compile")));
+    DependencySelector providedSelector = rootSelector.deriveChildSelector(context(dependency("provided")));
+
+    // assert
+    assertTrue(compileSelector.selectDependency(dependency("runtime")));
+    assertFalse(compileSelector.selectDependency(dependency("provided")));
+    // Compile dependencies of provided dependencies are provided too
+    assertFalse(providedSelector.selectDependency(dependency("compile")));
+  }
+
+  @Test
+  void childSelectorIsReusedForSameScope() {
+    // arrange
+    DependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("compile"))
+        .deriveChildSelector(context(dependency("runtime")));
+
+    // act
+    DependencySelector childSelector = selector.deriveChildSelector(context(dependency("compile")));
+
+    // assert
+    assertSame(selector, childSelector);
+    assertEquals(childSelector, ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("compile")).deriveChildSelector(context(dependency("runtime"))));
+  }
+
+  @Test
+  void combinedSelector() {
+    // arrange
+    DependencySelector delegate = mock(DependencySelector.class);
+    DependencySelector childDelegate = mock(DependencySelector.class);
+    DependencyCollectionContext context = context(dependency("compile"));
+    when(delegate.deriveChildSelector(context)).thenReturn(childDelegate);
+    when(childDelegate.selectDependency(any())).thenReturn(false);
+
+    // act
+    DependencySelector selector = ScopePruningDependencySelector.forIncludedScopes(Collections.singletonList("compile"))
+        .and(delegate)
+        .deriveChildSelector(context);
+
+    // assert
+    assertFalse(selector.selectDependency(dependency("compile")));
+    verify(childDelegate).selectDependency(any());
+  }
+
+  @Test
+  void deriveScope() {
+    // act/assert
+    assertEquals("compile", ScopePruningDependencySelector.deriveScope(null, "compile"));
+    assertEquals("runtime", ScopePruningDependencySelector.deriveScope("compile", "runtime"));
+    assertEquals("runtime", ScopePruningDependencySelector.deriveScope("runtime", "compile"));
+    assertEquals("test", ScopePruningDependencySelector.deriveScope("test", "runtime"));
+    assertEquals("provided", ScopePruningDependencySelector.deriveScope("provided", "compile"));
+    assertEquals("provided", ScopePruningDependencySelector.deriveScope("system", "compile"));
+    assertEquals("system", ScopePruningDependencySelector.deriveScope("test", "system"));
+    assertEquals("test", ScopePruningDependencySelector.deriveScope("provided", "test"));
+  }
+
+  private static Dependency dependency(String scope) {
+    return new Dependency(new DefaultArtifact("com.example:artifact:1.0.0"), scope);
+  }
+
+  private static DependencyCollectionContext context(Dependency dependency) {
+    DependencyCollectionContext context = mock(DependencyCollectionContext.class);
+    when(context.getDependency()).thenReturn(dependency);
+    return context;
+  }
+}
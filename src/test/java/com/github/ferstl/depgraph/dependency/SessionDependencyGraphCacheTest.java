@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * JUnit tests for {@link SessionDependencyGraphCache}.
+ */
+class SessionDependencyGraphCacheTest {
+
+  private SessionDependencyGraphCache cache;
+  private AtomicInteger resolutionCount;
+
+  @BeforeEach
+  void before() {
+    this.cache = new SessionDependencyGraphCache();
+    this.resolutionCount = new AtomicInteger();
+  }
+
+  @Test
+  void forSession() {
+    // arrange
+    DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    // act
+    SessionDependencyGraphCache first = SessionDependencyGraphCache.forSession(session);
+    SessionDependencyGraphCache second = SessionDependencyGraphCache.forSession(new DefaultRepositorySystemSession(session));
+    SessionDependencyGraphCache otherSession = SessionDependencyGraphCache.forSession(new DefaultRepositorySystemSession());
+
+    // assert
+    assertSame(first, second);
+    assertNotSame(first, otherSession);
+  }
+
+  @Test
+  void sharedBetweenViews() {
+    // arrange
+    DependencyGraphCache goal1 = this.cache.forConfiguration("all");
+    DependencyGraphCache goal2 = this.cache.forConfiguration("all");
+    MavenProject project = createProject("module-a");
+
+    // act
+    DependencyNode first = goal1.getDependencyGraph(project, this::resolve);
+    DependencyNode second = goal2.getDependencyGraph(project, this::resolve);
+
+    // assert
+    assertSame(first, second);
+    assertEquals(1, this.resolutionCount.get());
+    assertEquals(1, this.cache.getHits());
+    assertEquals(1, this.cache.getMisses());
+  }
+
+  @Test
+  void separateConfigurations() {
+    // arrange
+    MavenProject project = createProject("module-a");
+
+    // act
+    DependencyNode all = this.cache.forConfiguration("all").getDependencyGraph(project, this::resolve);
+    DependencyNode pruned = this.cache.forConfiguration("scopes-compile").getDependencyGraph(project, this::resolve);
+
+    // assert
+    assertNotSame(all, pruned);
+    assertEquals(2, this.resolutionCount.get());
+    assertEquals(0, this.cache.getHits());
+    assertEquals(2, this.cache.getMisses());
+  }
+
+  @Test
+  void failedResolutionIsNotCached() {
+    // arrange
+    DependencyGraphCache view = this.cache.forConfiguration("all");
+    MavenProject project = createProject("module-a");
+    IllegalStateException failure = new IllegalStateException("test");
+
+    // act
+    IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> view.getDependencyGraph(project, p -> {
+      throw failure;
+    }));
+    DependencyNode graph = view.getDependencyGraph(project, this::resolve);
+
+    // assert
+    assertSame(failure, thrown);
+    assertEquals("module-a", graph.getArtifact().getArtifactId());
+    assertEquals(1, this.resolutionCount.get());
+  }
+
+  @Test
+  void concurrentRequestsResolveOnce() throws Exception {
+    // arrange
+    DependencyGraphCache view = this.cache.forConfiguration("all");
+    MavenProject project = createProject("module-a");
+    CountDownLatch resolutionStarted = new CountDownLatch(1);
+    CountDownLatch resolutionAllowed = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      // act
+      Future<DependencyNode> first = executor.submit(() -> view.getDependencyGraph(project, p -> {
+        resolutionStarted.countDown();
+        awaitUninterruptibly(resolutionAllowed);
+        return resolve(p);
+      }));
+      resolutionStarted.await();
+      Future<DependencyNode> second = executor.submit(() -> view.getDependencyGraph(project, this::resolve));
+      while (this.cache.getHits() == 0) {
+        Thread.yield();
+      }
+      resolutionAllowed.countDown();
+
+      // assert
+      assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+      assertEquals(1, this.resolutionCount.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private DependencyNode resolve(MavenProject project) {
+    this.resolutionCount.incrementAndGet();
+    return new DefaultDependencyNode(new DefaultArtifact(project.getGroupId(), project.getArtifactId(), "jar", project.getVersion()));
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static MavenProject createProject(String artifactId) {
+    Model model = new Model();
+    model.setGroupId("com.github.ferstl");
+    model.setArtifactId(artifactId);
+    model.setVersion("1.0.0-SNAPSHOT");
+    model.setPackaging("jar");
+    return new MavenProject(model);
+  }
+}
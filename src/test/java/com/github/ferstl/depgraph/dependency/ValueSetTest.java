@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency;
+
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JUnit tests for {@link ValueSet}.
+ */
+class ValueSetTest {
+
+  @Test
+  void emptySet() {
+    // arrange
+    ValueSet values = new ValueSet(ValueSet.SCOPES);
+
+    // act/assert
+    assertTrue(values.isEmpty());
+    assertNull(values.first());
+    assertThat(values.toSet(), empty());
+  }
+
+  @Test
+  void wellKnownValues() {
+    // arrange
+    ValueSet values = new ValueSet(ValueSet.SCOPES);
+
+    // act
+    values.add("test");
+    values.add("compile");
+    values.add("test");
+
+    // assert
+    assertFalse(values.isEmpty());
+    assertEquals("compile", values.first());
+    assertThat(values.toSet(), contains("compile", "test"));
+  }
+
+  @Test
+  void otherValuesAreSorted() {
+    // arrange
+    ValueSet values = new ValueSet(ValueSet.TYPES);
+
+    // act
+    values.add("zip");
+    values.add("jar");
+    values.add("aar");
+    values.add("pom");
+
+    // assert
+    assertEquals("aar", values.first());
+    assertThat(values.toSet(), contains("aar", "jar", "pom", "zip"));
+  }
+
+  @Test
+  void addAll() {
+    // arrange
+    ValueSet values = new ValueSet(ValueSet.CLASSIFIERS);
+    values.add("tests");
+    ValueSet other = new ValueSet(ValueSet.CLASSIFIERS);
+    other.add("sources");
+    other.add("linux-x86_64");
+
+    // act
+    values.addAll(other);
+
+    // assert
+    assertThat(values.toSet(), contains("linux-x86_64", "sources", "tests"));
+    assertThat(other.toSet(), contains("linux-x86_64", "sources"));
+  }
+
+  @Test
+  void addAllIncompatible() {
+    // arrange
+    ValueSet values = new ValueSet(ValueSet.SCOPES);
+    ValueSet other = new ValueSet(ValueSet.TYPES);
+
+    // act/assert
+    assertThrows(IllegalArgumentException.class, () -> values.addAll(other));
+  }
+}
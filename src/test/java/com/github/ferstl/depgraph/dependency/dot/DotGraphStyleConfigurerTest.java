@@ -15,9 +15,14 @@
  */
 package com.github.ferstl.depgraph.dependency.dot;
 
+import java.util.Collection;
 import com.github.ferstl.depgraph.dependency.AbstractGraphStyleConfigurerTest;
 import com.github.ferstl.depgraph.dependency.GraphStyleConfigurer;
 import com.github.ferstl.depgraph.dependency.dot.style.StyleConfiguration;
+import com.github.ferstl.depgraph.graph.Edge;
+import com.github.ferstl.depgraph.graph.Node;
+import com.github.ferstl.depgraph.graph.TestFormatter;
+import static java.util.stream.Collectors.toList;
 
 public class DotGraphStyleConfigurerTest extends AbstractGraphStyleConfigurerTest {
 
@@ -26,6 +31,24 @@ public class DotGraphStyleConfigurerTest extends AbstractGraphStyleConfigurerTes
     return new DotGraphStyleConfigurer(new StyleConfiguration());
   }
 
+  /**
+   * The DOT attributes are passed as {@link com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder}s, so the nodes are
+   * compared by their rendered attribute lists. The node objects are not part of the comparison.
+   */
+  @Override
+  protected Collection<Node<?>> formattedNodes(TestFormatter formatter) {
+    return formatter.nodes.stream()
+        .<Node<?>>map(node -> new Node<>(node.getNodeId(), node.getNodeName() + node.getAttributes(), null))
+        .collect(toList());
+  }
+
+  @Override
+  protected Collection<Edge> formattedEdges(TestFormatter formatter) {
+    return formatter.edges.stream()
+        .map(edge -> new Edge(edge.getFromNodeId(), edge.getToNodeId(), edge.getName() + edge.getAttributes()))
+        .collect(toList());
+  }
+
   @Override
   protected String getNodeNameForGroupIdOnly(String groupId) {
     return "[label=<" + groupId + ">]";
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.dependency.dot.style;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * JUnit tests for {@link StyleMatcherIndex}.
+ */
+class StyleMatcherIndexTest {
+
+  private Map<StyleKey, String> styles;
+
+  @BeforeEach
+  void before() {
+    this.styles = new LinkedHashMap<>();
+  }
+
+  @Test
+  void exactGroupId() {
+    // arrange
+    addStyle("com.example", "exact");
+    addStyle("com.example.sub", "sub");
+
+    // act
+    StyleMatcherIndex<String> index = new StyleMatcherIndex<>(this.styles);
+
+    // assert
+    assertEquals("exact", index.find(artifactKey("com.example", "artifact")));
+    assertEquals("sub", index.find(artifactKey("com.example.sub", "artifact")));
+    assertNull(index.find(artifactKey("com.example.other", "artifact")));
+  }
+
+  @Test
+  void firstMatchWins() {
+    // arrange
+    addStyle("com.example.*", "prefix");
+    addStyle("com.example.sub", "exact");
+    addStyle(",artifact", "artifactOnly");
+
+    // act
+    StyleMatcherIndex<String> index = new StyleMatcherIndex<>(this.styles);
+
+    // assert
+    assertEquals("prefix", index.find(artifactKey("com.example.sub", "artifact")));
+    assertEquals("artifactOnly", index.find(artifactKey("org.other", "artifact")));
+  }
+
+  @Test
+  void exactMatchBeforePrefix() {
+    // arrange
+    addStyle("com.example.sub,artifact", "exact");
+    addStyle("com.*", "prefix");
+
+    // act
+    StyleMatcherIndex<String> index = new StyleMatcherIndex<>(this.styles);
+
+    // assert
+    assertEquals("exact", index.find(artifactKey("com.example.sub", "artifact")));
+    assertEquals("prefix", index.find(artifactKey("com.example.sub", "other")));
+  }
+
+  @Test
+  void otherFields() {
+    // arrange
+    addStyle("com.example,artifact-*,test", "test-scope");
+    addStyle("com.example,,,,1.*", "version");
+
+    // act
+    StyleMatcherIndex<String> index = new StyleMatcherIndex<>(this.styles);
+
+    // assert
+    assertEquals("test-scope", index.find(StyleKey.create("com.example", "artifact-a", "test", "jar", "1.0", "", false)));
+    assertEquals("version", index.find(StyleKey.create("com.example", "artifact-a", "compile", "jar", "1.0", "", false)));
+    assertNull(index.find(StyleKey.create("com.example", "artifact-a", "compile", "jar", "2.0", "", false)));
+  }
+
+  @Test
+  void randomRulesMatchLinearScan() {
+    Random random = new Random(4711);
+    String[] groupIds = {"", "*", "com", "com*", "com.*", "com.example", "com.example.*", "com.example.sub", "org.*", "org.other"};
+    String[] artifactIds = {"", "a", "a*", "b"};
+    String[] scopes = {"", "compile", "test"};
+
+    for (int run = 0; run < 200; run++) {
+      // arrange
+      before();
+      int ruleCount = random.nextInt(20);
+      for (int i = 0; i < ruleCount; i++) {
+        String key = groupIds[random.nextInt(groupIds.length)] + "," + artifactIds[random.nextInt(artifactIds.length)] + "," + scopes[random.nextInt(scopes.length)];
+        addStyle(key, "rule-" + i);
+      }
+
+      // act
+      StyleMatcherIndex<String> index = new StyleMatcherIndex<>(this.styles);
+
+      // assert
+      for (String groupId : new String[]{"com", "com.example", "com.example.sub", "com.examples", "org.other", "net.other"}) {
+        for (String artifactId : new String[]{"a", "ab", "b"}) {
+          for (String scope : new String[]{"compile", "test"}) {
+            StyleKey artifactKey = StyleKey.create(groupId, artifactId, scope, "jar", "1.0", "", false);
+            assertEquals(linearScan(artifactKey), index.find(artifactKey), "Run " + run + ": " + this.styles.keySet() + " / " + artifactKey);
+          }
+        }
+      }
+    }
+  }
+
+  private void addStyle(String styleKey, String style) {
+    this.styles.putIfAbsent(StyleKey.fromString(styleKey), style);
+  }
+
+  private String linearScan(StyleKey artifactKey) {
+    for (Entry<StyleKey, String> entry : this.styles.entrySet()) {
+      if (entry.getKey().matches(artifactKey)) {
+        return entry.getValue();
+      }
+    }
+
+    return null;
+  }
+
+  private static StyleKey artifactKey(String groupId, String artifactId) {
+    return StyleKey.create(groupId, artifactId, "compile", "jar", "1.0", "", false);
+  }
+}
@@ -25,6 +25,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -60,6 +61,23 @@ class GraphBuilderTest {
   }
 
 
+  @Test
+  void writeTo() throws Exception {
+    // arrange
+    StringBuilder output = new StringBuilder();
+    this.graphBuilder
+        .graphName("test-graph")
+        .addEdge(this.fromNode, this.toNode);
+
+    // act
+    this.graphBuilder.writeTo(output);
+
+    // assert
+    assertEquals("test-graph", output.toString());
+    assertThat(this.formatter.nodes, contains(new Node<>(this.fromNode, "", ""), new Node<>(this.toNode, "", "")));
+    assertThat(this.formatter.edges, contains(new Edge(this.fromNode, this.toNode, "")));
+  }
+
   @Test
   void defaults() {
     // arrange
@@ -197,6 +215,76 @@ class GraphBuilderTest {
     assertThat(this.formatter.edges, empty());
   }
 
+  @Test
+  void nodeIdsAreInterned() {
+    // arrange
+    int[] renderCount = new int[1];
+    GraphBuilder<String> builder = GraphBuilder.create(node -> {
+      renderCount[0]++;
+      return new String(node);
+    });
+    builder.graphFormatter(this.formatter);
+
+    // act
+    builder
+        .addEdge(this.fromNode, this.toNode)
+        .addEdge(this.toNode, this.fromNode)
+        .toString();
+
+    // assert
+    assertEquals(4, renderCount[0]);
+    Node<?> from = this.formatter.nodes.iterator().next();
+    Edge secondEdge = this.formatter.edges.stream().skip(1).findFirst().get();
+    assertSame(from.getNodeId(), secondEdge.getToNodeId());
+  }
+
+  @Test
+  void nodesAreRenderedOnceWhenFormatted() {
+    // arrange
+    int[] renderCount = new int[1];
+    this.graphBuilder.useNodeNameRenderer(node -> {
+      renderCount[0]++;
+      return node + "-custom";
+    });
+    this.graphBuilder
+        .addEdge("A", "B")
+        .addEdge("A", "C")
+        .addEdge("B", "C")
+        .addEdge("C", "D");
+
+    // act
+    int rendersBeforeFormatting = renderCount[0];
+    this.graphBuilder.toString();
+
+    // assert
+    assertEquals(0, rendersBeforeFormatting);
+    assertEquals(4, renderCount[0]);
+    assertThat(this.formatter.nodes, contains(
+        new Node<>("A", "A-custom", ""),
+        new Node<>("B", "B-custom", ""),
+        new Node<>("C", "C-custom", ""),
+        new Node<>("D", "D-custom", "")));
+  }
+
+  @Test
+  void lastAddedNodeIsRendered() {
+    // arrange
+    GraphBuilder<String[]> builder = GraphBuilder.create(node -> node[0]);
+    builder.graphFormatter(this.formatter)
+        .useNodeNameRenderer(node -> node[1])
+        .addEdge(new String[]{"A", "first"}, new String[]{"B", "first"})
+        .addEdge(new String[]{"A", "second"}, new String[]{"C", "first"});
+
+    // act
+    builder.toString();
+
+    // assert
+    assertThat(this.formatter.nodes, contains(
+        new Node<>("A", "second", ""),
+        new Node<>("B", "first", ""),
+        new Node<>("C", "first", "")));
+  }
+
   @Test
   void isEmpty() {
     // assert
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.ferstl.depgraph.ToStringNodeIdRenderer;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static java.time.Duration.ofSeconds;
+
+/**
+ * JUnit tests for {@link PathIndex}.
+ */
+class PathIndexTest {
+
+  private GraphBuilder<String> graphBuilder;
+
+  @BeforeEach
+  void before() {
+    this.graphBuilder = GraphBuilder.create(ToStringNodeIdRenderer.INSTANCE);
+    this.graphBuilder.useNodeNameRenderer(node -> node.toUpperCase());
+  }
+
+  @Test
+  void shortestPath() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("b", "c")
+        .addEdge("c", "target")
+        .addEdge("a", "d")
+        .addEdge("d", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+
+    // act
+    int[] path = pathIndex.findShortestPath(node(pathIndex, "target"), 0);
+
+    // assert
+    assertThat(names(pathIndex, path), contains("A", "D", "TARGET"));
+  }
+
+  @Test
+  void shortestPathFromAnyRoot() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("b", "c")
+        .addEdge("c", "target")
+        .addEdge("x", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+
+    // act
+    int[] path = pathIndex.findShortestPath(node(pathIndex, "target"), 0);
+
+    // assert
+    assertThat(names(pathIndex, path), contains("X", "TARGET"));
+  }
+
+  @Test
+  void shortestPathWithMaxDepth() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("b", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+
+    // act
+    int[] path = pathIndex.findShortestPath(node(pathIndex, "target"), 1);
+
+    // assert
+    assertNull(path);
+  }
+
+  @Test
+  void allPaths() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("a", "c")
+        .addEdge("a", "unrelated")
+        .addEdge("b", "target")
+        .addEdge("c", "b")
+        .addEdge("c", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, "target");
+
+    // act
+    List<int[]> paths = pathIndex.findPaths(target, 0, 0);
+
+    // assert
+    assertEquals(3, paths.size());
+    assertThat(names(pathIndex, paths.get(0)), contains("A", "B", "TARGET"));
+    assertThat(names(pathIndex, paths.get(1)), contains("A", "C", "B", "TARGET"));
+    assertThat(names(pathIndex, paths.get(2)), contains("A", "C", "TARGET"));
+    assertEquals(3, pathIndex.countPaths(target));
+  }
+
+  @Test
+  void edgesWithDifferentNames() {
+    // arrange
+    String[] edgeName = {"1"};
+    this.graphBuilder.useEdgeRenderer((from, to) -> edgeName[0]);
+    this.graphBuilder.addEdge("a", "target");
+    edgeName[0] = "2";
+    this.graphBuilder.addEdge("a", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, "target");
+
+    // act
+    List<int[]> paths = pathIndex.findPaths(target, 0, 0);
+
+    // assert
+    assertEquals(1, paths.size());
+    assertEquals(1, pathIndex.countPaths(target));
+  }
+
+  @Test
+  void firstPathsAndMaxDepth() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("a", "c")
+        .addEdge("b", "target")
+        .addEdge("c", "b")
+        .addEdge("c", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, "target");
+
+    // act
+    List<int[]> firstPaths = pathIndex.findPaths(target, 2, 0);
+    List<int[]> shortPaths = pathIndex.findPaths(target, 0, 2);
+
+    // assert
+    assertEquals(2, firstPaths.size());
+    assertThat(names(pathIndex, firstPaths.get(1)), contains("A", "C", "B", "TARGET"));
+    assertEquals(2, shortPaths.size());
+    assertThat(names(pathIndex, shortPaths.get(0)), contains("A", "B", "TARGET"));
+    assertThat(names(pathIndex, shortPaths.get(1)), contains("A", "C", "TARGET"));
+  }
+
+  @Test
+  void targetIsRoot() {
+    // arrange
+    this.graphBuilder.addEdge("target", "b");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, "target");
+
+    // act
+    List<int[]> paths = pathIndex.findPaths(target, 0, 0);
+
+    // assert
+    assertEquals(1, paths.size());
+    assertArrayEquals(new int[]{target}, paths.get(0));
+    assertEquals(1, pathIndex.countPaths(target));
+  }
+
+  @Test
+  void cycle() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("b", "c")
+        .addEdge("c", "b")
+        .addEdge("c", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, "target");
+
+    // act
+    List<int[]> paths = pathIndex.findPaths(target, 0, 0);
+
+    // assert
+    assertEquals(1, paths.size());
+    assertThat(names(pathIndex, paths.get(0)), contains("A", "B", "C", "TARGET"));
+    assertEquals(-1, pathIndex.countPaths(target));
+  }
+
+  @Test
+  void unreachableTarget() {
+    // arrange (the target can only be reached from a cycle without root)
+    this.graphBuilder
+        .addEdge("a", "b")
+        .addEdge("c", "d")
+        .addEdge("d", "c")
+        .addEdge("d", "target");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, "target");
+
+    // act
+    List<int[]> paths = pathIndex.findPaths(target, 0, 0);
+
+    // assert
+    assertThat(paths, empty());
+    assertNull(pathIndex.findShortestPath(target, 0));
+    assertEquals(0, pathIndex.countPaths(target));
+  }
+
+  @Test
+  void manyPaths() {
+    // arrange (a chain of 60 diamonds has 2^60 paths)
+    String previous = "n0";
+    for (int i = 0; i < 60; i++) {
+      String next = "n" + (i + 1);
+      this.graphBuilder
+          .addEdge(previous, "left" + i)
+          .addEdge(previous, "right" + i)
+          .addEdge("left" + i, next)
+          .addEdge("right" + i, next);
+      previous = next;
+    }
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+    int target = node(pathIndex, previous);
+
+    // act
+    List<int[]> paths = assertTimeoutPreemptively(ofSeconds(10), () -> pathIndex.findPaths(target, 1000, 0));
+
+    // assert
+    assertEquals(1000, paths.size());
+    assertEquals(1L << 60, pathIndex.countPaths(target));
+    assertEquals(121, pathIndex.findShortestPath(target, 0).length);
+  }
+
+  @Test
+  void findNodes() {
+    // arrange
+    this.graphBuilder
+        .addEdge("a", "target-1")
+        .addEdge("a", "b")
+        .addEdge("b", "target-2");
+    PathIndex<String> pathIndex = this.graphBuilder.createPathIndex();
+
+    // act
+    int[] nodes = pathIndex.findNodes(node -> node.startsWith("target"));
+
+    // assert
+    assertThat(names(pathIndex, nodes), contains("TARGET-1", "TARGET-2"));
+    assertThat(names(pathIndex, pathIndex.findNodes(node -> false)), empty());
+  }
+
+  private static int node(PathIndex<String> pathIndex, String name) {
+    return pathIndex.findNodes(name::equals)[0];
+  }
+
+  private static List<String> names(PathIndex<String> pathIndex, int[] nodes) {
+    List<String> names = new ArrayList<>();
+    for (int node : nodes) {
+      names.add(pathIndex.getNodeName(node));
+    }
+
+    return names;
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JUnit tests for {@link ReachabilityIndex}.
+ */
+class ReachabilityIndexTest {
+
+  private static final String MODULE_A = "com.github.ferstl:module-a:jar:compile";
+  private static final String MODULE_B = "com.github.ferstl:module-b:jar:compile";
+  private static final String MODULE_C = "com.github.ferstl:module-c:jar:compile";
+  private static final String MODULE_D = "com.github.ferstl:module-d:jar:compile";
+  private static final String MODULE_TEST = "com.github.ferstl:module-test:jar:test";
+
+  private ReachabilityIndex index;
+  private Map<String, Integer> nodeIndices;
+  private List<Edge> edges;
+
+  @BeforeEach
+  void before() {
+    this.index = new ReachabilityIndex();
+    this.nodeIndices = new HashMap<>();
+    this.edges = new ArrayList<>();
+  }
+
+  @Test
+  void redundantEdge() {
+    // arrange
+    addEdge("A", "B");
+    addEdge("B", "C");
+    addEdge("A", "C");
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+    // assert
+    assertThat(redundantEdges, contains(new Edge("A", "C", "")));
+  }
+
+  @Test
+  void newerPathIsNotConsidered() {
+    // arrange
+    addEdge("A", "C");
+    addEdge("A", "B");
+    addEdge("B", "C");
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+    // assert
+    assertThat(redundantEdges, empty());
+  }
+
+  @Test
+  void cycle() {
+    // arrange
+    addEdge("A", "B");
+    addEdge("B", "C");
+    addEdge("A", "C");
+    addEdge("C", "A");
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+    // assert
+    assertThat(redundantEdges, contains(new Edge("A", "C", "")));
+  }
+
+  @Test
+  void pathThroughTargetIsNotConsidered() {
+    // arrange
+    addEdge("P", "B");
+    addEdge("A", "B");
+    addEdge("B", "P");
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+    // assert
+    assertThat(redundantEdges, containsInAnyOrder(legacyRedundantEdges().toArray()));
+    assertThat(redundantEdges, empty());
+  }
+
+  @Test
+  void unknownEdge() {
+    // arrange
+    addEdge("A", "B");
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(singletonEdge("B", "A"));
+
+    // assert
+    assertThat(redundantEdges, empty());
+  }
+
+  @Test
+  void deepChain() {
+    // arrange
+    int depth = 100_000;
+    for (int i = 0; i < depth; i++) {
+      addEdge("n" + i, "n" + (i + 1));
+    }
+    addEdge("n0", "n" + depth);
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+    // assert
+    assertThat(redundantEdges, contains(new Edge("n0", "n" + depth, "")));
+  }
+
+  @Test
+  void reducedEdgesTestProject() {
+    // arrange (edges in the order they are added by the aggregate goal of the "reduced-edges-test" project)
+    addEdge(MODULE_B, MODULE_D);
+    addEdge(MODULE_B, MODULE_TEST);
+    addEdge(MODULE_C, MODULE_D);
+    addEdge(MODULE_A, MODULE_B);
+    addEdge(MODULE_A, MODULE_C);
+    addEdge(MODULE_A, MODULE_D);
+    addEdge(MODULE_A, MODULE_TEST);
+
+    // act
+    Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+    // assert
+    assertEquals(legacyRedundantEdges(), redundantEdges);
+    assertThat(redundantEdges, containsInAnyOrder(new Edge(MODULE_A, MODULE_D, ""), new Edge(MODULE_A, MODULE_TEST, "")));
+  }
+
+  @Test
+  void randomGraphsMatchLegacyReachability() {
+    Random random = new Random(4711);
+
+    for (int graph = 0; graph < 500; graph++) {
+      // arrange
+      before();
+      int nodeCount = 2 + random.nextInt(20);
+      int edgeCount = random.nextInt(nodeCount * 3);
+      boolean acyclic = random.nextBoolean();
+      for (int i = 0; i < edgeCount; i++) {
+        int from = random.nextInt(nodeCount);
+        int to = random.nextInt(nodeCount);
+        if (acyclic && from >= to) {
+          continue;
+        }
+        addEdge("n" + from, "n" + to);
+      }
+
+      // act
+      Set<Edge> redundantEdges = findRedundantEdges(this.edges);
+
+      // assert
+      assertEquals(legacyRedundantEdges(), redundantEdges, "Graph " + graph + ": " + this.edges);
+    }
+  }
+
+  private void addEdge(String from, String to) {
+    this.edges.add(new Edge(from, to, ""));
+    this.index.registerEdge(nodeIndex(from), nodeIndex(to));
+  }
+
+  private Set<Edge> findRedundantEdges(List<Edge> edges) {
+    int[] sources = new int[edges.size()];
+    int[] targets = new int[edges.size()];
+    for (int i = 0; i < edges.size(); i++) {
+      sources[i] = nodeIndex(edges.get(i).getFromNodeId());
+      targets[i] = nodeIndex(edges.get(i).getToNodeId());
+    }
+
+    BitSet redundantIndices = this.index.findRedundantEdges(sources, targets);
+    Set<Edge> redundantEdges = new HashSet<>();
+    for (int i = redundantIndices.nextSetBit(0); i >= 0; i = redundantIndices.nextSetBit(i + 1)) {
+      redundantEdges.add(edges.get(i));
+    }
+
+    return redundantEdges;
+  }
+
+  private int nodeIndex(String node) {
+    return this.nodeIndices.computeIfAbsent(node, k -> this.nodeIndices.size());
+  }
+
+  private static List<Edge> singletonEdge(String from, String to) {
+    List<Edge> edges = new ArrayList<>();
+    edges.add(new Edge(from, to, ""));
+    return edges;
+  }
+
+  private Set<Edge> legacyRedundantEdges() {
+    LegacyReachabilityMap legacyMap = new LegacyReachabilityMap();
+    for (Edge edge : this.edges) {
+      legacyMap.registerEdge(edge.getFromNodeId(), edge.getToNodeId());
+    }
+
+    Set<Edge> result = new HashSet<>();
+    for (Edge edge : this.edges) {
+      if (legacyMap.hasOlderPath(edge.getToNodeId(), edge.getFromNodeId())) {
+        result.add(edge);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * The recursive reachability map that was used before {@link ReachabilityIndex}. It serves as reference for the
+   * expected results.
+   */
+  private static class LegacyReachabilityMap {
+
+    private final Map<String, Set<String>> parentIndex = new LinkedHashMap<>();
+
+    void registerEdge(String from, String to) {
+      safelyGetParents(to).add(from);
+    }
+
+    boolean hasOlderPath(String target, String source) {
+      return isReachable(target, source, true, new HashSet<>());
+    }
+
+    private boolean isReachable(String target, String source, boolean olderParentsOnly, Set<String> alreadyVisited) {
+      if (!alreadyVisited.add(target)) {
+        return false;
+      }
+
+      Set<String> parents = olderParentsOnly ? getOlderParents(target, source) : safelyGetParents(target);
+      if (parents.contains(source)) {
+        return true;
+      }
+
+      for (String parent : parents) {
+        if (isReachable(parent, source, false, alreadyVisited)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private Set<String> getOlderParents(String target, String source) {
+      Set<String> olderParents = new LinkedHashSet<>(safelyGetParents(target));
+      boolean remove = false;
+      Iterator<String> iterator = olderParents.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().equals(source)) {
+          remove = true;
+        }
+
+        if (remove) {
+          iterator.remove();
+        }
+      }
+
+      return olderParents;
+    }
+
+    private Set<String> safelyGetParents(String node) {
+      return this.parentIndex.computeIfAbsent(node, k -> new LinkedHashSet<>());
+    }
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.github.ferstl.depgraph.graph;
 
+import java.io.IOException;
 import java.util.Collection;
 
 public class TestFormatter implements GraphFormatter {
@@ -24,10 +25,10 @@ public class TestFormatter implements GraphFormatter {
   public Collection<Edge> edges;
 
   @Override
-  public String format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges) {
+  public void format(String graphName, Collection<Node<?>> nodes, Collection<Edge> edges, Appendable output) throws IOException {
     this.graphName = graphName;
     this.nodes = nodes;
     this.edges = edges;
-    return "";
+    output.append(graphName);
   }
 }
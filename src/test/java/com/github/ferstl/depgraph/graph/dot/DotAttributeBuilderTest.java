@@ -15,9 +15,13 @@
  */
 package com.github.ferstl.depgraph.graph.dot;
 
+import java.util.ArrayList;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -123,6 +127,40 @@ class DotAttributeBuilderTest {
     assertEquals("[label=\"some\\nLabel\"]", new DotAttributeBuilder().label("some\nLabel").toString());
   }
 
+  @Test
+  void getAttributes() {
+    DotAttributeBuilder builder = new DotAttributeBuilder()
+        .label("<<b>text1</b>>")
+        .color("\"green\"")
+        .addAttribute("tooltip", "some \"tip\"\nline2");
+
+    Map<String, String> attributes = builder.getAttributes();
+
+    assertEquals(asList("label", "color", "tooltip"), new ArrayList<>(attributes.keySet()));
+    assertEquals("<<b>text1</b>>", attributes.get("label"));
+    assertEquals("green", attributes.get("color"));
+    assertEquals("some \"tip\"\nline2", attributes.get("tooltip"));
+  }
+
+  @Test
+  void htmlLabelReplacedByText() {
+    DotAttributeBuilder builder = new DotAttributeBuilder()
+        .label("<text1>")
+        .addAttribute("label", "<text2>");
+
+    assertEquals("[label=\"<text2>\"]", builder.toString());
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    DotAttributeBuilder builder1 = new DotAttributeBuilder().label("someLabel").color("green");
+    DotAttributeBuilder builder2 = new DotAttributeBuilder().label("someLabel").color("green");
+
+    assertEquals(builder1, builder2);
+    assertEquals(builder1.hashCode(), builder2.hashCode());
+    assertNotEquals(builder1, builder2.fontSize(10));
+  }
+
   @Test
   void isEmptyWithData() {
     assertFalse(new DotAttributeBuilder().label("some label").isEmpty());
@@ -64,4 +64,31 @@ class DotGraphFormatterTest {
 
     assertEquals(expected, result);
   }
+
+  @Test
+  void formatWithAttributes() {
+    // arrange
+    Node<?> node1 = new Node<>("id1", "", new Object(), new DotAttributeBuilder().label("<<b>name1</b>>"));
+    Node<?> node2 = new Node<>("id2", "", new Object(), new DotAttributeBuilder());
+
+    Edge edge1 = new Edge("id1", "id2", "", false, new DotAttributeBuilder().style("dashed").label("1.0"));
+
+    // act
+    String result = this.formatter.format("graphName", asList(node1, node2), asList(edge1));
+
+    // assert
+    String expected = "digraph \"graphName\" {\n"
+        + "  node [shape=\"box\",fontname=\"Helvetica\"]\n"
+        + "  edge [fontname=\"Helvetica\",fontsize=\"10\"]\n"
+        + "\n"
+        + "  // Node Definitions:\n"
+        + "  \"id1\"[label=<<b>name1</b>>]\n"
+        + "  \"id2\"\n"
+        + "\n"
+        + "  // Edge Definitions:\n"
+        + "  \"id1\" -> \"id2\"[style=\"dashed\",label=\"1.0\"]\n"
+        + "}";
+
+    assertEquals(expected, result);
+  }
 }
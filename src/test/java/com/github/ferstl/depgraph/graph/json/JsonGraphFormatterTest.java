@@ -15,12 +15,18 @@
  */
 package com.github.ferstl.depgraph.graph.json;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class JsonGraphFormatterTest {
 
@@ -77,4 +83,86 @@ class JsonGraphFormatterTest {
 
     assertEquals(expected, result);
   }
+
+  @Test
+  void formatWithAttributes() {
+    // arrange
+    Node<?> node1 = new Node<>("id1", "", new Object(), new TestAttributes("groupId", "com.github.ferstl"));
+    Node<?> node2 = new Node<>("id2", "", new Object(), new TestAttributes("artifactId", ""));
+    Edge edge = new Edge("id1", "id2", "", false, new TestAttributes("resolution", "INCLUDED"));
+
+    // act
+    String result = this.formatter.format("", asList(node1, node2), singletonList(edge));
+
+    // assert
+    String expected = "{\n"
+        + "  \"artifacts\" : [ {\n"
+        + "    \"id\" : \"id1\",\n"
+        + "    \"numericId\" : 1,\n"
+        + "    \"groupId\" : \"com.github.ferstl\"\n"
+        + "  }, {\n"
+        + "    \"id\" : \"id2\",\n"
+        + "    \"numericId\" : 2\n"
+        + "  } ],\n"
+        + "  \"dependencies\" : [ {\n"
+        + "    \"from\" : \"id1\",\n"
+        + "    \"to\" : \"id2\",\n"
+        + "    \"numericFrom\" : 0,\n"
+        + "    \"numericTo\" : 1,\n"
+        + "    \"resolution\" : \"INCLUDED\"\n"
+        + "  } ]\n"
+        + "}";
+
+    assertEquals(expected, result);
+    assertEquals("{\"groupId\":\"com.github.ferstl\"}", node1.getAttributes().toString());
+  }
+
+  @Test
+  void formatToWriter() throws IOException {
+    // arrange
+    Node<?> node = new Node<>("id1", "{}", new Object());
+    CloseTrackingWriter writer = new CloseTrackingWriter();
+
+    // act
+    this.formatter.format("graphName", singletonList(node), emptyList(), writer);
+
+    // assert
+    String expected = "{\n"
+        + "  \"graphName\" : \"graphName\",\n"
+        + "  \"artifacts\" : [ {\n"
+        + "    \"id\" : \"id1\",\n"
+        + "    \"numericId\" : 1\n"
+        + "  } ]\n"
+        + "}";
+
+    assertEquals(expected, writer.toString());
+    assertFalse(writer.closed, "The output must not be closed by the formatter");
+  }
+
+  private static class TestAttributes extends JsonAttributes {
+
+    private final String name;
+    private final String value;
+
+    TestAttributes(String name, String value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    @Override
+    public void writeFields(JsonGenerator generator) throws IOException {
+      writeStringField(generator, this.name, this.value);
+    }
+  }
+
+  private static class CloseTrackingWriter extends StringWriter {
+
+    boolean closed;
+
+    @Override
+    public void close() throws IOException {
+      this.closed = true;
+      super.close();
+    }
+  }
 }
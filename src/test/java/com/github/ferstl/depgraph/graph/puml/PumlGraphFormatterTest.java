@@ -18,12 +18,15 @@ package com.github.ferstl.depgraph.graph.puml;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import com.github.ferstl.depgraph.dependency.DependencyNode;
 import com.github.ferstl.depgraph.dependency.DependencyNodeIdRenderer;
 import com.github.ferstl.depgraph.dependency.DependencyNodeUtil;
 import com.github.ferstl.depgraph.dependency.puml.PumlDependencyEgdeRenderer;
 import com.github.ferstl.depgraph.dependency.puml.PumlDependencyNodeNameRenderer;
+import com.github.ferstl.depgraph.dependency.puml.PumlEdgeInfo;
+import com.github.ferstl.depgraph.dependency.puml.PumlNodeInfo;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
 import com.github.ferstl.depgraph.graph.NodeRenderer;
@@ -32,6 +35,31 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class PumlGraphFormatterTest {
 
+  private static final String EXPECTED_PUML = "@startuml\n"
+      + "skinparam defaultTextAlignment center\n"
+      + "skinparam rectangle {\n"
+      + "  BackgroundColor<<optional>> beige\n"
+      + "  BackgroundColor<<test>> lightGreen\n"
+      + "  BackgroundColor<<runtime>> lightBlue\n"
+      + "  BackgroundColor<<provided>> lightGray\n"
+      + "}\n"
+      + "rectangle \"com.github.ferstl\\ndepgraph-maven-plugin\\n2.2.1-SNAPSHOT\" as com_github_ferstl_depgraph_maven_plugin_jar\n"
+      + "rectangle \"com.fasterxml.jackson.core\\njackson-databind\\n2.8.7\" as com_fasterxml_jackson_core_jackson_databind_jar\n"
+      + "rectangle \"com.google.guava\\nguava\\n21.0\" as com_google_guava_guava_jar\n"
+      + "rectangle \"org.apache.maven\\nmaven-core\\njar\" as org_apache_maven_maven_core_jar<<3.3.9>>\n"
+      + "rectangle \"com.google.inject\\nguice\\n4.0\" as com_google_inject_guice_jar<<provided>>\n"
+      + "rectangle \"com.google.guava\\nguava\\n16.0.1\" as com_google_guava_guava_jar<<provided>>\n"
+      + "rectangle \"junit\\njunit\\n4.12\" as junit_junit_jar<<test>>\n"
+      + "rectangle \"org.springframework\\nspring-core\\n5.0.6.RELEASE\" as org_springframework_spring_core_jar<<optional>>\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_fasterxml_jackson_core_jackson_databind_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_google_guava_guava_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_apache_maven_maven_core_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> junit_junit_jar\n"
+      + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_springframework_spring_core_jar\n"
+      + "org_apache_maven_maven_core_jar -[#000000]-> com_google_inject_guice_jar\n"
+      + "com_google_inject_guice_jar .[#FF0000].> com_google_guava_guava_jar: 16.0.1-alpha\n"
+      + "@enduml";
+
   private final PumlGraphFormatter formatter = new PumlGraphFormatter();
   private final NodeRenderer<DependencyNode> nodeIdRenderer = DependencyNodeIdRenderer.versionlessId().withType(true);
   private final PumlDependencyNodeNameRenderer nodeInfoRenderer = new PumlDependencyNodeNameRenderer(true, true, false, false, true, false, true);
@@ -65,30 +93,38 @@ class PumlGraphFormatterTest {
   @Test
   void testFormatDependenciesGraphAsPumlDiagram() {
     String puml = this.formatter.format("graphName", this.nodes, this.edges);
-    assertEquals("@startuml\n"
-        + "skinparam defaultTextAlignment center\n"
-        + "skinparam rectangle {\n"
-        + "  BackgroundColor<<optional>> beige\n"
-        + "  BackgroundColor<<test>> lightGreen\n"
-        + "  BackgroundColor<<runtime>> lightBlue\n"
-        + "  BackgroundColor<<provided>> lightGray\n"
-        + "}\n"
-        + "rectangle \"com.github.ferstl\\ndepgraph-maven-plugin\\n2.2.1-SNAPSHOT\" as com_github_ferstl_depgraph_maven_plugin_jar\n"
-        + "rectangle \"com.fasterxml.jackson.core\\njackson-databind\\n2.8.7\" as com_fasterxml_jackson_core_jackson_databind_jar\n"
-        + "rectangle \"com.google.guava\\nguava\\n21.0\" as com_google_guava_guava_jar\n"
-        + "rectangle \"org.apache.maven\\nmaven-core\\njar\" as org_apache_maven_maven_core_jar<<3.3.9>>\n"
-        + "rectangle \"com.google.inject\\nguice\\n4.0\" as com_google_inject_guice_jar<<provided>>\n"
-        + "rectangle \"com.google.guava\\nguava\\n16.0.1\" as com_google_guava_guava_jar<<provided>>\n"
-        + "rectangle \"junit\\njunit\\n4.12\" as junit_junit_jar<<test>>\n"
-        + "rectangle \"org.springframework\\nspring-core\\n5.0.6.RELEASE\" as org_springframework_spring_core_jar<<optional>>\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_fasterxml_jackson_core_jackson_databind_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> com_google_guava_guava_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_apache_maven_maven_core_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> junit_junit_jar\n"
-        + "com_github_ferstl_depgraph_maven_plugin_jar -[#000000]-> org_springframework_spring_core_jar\n"
-        + "org_apache_maven_maven_core_jar -[#000000]-> com_google_inject_guice_jar\n"
-        + "com_google_inject_guice_jar .[#FF0000].> com_google_guava_guava_jar: 16.0.1-alpha\n"
-        + "@enduml", puml);
+    assertEquals(EXPECTED_PUML, puml);
+  }
+
+  @Test
+  void formatWithAttributes() {
+    // arrange
+    List<Node<?>> nodesWithAttributes = this.dependencies.stream()
+        .map(tuple -> makeNodeWithAttributes(tuple.description, tuple.conflict))
+        .collect(toList());
+
+    List<Edge> edgesWithAttributes = this.edges.stream()
+        .map(edge -> new Edge(edge.getFromNodeId(), edge.getToNodeId(), "", false, PumlEdgeInfo.parse(edge.getName())))
+        .collect(toList());
+
+    // act
+    String puml = this.formatter.format("graphName", nodesWithAttributes, edgesWithAttributes);
+
+    // assert
+    assertEquals(EXPECTED_PUML, puml);
+  }
+
+  @Test
+  void escape() {
+    for (String id : Arrays.asList("", "_", "a", "a_", "a:", "a::b", "group.id:artifact-id:jar", "caf\u00e9", "a\ud83d\ude00", "\ud83d\ude00b", "a:_")) {
+      assertEquals(StringUtils.removeEnd(id.replaceAll("\\W", "_"), "_"), PumlGraphFormatter.escape(id), id);
+    }
+  }
+
+  private Node<?> makeNodeWithAttributes(String description, boolean conflict) {
+    DependencyNode dependencyNode = makeDependencyNode(description, conflict);
+    String nodeId = this.nodeIdRenderer.render(dependencyNode);
+    return new Node<>(nodeId, "", new Object(), PumlNodeInfo.parse(this.nodeInfoRenderer.render(dependencyNode)));
   }
 
   private Node<?> makeNode(String description, boolean conflict) {
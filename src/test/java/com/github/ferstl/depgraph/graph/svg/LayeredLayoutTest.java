@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.svg;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static java.time.Duration.ofSeconds;
+
+class LayeredLayoutTest {
+
+  private static final double NODE_SEPARATION = 10;
+  private static final double RANK_SEPARATION = 20;
+
+  @Test
+  void layers() {
+    // arrange (a -> b -> c and a -> c)
+    int[] sources = {0, 1, 0};
+    int[] targets = {1, 2, 2};
+
+    // act
+    LayeredLayout layout = createLayout(3, sources, targets);
+
+    // assert
+    assertEquals(0, layout.getLayer(0));
+    assertEquals(1, layout.getLayer(1));
+    assertEquals(2, layout.getLayer(2));
+    assertThat(layout.getY(1), greaterThan(layout.getY(0)));
+    assertThat(layout.getY(2), greaterThan(layout.getY(1)));
+  }
+
+  @Test
+  void longEdgeIsRoutedOverAllLayers() {
+    // arrange (a -> b -> c and a -> c)
+    int[] sources = {0, 1, 0};
+    int[] targets = {1, 2, 2};
+
+    // act
+    LayeredLayout layout = createLayout(3, sources, targets);
+
+    // assert
+    double[] points = layout.getEdgePoints(2);
+    assertEquals(6, points.length);
+    assertEquals(layout.getY(0) + 10, points[1], 0.001);
+    assertEquals(layout.getY(2) - 10, points[5], 0.001);
+  }
+
+  @Test
+  void cycle() {
+    // arrange (a -> b -> c -> a and a self loop on b)
+    int[] sources = {0, 1, 2, 1};
+    int[] targets = {1, 2, 0, 1};
+
+    // act
+    LayeredLayout layout = createLayout(3, sources, targets);
+
+    // assert
+    assertEquals(0, layout.getLayer(0));
+    assertEquals(1, layout.getLayer(1));
+    assertEquals(2, layout.getLayer(2));
+
+    // The reversed edge still points from c to a
+    double[] points = layout.getEdgePoints(2);
+    assertEquals(layout.getY(2) - 10, points[1], 0.001);
+    assertEquals(layout.getY(0) + 10, points[points.length - 1], 0.001);
+  }
+
+  @Test
+  void crossingsAreRemoved() {
+    // arrange (a -> d, b -> c, a and b on the first layer, c and d on the second)
+    int[] sources = {0, 0, 1, 1, 2};
+    int[] targets = {4, 3, 3, 5, 5};
+
+    // act
+    LayeredLayout layout = createLayout(6, sources, targets);
+
+    // assert
+    assertEquals(0, layout.countCrossings());
+  }
+
+  @Test
+  void nodesDoNotOverlap() {
+    // arrange
+    int[] sources = {0, 0, 0, 0};
+    int[] targets = {1, 2, 3, 4};
+
+    // act
+    LayeredLayout layout = createLayout(5, sources, targets);
+
+    // assert
+    double[] x = new double[4];
+    for (int i = 0; i < 4; i++) {
+      x[i] = layout.getX(i + 1);
+      assertThat(x[i], greaterThanOrEqualTo(20.0));
+      assertThat(x[i], lessThanOrEqualTo(layout.getWidth() - 20));
+    }
+    Arrays.sort(x);
+    for (int i = 1; i < x.length; i++) {
+      assertThat(x[i] - x[i - 1], greaterThanOrEqualTo(40 + NODE_SEPARATION - 0.001));
+    }
+  }
+
+  @Test
+  void largeGraph() {
+    // arrange
+    Random random = new Random(4711);
+    int nodeCount = 3000;
+    int edgeCount = 9000;
+    int[] sources = new int[edgeCount];
+    int[] targets = new int[edgeCount];
+    for (int i = 0; i < edgeCount; i++) {
+      int from = random.nextInt(nodeCount - 1);
+      sources[i] = from;
+      targets[i] = from + 1 + random.nextInt(Math.min(50, nodeCount - from - 1));
+    }
+
+    // act
+    LayeredLayout layout = assertTimeoutPreemptively(ofSeconds(60), () -> createLayout(nodeCount, sources, targets));
+
+    // assert
+    for (int i = 0; i < edgeCount; i++) {
+      assertThat(layout.getLayer(targets[i]), greaterThan(layout.getLayer(sources[i])));
+    }
+  }
+
+  private static LayeredLayout createLayout(int nodeCount, int[] sources, int[] targets) {
+    double[] widths = new double[nodeCount];
+    double[] heights = new double[nodeCount];
+    Arrays.fill(widths, 40);
+    Arrays.fill(heights, 20);
+
+    return LayeredLayout.create(nodeCount, sources, targets, widths, heights, NODE_SEPARATION, RANK_SEPARATION);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2014 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.ferstl.depgraph.graph.svg;
+
+import java.io.StringReader;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+import com.github.ferstl.depgraph.graph.Edge;
+import com.github.ferstl.depgraph.graph.Node;
+import com.github.ferstl.depgraph.graph.dot.DotAttributeBuilder;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SvgGraphFormatterTest {
+
+  private SvgGraphFormatter formatter;
+
+  @BeforeEach
+  void before() {
+    DotAttributeBuilder graphAttributeBuilder = new DotAttributeBuilder();
+    DotAttributeBuilder nodeAttributeBuilder = new DotAttributeBuilder().shape("box").fontName("Helvetica");
+    DotAttributeBuilder edgeAttributeBuilder = new DotAttributeBuilder().fontName("Helvetica").fontSize(10);
+    this.formatter = new SvgGraphFormatter(graphAttributeBuilder, nodeAttributeBuilder, edgeAttributeBuilder);
+  }
+
+  @Test
+  void format() throws Exception {
+    // arrange
+    Node<?> node1 = new Node<>("id1", "", new Object(), new DotAttributeBuilder().label("<groupId<br/><b>artifactId</b>>").style("rounded,filled").fillColor("#ff0000"));
+    Node<?> node2 = new Node<>("id2", "", new Object());
+    Node<?> node3 = new Node<>("id3", "", new Object(), new DotAttributeBuilder().shape("ellipse").color("blue").fontColor("green"));
+
+    Edge edge1 = new Edge("id1", "id2", "", false, new DotAttributeBuilder().style("dashed").label("1.0"));
+    Edge edge2 = new Edge("id1", "id3", "");
+    Edge edge3 = new Edge("id1", "unknown", "");
+
+    // act
+    String result = this.formatter.format("graphName", asList(node1, node2, node3), asList(edge1, edge2, edge3));
+
+    // assert
+    Document document = parse(result);
+    Element svg = document.getDocumentElement();
+    assertEquals("svg", svg.getTagName());
+    assertEquals("graphName", document.getElementsByTagName("title").item(0).getTextContent());
+    assertEquals(5, document.getElementsByTagName("text").getLength());
+    assertEquals(2, countElements(document, "g", "edge"));
+    assertEquals(3, countElements(document, "g", "node"));
+
+    assertThat(result, containsString("fill=\"#ff0000\""));
+    assertThat(result, containsString("rx=\"6\""));
+    assertThat(result, containsString("font-weight=\"bold\">artifactId</tspan>"));
+    assertThat(result, containsString("<ellipse "));
+    assertThat(result, containsString("stroke=\"blue\""));
+    assertThat(result, containsString("fill=\"green\">id3</tspan>"));
+    assertThat(result, containsString("stroke-dasharray=\"5,2\""));
+    assertThat(result, containsString(">1.0</tspan>"));
+    assertThat(result, containsString("font-family=\"Helvetica,Arial,sans-serif\""));
+    assertThat(result, not(containsString("unknown")));
+  }
+
+  @Test
+  void escaping() throws Exception {
+    // arrange
+    Node<?> node1 = new Node<>("a&b", "", new Object(), new DotAttributeBuilder().label("a < \"b\" & c"));
+
+    // act
+    String result = this.formatter.format("graph \"name\"", asList(node1), asList());
+
+    // assert
+    Document document = parse(result);
+    assertEquals("a < \"b\" & c", document.getElementsByTagName("tspan").item(0).getTextContent());
+  }
+
+  @Test
+  void multilineLabel() throws Exception {
+    // arrange
+    Node<?> node1 = new Node<>("id1", "", new Object(), new DotAttributeBuilder().label("line1\r\nline2"));
+
+    // act
+    String result = this.formatter.format("graphName", asList(node1), asList());
+
+    // assert
+    Document document = parse(result);
+    assertEquals(2, document.getElementsByTagName("text").getLength());
+    assertEquals("line2", document.getElementsByTagName("tspan").item(1).getTextContent());
+  }
+
+  @Test
+  void nodeNamesAreIgnored() throws Exception {
+    // arrange
+    Node<?> node1 = new Node<>("id1", "[label=\"name\"]", new Object());
+
+    // act
+    String result = this.formatter.format("graphName", asList(node1), asList());
+
+    // assert
+    assertThat(result, containsString(">id1</tspan>"));
+    assertThat(result, not(containsString("name</tspan>")));
+  }
+
+  @Test
+  void rankdir() throws Exception {
+    // arrange
+    this.formatter = new SvgGraphFormatter(new DotAttributeBuilder().rankdir("LR"), new DotAttributeBuilder().shape("box"), new DotAttributeBuilder());
+    Node<?> node1 = new Node<>("id1", "", new Object());
+    Node<?> node2 = new Node<>("id2", "", new Object());
+
+    // act
+    String result = this.formatter.format("graphName", asList(node1, node2), asList(new Edge("id1", "id2", "")));
+
+    // assert
+    Element svg = parse(result).getDocumentElement();
+    double width = Double.parseDouble(svg.getAttribute("width").replace("pt", ""));
+    double height = Double.parseDouble(svg.getAttribute("height").replace("pt", ""));
+    assertThat(width, greaterThan(height));
+  }
+
+  @Test
+  void emptyGraph() throws Exception {
+    // act
+    String result = this.formatter.format("graphName", asList(), asList());
+
+    // assert
+    assertEquals("svg", parse(result).getDocumentElement().getTagName());
+  }
+
+  private static Document parse(String svg) throws Exception {
+    return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(svg)));
+  }
+
+  private static int countElements(Document document, String tagName, String className) {
+    int count = 0;
+    for (int i = 0; i < document.getElementsByTagName(tagName).getLength(); i++) {
+      if (className.equals(((Element) document.getElementsByTagName(tagName).item(i)).getAttribute("class"))) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+}
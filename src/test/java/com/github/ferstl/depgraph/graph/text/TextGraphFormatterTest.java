@@ -20,6 +20,7 @@ import java.util.Set;
 import org.junit.jupiter.api.Test;
 import com.github.ferstl.depgraph.graph.Edge;
 import com.github.ferstl.depgraph.graph.Node;
+import static com.google.common.base.Strings.repeat;
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -190,18 +191,96 @@ class TextGraphFormatterTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  void selfReferenceOfRoot() {
+    // arrange + act
+    String result = createTextGraph(
+        true,
+        edge("root", "child-1"),
+        edge("root", "root"));
+
+    // assert
+    String expected = "root\n"
+        + "+- child-1\n"
+        + "\\- root (circle)\n";
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void deepGraph() {
+    // arrange
+    int depth = 10_000;
+    Edge[] edges = new Edge[depth];
+    for (int i = 0; i < depth; i++) {
+      edges[i] = edge("node-" + i, "node-" + (i + 1));
+    }
+
+    // act
+    String result = createTextGraph(edges);
+
+    // assert
+    String[] lines = result.split("\n");
+    assertEquals(depth + 1, lines.length);
+    assertEquals(repeat(" ", 3 * (depth - 1)) + "\\- node-" + depth, lines[depth]);
+  }
+
+  @Test
+  void repeatedDiamonds() {
+    // arrange
+    int diamonds = 20;
+    Edge[] edges = new Edge[diamonds * 4];
+    for (int i = 0; i < diamonds; i++) {
+      edges[4 * i] = edge("top-" + i, "left-" + i);
+      edges[4 * i + 1] = edge("top-" + i, "right-" + i);
+      edges[4 * i + 2] = edge("left-" + i, "top-" + (i + 1));
+      edges[4 * i + 3] = edge("right-" + i, "top-" + (i + 1));
+    }
+
+    // act
+    String repeated = createTextGraph(true, 1000, edges);
+    String unrepeated = createTextGraph(false, 1000, edges);
+
+    // assert
+    String[] lines = repeated.split("\n");
+    assertEquals(1001, lines.length);
+    assertEquals("... (truncated after 1000 lines)", lines[1000]);
+    assertEquals(4 * diamonds + 1, unrepeated.split("\n").length);
+  }
+
+  @Test
+  void maxLines() {
+    // arrange + act
+    String result = createTextGraph(
+        false,
+        3,
+        edge("root", "child-1"),
+        edge("root", "child-2"),
+        edge("root", "child-3"));
+
+    // assert
+    String expected = "root\n"
+        + "+- child-1\n"
+        + "+- child-2\n"
+        + "... (truncated after 3 lines)\n";
+    assertEquals(expected, result);
+  }
+
   private String createTextGraph(Edge... edges) {
     return createTextGraph(false, edges);
   }
 
   private String createTextGraph(boolean repeatTransitiveDependencies, Edge... edges) {
+    return createTextGraph(repeatTransitiveDependencies, 0, edges);
+  }
+
+  private String createTextGraph(boolean repeatTransitiveDependencies, int maxLines, Edge... edges) {
     Set<Node<?>> nodes = new LinkedHashSet<>();
     for (Edge edge : edges) {
       nodes.add(node(edge.getFromNodeId()));
       nodes.add(node(edge.getToNodeId()));
     }
 
-    return new TextGraphFormatter(repeatTransitiveDependencies).format("", nodes, asList(edges));
+    return new TextGraphFormatter(repeatTransitiveDependencies, maxLines).format("", nodes, asList(edges));
   }
 
   private Node<?> node(String id) {